@@ -1,5 +1,6 @@
 package io.arex.agent.bootstrap;
 
+import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.agent.bootstrap.util.StringUtil;
 
 import java.io.File;
@@ -8,12 +9,19 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -38,6 +46,10 @@ import java.util.jar.JarFile;
  * ----runtime （AppClassLoader）
  * <p>
  * arex-instrumentation-foundation (AgentClassLoader)， backend
+ * <p>
+ * Entries of the agent jar and extension jars are indexed by name once, a lookup no longer probes every jar.
+ * If {@code arex.agent.class.cache.dir} is set, class bytes are also kept uncompressed under that directory
+ * keyed by the jar digest, so a restart with the same jars defines classes without inflating them again.
  */
 public class AgentClassLoader extends URLClassLoader {
 
@@ -48,6 +60,10 @@ public class AgentClassLoader extends URLClassLoader {
     private JarInfo agentJarInfo;
     private JarFile agentJarFile;
     private List<JarInfo> extensionJarFiles;
+    /**
+     * entry name -> the first jar containing it, agent jar first
+     */
+    private Map<String, JarInfo> entryIndex;
 
     public AgentClassLoader(File jarFile, ClassLoader parent, File[] extensionJars) {
         super(new URL[]{}, parent);
@@ -59,11 +75,32 @@ public class AgentClassLoader extends URLClassLoader {
             for (JarInfo jarInfo : extensionJarFiles) {
                 super.addURL(jarInfo.getSourceFile().toURI().toURL());
             }
+            entryIndex = buildEntryIndex();
         } catch (IOException e) {
             throw new IllegalStateException("Unable to open agent jar", e);
         }
     }
 
+    private Map<String, JarInfo> buildEntryIndex() {
+        int size = agentJarFile.size();
+        for (JarInfo jarInfo : extensionJarFiles) {
+            size += jarInfo.getJarFile().size();
+        }
+        Map<String, JarInfo> index = new HashMap<>(size * 4 / 3 + 1);
+        indexEntries(index, agentJarInfo);
+        for (JarInfo jarInfo : extensionJarFiles) {
+            indexEntries(index, jarInfo);
+        }
+        return index;
+    }
+
+    private static void indexEntries(Map<String, JarInfo> index, JarInfo jarInfo) {
+        Enumeration<JarEntry> entries = jarInfo.getJarFile().entries();
+        while (entries.hasMoreElements()) {
+            index.putIfAbsent(entries.nextElement().getName(), jarInfo);
+        }
+    }
+
     private List<JarInfo> getExtensionJarFiles(File[] extensionFiles) {
         if (extensionFiles == null) {
             return Collections.emptyList();
@@ -150,6 +187,38 @@ public class AgentClassLoader extends URLClassLoader {
     }
 
     private byte[] getJarEntryBytes(JarEntryInfo jarEntryInfo) throws IOException {
+        File cacheDir = jarEntryInfo.getJarInfo().getClassCacheDir();
+        if (cacheDir == null) {
+            return readJarEntryBytes(jarEntryInfo);
+        }
+
+        Path cacheFile = new File(cacheDir, jarEntryInfo.getJarEntry().getName()).toPath();
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                return Files.readAllBytes(cacheFile);
+            } catch (IOException ignored) {
+                // fall through to the jar
+            }
+        }
+
+        byte[] bytes = readJarEntryBytes(jarEntryInfo);
+        writeClassCache(cacheFile, bytes);
+        return bytes;
+    }
+
+    private static void writeClassCache(Path cacheFile, byte[] bytes) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            // written aside and moved, a concurrent reader never sees a partial file
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            Files.write(tempFile, bytes);
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            System.err.printf("Write class cache failed, file: %s%n", cacheFile);
+        }
+    }
+
+    private byte[] readJarEntryBytes(JarEntryInfo jarEntryInfo) throws IOException {
         int size = (int) jarEntryInfo.getJarEntry().getSize();
         byte[] buffer = new byte[size];
         try (InputStream is = jarEntryInfo.getJarInfo().getJarFile().getInputStream(jarEntryInfo.getJarEntry())) {
@@ -164,21 +233,18 @@ public class AgentClassLoader extends URLClassLoader {
         return buffer;
     }
 
-    // need to cache
     private JarEntryInfo findJarEntry(String name) {
-        JarEntry jarEntry = agentJarInfo.getJarFile().getJarEntry(name);
-        if (jarEntry != null) {
-            return new JarEntryInfo(name, jarEntry, agentJarInfo);
+        JarInfo jarInfo = entryIndex.get(name);
+        if (jarInfo == null && !name.endsWith("/")) {
+            // a directory looked up without the trailing slash
+            jarInfo = entryIndex.get(name + "/");
         }
-
-        for (JarInfo jarInfo : extensionJarFiles) {
-            jarEntry = jarInfo.getJarFile().getJarEntry(name);
-            if (jarEntry != null) {
-                return new JarEntryInfo(name, jarEntry, jarInfo);
-            }
+        if (jarInfo == null) {
+            return null;
         }
 
-        return null;
+        JarEntry jarEntry = jarInfo.getJarFile().getJarEntry(name);
+        return jarEntry == null ? null : new JarEntryInfo(name, jarEntry, jarInfo);
     }
 
     private URL getJarEntryUrl(JarEntryInfo jarInfo) {
@@ -255,10 +321,46 @@ public class AgentClassLoader extends URLClassLoader {
 
         private final JarFile jarFile;
         private final File sourceFile;
+        private final File classCacheDir;
 
         private JarInfo(JarFile jarFile, File sourceFile) {
             this.jarFile = jarFile;
             this.sourceFile = sourceFile;
+            this.classCacheDir = getClassCacheDir(sourceFile);
+        }
+
+        /**
+         * @return the cache directory of the jar, null if the class cache is disabled
+         */
+        private static File getClassCacheDir(File sourceFile) {
+            String cacheDir = System.getProperty(ConfigConstants.AGENT_CLASS_CACHE_DIR);
+            if (StringUtil.isEmpty(cacheDir)) {
+                return null;
+            }
+            return new File(cacheDir, digest(sourceFile));
+        }
+
+        /**
+         * Digest of the jar path, size and modified time, a replaced jar gets a new cache directory
+         * without reading the whole jar.
+         */
+        private static String digest(File sourceFile) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                String identity = sourceFile.getAbsolutePath() + "|" + sourceFile.length() + "|" + sourceFile.lastModified();
+                byte[] bytes = digest.digest(identity.getBytes(StandardCharsets.UTF_8));
+                StringBuilder builder = new StringBuilder(bytes.length * 2);
+                for (byte b : bytes) {
+                    builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                return builder.toString();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public File getClassCacheDir() {
+            return classCacheDir;
         }
 
         public JarFile getJarFile() {
@@ -2,48 +2,348 @@ package io.arex.agent.bootstrap.cache;
 
 import io.arex.agent.bootstrap.AgentClassLoader;
 import io.arex.agent.bootstrap.internal.Cache;
+import io.arex.agent.bootstrap.util.ServiceLoader;
 import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.jar.asm.ClassReader;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Registry of the agent classes which have to be defined in the class loader of the instrumented type.
+ * When a type matches, the classes its advice needs (the advice classes, the registered classes they reference and
+ * the implementations of the agent services among them) are injected into its class loader by the transformer, once
+ * per type instrumentation and class loader. Classes loaded by name are injected by {@link ServiceLoader} first,
+ * nothing intercepts the class loader. A class extending the type being transformed can't be defined before it,
+ * it is injected by the next transform in the same class loader.
+ */
 public class AdviceInjectorCache {
 
     public static Cache<String, AdviceClassInjector> injectorCache = Cache.trieCacheWithInit("io.arex.inst.");
+    /**
+     * classes loaded by name from the user class loader (eg: serializers loaded by service loader),
+     * optional, only defined if the library they depend on is visible to the loader
+     */
+    private static final Set<String> SHARED_CLASSES = ConcurrentHashMap.newKeySet();
+    /**
+     * type instrumentation -> classes to inject, referenced classes first
+     */
+    private static final Map<String, List<String>> TYPE_CLASSES = new ConcurrentHashMap<>();
+    private static final Cache<ClassLoader, InjectionState> INJECTION_STATES = Cache.weakMap();
+    private static final Object LOOKUP = MethodHandles.lookup();
+    private static final String JDK_PACKAGE = "java.";
 
     public static void registerInjector(String name, AdviceClassInjector injector) {
+        registerInjector(name, injector, false);
+    }
+
+    public static void registerInjector(String name, AdviceClassInjector injector, boolean shared) {
         injectorCache.put(name, injector);
+        if (shared) {
+            SHARED_CLASSES.add(name);
+        }
     }
 
     public static boolean contains(String name) {
         return injectorCache.contains(name);
     }
 
-    public static Class<?> getAdviceClass(String name, ClassLoader loader) {
-        if (loader == null || injectorCache == null || loader instanceof AgentClassLoader) {
-            return null;
+    /**
+     * Inject the classes the advice of a type instrumentation needs into the class loader of the transformed type.
+     * No lock is held while defining, a class defined concurrently by another thread is returned by the injector.
+     * @param key identifies the type instrumentation, its classes are injected once per class loader
+     * @param typeName the type being transformed
+     * @param adviceClassNames advice classes of the type instrumentation
+     */
+    public static void injectAdviceClasses(ClassLoader loader, String key, String typeName,
+        Collection<String> adviceClassNames) {
+        if (loader == null || loader instanceof AgentClassLoader) {
+            return;
+        }
+
+        InjectionState state = injectionState(loader);
+        for (String className : state.pending) {
+            inject(loader, state, className, typeName);
+        }
+        if (state.keys.contains(key)) {
+            return;
+        }
+        for (String className : TYPE_CLASSES.computeIfAbsent(key, k -> resolveClassNames(adviceClassNames))) {
+            inject(loader, state, className, typeName);
+        }
+        state.keys.add(key);
+    }
+
+    /**
+     * Inject a class about to be loaded by name, eg: a service implementation, with the classes it references.
+     */
+    public static void injectClass(ClassLoader loader, String className) {
+        if (loader == null || loader instanceof AgentClassLoader) {
+            return;
+        }
+        AdviceClassInjector injector = injectorCache.get(className);
+        if (injector == null || SHARED_CLASSES.contains(className) && !injector.dependenciesVisible(loader)) {
+            return;
+        }
+        InjectionState state = injectionState(loader);
+        for (String name : resolveClassNames(Collections.singletonList(className))) {
+            inject(loader, state, name, null);
         }
+    }
 
-        AdviceClassInjector injector = injectorCache.get(name);
-        return injector == null ? null : injector.inject(loader, name);
+    private static InjectionState injectionState(ClassLoader loader) {
+        InjectionState state = INJECTION_STATES.get(loader);
+        if (state != null) {
+            return state;
+        }
+        synchronized (INJECTION_STATES) {
+            state = INJECTION_STATES.get(loader);
+            if (state == null) {
+                state = new InjectionState();
+                INJECTION_STATES.put(loader, state);
+            }
+            return state;
+        }
+    }
+
+    /**
+     * The class is marked injected only once defined. A class extending the type being transformed, or whose super
+     * type circles back to it, is left pending.
+     */
+    private static void inject(ClassLoader loader, InjectionState state, String className, String typeName) {
+        AdviceClassInjector injector = injectorCache.get(className);
+        if (injector == null || state.classes.contains(className)) {
+            return;
+        }
+        if (typeName != null && injector.superTypes().contains(typeName)) {
+            state.pending.add(className);
+            return;
+        }
+        String packageName = packageName(className);
+        try {
+            Class<?> clazz = injector.inject(loader, className, state.packageClass(packageName));
+            if (clazz != null) {
+                state.classes.add(className);
+                state.pending.remove(className);
+                state.packageClasses.putIfAbsent(packageName, new WeakReference<>(clazz));
+            }
+        } catch (ClassCircularityError e) {
+            state.pending.add(className);
+        } catch (Throwable e) {
+            // eg: a class of the module depending on a library class this loader does not see
+        }
+    }
+
+    /**
+     * @return the advice classes and the registered classes they reference transitively, referenced classes first
+     * so that super classes are defined before their subclasses, the implementations of a registered service
+     * follow the service
+     */
+    static List<String> resolveClassNames(Collection<String> adviceClassNames) {
+        Set<String> classNames = new LinkedHashSet<>();
+        if (adviceClassNames != null) {
+            Set<String> visited = new HashSet<>();
+            for (String className : adviceClassNames) {
+                resolveClassNames(className, visited, classNames);
+            }
+        }
+        return new ArrayList<>(classNames);
+    }
+
+    private static void resolveClassNames(String className, Set<String> visited, Set<String> classNames) {
+        if (!visited.add(className)) {
+            return;
+        }
+        AdviceClassInjector injector = injectorCache.get(className);
+        if (injector == null) {
+            return;
+        }
+        for (String reference : injector.references()) {
+            resolveClassNames(reference, visited, classNames);
+        }
+        classNames.add(className);
+        // loaded by name, eg: by java.util.ServiceLoader
+        for (String implementation : ServiceLoader.getServiceNames(className)) {
+            resolveClassNames(implementation, visited, classNames);
+        }
+    }
+
+    private static String packageName(String className) {
+        int index = className.lastIndexOf('.');
+        return index < 0 ? "" : className.substring(0, index);
+    }
+
+    static class InjectionState {
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        private final Set<String> classes = ConcurrentHashMap.newKeySet();
+        private final Set<String> pending = ConcurrentHashMap.newKeySet();
+        /**
+         * package -> a class injected in that package, its lookup defines the other classes of the package.
+         * Held weakly, the state is the value of a weak map keyed by the loader of the class.
+         */
+        private final Map<String, WeakReference<Class<?>>> packageClasses = new ConcurrentHashMap<>();
+
+        private Class<?> packageClass(String packageName) {
+            WeakReference<Class<?>> reference = packageClasses.get(packageName);
+            return reference == null ? null : reference.get();
+        }
     }
 
     public static class AdviceClassInjector {
-        private byte[] bytes;
-        private Class<?> clazz;
+        private static final int CONSTANT_UTF8 = 1;
+        private static final int CONSTANT_CLASS = 7;
+
+        private final byte[] bytes;
+        private List<String> references;
+        private List<String> superTypes;
+        private List<String> libraryClasses;
 
         public AdviceClassInjector(byte[] bytes) {
             this.bytes = bytes;
         }
 
-        Class<?> inject(ClassLoader classLoader, String className) {
-            if (clazz == null) {
-                Map<String, Class<?>> result = new ClassInjector.UsingReflection(classLoader)
-                        .injectRaw(Collections.singletonMap(className, bytes));
-                clazz = result.get(className);
-                bytes = null;
+        /**
+         * @param packageClass a class of the same package already defined by the loader, null if none
+         */
+        Class<?> inject(ClassLoader classLoader, String className, Class<?> packageClass) {
+            Map<String, byte[]> types = Collections.singletonMap(className, bytes);
+            if (packageClass != null && ClassInjector.UsingLookup.isAvailable()) {
+                try {
+                    return ClassInjector.UsingLookup.of(LOOKUP).in(packageClass).injectRaw(types).get(className);
+                } catch (Exception | LinkageError e) {
+                    // eg: the package is not open to the agent, define by reflection
+                }
+            }
+            ClassInjector injector = ClassInjector.UsingReflection.isAvailable() ?
+                new ClassInjector.UsingReflection(classLoader) : new ClassInjector.UsingUnsafe(classLoader);
+            return injector.injectRaw(types).get(className);
+        }
+
+        /**
+         * @return super class and interfaces
+         */
+        synchronized List<String> superTypes() {
+            if (superTypes != null) {
+                return superTypes;
+            }
+            ClassReader reader = new ClassReader(bytes);
+            List<String> result = new ArrayList<>();
+            if (reader.getSuperName() != null) {
+                result.add(reader.getSuperName().replace('/', '.'));
+            }
+            for (String interfaceName : reader.getInterfaces()) {
+                result.add(interfaceName.replace('/', '.'));
+            }
+            superTypes = result;
+            return superTypes;
+        }
+
+        /**
+         * Checked by resource so that nothing is loaded, an optional class whose library is missing is skipped.
+         */
+        boolean dependenciesVisible(ClassLoader classLoader) {
+            for (String className : libraryClasses()) {
+                if (classLoader.getResource(className.replace('.', '/') + ".class") == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return classes of the constant pool which are neither jdk nor agent classes
+         */
+        synchronized List<String> libraryClasses() {
+            if (libraryClasses != null) {
+                return libraryClasses;
+            }
+            List<String> result = new ArrayList<>();
+            ClassReader reader = new ClassReader(bytes);
+            char[] buffer = new char[reader.getMaxStringLength()];
+            for (int i = 1; i < reader.getItemCount(); i++) {
+                int offset = reader.getItem(i);
+                if (offset == 0 || reader.readByte(offset - 1) != CONSTANT_CLASS) {
+                    continue;
+                }
+                String className = reader.readUTF8(offset, buffer);
+                int start = className.lastIndexOf('[') + 1;
+                if (start > 0) {
+                    // array descriptor: [Lcom/foo/Bar; or a primitive array
+                    if (className.charAt(start) != 'L') {
+                        continue;
+                    }
+                    className = className.substring(start + 1, className.length() - 1);
+                }
+                className = className.replace('/', '.');
+                if (!className.startsWith(JDK_PACKAGE) && !contains(className)) {
+                    result.add(className);
+                }
+            }
+            libraryClasses = result;
+            return libraryClasses;
+        }
+
+        /**
+         * @return registered classes named in the constant pool, as class, descriptor or signature
+         */
+        synchronized List<String> references() {
+            if (references != null) {
+                return references;
             }
-            return clazz;
+            List<String> result = new ArrayList<>();
+            ClassReader reader = new ClassReader(bytes);
+            for (int i = 1; i < reader.getItemCount(); i++) {
+                int offset = reader.getItem(i);
+                // the second slot of a long or double is empty
+                if (offset == 0 || reader.readByte(offset - 1) != CONSTANT_UTF8) {
+                    continue;
+                }
+                int length = reader.readUnsignedShort(offset);
+                byte[] utf8 = new byte[length];
+                for (int j = 0; j < length; j++) {
+                    utf8[j] = (byte) reader.readByte(offset + 2 + j);
+                }
+                addReferences(new String(utf8, StandardCharsets.UTF_8), result);
+            }
+            references = result;
+            return references;
+        }
+
+        private static void addReferences(String value, List<String> result) {
+            if (value.indexOf('/') < 0) {
+                return;
+            }
+            int start = 0;
+            for (int i = 0; i <= value.length(); i++) {
+                if (i < value.length() && !isDelimiter(value.charAt(i))) {
+                    continue;
+                }
+                if (i > start) {
+                    String token = value.substring(start, i).replace('/', '.');
+                    if (contains(token)) {
+                        result.add(token);
+                    } else if (token.charAt(0) == 'L' && contains(token.substring(1))) {
+                        // descriptor: Lio/arex/inst/Foo;
+                        result.add(token.substring(1));
+                    }
+                }
+                start = i + 1;
+            }
+        }
+
+        private static boolean isDelimiter(char c) {
+            return c == ';' || c == '(' || c == ')' || c == '[' || c == '<' || c == '>' || c == ':' || c == '^'
+                || c == '+' || c == '-' || c == '*';
         }
     }
 }
@@ -22,6 +22,9 @@ public class ConfigConstants {
 
     public static final String EXCLUDE_SERVICE_OPERATION = "arex.exclude.service.operation";
     public static final String DUBBO_STREAM_REPLAY_THRESHOLD = "arex.dubbo.replay.threshold";
+    public static final String DUBBO_STREAM_MAX_MESSAGES = "arex.dubbo.stream.max.messages";
+    public static final String DUBBO_STREAM_MAX_BYTES = "arex.dubbo.stream.max.bytes";
+    public static final String DUBBO_STREAM_IDLE_TIMEOUT = "arex.dubbo.stream.idle.timeout";
     public static final String DISABLE_REPLAY = "arex.disable.replay";
     public static final String DISABLE_RECORD = "arex.disable.record";
     public static final String DURING_WORK = "arex.during.work";
@@ -31,6 +34,13 @@ public class ConfigConstants {
     public static final String DECELERATE_CODE = "arex.decelerate.code";
     public static final String SERIALIZER_CONFIG = "arex.serializer.config";
     public static final String BUFFER_SIZE = "arex.buffer.size";
+    public static final String AGENT_CLASS_CACHE_DIR = "arex.agent.class.cache.dir";
+    public static final String BUFFER_OVERFLOW_SIZE = "arex.buffer.overflow.size";
+    public static final String BODY_DEDUP_WINDOW = "arex.body.dedup.window";
+    public static final String HTTP_BODY_CAPTURE_LIMIT = "arex.http.body.capture.limit";
+    public static final String FLUX_RECORD_MAX_ELEMENTS = "arex.flux.record.max.elements";
+    public static final String FLUX_RECORD_MAX_BYTES = "arex.flux.record.max.bytes";
+    public static final String JDBC_RESULT_CAPTURE_LIMIT = "arex.jdbc.result.capture.limit";
     public static final String SHADED_LOGGER_SHOW_DATE_TIME = "shaded.org.slf4j.simpleLogger.showDateTime";
     public static final String SHADED_LOGGER_DATE_TIME_FORMAT = "shaded.org.slf4j.simpleLogger.dateTimeFormat";
 }
@@ -41,6 +41,53 @@ public class TraceTransmitter implements AutoCloseable {
         return new TraceTransmitter(capture);
     }
 
+    /**
+     * Create a transmitter that transmits the captured context on every {@link #transmit()},
+     * each call returns its own scope to close, so one instance can serve all callbacks of an asynchronous call.
+     */
+    public static TraceTransmitter createReusable() {
+        Object capture = ArexThreadLocal.Transmitter.capture();
+        if (capture == null) {
+            return DoNothingTransmitter.INSTANCE;
+        }
+        return new ReusableTransmitter(capture);
+    }
+
+    static class ReusableTransmitter extends TraceTransmitter {
+        private final Object capture;
+
+        ReusableTransmitter(Object capture) {
+            this.capture = capture;
+        }
+
+        @Override
+        public TraceTransmitter transmit() {
+            return new TransmitScope(ArexThreadLocal.Transmitter.replay(capture));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    static class TransmitScope extends TraceTransmitter {
+        private final Object backup;
+
+        TransmitScope(Object backup) {
+            this.backup = backup;
+        }
+
+        @Override
+        public TraceTransmitter transmit() {
+            return this;
+        }
+
+        @Override
+        public void close() {
+            ArexThreadLocal.Transmitter.restore(backup);
+        }
+    }
+
     static class DoNothingTransmitter extends TraceTransmitter {
         static final TraceTransmitter INSTANCE = new DoNothingTransmitter();
 
@@ -1,5 +1,7 @@
 package io.arex.agent.bootstrap.model;
 
+import java.util.function.Supplier;
+
 public class MockResult {
     public static final MockResult IGNORE_MOCK_RESULT = new MockResult(true, null, null);
     private final boolean ignoreMockResult;
@@ -38,4 +40,47 @@ public class MockResult {
     public static MockResult success(Object mockResult) {
         return success(false, mockResult);
     }
+
+    /**
+     * The result is only produced (eg: deserialized) by {@code resultSupplier} on first access,
+     * so a result that is ignored or never inspected costs nothing.
+     * @param throwable whether the supplied result is a throwable, known up front from the recorded type
+     */
+    public static MockResult lazy(boolean ignoreMockResult, boolean throwable, Supplier<Object> resultSupplier) {
+        return new LazyMockResult(ignoreMockResult, throwable, resultSupplier);
+    }
+
+    private static class LazyMockResult extends MockResult {
+        private final boolean throwable;
+        private Supplier<Object> resultSupplier;
+        private Object value;
+
+        private LazyMockResult(boolean ignoreMockResult, boolean throwable, Supplier<Object> resultSupplier) {
+            super(ignoreMockResult, null, null);
+            this.throwable = throwable;
+            this.resultSupplier = resultSupplier;
+        }
+
+        @Override
+        public Throwable getThrowable() {
+            if (!throwable) {
+                return null;
+            }
+            Object result = value();
+            return result instanceof Throwable ? (Throwable) result : null;
+        }
+
+        @Override
+        public Object getResult() {
+            return throwable ? null : value();
+        }
+
+        private synchronized Object value() {
+            if (resultSupplier != null) {
+                value = resultSupplier.get();
+                resultSupplier = null;
+            }
+            return value;
+        }
+    }
 }
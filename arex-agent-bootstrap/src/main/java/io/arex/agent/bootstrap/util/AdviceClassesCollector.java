@@ -55,8 +55,11 @@ public class AdviceClassesCollector {
                     String realClassName = className.substring(0,
                             className.length() - CLASS_SUFFIX_LENGTH);
                     // classes that meet these conditions will be loaded by User classLoader
-                    if (isExtensionJar || entryName.startsWith(CLASS_AREX_AGENT_PREFIX) || entryName.startsWith(CLASS_SERIALIZER_PREFIX)) {
-                        addClassToInjectorCache(realClassName);
+                    if (isExtensionJar || entryName.startsWith(CLASS_AREX_AGENT_PREFIX)) {
+                        addClassToInjectorCache(realClassName, false);
+                    } else if (entryName.startsWith(CLASS_SERIALIZER_PREFIX)) {
+                        // loaded by name through the service loader, not referenced by any advice
+                        addClassToInjectorCache(realClassName, true);
                     }
                 }
 
@@ -74,21 +77,21 @@ public class AdviceClassesCollector {
         try {
             Class<?>[] classes = clazz.getDeclaredClasses();
             for (Class<?> innerClass : classes) {
-                addClassToInjectorCache(innerClass.getName());
+                addClassToInjectorCache(innerClass.getName(), false);
             }
-            addClassToInjectorCache(clazz.getName());
+            addClassToInjectorCache(clazz.getName(), false);
         } catch (Throwable ex) {
             System.err.printf("add single class to advice failed, clazz: %s%n", clazz.getName());
         }
     }
 
-    private void addClassToInjectorCache(String adviceClassName) {
+    private void addClassToInjectorCache(String adviceClassName, boolean shared) {
         ClassLoader loader = InstrumentationHolder.getAgentClassLoader();
 
         try {
             if (!AdviceInjectorCache.contains(adviceClassName)) {
                 AdviceInjectorCache.registerInjector(adviceClassName,
-                        new AdviceInjectorCache.AdviceClassInjector(getBytes(adviceClassName, loader)));
+                        new AdviceInjectorCache.AdviceClassInjector(getBytes(adviceClassName, loader)), shared);
             }
         } catch (Exception ex) {
             System.err.printf("create class %s injector failed.", adviceClassName);
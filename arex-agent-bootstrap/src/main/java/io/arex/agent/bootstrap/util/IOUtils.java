@@ -22,6 +22,20 @@ public class IOUtils {
         return total;
     }
 
+    /**
+     * Read the stream to the end and discard the content.
+     * @return the number of bytes read
+     */
+    public static long consume(InputStream inputStream) throws IOException {
+        final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while (EOF != (read = inputStream.read(buffer))) {
+            total += read;
+        }
+        return total;
+    }
+
     public static byte[] copyToByteArray(InputStream in) throws IOException {
         ByteArrayOutputStream out = new ByteArrayOutputStream(DEFAULT_BUFFER_SIZE);
         copy(in, out);
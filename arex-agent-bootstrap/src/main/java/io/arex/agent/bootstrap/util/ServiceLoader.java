@@ -1,10 +1,12 @@
 package io.arex.agent.bootstrap.util;
 
+import io.arex.agent.bootstrap.cache.AdviceInjectorCache;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.jar.JarEntry;
@@ -30,6 +32,8 @@ public class ServiceLoader {
         }
         for (String className : serviceList) {
             try {
+                // agent classes are not visible to a user class loader until injected
+                AdviceInjectorCache.injectClass(loader, className);
                 final Class<?> serviceClazz = Class.forName(className, true, loader);
                 result.add((T) serviceClazz.getDeclaredConstructor().newInstance());
             } catch (Throwable ex) {
@@ -40,6 +44,14 @@ public class ServiceLoader {
         return result;
     }
 
+    /**
+     * @return the implementations of the service found in the agent jars, empty if none
+     */
+    public static List<String> getServiceNames(String serviceName) {
+        List<String> serviceList = SERVICE_CACHE.get(serviceName);
+        return serviceList == null ? Collections.emptyList() : serviceList;
+    }
+
     /**
      * @param entryName ex: entryName: META-INF/services/io.arex.inst.runtime.serializer.StringSerializable
      * @param jarEntry  ex: jarEntry content:
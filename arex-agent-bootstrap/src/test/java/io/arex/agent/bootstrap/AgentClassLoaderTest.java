@@ -0,0 +1,108 @@
+package io.arex.agent.bootstrap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.agent.bootstrap.util.IOUtils;
+import io.arex.agent.bootstrap.util.StringUtil;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class AgentClassLoaderTest {
+    private static final String CLASS_ENTRY = StringUtil.class.getName().replace('.', '/') + ".class";
+    static Path directory;
+    static File agentJar;
+    static File extensionJar;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        directory = Files.createTempDirectory("arex-loader");
+        byte[] classBytes;
+        try (InputStream inputStream = StringUtil.class.getClassLoader().getResourceAsStream(CLASS_ENTRY)) {
+            classBytes = IOUtils.copyToByteArray(inputStream);
+        }
+        agentJar = createJar("agent.jar", "io/arex/agent/bootstrap/util/", CLASS_ENTRY, classBytes, "agent");
+        extensionJar = createJar("extension.jar", "extension/", "extension/only.txt", "extension".getBytes(StandardCharsets.UTF_8), "extension");
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        System.clearProperty(ConfigConstants.AGENT_CLASS_CACHE_DIR);
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    void findResource() throws IOException {
+        AgentClassLoader loader = new AgentClassLoader(agentJar, null, new File[]{extensionJar});
+        // agent jar first
+        URL url = loader.findResource("shared.txt");
+        assertTrue(url.toString().startsWith("jar:" + agentJar.toURI().toURL()));
+        assertTrue(loader.findResource("extension/only.txt").toString().contains("extension.jar"));
+        // directory without the trailing slash
+        assertNotNull(loader.findResource("io/arex/agent/bootstrap/util"));
+        assertNull(loader.findResource("not/exist.txt"));
+        assertTrue(loader.findResources("shared.txt").hasMoreElements());
+    }
+
+    @Test
+    void loadClass() throws Exception {
+        AgentClassLoader loader = new AgentClassLoader(agentJar, null, null);
+        Class<?> clazz = loader.loadClass(StringUtil.class.getName());
+        assertSame(loader, clazz.getClassLoader());
+        assertNull(loader.findClass("io.arex.NotExist"));
+    }
+
+    @Test
+    void loadClassWithCache() throws Exception {
+        Path cacheDir = directory.resolve("cache");
+        System.setProperty(ConfigConstants.AGENT_CLASS_CACHE_DIR, cacheDir.toString());
+        try {
+            AgentClassLoader loader = new AgentClassLoader(agentJar, null, null);
+            assertSame(loader, loader.loadClass(StringUtil.class.getName()).getClassLoader());
+            Path cached;
+            try (Stream<Path> files = Files.walk(cacheDir)) {
+                cached = files.filter(file -> file.endsWith(CLASS_ENTRY)).findFirst().orElse(null);
+            }
+            assertNotNull(cached);
+
+            // defined from the cache by the next loader
+            AgentClassLoader next = new AgentClassLoader(agentJar, null, null);
+            assertSame(next, next.loadClass(StringUtil.class.getName()).getClassLoader());
+        } finally {
+            System.clearProperty(ConfigConstants.AGENT_CLASS_CACHE_DIR);
+        }
+    }
+
+    private static File createJar(String name, String directoryEntry, String entry, byte[] bytes, String shared) throws IOException {
+        File file = directory.resolve(name).toFile();
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(file.toPath()), manifest)) {
+            out.putNextEntry(new JarEntry(directoryEntry));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry(entry));
+            out.write(bytes);
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("shared.txt"));
+            out.write(shared.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return file;
+    }
+}
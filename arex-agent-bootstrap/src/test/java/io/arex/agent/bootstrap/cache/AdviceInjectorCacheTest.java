@@ -0,0 +1,132 @@
+package io.arex.agent.bootstrap.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.util.IOUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.bytebuddy.ByteBuddy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class AdviceInjectorCacheTest {
+    private static final List<String> ADVICE = Collections.singletonList(TestAdvice.class.getName());
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        for (Class<?> clazz : Arrays.asList(TestAdvice.class, TestHelper.class, TestBaseHelper.class, TestUnused.class,
+            TestLibraryHelper.class)) {
+            AdviceInjectorCache.registerInjector(clazz.getName(), new AdviceInjectorCache.AdviceClassInjector(bytes(clazz)));
+        }
+        AdviceInjectorCache.registerInjector(TestSerializer.class.getName(),
+            new AdviceInjectorCache.AdviceClassInjector(bytes(TestSerializer.class)), true);
+    }
+
+    @Test
+    void resolveClassNames() {
+        // super class before subclass, unreferenced classes left out
+        assertEquals(Arrays.asList(TestBaseHelper.class.getName(), TestHelper.class.getName(),
+                TestLibraryHelper.class.getName(), TestAdvice.class.getName()),
+            AdviceInjectorCache.resolveClassNames(ADVICE));
+    }
+
+    @Test
+    void injectAdviceClasses() throws Exception {
+        URLClassLoader loader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        AdviceInjectorCache.injectAdviceClasses(loader, "test-type", "test.Type", ADVICE);
+        Class<?> helper = loader.loadClass(TestHelper.class.getName());
+        assertSame(loader, helper.getClassLoader());
+        assertSame(loader, helper.getSuperclass().getClassLoader());
+        assertSame(loader, loader.loadClass(TestLibraryHelper.class.getName()).getClassLoader());
+        assertNotSame(loader, loader.loadClass(TestUnused.class.getName()).getClassLoader());
+        // once per loader
+        assertDoesNotThrow(() -> AdviceInjectorCache.injectAdviceClasses(loader, "test-type", "test.Type", ADVICE));
+        assertSame(helper, loader.loadClass(TestHelper.class.getName()));
+
+        // each loader gets its own class
+        URLClassLoader other = new URLClassLoader(new URL[0], null);
+        AdviceInjectorCache.injectAdviceClasses(other, "test-type", "test.Type", ADVICE);
+        assertSame(other, other.loadClass(TestHelper.class.getName()).getClassLoader());
+        // super class not visible
+        assertThrows(ClassNotFoundException.class, () -> other.loadClass(TestLibraryHelper.class.getName()));
+
+        assertDoesNotThrow(() -> AdviceInjectorCache.injectAdviceClasses(null, "test-type", "test.Type", ADVICE));
+    }
+
+    @Test
+    void injectExtendingTransformedType() throws Exception {
+        TestLoader loader = new TestLoader(getClass().getClassLoader());
+        // the super type of TestLibraryHelper is being transformed, it can't be defined yet
+        AdviceInjectorCache.injectAdviceClasses(loader, "test-type", ByteBuddy.class.getName(), ADVICE);
+        assertSame(loader, loader.loaded(TestHelper.class.getName()).getClassLoader());
+        assertNull(loader.loaded(TestLibraryHelper.class.getName()));
+
+        // defined by the next transform in the loader
+        AdviceInjectorCache.injectAdviceClasses(loader, "other-type", "test.Type", Collections.emptyList());
+        assertSame(loader, loader.loaded(TestLibraryHelper.class.getName()).getClassLoader());
+    }
+
+    @Test
+    void injectClass() throws Exception {
+        URLClassLoader loader = new URLClassLoader(new URL[0], null);
+        // optional class whose library is not visible is skipped
+        AdviceInjectorCache.injectClass(loader, TestSerializer.class.getName());
+        assertThrows(ClassNotFoundException.class, () -> loader.loadClass(TestSerializer.class.getName()));
+        assertDoesNotThrow(() -> AdviceInjectorCache.injectClass(loader, "java.lang.String"));
+        assertDoesNotThrow(() -> AdviceInjectorCache.injectClass(null, TestHelper.class.getName()));
+
+        URLClassLoader child = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        AdviceInjectorCache.injectClass(child, TestSerializer.class.getName());
+        assertSame(child, child.loadClass(TestSerializer.class.getName()).getClassLoader());
+    }
+
+    private static byte[] bytes(Class<?> clazz) throws IOException {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream inputStream = clazz.getClassLoader().getResourceAsStream(resource)) {
+            return IOUtils.copyToByteArray(inputStream);
+        }
+    }
+
+    static class TestLoader extends URLClassLoader {
+        TestLoader(ClassLoader parent) {
+            super(new URL[0], parent);
+        }
+
+        Class<?> loaded(String name) {
+            return findLoadedClass(name);
+        }
+    }
+
+    static class TestAdvice {
+        public static Object onEnter() {
+            return new TestHelper();
+        }
+
+        public static Object onExit() {
+            return new TestLibraryHelper();
+        }
+    }
+
+    static class TestBaseHelper {
+    }
+
+    static class TestHelper extends TestBaseHelper {
+    }
+
+    static class TestUnused {
+    }
+
+    static class TestLibraryHelper extends ByteBuddy {
+    }
+
+    static class TestSerializer {
+        public Object serialize() {
+            return new ByteBuddy();
+        }
+    }
+}
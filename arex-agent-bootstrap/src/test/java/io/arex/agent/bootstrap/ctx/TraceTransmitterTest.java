@@ -1,6 +1,7 @@
 package io.arex.agent.bootstrap.ctx;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -10,11 +11,30 @@ class TraceTransmitterTest {
     @Test
     void create() {
         assertNotNull(TraceTransmitter.create());
-        Mockito.mockStatic(ArexThreadLocal.Transmitter.class);
-        Mockito.when(ArexThreadLocal.Transmitter.capture()).thenReturn("mock");
-        TraceTransmitter transmitter = TraceTransmitter.create();
-        assertNotNull(transmitter);
-        transmitter.transmit();
+        try (MockedStatic<ArexThreadLocal.Transmitter> ignored = Mockito.mockStatic(ArexThreadLocal.Transmitter.class)) {
+            Mockito.when(ArexThreadLocal.Transmitter.capture()).thenReturn("mock");
+            TraceTransmitter transmitter = TraceTransmitter.create();
+            assertNotNull(transmitter);
+            transmitter.transmit();
+            transmitter.close();
+        }
+    }
+
+    @Test
+    void createReusable() {
+        ArexThreadLocal<String> threadLocal = new ArexThreadLocal<>();
+        assertSame(TraceTransmitter.DoNothingTransmitter.INSTANCE, TraceTransmitter.createReusable());
+
+        threadLocal.set("mock");
+        TraceTransmitter transmitter = TraceTransmitter.createReusable();
+        threadLocal.remove();
+        // every transmit replays the captured context and the scope restores the previous one
+        for (int i = 0; i < 2; i++) {
+            try (TraceTransmitter tm = transmitter.transmit()) {
+                assertEquals("mock", threadLocal.get());
+            }
+            assertNull(threadLocal.get());
+        }
         transmitter.close();
     }
 
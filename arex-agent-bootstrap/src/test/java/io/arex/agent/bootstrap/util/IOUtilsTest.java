@@ -18,4 +18,11 @@ class IOUtilsTest {
         byte[] bytes = IOUtils.copyToByteArray(inputStream);
         assertEquals(builder.toString(), new String(bytes));
     }
+
+    @Test
+    void consume() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(new byte[5000]);
+        assertEquals(5000, IOUtils.consume(inputStream));
+        assertEquals(IOUtils.EOF, inputStream.read());
+    }
 }
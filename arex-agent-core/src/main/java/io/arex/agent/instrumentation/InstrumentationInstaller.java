@@ -5,6 +5,7 @@ import io.arex.inst.extension.ModuleInstrumentation;
 import io.arex.inst.extension.MethodInstrumentation;
 import io.arex.inst.extension.TypeInstrumentation;
 import io.arex.agent.bootstrap.InstrumentationHolder;
+import io.arex.agent.bootstrap.cache.AdviceInjectorCache;
 import io.arex.foundation.config.ConfigManager;
 import io.arex.agent.bootstrap.util.CollectionUtil;
 
@@ -33,8 +34,10 @@ import java.util.*;
 @SuppressWarnings("unused")
 public class InstrumentationInstaller extends BaseAgentInstaller {
     private static final Logger LOGGER = LoggerFactory.getLogger(InstrumentationInstaller.class);
+    private static final String DYNAMIC_CLASS_MODULE = "dynamic-class";
     private ModuleInstrumentation dynamicModule;
     private ResettableClassFileTransformer resettableClassFileTransformer;
+    private final LoadedClassIndex loadedClassIndex = new LoadedClassIndex();
 
     public InstrumentationInstaller(Instrumentation inst, File agentFile, String agentArgs) {
         super(inst, agentFile, agentArgs);
@@ -42,7 +45,8 @@ public class InstrumentationInstaller extends BaseAgentInstaller {
 
     @Override
     protected void transform() {
-        resettableClassFileTransformer = install(getAgentBuilder(), false);
+        loadedClassIndex.install(instrumentation);
+        resettableClassFileTransformer = install(getAgentBuilder(AgentBuilder.RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE), false);
         extensionTransform();
         LOGGER.info("[AREX] Agent first transform class successfully.");
     }
@@ -61,10 +65,41 @@ public class InstrumentationInstaller extends BaseAgentInstaller {
         if (resettableClassFileTransformer != null) {
             instrumentation.removeTransformer(resettableClassFileTransformer);
         }
-        resettableClassFileTransformer = install(getAgentBuilder(), true);
+        resettableClassFileTransformer = install(getAgentBuilder(getRetransformDiscoveryStrategy(retransformList)), true);
         LOGGER.info("[AREX] Agent retransform class successfully.");
     }
 
+    /**
+     * Only the loaded classes named by the dynamic class config are retransformed, unless other modules are retransformed
+     * too or a config matches classes by pattern, then all loaded classes are matched.
+     */
+    private AgentBuilder.RedefinitionStrategy.DiscoveryStrategy getRetransformDiscoveryStrategy(List<DynamicClassEntity> retransformList) {
+        List<String> retransformModules = ConfigManager.INSTANCE.getRetransformModules();
+        if (retransformModules.size() != 1 || !retransformModules.contains(DYNAMIC_CLASS_MODULE)) {
+            return AgentBuilder.RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE;
+        }
+        Set<String> classNames = LoadedClassIndex.exactClassNames(
+            retransformList.stream().map(DynamicClassEntity::getClazzName).collect(Collectors.toList()));
+        if (classNames == null) {
+            return AgentBuilder.RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE;
+        }
+        return new AgentBuilder.RedefinitionStrategy.DiscoveryStrategy.Explicit(
+            loadedClassIndex.find(classNames).toArray(new Class<?>[0]));
+    }
+
+    private Collection<Class<?>> findLoadedClasses(Set<String> classNames) {
+        if (LoadedClassIndex.exactClassNames(classNames) != null) {
+            return loadedClassIndex.find(classNames);
+        }
+        List<Class<?>> classes = new ArrayList<>();
+        for (Class<?> clazz : this.instrumentation.getAllLoadedClasses()) {
+            if (classNames.contains(clazz.getName())) {
+                classes.add(clazz);
+            }
+        }
+        return classes;
+    }
+
     private void resetClass() {
         Set<String> resetClassSet = ConfigManager.INSTANCE.getResetClassSet();
         if (CollectionUtil.isEmpty(resetClassSet)) {
@@ -76,14 +111,12 @@ public class InstrumentationInstaller extends BaseAgentInstaller {
             instrumentation.removeTransformer(resettableClassFileTransformer);
         }
         // TODO: optimize reset abstract class
-        for (Class<?> clazz : this.instrumentation.getAllLoadedClasses()) {
-            if (resetClassSet.contains(clazz.getName())) {
-                try {
-                    ClassReloadingStrategy.of(this.instrumentation).reset(clazz);
-                    LOGGER.info("[arex] retransform reset class successfully, name: {}", clazz.getName());
-                } catch (Exception e) {
-                    LOGGER.warn("[arex] retransform reset class failed, name: {}", clazz.getName(), e);
-                }
+        for (Class<?> clazz : findLoadedClasses(resetClassSet)) {
+            try {
+                ClassReloadingStrategy.of(this.instrumentation).reset(clazz);
+                LOGGER.info("[arex] retransform reset class successfully, name: {}", clazz.getName());
+            } catch (Exception e) {
+                LOGGER.warn("[arex] retransform reset class failed, name: {}", clazz.getName(), e);
             }
         }
     }
@@ -148,15 +181,35 @@ public class InstrumentationInstaller extends BaseAgentInstaller {
         return builder;
     }
 
+    /**
+     * Inject the classes the advice of the type instrumentation needs into the class loader of the matched type,
+     * before the advice referencing them is applied.
+     */
+    private AgentBuilder.Transformer adviceInjector(List<MethodInstrumentation> methodAdvices) {
+        List<String> adviceClassNames = new ArrayList<>(methodAdvices.size());
+        for (MethodInstrumentation methodAdvice : methodAdvices) {
+            adviceClassNames.add(methodAdvice.getAdviceClassName());
+        }
+        // instances of a dynamic type instrumentation differ by their advice
+        String key = adviceClassNames.toString();
+        return (builder, typeDescription, classLoader, javaModule, protectionDomain) -> {
+            AdviceInjectorCache.injectAdviceClasses(classLoader, key, typeDescription.getName(), adviceClassNames);
+            return builder;
+        };
+    }
+
     private AgentBuilder installType(AgentBuilder builder, ElementMatcher<ClassLoader> moduleMatcher,
         TypeInstrumentation type) {
+        List<MethodInstrumentation> methodAdvices = type.methodAdvices();
         AgentBuilder.Identified identified = builder.type(type.matcher(), moduleMatcher);
+        if (CollectionUtil.isNotEmpty(methodAdvices)) {
+            identified = identified.transform(adviceInjector(methodAdvices));
+        }
         AgentBuilder.Transformer transformer = type.transformer();
         if (transformer != null) {
             identified = identified.transform(transformer);
         }
 
-        List<MethodInstrumentation> methodAdvices = type.methodAdvices();
         if (CollectionUtil.isEmpty(methodAdvices)) {
             return (AgentBuilder) identified;
         }
@@ -178,7 +231,7 @@ public class InstrumentationInstaller extends BaseAgentInstaller {
     }
 
 
-    private AgentBuilder getAgentBuilder() {
+    private AgentBuilder getAgentBuilder(AgentBuilder.RedefinitionStrategy.DiscoveryStrategy discoveryStrategy) {
         // config may use to add some classes to be ignored in future
         long buildBegin = System.currentTimeMillis();
         AgentBuilder builder = new AgentBuilder.Default(
@@ -188,6 +241,7 @@ public class InstrumentationInstaller extends BaseAgentInstaller {
             .ignore(new IgnoredTypesMatcher())
             .with(new TransformListener())
             .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+            .with(discoveryStrategy)
             .with(AgentBuilder.InitializationStrategy.NoOp.INSTANCE)
             .with(AgentBuilder.TypeStrategy.Default.REBASE)
              // https://github.com/raphw/byte-buddy/issues/1441
@@ -0,0 +1,149 @@
+package io.arex.agent.instrumentation;
+
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.runtime.model.DynamicClassEntity;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Class loaders of every loaded class by name, seeded once from {@link Instrumentation#getAllLoadedClasses()}
+ * and kept up to date as a class file transformer, so a dynamic class config change only looks up
+ * the classes it names instead of scanning all loaded classes again.
+ * The names defined only by collected class loaders are dropped, the index does not grow with redeployments.
+ */
+public class LoadedClassIndex implements ClassFileTransformer {
+    private static final WeakReference<ClassLoader> BOOTSTRAP_LOADER = new WeakReference<>(null);
+    private static final String WILDCARD = "*";
+
+    /**
+     * internal class name -> class loaders defining a class of that name
+     */
+    final Map<String, List<WeakReference<ClassLoader>>> loaders = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ClassLoader> collectedLoaders = new ReferenceQueue<>();
+
+    public void install(Instrumentation instrumentation) {
+        // added first, a class loaded while seeding is not missed
+        instrumentation.addTransformer(this, false);
+        for (Class<?> clazz : instrumentation.getAllLoadedClasses()) {
+            add(clazz.getName().replace('.', '/'), clazz.getClassLoader());
+        }
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+        ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+        if (className != null && classBeingRedefined == null) {
+            add(className, loader);
+        }
+        // only observes
+        return null;
+    }
+
+    private void add(String internalName, ClassLoader loader) {
+        expungeCollectedLoaders();
+        // computed atomically, a list emptied by a collected loader is not removed while adding to it
+        loaders.compute(internalName, (key, list) -> {
+            if (list == null) {
+                list = new CopyOnWriteArrayList<>();
+            }
+            for (WeakReference<ClassLoader> reference : list) {
+                if (reference.get() == loader && (loader != null || reference == BOOTSTRAP_LOADER)) {
+                    return list;
+                }
+            }
+            list.add(loader == null ? BOOTSTRAP_LOADER : new LoaderReference(loader, collectedLoaders, internalName));
+            return list;
+        });
+    }
+
+    void expungeCollectedLoaders() {
+        Reference<? extends ClassLoader> reference;
+        while ((reference = collectedLoaders.poll()) != null) {
+            Reference<? extends ClassLoader> collected = reference;
+            loaders.computeIfPresent(((LoaderReference) collected).internalName, (key, list) -> {
+                list.remove(collected);
+                return list.isEmpty() ? null : list;
+            });
+        }
+    }
+
+    /**
+     * @param classNames binary class names
+     * @return loaded classes of these names, from every class loader defining them
+     */
+    public List<Class<?>> find(Collection<String> classNames) {
+        expungeCollectedLoaders();
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : classNames) {
+            List<WeakReference<ClassLoader>> list = loaders.get(className.replace('.', '/'));
+            if (list == null) {
+                continue;
+            }
+            for (WeakReference<ClassLoader> reference : list) {
+                ClassLoader loader = reference.get();
+                if (loader == null && reference != BOOTSTRAP_LOADER) {
+                    // collected, expunged once enqueued
+                    continue;
+                }
+                Class<?> clazz = loadedClass(className, loader);
+                if (clazz != null) {
+                    classes.add(clazz);
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static Class<?> loadedClass(String className, ClassLoader loader) {
+        try {
+            Class<?> clazz = Class.forName(className, false, loader);
+            // a child loader delegating to its parent resolves the class of the parent, which is indexed itself
+            return clazz.getClassLoader() == loader ? clazz : null;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param configuredNames class names of dynamic class configs, may be comma separated
+     * @return the exact class names, null if any of them is a wildcard or abstract class that has to be matched
+     * against all loaded classes
+     */
+    public static Set<String> exactClassNames(Collection<String> configuredNames) {
+        Set<String> classNames = new HashSet<>();
+        for (String configuredName : configuredNames) {
+            if (StringUtil.isEmpty(configuredName)) {
+                continue;
+            }
+            for (String className : StringUtil.split(configuredName, ',')) {
+                if (className.contains(WILDCARD) || className.startsWith(DynamicClassEntity.ABSTRACT_CLASS_PREFIX)) {
+                    return null;
+                }
+                classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    static class LoaderReference extends WeakReference<ClassLoader> {
+        private final String internalName;
+
+        LoaderReference(ClassLoader loader, ReferenceQueue<ClassLoader> queue, String internalName) {
+            super(loader, queue);
+            this.internalName = internalName;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.arex.agent.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.instrument.Instrumentation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class LoadedClassIndexTest {
+
+    @Test
+    void install() {
+        Instrumentation instrumentation = Mockito.mock(Instrumentation.class);
+        Mockito.when(instrumentation.getAllLoadedClasses()).thenReturn(new Class<?>[]{String.class, LoadedClassIndexTest.class});
+        LoadedClassIndex index = new LoadedClassIndex();
+        index.install(instrumentation);
+        Mockito.verify(instrumentation).addTransformer(index, false);
+
+        List<Class<?>> classes = index.find(Arrays.asList("java.lang.String", LoadedClassIndexTest.class.getName(), "not.Loaded"));
+        assertEquals(Arrays.asList(String.class, LoadedClassIndexTest.class), classes);
+    }
+
+    @Test
+    void transform() {
+        LoadedClassIndex index = new LoadedClassIndex();
+        ClassLoader loader = LoadedClassIndexTest.class.getClassLoader();
+        String internalName = LoadedClassIndexTest.class.getName().replace('.', '/');
+        assertNull(index.transform(loader, internalName, null, null, new byte[0]));
+        // indexed once per loader
+        index.transform(loader, internalName, null, null, new byte[0]);
+        // redefinition is not a new class
+        index.transform(loader, "io/arex/Redefined", Object.class, null, new byte[0]);
+        index.transform(loader, null, null, null, new byte[0]);
+
+        assertEquals(Collections.singletonList(LoadedClassIndexTest.class),
+            index.find(Collections.singletonList(LoadedClassIndexTest.class.getName())));
+        assertTrue(index.find(Collections.singletonList("io.arex.Redefined")).isEmpty());
+
+        // a loader only delegating to the parent does not define the class
+        index.transform(new ClassLoader(loader) {}, internalName, null, null, new byte[0]);
+        assertEquals(1, index.find(Collections.singletonList(LoadedClassIndexTest.class.getName())).size());
+    }
+
+    @Test
+    void expungeCollectedLoaders() {
+        LoadedClassIndex index = new LoadedClassIndex();
+        ClassLoader loader = LoadedClassIndexTest.class.getClassLoader();
+        index.transform(loader, "io/arex/Shared", null, null, new byte[0]);
+        index.transform(new ClassLoader(loader) {}, "io/arex/Shared", null, null, new byte[0]);
+        index.transform(new ClassLoader(loader) {}, "io/arex/Redeployed", null, null, new byte[0]);
+        index.transform(null, "io/arex/Bootstrap", null, null, new byte[0]);
+        assertEquals(3, index.loaders.size());
+
+        // as the garbage collector does once the loaders are unreachable
+        index.loaders.get("io/arex/Shared").get(1).enqueue();
+        index.loaders.get("io/arex/Redeployed").get(0).enqueue();
+        index.expungeCollectedLoaders();
+        assertEquals(1, index.loaders.get("io/arex/Shared").size());
+        assertFalse(index.loaders.containsKey("io/arex/Redeployed"));
+        assertEquals(1, index.loaders.get("io/arex/Bootstrap").size());
+    }
+
+    @Test
+    void exactClassNames() {
+        assertEquals(new HashSet<>(Arrays.asList("a.B", "c.D", "e.F")),
+            LoadedClassIndex.exactClassNames(Arrays.asList("a.B", "c.D,e.F", "")));
+        assertNull(LoadedClassIndex.exactClassNames(Collections.singletonList("a.*")));
+        assertNull(LoadedClassIndex.exactClassNames(Collections.singletonList("a.B,ac:c.D")));
+    }
+}
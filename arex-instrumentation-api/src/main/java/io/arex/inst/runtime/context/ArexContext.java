@@ -7,6 +7,7 @@ import io.arex.inst.runtime.model.MergeDTO;
 import io.arex.inst.runtime.util.MergeRecordReplayUtil;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -19,6 +20,7 @@ public class ArexContext {
     private final AtomicInteger sequence;
     private Set<Integer> methodSignatureHashList;
     private Map<Integer, List<MergeDTO>> cachedReplayResultMap;
+    private volatile CompletableFuture<Void> mergeReplayFuture;
     private Map<String, Set<String>> excludeMockTemplate;
 
     private Map<String, Object> attachments = null;
@@ -80,6 +82,18 @@ public class ArexContext {
         }
         return cachedReplayResultMap;
     }
+
+    /**
+     * @return completed once merge replay has filled the cached replay result map, null if merge replay not started
+     */
+    public CompletableFuture<Void> getMergeReplayFuture() {
+        return mergeReplayFuture;
+    }
+
+    public void setMergeReplayFuture(CompletableFuture<Void> mergeReplayFuture) {
+        this.mergeReplayFuture = mergeReplayFuture;
+    }
+
     public Map<String, Set<String>> getExcludeMockTemplate() {
         return excludeMockTemplate;
     }
@@ -151,6 +165,7 @@ public class ArexContext {
         if (methodSignatureHashList != null) {
             methodSignatureHashList.clear();
         }
+        mergeReplayFuture = null;
         if (cachedReplayResultMap != null) {
             cachedReplayResultMap.clear();
         }
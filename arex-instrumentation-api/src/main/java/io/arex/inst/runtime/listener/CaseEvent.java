@@ -18,6 +18,12 @@ public class CaseEvent extends EventObject {
         EXIT
     }
 
+    /*
+     * Enter and exit events carry no state, share them to keep the entrance path allocation free
+     */
+    private static final CaseEvent ENTER_EVENT = new CaseEvent(EventSource.empty(), CaseEvent.Action.ENTER);
+    private static final CaseEvent EXIT_EVENT = new CaseEvent(EventSource.empty(), CaseEvent.Action.EXIT);
+
     private final CaseEvent.Action action;
 
     private CaseEvent(EventSource source, CaseEvent.Action action) {
@@ -26,7 +32,7 @@ public class CaseEvent extends EventObject {
     }
 
     public static CaseEvent ofEnterEvent() {
-        return new CaseEvent(EventSource.empty(), CaseEvent.Action.ENTER);
+        return ENTER_EVENT;
     }
 
     public static CaseEvent ofCreateEvent(EventSource source) {
@@ -34,7 +40,7 @@ public class CaseEvent extends EventObject {
     }
 
     public static CaseEvent ofExitEvent() {
-        return new CaseEvent(EventSource.empty(), CaseEvent.Action.EXIT);
+        return EXIT_EVENT;
     }
 
     public CaseEvent.Action getAction() {
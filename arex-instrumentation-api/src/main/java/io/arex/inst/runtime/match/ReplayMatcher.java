@@ -5,12 +5,15 @@ import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.util.CollectionUtil;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.model.MergeDTO;
+import io.arex.inst.runtime.util.MergeRecordReplayUtil;
 import io.arex.inst.runtime.util.MockUtils;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class ReplayMatcher {
     private static final String MATCH_TITLE = "replay.match";
@@ -19,7 +22,32 @@ public class ReplayMatcher {
     }
 
     public static Mocker match(Mocker requestMocker, MockStrategyEnum mockStrategy) {
-        Map<Integer, List<MergeDTO>> cachedReplayResultMap = ContextManager.currentContext().getCachedReplayResultMap();
+        ArexContext arexContext = ContextManager.currentContext();
+        // merge replay is fetched in the background, wait for it on the first match
+        MergeRecordReplayUtil.awaitMergeReplay(arexContext);
+        return match(requestMocker, mockStrategy, arexContext);
+    }
+
+    /**
+     * Match without blocking the caller (eg: an event loop) while merge replay is still being fetched,
+     * the returned future completes once the cached replay result is ready.
+     */
+    public static CompletableFuture<Mocker> matchAsync(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        ArexContext arexContext = ContextManager.currentContext();
+        CompletableFuture<Void> mergeReplayFuture = arexContext == null ? null : arexContext.getMergeReplayFuture();
+        if (mergeReplayFuture == null || mergeReplayFuture.isDone()) {
+            return CompletableFuture.completedFuture(match(requestMocker, mockStrategy, arexContext));
+        }
+        return mergeReplayFuture.handle((ignore, throwable) -> {
+            if (throwable != null) {
+                LogManager.warn("merge.replay.await.error", throwable);
+            }
+            return match(requestMocker, mockStrategy, arexContext);
+        });
+    }
+
+    private static Mocker match(Mocker requestMocker, MockStrategyEnum mockStrategy, ArexContext arexContext) {
+        Map<Integer, List<MergeDTO>> cachedReplayResultMap = arexContext.getCachedReplayResultMap();
         // first match methodRequestTypeHash: category + operationName + requestType, ensure the same method
         List<MergeDTO> mergeReplayList = cachedReplayResultMap.get(MockUtils.methodRequestTypeHash(requestMocker));
         if (CollectionUtil.isEmpty(mergeReplayList)) {
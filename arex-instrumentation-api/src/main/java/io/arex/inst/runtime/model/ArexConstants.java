@@ -49,4 +49,9 @@ public class ArexConstants {
     public static final String CALL_REPLAY_MAX = "callReplayMax";
     public static final String EXCEED_MAX_SIZE_TITLE = "exceed.max.size";
     public static final String EXCEED_MAX_SIZE_FLAG = "isExceedMaxSize";
+    public static final String TRUNCATED_FLAG = "isTruncated";
+    /**
+     * date format of the default serializer, shared with the encoders that write the same output without it
+     */
+    public static final String SIMPLE_DATE_FORMAT_MILLIS = "yyyy-MM-dd HH:mm:ss.SSS";
 }
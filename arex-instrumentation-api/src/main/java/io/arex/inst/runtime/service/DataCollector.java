@@ -4,6 +4,7 @@ import io.arex.agent.bootstrap.model.MockStrategyEnum;
 import io.arex.agent.bootstrap.model.Mocker;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data collector interface. It defines the basic operations for AREX data storage which is used to 
@@ -39,4 +40,14 @@ public interface DataCollector {
      * @return the mock response data.
      */
     String query(String postData, MockStrategyEnum mockStrategy);
+
+    /**
+     * Query a mock entry without blocking the caller, the default implementation queries synchronously.
+     * @param postData
+     * @param mockStrategy
+     * @return the future of the mock response data.
+     */
+    default CompletableFuture<String> queryAsync(String postData, MockStrategyEnum mockStrategy) {
+        return CompletableFuture.completedFuture(query(postData, mockStrategy));
+    }
 }
@@ -0,0 +1,168 @@
+package io.arex.inst.runtime.util;
+
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.model.ArexConstants;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Output stream that keeps at most {@code limit} bytes in fixed size blocks borrowed from a shared pool.
+ * Bytes written beyond the limit are dropped and the stream is marked as truncated, so capturing a large
+ * body never holds more than the limit in heap. Call {@link #reset()} once the content is no longer needed
+ * to hand the blocks back to the pool.
+ */
+public class BoundedByteArrayOutputStream extends OutputStream {
+    static final int BLOCK_SIZE = 8 * 1024;
+    private static final int MAX_POOLED_BLOCKS = 256;
+    private static final ArrayBlockingQueue<byte[]> BLOCK_POOL = new ArrayBlockingQueue<>(MAX_POOLED_BLOCKS);
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int limit;
+    private final List<byte[]> blocks = new ArrayList<>();
+    private int size;
+    private boolean truncated;
+
+    public BoundedByteArrayOutputStream() {
+        this(httpBodyCaptureLimit());
+    }
+
+    public BoundedByteArrayOutputStream(int limit) {
+        this.limit = Math.max(limit, 0);
+    }
+
+    /**
+     * The configured capture limit of http bodies, default 5MB.
+     */
+    public static int httpBodyCaptureLimit() {
+        Config config = Config.get();
+        int defaultLimit = (int) ArexConstants.MEMORY_SIZE_5MB;
+        if (config == null) {
+            return defaultLimit;
+        }
+        return config.getInt(ConfigConstants.HTTP_BODY_CAPTURE_LIMIT, defaultLimit);
+    }
+
+    @Override
+    public void write(int b) {
+        if (size >= limit) {
+            truncated = true;
+            return;
+        }
+        int offset = size % BLOCK_SIZE;
+        if (offset == 0) {
+            blocks.add(borrowBlock());
+        }
+        blocks.get(blocks.size() - 1)[offset] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (len <= 0) {
+            return;
+        }
+        int remaining = limit - size;
+        if (len > remaining) {
+            truncated = true;
+            len = remaining;
+        }
+        while (len > 0) {
+            int offset = size % BLOCK_SIZE;
+            if (offset == 0) {
+                blocks.add(borrowBlock());
+            }
+            int count = Math.min(len, BLOCK_SIZE - offset);
+            System.arraycopy(b, off, blocks.get(blocks.size() - 1), offset, count);
+            off += count;
+            len -= count;
+            size += count;
+        }
+    }
+
+    /**
+     * Write the remaining bytes of the buffer without an intermediate array, the position of the buffer is advanced
+     * by the number of bytes kept.
+     */
+    public void write(ByteBuffer buffer) {
+        int len = buffer.remaining();
+        if (len <= 0) {
+            return;
+        }
+        int remaining = limit - size;
+        if (len > remaining) {
+            truncated = true;
+            len = remaining;
+        }
+        while (len > 0) {
+            int offset = size % BLOCK_SIZE;
+            if (offset == 0) {
+                blocks.add(borrowBlock());
+            }
+            int count = Math.min(len, BLOCK_SIZE - offset);
+            buffer.get(blocks.get(blocks.size() - 1), offset, count);
+            len -= count;
+            size += count;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return true if more than {@link #getLimit()} bytes were written and the excess was dropped
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public byte[] toByteArray() {
+        if (size == 0) {
+            return EMPTY;
+        }
+        byte[] result = new byte[size];
+        int position = 0;
+        for (byte[] block : blocks) {
+            int count = Math.min(BLOCK_SIZE, size - position);
+            System.arraycopy(block, 0, result, position, count);
+            position += count;
+        }
+        return result;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        int position = 0;
+        for (byte[] block : blocks) {
+            int count = Math.min(BLOCK_SIZE, size - position);
+            out.write(block, 0, count);
+            position += count;
+        }
+    }
+
+    /**
+     * Discard the content and return the blocks to the pool, the stream can be reused afterwards.
+     */
+    public void reset() {
+        for (byte[] block : blocks) {
+            BLOCK_POOL.offer(block);
+        }
+        blocks.clear();
+        size = 0;
+        truncated = false;
+    }
+
+    private static byte[] borrowBlock() {
+        byte[] block = BLOCK_POOL.poll();
+        return block != null ? block : new byte[BLOCK_SIZE];
+    }
+}
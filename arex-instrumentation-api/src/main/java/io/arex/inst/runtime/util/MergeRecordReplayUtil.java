@@ -1,5 +1,6 @@
 package io.arex.inst.runtime.util;
 
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
 import io.arex.agent.bootstrap.model.MockCategoryType;
 import io.arex.agent.bootstrap.model.MockStrategyEnum;
 import io.arex.agent.bootstrap.model.Mocker;
@@ -10,6 +11,7 @@ import io.arex.inst.runtime.config.Config;
 import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.log.LogManager;
+import io.arex.inst.runtime.match.ReplayMatcher;
 import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.runtime.model.MergeDTO;
 import io.arex.inst.runtime.model.MergeReplayType;
@@ -17,13 +19,20 @@ import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.sizeof.AgentSizeOf;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * merge record and replay util
  */
 public class MergeRecordReplayUtil {
     private static final AgentSizeOf agentSizeOf = AgentSizeOf.newInstance();
+    private static final ExecutorService MERGE_REPLAY_EXECUTOR = createMergeReplayExecutor();
 
     private MergeRecordReplayUtil() {}
 
@@ -184,37 +193,85 @@ public class MergeRecordReplayUtil {
     }
 
     /**
-     * init replay and cached replay result
+     * init replay and cached replay result, all merge categories are fetched concurrently on the merge replay executor,
+     * the first match waits for the cached replay result, see {@link #awaitMergeReplay(ArexContext)}
      */
     public static void mergeReplay() {
+        mergeReplay(MERGE_REPLAY_EXECUTOR);
+    }
+
+    static void mergeReplay(Executor executor) {
         if (!ContextManager.needReplay()) {
             return;
         }
-        Map<Integer, List<MergeDTO>> cachedReplayResultMap = ContextManager.currentContext().getCachedReplayResultMap();
+        ArexContext context = ContextManager.currentContext();
+        TraceTransmitter traceTransmitter = TraceTransmitter.createReusable();
         // if there are other types that need to be mergeReplay in the future, please add to MergeReplayType
-        for (MergeReplayType mergeReplayType : MergeReplayType.values()) {
+        MergeReplayType[] mergeReplayTypes = MergeReplayType.values();
+        List<CompletableFuture<List<MergeDTO>>> fetchFutures = new ArrayList<>(mergeReplayTypes.length);
+        for (MergeReplayType mergeReplayType : mergeReplayTypes) {
             Mocker mergeMocker = MockUtils.create(mergeReplayType.getMockCategoryType(), ArexConstants.MERGE_RECORD_NAME);
-            int callReplayMax;
-            int replayCount = 0;
-            do {
-                Mocker responseMocker = MockUtils.executeReplay(mergeMocker, MockStrategyEnum.OVER_BREAK);
-                if (!MockUtils.checkResponseMocker(responseMocker)) {
-                    break;
+            fetchFutures.add(CompletableFuture.supplyAsync(() -> {
+                try (TraceTransmitter tm = traceTransmitter.transmit()) {
+                    return fetchMergeReplay(mergeMocker);
                 }
-                List<MergeDTO> mergeReplayList = Serializer.deserialize(responseMocker.getTargetResponse().getBody(),
-                        ArexConstants.MERGE_TYPE);
-                if (CollectionUtil.isEmpty(mergeReplayList)) {
-                    LogManager.warn("merge.replay.fail", "mergeReplayList is empty");
-                    break;
+            }, executor));
+        }
+
+        CompletableFuture<Void> mergeReplayFuture = CompletableFuture
+            .allOf(fetchFutures.toArray(new CompletableFuture[0]))
+            .handle((ignore, throwable) -> {
+                Map<Integer, List<MergeDTO>> cachedReplayResultMap = context.getCachedReplayResultMap();
+                for (CompletableFuture<List<MergeDTO>> fetchFuture : fetchFutures) {
+                    try {
+                        buildReplayResultMap(fetchFuture.join(), cachedReplayResultMap);
+                    } catch (Exception e) {
+                        LogManager.warn("merge.replay.error", e);
+                    }
                 }
-                buildReplayResultMap(mergeReplayList, cachedReplayResultMap);
-                replayCount ++;
-                callReplayMax = getCallReplayMax(responseMocker);
-            } while (replayCount < callReplayMax);
+                // ascending order
+                sortByCreationTime(cachedReplayResultMap);
+                return null;
+            });
+        context.setMergeReplayFuture(mergeReplayFuture);
+    }
+
+    /**
+     * wait until the cached replay result of merge replay is ready, only for synchronous replay,
+     * asynchronous replay chains on the future instead, see {@link ReplayMatcher#matchAsync}
+     */
+    public static void awaitMergeReplay(ArexContext context) {
+        CompletableFuture<Void> mergeReplayFuture = context == null ? null : context.getMergeReplayFuture();
+        if (mergeReplayFuture == null || mergeReplayFuture.isDone()) {
+            return;
         }
+        try {
+            mergeReplayFuture.join();
+        } catch (Exception e) {
+            LogManager.warn("merge.replay.await.error", e);
+        }
+    }
 
-        // ascending order
-        sortByCreationTime(cachedReplayResultMap);
+    private static List<MergeDTO> fetchMergeReplay(Mocker mergeMocker) {
+        List<MergeDTO> fetchedList = new ArrayList<>();
+        int callReplayMax;
+        int replayCount = 0;
+        do {
+            Mocker responseMocker = MockUtils.executeReplay(mergeMocker, MockStrategyEnum.OVER_BREAK);
+            if (!MockUtils.checkResponseMocker(responseMocker)) {
+                break;
+            }
+            List<MergeDTO> mergeReplayList = Serializer.deserialize(responseMocker.getTargetResponse().getBody(),
+                    ArexConstants.MERGE_TYPE);
+            if (CollectionUtil.isEmpty(mergeReplayList)) {
+                LogManager.warn("merge.replay.fail", "mergeReplayList is empty");
+                break;
+            }
+            fetchedList.addAll(mergeReplayList);
+            replayCount ++;
+            callReplayMax = getCallReplayMax(responseMocker);
+        } while (replayCount < callReplayMax);
+        return fetchedList;
     }
 
     private static void buildReplayResultMap(List<MergeDTO> mergeReplayList, Map<Integer, List<MergeDTO>> cachedReplayResultMap) {
@@ -241,6 +298,19 @@ public class MergeRecordReplayUtil {
         }
     }
 
+    private static ExecutorService createMergeReplayExecutor() {
+        int poolSize = Math.max(MergeReplayType.values().length, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "arex-merge-replay-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private static int getCallReplayMax(Mocker replayMocker) {
         Mocker.Target targetResponse = replayMocker.getTargetResponse();
         int callReplayMax = NumberUtil.toInt(String.valueOf(targetResponse.getAttribute(ArexConstants.CALL_REPLAY_MAX)));
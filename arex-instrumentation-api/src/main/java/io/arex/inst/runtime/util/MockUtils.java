@@ -1,7 +1,9 @@
 package io.arex.inst.runtime.util;
 
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
 import io.arex.agent.bootstrap.model.ArexMocker;
 import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.MockStrategyEnum;
 import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.model.Mocker.Target;
@@ -17,6 +19,9 @@ import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.service.DataService;
 import io.arex.inst.runtime.util.sizeof.AgentSizeOf;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
 public final class MockUtils {
 
     private static final String EMPTY_JSON = "{}";
@@ -92,6 +97,14 @@ public final class MockUtils {
     }
 
     public static void recordMocker(Mocker requestMocker) {
+        recordMocker(requestMocker, null);
+    }
+
+    /**
+     * @param context context of the case, passed in when the entry point is recorded off the request thread after the
+     * case has exited (eg: netty record thread), so its remaining merge mockers are still recorded
+     */
+    public static void recordMocker(Mocker requestMocker, ArexContext context) {
         if (CaseManager.isInvalidCase(requestMocker.getRecordId())) {
             return;
         }
@@ -104,7 +117,7 @@ public final class MockUtils {
 
         if (requestMocker.getCategoryType().isEntryPoint()) {
             // after main entry record finished, record remain merge mocker that have not reached the merge threshold once(such as dynamicClass)
-            MergeRecordReplayUtil.recordRemain(ContextManager.currentContext());
+            MergeRecordReplayUtil.recordRemain(context != null ? context : ContextManager.currentContext());
         }
     }
 
@@ -143,6 +156,89 @@ public final class MockUtils {
 
         String data = DataService.INSTANCE.query(postJson, mockStrategy);
 
+        return parseReplayData(requestMocker, postJson, data);
+    }
+
+    /**
+     * Replay without blocking the calling thread, the mock data is queried asynchronously
+     * and the future is completed with the trace context of the caller.
+     * Invalid cases complete immediately, merged mockers complete once merge replay is fetched and matched.
+     */
+    public static CompletableFuture<Mocker> replayMockerAsync(Mocker requestMocker) {
+        return replayMockerAsync(requestMocker, MockStrategyEnum.OVER_BREAK);
+    }
+
+    public static CompletableFuture<Mocker> replayMockerAsync(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        if (CaseManager.isInvalidCase(requestMocker.getReplayId()) &&
+                isNotConfigFile(requestMocker.getCategoryType())) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (requestMocker.isNeedMerge()) {
+            TraceTransmitter traceTransmitter = TraceTransmitter.create();
+            return completeWithCallerLoader(ReplayMatcher.matchAsync(requestMocker, mockStrategy).thenCompose(matchMocker -> {
+                // compatible with old version(fixed case without merge)
+                if (matchMocker != null) {
+                    return CompletableFuture.completedFuture(matchMocker);
+                }
+                // the merge replay may complete on another thread
+                try (TraceTransmitter tm = traceTransmitter.transmit()) {
+                    return executeReplayAsync(requestMocker, mockStrategy);
+                }
+            }));
+        }
+
+        return completeWithCallerLoader(executeReplayAsync(requestMocker, mockStrategy));
+    }
+
+    /**
+     * The dependent stages (eg: deserializing the body) run on the thread completing the source,
+     * such as an http client io thread whose context class loader may not see the application types,
+     * so they are run with the context class loader of the caller.
+     */
+    static <T> CompletableFuture<T> completeWithCallerLoader(CompletableFuture<T> source) {
+        if (source.isDone()) {
+            return source;
+        }
+        ClassLoader callerLoader = Thread.currentThread().getContextClassLoader();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        source.whenComplete((value, throwable) -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader originalLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(callerLoader);
+            try {
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else {
+                    future.complete(value);
+                }
+            } finally {
+                thread.setContextClassLoader(originalLoader);
+            }
+        });
+        return future;
+    }
+
+    public static CompletableFuture<Mocker> executeReplayAsync(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        String postJson = Serializer.serialize(requestMocker);
+        TraceTransmitter traceTransmitter = TraceTransmitter.create();
+        CompletableFuture<Mocker> future = new CompletableFuture<>();
+        DataService.INSTANCE.queryAsync(postJson, mockStrategy).whenComplete((data, throwable) -> {
+            try (TraceTransmitter tm = traceTransmitter.transmit()) {
+                if (throwable != null) {
+                    LogManager.warn(requestMocker.replayLogTitle(), throwable);
+                    future.complete(null);
+                    return;
+                }
+                future.complete(parseReplayData(requestMocker, postJson, data));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private static Mocker parseReplayData(Mocker requestMocker, String postJson, String data) {
         boolean isEnableDebug = Config.get().isEnableDebug();
 
         if (isEnableDebug) {
@@ -181,6 +277,56 @@ public final class MockUtils {
             responseMocker.getTargetResponse().getType());
     }
 
+    public static CompletableFuture<Object> replayBodyAsync(Mocker requestMocker) {
+        return replayBodyAsync(requestMocker, MockStrategyEnum.OVER_BREAK);
+    }
+
+    public static CompletableFuture<Object> replayBodyAsync(Mocker requestMocker, MockStrategyEnum mockStrategy) {
+        return replayMockerAsync(requestMocker, mockStrategy).thenApply(responseMocker -> {
+            if (!checkResponseMocker(responseMocker)) {
+                return null;
+            }
+            return Serializer.deserialize(responseMocker.getTargetResponse().getBody(),
+                responseMocker.getTargetResponse().getType());
+        });
+    }
+
+    /**
+     * Replay without deserializing the body, it is deserialized on first access of the result,
+     * so a result that is ignored or just passed on skips the deserialization.
+     */
+    public static MockResult replayResult(Mocker requestMocker, boolean ignoreMockResult) {
+        return replayResult(requestMocker, ignoreMockResult, null);
+    }
+
+    /**
+     * @param restore converts the deserialized body to the result handed to the application, may be null
+     */
+    public static MockResult replayResult(Mocker requestMocker, boolean ignoreMockResult,
+        Function<Object, Object> restore) {
+        Mocker responseMocker = replayMocker(requestMocker, MockStrategyEnum.OVER_BREAK);
+        return toMockResult(responseMocker, ignoreMockResult, restore);
+    }
+
+    public static CompletableFuture<MockResult> replayResultAsync(Mocker requestMocker, boolean ignoreMockResult,
+        Function<Object, Object> restore) {
+        return replayMockerAsync(requestMocker, MockStrategyEnum.OVER_BREAK)
+            .thenApply(responseMocker -> toMockResult(responseMocker, ignoreMockResult, restore));
+    }
+
+    private static MockResult toMockResult(Mocker responseMocker, boolean ignoreMockResult,
+        Function<Object, Object> restore) {
+        if (!checkResponseMocker(responseMocker)) {
+            return MockResult.success(ignoreMockResult, null);
+        }
+        String body = responseMocker.getTargetResponse().getBody();
+        String typeName = responseMocker.getTargetResponse().getType();
+        return MockResult.lazy(ignoreMockResult, TypeUtil.isThrowable(typeName), () -> {
+            Object result = Serializer.deserialize(body, typeName);
+            return restore == null ? result : restore.apply(result);
+        });
+    }
+
     public static boolean checkResponseMocker(Mocker responseMocker) {
         if (responseMocker == null) {
             return false;
@@ -0,0 +1,228 @@
+package io.arex.inst.runtime.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Computes a 64-bit hash of the content of an object graph in one traversal, without serializing it.
+ * Objects with the same serialized form (same field values) get the same hash, so it can be used to filter
+ * duplicate results before paying for the serialization.
+ * <p>
+ * Unsupported graphs (too large, too deep, or containing jdk internal types whose fields are not accessible)
+ * return null and the caller should fall back to the serialized form. So do the types whose serialized form
+ * may not follow their fields: types with a custom serializer and types annotated for the serializer.
+ */
+public class StructuralHash {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int DEFAULT_MAX_NODES = 10_000;
+    private static final int MAX_DEPTH = 64;
+    private static final long NULL_HASH = 0x9e3779b97f4a7c15L;
+    private static final long CYCLE_HASH = 0xc2b2ae3d27d4eb4fL;
+    private static final ConcurrentMap<Class<?>, Field[]> FIELD_CACHE = new ConcurrentHashMap<>();
+    private static final Field[] UNSUPPORTED = new Field[0];
+    private static final Set<Class<?>> CUSTOM_SERIALIZED_TYPES = ConcurrentHashMap.newKeySet();
+    private static final String GSON_JSON_ADAPTER = "com.google.gson.annotations.JsonAdapter";
+    private static final String JACKSON_PACKAGE_PREFIX = "com.fasterxml.jackson.";
+    /**
+     * thrown to abandon the traversal, preallocated without stack trace as unsupported graphs are common
+     */
+    private static final UnsupportedGraphException UNSUPPORTED_GRAPH = new UnsupportedGraphException();
+
+    private final IdentityHashMap<Object, Boolean> visiting = new IdentityHashMap<>();
+    private final int maxNodes;
+    private int nodes;
+
+    private StructuralHash(int maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * @return the hash of the object graph, null if the graph is not supported
+     */
+    public static Long hash(Object object) {
+        return hash(object, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * @param clazz a type the serializer writes with a custom serializer, its values are not hashed
+     */
+    public static void addCustomSerializedType(Class<?> clazz) {
+        CUSTOM_SERIALIZED_TYPES.add(clazz);
+    }
+
+    public static Long hash(Object object, int maxNodes) {
+        try {
+            return new StructuralHash(maxNodes).hashOf(object, 0);
+        } catch (UnsupportedGraphException e) {
+            return null;
+        }
+    }
+
+    private long hashOf(Object object, int depth) {
+        if (object == null) {
+            return NULL_HASH;
+        }
+        if (++nodes > maxNodes || depth > MAX_DEPTH) {
+            throw UNSUPPORTED_GRAPH;
+        }
+        Class<?> clazz = object.getClass();
+        long hash = mix(FNV_OFFSET, clazz.getName().hashCode());
+        if (object instanceof String || object instanceof Boolean || object instanceof Character) {
+            return mix(mix(hash, object.hashCode()), object.toString().length());
+        }
+        // not use hashCode, AtomicInteger and enum use the identity hash code
+        if (object instanceof Number || object instanceof TemporalAccessor) {
+            return mix(hash, object.toString().hashCode());
+        }
+        if (object instanceof Enum) {
+            return mix(hash, ((Enum<?>) object).name().hashCode());
+        }
+        if (object instanceof Class) {
+            return mix(hash, ((Class<?>) object).getName().hashCode());
+        }
+        if (object instanceof Date) {
+            return mix(hash, ((Date) object).getTime());
+        }
+        if (CUSTOM_SERIALIZED_TYPES.contains(clazz)) {
+            throw UNSUPPORTED_GRAPH;
+        }
+        if (visiting.put(object, Boolean.TRUE) != null) {
+            return mix(hash, CYCLE_HASH);
+        }
+        try {
+            return hashOfContainer(object, clazz, hash, depth);
+        } finally {
+            visiting.remove(object);
+        }
+    }
+
+    private long hashOfContainer(Object object, Class<?> clazz, long hash, int depth) {
+        if (clazz.isArray()) {
+            int length = Array.getLength(object);
+            hash = mix(hash, length);
+            for (int i = 0; i < length; i++) {
+                hash = mix(hash, hashOf(Array.get(object, i), depth + 1));
+            }
+            return hash;
+        }
+        if (object instanceof Set) {
+            // order independent, equal sets may iterate differently
+            long sum = 0;
+            for (Object element : (Set<?>) object) {
+                sum += hashOf(element, depth + 1);
+            }
+            return mix(mix(hash, ((Set<?>) object).size()), sum);
+        }
+        if (object instanceof Collection) {
+            hash = mix(hash, ((Collection<?>) object).size());
+            for (Object element : (Collection<?>) object) {
+                hash = mix(hash, hashOf(element, depth + 1));
+            }
+            return hash;
+        }
+        if (object instanceof Map) {
+            long sum = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                sum += mix(hashOf(entry.getKey(), depth + 1), hashOf(entry.getValue(), depth + 1));
+            }
+            return mix(mix(hash, ((Map<?, ?>) object).size()), sum);
+        }
+        if (object instanceof Optional) {
+            return mix(hash, hashOf(((Optional<?>) object).orElse(null), depth + 1));
+        }
+        Field[] fields = FIELD_CACHE.computeIfAbsent(clazz, StructuralHash::resolveFields);
+        if (fields == UNSUPPORTED) {
+            throw UNSUPPORTED_GRAPH;
+        }
+        for (Field field : fields) {
+            try {
+                hash = mix(hash, hashOf(field.get(object), depth + 1));
+            } catch (IllegalAccessException e) {
+                throw UNSUPPORTED_GRAPH;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Instance fields that are serialized (not static or transient), including the fields of super classes.
+     * A class or field annotated for the serializer is unsupported, eg: @JsonAdapter, @JsonIgnore.
+     */
+    private static Field[] resolveFields(Class<?> clazz) {
+        if (isJdkClass(clazz)) {
+            return UNSUPPORTED;
+        }
+        List<Field> fields = new ArrayList<>();
+        try {
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                if (isJdkClass(current) || hasSerializerAnnotation(current)) {
+                    return UNSUPPORTED;
+                }
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    // a transient field may still be written by an annotated accessor
+                    if (hasSerializerAnnotation(field)) {
+                        return UNSUPPORTED;
+                    }
+                    if (Modifier.isTransient(modifiers)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        } catch (RuntimeException e) {
+            // InaccessibleObjectException (java 9+) or SecurityException
+            return UNSUPPORTED;
+        }
+        return fields.toArray(new Field[0]);
+    }
+
+    private static boolean hasSerializerAnnotation(AnnotatedElement element) {
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            String name = annotation.annotationType().getName();
+            if (GSON_JSON_ADAPTER.equals(name) || name.startsWith(JACKSON_PACKAGE_PREFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJdkClass(Class<?> clazz) {
+        String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("jdk.");
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value & 0xff);
+            hash *= FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    private static final class UnsupportedGraphException extends RuntimeException {
+        private UnsupportedGraphException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -240,6 +240,14 @@ public class TypeUtil {
         return null;
     }
 
+    /**
+     * Whether the recorded type name denotes a throwable, resolved through the type cache without deserializing.
+     */
+    public static boolean isThrowable(String typeName) {
+        Class<?> rawClass = getRawClass(forName(typeName));
+        return rawClass != null && Throwable.class.isAssignableFrom(rawClass);
+    }
+
 
     /**
      * Converts a collection to a string representation.
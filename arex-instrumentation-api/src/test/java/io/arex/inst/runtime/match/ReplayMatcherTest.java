@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -57,4 +58,32 @@ class ReplayMatcherTest {
         Mockito.when(Config.get().isEnableDebug()).thenReturn(true);
         assertNull(ReplayMatcher.match(requestMocker, MockStrategyEnum.FIND_LAST));
     }
-}
\ No newline at end of file
+
+    @Test
+    void matchAsync() {
+        ArexMocker requestMocker = new ArexMocker(MockCategoryType.DYNAMIC_CLASS);
+        requestMocker.setOperationName("mock");
+        requestMocker.setTargetRequest(new Mocker.Target());
+        requestMocker.setTargetResponse(new Mocker.Target());
+        ArexContext context = Mockito.mock(ArexContext.class);
+        Mockito.when(ContextManager.currentContext()).thenReturn(context);
+        Mockito.when(context.getCachedReplayResultMap()).thenReturn(new HashMap<>());
+        // no merge replay
+        assertNull(ReplayMatcher.matchAsync(requestMocker, MockStrategyEnum.FIND_LAST).join());
+
+        // merge replay not ready, matched once it completes
+        CompletableFuture<Void> mergeReplayFuture = new CompletableFuture<>();
+        Mockito.when(context.getMergeReplayFuture()).thenReturn(mergeReplayFuture);
+        CompletableFuture<Mocker> matchFuture = ReplayMatcher.matchAsync(requestMocker, MockStrategyEnum.FIND_LAST);
+        assertFalse(matchFuture.isDone());
+        mergeReplayFuture.complete(null);
+        assertNull(matchFuture.join());
+
+        // merge replay failed
+        CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+        Mockito.when(context.getMergeReplayFuture()).thenReturn(failedFuture);
+        matchFuture = ReplayMatcher.matchAsync(requestMocker, MockStrategyEnum.FIND_LAST);
+        failedFuture.completeExceptionally(new RuntimeException("mock"));
+        assertNull(matchFuture.join());
+    }
+}
@@ -0,0 +1,91 @@
+package io.arex.inst.runtime.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class BoundedByteArrayOutputStreamTest {
+
+    @Test
+    void writeWithinLimit() throws IOException {
+        BoundedByteArrayOutputStream stream = new BoundedByteArrayOutputStream(16);
+        stream.write('a');
+        stream.write("bcd".getBytes(), 0, 3);
+        assertEquals(4, stream.size());
+        assertFalse(stream.isTruncated());
+        assertArrayEquals("abcd".getBytes(), stream.toByteArray());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.writeTo(out);
+        assertArrayEquals("abcd".getBytes(), out.toByteArray());
+    }
+
+    @Test
+    void writeExceedLimit() {
+        BoundedByteArrayOutputStream stream = new BoundedByteArrayOutputStream(3);
+        stream.write("abcd".getBytes(), 0, 4);
+        assertTrue(stream.isTruncated());
+        assertArrayEquals("abc".getBytes(), stream.toByteArray());
+        stream.write('e');
+        assertEquals(3, stream.size());
+
+        stream.reset();
+        assertFalse(stream.isTruncated());
+        assertEquals(0, stream.size());
+        assertEquals(0, stream.toByteArray().length);
+    }
+
+    @Test
+    void writeAcrossBlocks() {
+        int length = BoundedByteArrayOutputStream.BLOCK_SIZE * 2 + 10;
+        byte[] body = new byte[length];
+        Arrays.fill(body, (byte) 'x');
+        body[length - 1] = 'y';
+        BoundedByteArrayOutputStream stream = new BoundedByteArrayOutputStream(length);
+        stream.write(body, 0, 100);
+        stream.write(body, 100, length - 100);
+        assertFalse(stream.isTruncated());
+        assertArrayEquals(body, stream.toByteArray());
+        // blocks are reused after reset
+        stream.reset();
+        stream.write('z');
+        assertArrayEquals(new byte[]{'z'}, stream.toByteArray());
+    }
+
+    @Test
+    void writeByteBuffer() {
+        int limit = BoundedByteArrayOutputStream.BLOCK_SIZE + 10;
+        BoundedByteArrayOutputStream stream = new BoundedByteArrayOutputStream(limit);
+        byte[] content = new byte[BoundedByteArrayOutputStream.BLOCK_SIZE - 5];
+        Arrays.fill(content, (byte) 'a');
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        stream.write(buffer);
+        assertEquals(0, buffer.remaining());
+        assertFalse(stream.isTruncated());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(20);
+        while (direct.hasRemaining()) {
+            direct.put((byte) 'b');
+        }
+        direct.flip();
+        stream.write(direct);
+        assertTrue(stream.isTruncated());
+        assertEquals(limit, stream.size());
+        assertEquals(5, direct.remaining());
+        byte[] result = stream.toByteArray();
+        assertEquals('a', result[content.length - 1]);
+        assertEquals('b', result[content.length]);
+        assertEquals('b', result[limit - 1]);
+        stream.reset();
+    }
+
+    @Test
+    void httpBodyCaptureLimit() {
+        assertEquals(5 * 1024 * 1024, BoundedByteArrayOutputStream.httpBodyCaptureLimit());
+        assertEquals(5 * 1024 * 1024, new BoundedByteArrayOutputStream().getLimit());
+    }
+}
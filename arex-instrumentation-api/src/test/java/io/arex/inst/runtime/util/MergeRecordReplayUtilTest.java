@@ -9,10 +9,12 @@ import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.runtime.model.MergeDTO;
+import io.arex.inst.runtime.model.MergeReplayType;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.sizeof.AgentSizeOf;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -142,11 +144,55 @@ class MergeRecordReplayUtilTest {
         );
     }
 
+    @Test
+    void recordRemainSaved() {
+        Mockito.when(agentSizeOf.checkMemorySizeLimit(any(), Mockito.anyLong())).thenReturn(true);
+        ArexContext context = ArexContext.of("mock");
+        MergeDTO mergeDTO = new MergeDTO();
+        mergeDTO.setCategory(MockCategoryType.DYNAMIC_CLASS.getName());
+        context.getMergeRecordQueue().offer(mergeDTO);
+        mockUtils.clearInvocations();
+
+        MergeRecordReplayUtil.recordRemain(context);
+        assertTrue(context.getMergeRecordQueue().isEmpty());
+        mockUtils.verify(() -> MockUtils.executeRecord(requestMocker));
+        Mockito.when(agentSizeOf.checkMemorySizeLimit(any(), Mockito.anyLong())).thenReturn(false);
+        mockUtils.clearInvocations();
+    }
+
     @ParameterizedTest
     @MethodSource("mergeReplayCase")
     void mergeReplay(Runnable mocker) {
         mocker.run();
-        assertDoesNotThrow(MergeRecordReplayUtil::mergeReplay);
+        assertDoesNotThrow(() -> MergeRecordReplayUtil.mergeReplay(Runnable::run));
+    }
+
+    @Test
+    void mergeReplayInBackground() {
+        Mockito.when(ContextManager.needReplay()).thenReturn(true);
+        ArexContext context = ArexContext.of("mock-record-id", "mock-replay-id");
+        Mockito.when(ContextManager.currentContext()).thenReturn(context);
+        Mockito.when(MockUtils.checkResponseMocker(any())).thenReturn(true);
+        requestMocker.getTargetResponse().setBody("mock");
+        Mockito.when(MockUtils.executeReplay(any(), any())).thenReturn(requestMocker);
+        List<MergeDTO> mergeReplayList = new ArrayList<>();
+        MergeDTO mergeDTO = new MergeDTO();
+        mergeDTO.setMethodRequestTypeHash(1);
+        mergeReplayList.add(mergeDTO);
+        Mockito.when(Serializer.deserialize(anyString(), anyString())).thenReturn(mergeReplayList);
+
+        // fetch tasks are deferred until the executor runs them
+        List<Runnable> fetchTasks = new ArrayList<>();
+        MergeRecordReplayUtil.mergeReplay(fetchTasks::add);
+        assertEquals(MergeReplayType.values().length, fetchTasks.size());
+        assertFalse(context.getMergeReplayFuture().isDone());
+        assertTrue(context.getCachedReplayResultMap().isEmpty());
+
+        fetchTasks.forEach(Runnable::run);
+        MergeRecordReplayUtil.awaitMergeReplay(context);
+        assertTrue(context.getMergeReplayFuture().isDone());
+        // one batch fetched per category
+        assertEquals(MergeReplayType.values().length, context.getCachedReplayResultMap().get(1).size());
     }
 
     static Stream<Arguments> mergeReplayCase() {
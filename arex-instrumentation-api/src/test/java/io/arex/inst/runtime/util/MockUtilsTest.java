@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 
 import io.arex.agent.bootstrap.model.ArexMocker;
 import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.inst.runtime.config.ConfigBuilder;
 import io.arex.inst.runtime.context.ArexContext;
@@ -18,17 +19,23 @@ import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.serializer.StringSerializable;
 import io.arex.inst.runtime.service.DataCollector;
 import io.arex.inst.runtime.service.DataService;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 class MockUtilsTest {
     static ConfigBuilder configBuilder = null;
     static DataCollector dataCollector;
+    static MockedStatic<MergeRecordReplayUtil> mergeRecordReplayUtil;
     @BeforeAll
     static void setUp() {
         Mockito.mockStatic(ContextManager.class);
@@ -42,7 +49,7 @@ class MockUtilsTest {
         list.add(new TestJacksonSerializable());
         list.add(new TestGsonSerializer());
         Serializer.builder(list).build();
-        Mockito.mockStatic(MergeRecordReplayUtil.class);
+        mergeRecordReplayUtil = Mockito.mockStatic(MergeRecordReplayUtil.class);
         Mockito.mockStatic(ReplayMatcher.class);
     }
 
@@ -72,6 +79,12 @@ class MockUtilsTest {
         // remain case
         servletMocker.setNeedMerge(false);
         Assertions.assertDoesNotThrow(() -> MockUtils.recordMocker(servletMocker));
+
+        // recorded after the case exited
+        Mockito.when(ContextManager.currentContext()).thenReturn(null);
+        ArexContext context = ArexContext.of("mock");
+        MockUtils.recordMocker(servletMocker, context);
+        mergeRecordReplayUtil.verify(() -> MergeRecordReplayUtil.recordRemain(context));
     }
 
     @Test
@@ -112,6 +125,113 @@ class MockUtilsTest {
         assertNull(MockUtils.replayBody(configFile));
     }
 
+    @Test
+    void replayResult() {
+        configBuilder.enableDebug(false);
+        configBuilder.build();
+        String responseJson = "{\"categoryType\":{\"name\":\"DynamicClass\"},\"targetResponse\":{\"body\":\"1693194255518\",\"type\":\"java.lang.Long\"},\"operationName\":\"java.lang.System.currentTimeMillis\"}";
+        Mockito.when(dataCollector.query(anyString(), any())).thenReturn(responseJson);
+        Mockito.when(CaseManager.isInvalidCase("mock-replay-id")).thenReturn(false);
+        Mockito.when(ContextManager.currentContext()).thenReturn(ArexContext.of("mock-trace-id", "mock-replay-id"));
+        ArexMocker dynamicClass = MockUtils.createDynamicClass("test", "test");
+
+        MockResult mockResult = MockUtils.replayResult(dynamicClass, false);
+        assertTrue(mockResult.notIgnoreMockResult());
+        assertNull(mockResult.getThrowable());
+        assertEquals(1693194255518L, mockResult.getResult());
+
+        // restored on first access only
+        AtomicInteger restoreCount = new AtomicInteger();
+        mockResult = MockUtils.replayResult(dynamicClass, true, body -> {
+            restoreCount.incrementAndGet();
+            return "restored " + body;
+        });
+        assertTrue(mockResult.isIgnoreMockResult());
+        assertEquals(0, restoreCount.get());
+        assertEquals("restored 1693194255518", mockResult.getResult());
+        assertEquals("restored 1693194255518", mockResult.getResult());
+        assertEquals(1, restoreCount.get());
+
+        // no response
+        Mockito.when(dataCollector.query(anyString(), any())).thenReturn("{}");
+        mockResult = MockUtils.replayResult(dynamicClass, false);
+        assertNull(mockResult.getResult());
+
+        // async
+        Mockito.when(dataCollector.queryAsync(anyString(), any())).thenReturn(CompletableFuture.completedFuture(responseJson));
+        assertEquals(1693194255518L, MockUtils.replayResultAsync(dynamicClass, false, null).join().getResult());
+    }
+
+    @Test
+    void replayMockerAsync() {
+        configBuilder.enableDebug(false);
+        configBuilder.build();
+        String responseJson = "{\"categoryType\":{\"name\":\"DynamicClass\"},\"targetResponse\":{\"body\":\"1693194255518\",\"type\":\"java.lang.Long\"},\"operationName\":\"java.lang.System.currentTimeMillis\"}";
+        CompletableFuture<String> queryFuture = new CompletableFuture<>();
+        Mockito.when(dataCollector.queryAsync(anyString(), any())).thenReturn(queryFuture);
+        Mockito.when(CaseManager.isInvalidCase("mock-replay-id")).thenReturn(false);
+        Mockito.when(ContextManager.currentContext()).thenReturn(ArexContext.of("mock-trace-id", "mock-replay-id"));
+        ArexMocker dynamicClass = MockUtils.createDynamicClass("test", "test");
+        CompletableFuture<Object> bodyFuture = MockUtils.replayBodyAsync(dynamicClass);
+        // completed when the mock data arrives, the caller is not blocked
+        assertFalse(bodyFuture.isDone());
+        queryFuture.complete(responseJson);
+        assertEquals(1693194255518L, bodyFuture.join());
+
+        // query failed
+        CompletableFuture<String> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new RuntimeException("mock"));
+        Mockito.when(dataCollector.queryAsync(anyString(), any())).thenReturn(failedFuture);
+        assertNull(MockUtils.replayMockerAsync(dynamicClass).join());
+
+        // empty response
+        Mockito.when(dataCollector.queryAsync(anyString(), any())).thenReturn(CompletableFuture.completedFuture("{}"));
+        assertNull(MockUtils.replayBodyAsync(dynamicClass).join());
+
+        // invalid case completes immediately
+        Mockito.when(CaseManager.isInvalidCase("mock-replay-id")).thenReturn(true);
+        assertNull(MockUtils.replayMockerAsync(dynamicClass).join());
+
+        // merge case matched locally
+        ArexMocker configFile = MockUtils.createConfigFile("test");
+        configFile.setNeedMerge(true);
+        Mockito.when(ReplayMatcher.matchAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(configFile));
+        assertSame(configFile, MockUtils.replayMockerAsync(configFile).join());
+
+        // merge replay not ready, the caller is not blocked
+        CompletableFuture<Mocker> matchFuture = new CompletableFuture<>();
+        Mockito.when(ReplayMatcher.matchAsync(any(), any())).thenReturn(matchFuture);
+        CompletableFuture<Mocker> mergeFuture = MockUtils.replayMockerAsync(configFile);
+        assertFalse(mergeFuture.isDone());
+        matchFuture.complete(configFile);
+        assertSame(configFile, mergeFuture.join());
+    }
+
+    @Test
+    void completeWithCallerLoader() throws Exception {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        ClassLoader callerLoader = new URLClassLoader(new URL[0]);
+        ClassLoader originalLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(callerLoader);
+        CompletableFuture<ClassLoader> future;
+        try {
+            future = MockUtils.completeWithCallerLoader(source)
+                .thenApply(value -> Thread.currentThread().getContextClassLoader());
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalLoader);
+        }
+        // completed on another thread, eg: io thread
+        Thread ioThread = new Thread(() -> source.complete("mock"));
+        ioThread.setContextClassLoader(null);
+        ioThread.start();
+        ioThread.join();
+        assertSame(callerLoader, future.join());
+
+        // already done
+        CompletableFuture<String> done = CompletableFuture.completedFuture("mock");
+        assertSame(done, MockUtils.completeWithCallerLoader(done));
+    }
+
     @Test
     void checkResponseMocker() {
         configBuilder.build();
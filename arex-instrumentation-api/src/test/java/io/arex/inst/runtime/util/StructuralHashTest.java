@@ -0,0 +1,140 @@
+package io.arex.inst.runtime.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.gson.annotations.JsonAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StructuralHashTest {
+
+    @Test
+    void simpleValue() {
+        assertNotNull(StructuralHash.hash(null));
+        assertEquals(StructuralHash.hash("mock"), StructuralHash.hash(new String("mock")));
+        assertNotEquals(StructuralHash.hash("mock"), StructuralHash.hash("mock1"));
+        assertNotEquals(StructuralHash.hash(1), StructuralHash.hash(1L));
+        assertEquals(StructuralHash.hash(new BigDecimal("1.5")), StructuralHash.hash(new BigDecimal("1.5")));
+        assertEquals(StructuralHash.hash(new AtomicInteger(1)), StructuralHash.hash(new AtomicInteger(1)));
+        assertEquals(StructuralHash.hash(new Date(1000)), StructuralHash.hash(new Date(1000)));
+        assertEquals(StructuralHash.hash(LocalDate.of(2023, 1, 1)), StructuralHash.hash(LocalDate.of(2023, 1, 1)));
+        assertEquals(StructuralHash.hash(Thread.State.NEW), StructuralHash.hash(Thread.State.NEW));
+        assertEquals(StructuralHash.hash(String.class), StructuralHash.hash(String.class));
+    }
+
+    @Test
+    void container() {
+        assertEquals(StructuralHash.hash(Arrays.asList("a", "b")), StructuralHash.hash(Arrays.asList("a", "b")));
+        assertNotEquals(StructuralHash.hash(new ArrayList<>(Arrays.asList("a", "b"))),
+                StructuralHash.hash(new ArrayList<>(Arrays.asList("b", "a"))));
+        assertEquals(StructuralHash.hash(new int[]{1, 2}), StructuralHash.hash(new int[]{1, 2}));
+        assertNotEquals(StructuralHash.hash(new int[]{1, 2}), StructuralHash.hash(new int[]{2, 1}));
+        // set and map are order independent
+        assertEquals(StructuralHash.hash(new HashSet<>(Arrays.asList("a", "b"))),
+                StructuralHash.hash(new HashSet<>(Arrays.asList("b", "a"))));
+        Map<String, Integer> map1 = new LinkedHashMap<>();
+        map1.put("a", 1);
+        map1.put("b", 2);
+        Map<String, Integer> map2 = new LinkedHashMap<>();
+        map2.put("b", 2);
+        map2.put("a", 1);
+        assertEquals(StructuralHash.hash(map1), StructuralHash.hash(map2));
+        map2.put("a", 3);
+        assertNotEquals(StructuralHash.hash(map1), StructuralHash.hash(map2));
+        assertEquals(StructuralHash.hash(Optional.of("a")), StructuralHash.hash(Optional.of("a")));
+    }
+
+    @Test
+    void pojo() {
+        Entity entity1 = new Entity("name", Collections.singletonList(new Entity("child", null)));
+        Entity entity2 = new Entity("name", Collections.singletonList(new Entity("child", null)));
+        assertEquals(StructuralHash.hash(entity1), StructuralHash.hash(entity2));
+        // transient field is ignored
+        entity2.cache = "cache";
+        assertEquals(StructuralHash.hash(entity1), StructuralHash.hash(entity2));
+        entity2.children.get(0).name = "other";
+        assertNotEquals(StructuralHash.hash(entity1), StructuralHash.hash(entity2));
+    }
+
+    @Test
+    void cycle() {
+        Entity entity = new Entity("name", new ArrayList<>());
+        entity.children.add(entity);
+        assertNotNull(StructuralHash.hash(entity));
+    }
+
+    @Test
+    void unsupported() {
+        // jdk internal object
+        assertNull(StructuralHash.hash(new Thread()));
+        assertNull(StructuralHash.hash(Collections.singletonList(new Object[]{new StringBuilder("a")})));
+        // exceed max nodes
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        assertNull(StructuralHash.hash(list, 50));
+        assertNotNull(StructuralHash.hash(list, 200));
+        Map<String, Object> map = new HashMap<>();
+        map.put("key", new Thread());
+        assertNull(StructuralHash.hash(map));
+    }
+
+    @Test
+    void serializerCustomized() {
+        // the serialized form may not follow the fields
+        assertNull(StructuralHash.hash(new AdaptedEntity()));
+        assertNull(StructuralHash.hash(new IgnoredFieldEntity()));
+        assertNull(StructuralHash.hash(Collections.singletonList(new AccessorEntity())));
+
+        assertNotNull(StructuralHash.hash(new CustomSerializedEntity()));
+        StructuralHash.addCustomSerializedType(CustomSerializedEntity.class);
+        assertNull(StructuralHash.hash(new CustomSerializedEntity()));
+        assertNotNull(StructuralHash.hash(new Entity("name", null)));
+    }
+
+    @JsonAdapter(Object.class)
+    static class AdaptedEntity {
+        private String name;
+    }
+
+    static class IgnoredFieldEntity {
+        @JsonIgnore
+        private String name;
+    }
+
+    static class AccessorEntity {
+        @JsonProperty
+        private transient String name;
+    }
+
+    static class CustomSerializedEntity {
+        private String name;
+    }
+
+    static class Entity {
+        private String name;
+        private final List<Entity> children;
+        private transient String cache;
+
+        Entity(String name, List<Entity> children) {
+            this.name = name;
+            this.children = children;
+        }
+    }
+}
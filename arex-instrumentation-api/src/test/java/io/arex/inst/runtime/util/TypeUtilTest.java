@@ -97,6 +97,14 @@ class TypeUtilTest {
         assertEquals("java.util.ArrayList", actualResult.getName());
     }
 
+    @Test
+    void isThrowable() {
+        assertTrue(TypeUtil.isThrowable("java.lang.RuntimeException"));
+        assertFalse(TypeUtil.isThrowable("java.util.ArrayList-java.lang.String"));
+        assertFalse(TypeUtil.isThrowable("not.exist.Type"));
+        assertFalse(TypeUtil.isThrowable(null));
+    }
+
     @Test
     void testDoubleMap() {
         Map<String, Map<String, LocalDateTime>> map = new HashMap<>();
@@ -66,6 +66,8 @@ public class ConfigManager {
     private List<ConfigListener> listeners = new ArrayList<>();
     private Map<String, String> extendField;
     private int bufferSize;
+    private long bufferOverflowSize;
+    private long bodyDedupWindow;
 
     private ConfigManager() {
         init();
@@ -281,6 +283,8 @@ public class ConfigManager {
         setExcludeServiceOperations(System.getProperty(EXCLUDE_SERVICE_OPERATION));
         setDubboStreamReplayThreshold(System.getProperty(DUBBO_STREAM_REPLAY_THRESHOLD, "100"));
         setBufferSize(System.getProperty(BUFFER_SIZE, "1024"));
+        setBufferOverflowSize(System.getProperty(BUFFER_OVERFLOW_SIZE, String.valueOf(64 * 1024 * 1024)));
+        setBodyDedupWindow(System.getProperty(BODY_DEDUP_WINDOW, "0"));
     }
 
     @VisibleForTesting
@@ -307,6 +311,8 @@ public class ConfigManager {
         System.setProperty(DISABLE_REPLAY, StringUtil.defaultString(configMap.get(DISABLE_REPLAY)));
         System.setProperty(DISABLE_RECORD, StringUtil.defaultString(configMap.get(DISABLE_RECORD)));
         setBufferSize(configMap.get(BUFFER_SIZE));
+        setBufferOverflowSize(configMap.get(BUFFER_OVERFLOW_SIZE));
+        setBodyDedupWindow(configMap.get(BODY_DEDUP_WINDOW));
     }
 
     private static Map<String, String> parseConfigFile(String configPath) {
@@ -611,6 +617,43 @@ public class ConfigManager {
         System.setProperty(BUFFER_SIZE, bufferSize);
     }
 
+    /**
+     * Max bytes of the on-disk overflow taking the mockers the buffer can't hold, 0 disables it.
+     */
+    public long getBufferOverflowSize() {
+        if (extendField != null && extendField.containsKey(BUFFER_OVERFLOW_SIZE)) {
+            return Long.parseLong(extendField.get(BUFFER_OVERFLOW_SIZE));
+        }
+        return bufferOverflowSize;
+    }
+
+    public void setBufferOverflowSize(String bufferOverflowSize) {
+        if (StringUtil.isEmpty(bufferOverflowSize)) {
+            return;
+        }
+        this.bufferOverflowSize = Long.parseLong(bufferOverflowSize);
+        System.setProperty(BUFFER_OVERFLOW_SIZE, bufferOverflowSize);
+    }
+
+    /**
+     * Seconds a recorded body is sent in full only once, later copies are sent as a reference,
+     * 0 (default) disables it, enable it only when the storage service resolves the references.
+     */
+    public long getBodyDedupWindow() {
+        if (extendField != null && extendField.containsKey(BODY_DEDUP_WINDOW)) {
+            return Long.parseLong(extendField.get(BODY_DEDUP_WINDOW));
+        }
+        return bodyDedupWindow;
+    }
+
+    public void setBodyDedupWindow(String bodyDedupWindow) {
+        if (StringUtil.isEmpty(bodyDedupWindow)) {
+            return;
+        }
+        this.bodyDedupWindow = Long.parseLong(bodyDedupWindow);
+        System.setProperty(BODY_DEDUP_WINDOW, bodyDedupWindow);
+    }
+
     @Override
     public String toString() {
         return "ConfigManager{" +
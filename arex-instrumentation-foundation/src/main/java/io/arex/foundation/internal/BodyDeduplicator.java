@@ -0,0 +1,126 @@
+package io.arex.foundation.internal;
+
+import io.arex.agent.bootstrap.model.Mocker;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Many cases record the same config lookups, redis values and http responses over and over.
+ * A body is sent in full together with its content hash, once it is saved later copies within the window
+ * are replaced by a reference to that hash which the storage resolves.
+ * Off by default (arex.body.dedup.window is 0) as the storage service has to resolve the references.
+ */
+public class BodyDeduplicator {
+    /**
+     * sha-256 of the body, set on the target carrying the full body
+     */
+    public static final String BODY_HASH = "arexBodyHash";
+    /**
+     * sha-256 of the body, set on the target whose body was left out
+     */
+    public static final String BODY_REFERENCE = "arexBodyRef";
+    /**
+     * smaller bodies cost about as much as the reference
+     */
+    static final int MIN_BODY_LENGTH = 512;
+    static final int MAX_ENTRIES = 10000;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(BodyDeduplicator::newDigest);
+
+    private final long windowMillis;
+    private final Map<String, Long> sentTimes = new ConcurrentHashMap<>();
+
+    public BodyDeduplicator(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * @return the hash if the same body was saved within the window, null if it should be sent in full
+     */
+    public String reference(String hash) {
+        Long sentTime = sentTimes.get(hash);
+        if (sentTime != null && System.currentTimeMillis() - sentTime < windowMillis) {
+            return hash;
+        }
+        return null;
+    }
+
+    /**
+     * Later copies of the body refer to it from now on, called only once the full body is saved,
+     * a body dropped on the way (eg: buffer full, invalid case) is sent in full again.
+     */
+    public void markSent(String hash) {
+        long now = System.currentTimeMillis();
+        if (sentTimes.size() >= MAX_ENTRIES && !sentTimes.containsKey(hash)) {
+            sentTimes.values().removeIf(time -> now - time >= windowMillis);
+            if (sentTimes.size() >= MAX_ENTRIES) {
+                // all recent, keep sending in full rather than growing
+                return;
+            }
+        }
+        sentTimes.put(hash, now);
+    }
+
+    /**
+     * Serialize the mocker with its response body deduplicated, the mocker is restored afterwards.
+     * @param fullBodyConsumer receives the hash and body when the body is sent in full, may be null,
+     *                         the caller marks the hash sent once the body is saved, see {@link #markSent(String)}
+     */
+    public String serialize(Mocker mocker, Function<Mocker, String> serializer,
+        BiConsumer<String, String> fullBodyConsumer) {
+        Mocker.Target target = windowMillis > 0 ? mocker.getTargetResponse() : null;
+        String body = target == null ? null : target.getBody();
+        if (body == null || body.length() < MIN_BODY_LENGTH) {
+            return serializer.apply(mocker);
+        }
+        String hash = hash(body);
+        String reference = reference(hash);
+        Map<String, Object> attributes = target.getAttributes();
+        try {
+            if (reference == null) {
+                if (fullBodyConsumer != null) {
+                    fullBodyConsumer.accept(hash, body);
+                }
+                target.setAttribute(BODY_HASH, hash);
+            } else {
+                target.setBody(null);
+                target.setAttribute(BODY_REFERENCE, reference);
+            }
+            return serializer.apply(mocker);
+        } finally {
+            target.setBody(body);
+            if (attributes == null) {
+                target.setAttributes(null);
+            } else {
+                attributes.remove(BODY_HASH);
+                attributes.remove(BODY_REFERENCE);
+            }
+        }
+    }
+
+    public static String hash(String body) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        byte[] bytes = digest.digest(body.getBytes(StandardCharsets.UTF_8));
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -8,14 +8,33 @@ public class DataEntity {
     private final String postData;
     private final String recordId;
     private final String operationName;
+    /**
+     * hash of the response body sent in full, marked sent once the entity is saved
+     */
+    private String bodyHash;
 
     public DataEntity(Mocker requestMocker) {
-        this.postData = Serializer.serialize(requestMocker);
+        this(requestMocker, null);
+    }
+
+    /**
+     * @param deduplicator replaces a response body already sent within its window by a reference, may be null
+     */
+    public DataEntity(Mocker requestMocker, BodyDeduplicator deduplicator) {
+        this.postData = deduplicator == null ? Serializer.serialize(requestMocker) :
+                deduplicator.serialize(requestMocker, Serializer::serialize, (hash, body) -> this.bodyHash = hash);
         this.queueTime = System.nanoTime();
         this.recordId = requestMocker.getRecordId();
         this.operationName = requestMocker.getOperationName();
     }
 
+    public DataEntity(long queueTime, String postData, String recordId, String operationName) {
+        this.queueTime = queueTime;
+        this.postData = postData;
+        this.recordId = recordId;
+        this.operationName = operationName;
+    }
+
     public long getQueueTime() {
         return queueTime;
     }
@@ -32,4 +51,8 @@ public class DataEntity {
         return operationName;
     }
 
+    public String getBodyHash() {
+        return bodyHash;
+    }
+
 }
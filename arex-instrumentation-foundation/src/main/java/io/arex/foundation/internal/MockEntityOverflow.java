@@ -0,0 +1,230 @@
+package io.arex.foundation.internal;
+
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.foundation.model.DecelerateReasonEnum;
+import io.arex.inst.runtime.log.LogManager;
+import io.arex.inst.runtime.util.CaseManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bounded on-disk FIFO taking the entities {@link MockEntityBuffer} can't hold during a burst.
+ * Records are appended as [length, recordId, operationName, postData] and read back in order by the single
+ * writer thread. The budget applies to the records not drained yet, the drained head of the file is compacted away
+ * once it is at least as large as the rest, so steady traffic after a burst keeps the file under twice the budget
+ * and the copying costs no more than the bytes drained. The file is truncated whenever it is fully drained.
+ * Entities dropped without being drained, eg: the file can't be read back, invalidate their cases as a rejected save does.
+ */
+public class MockEntityOverflow {
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private final Path directory;
+    private final long maxBytes;
+    private Path path;
+    private RandomAccessFile file;
+    private long readPosition = 0;
+    private long writePosition = 0;
+    /**
+     * recordId and operationName of the entities in the file, in order
+     */
+    private final Deque<String[]> pending = new ArrayDeque<>();
+    private volatile int size = 0;
+    private boolean closed = false;
+
+    public MockEntityOverflow(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return false if the disk budget is exhausted or the entity could not be written
+     */
+    public synchronized boolean offer(DataEntity entity) {
+        if (closed || maxBytes <= 0) {
+            return false;
+        }
+        try {
+            byte[] bytes = encode(entity);
+            if (writePosition - readPosition + bytes.length > maxBytes) {
+                return false;
+            }
+            RandomAccessFile raf = open();
+            raf.seek(writePosition);
+            raf.write(bytes);
+            writePosition += bytes.length;
+            pending.add(new String[]{entity.getRecordId(), entity.getOperationName()});
+            size++;
+            return true;
+        } catch (IOException e) {
+            LogManager.warn("overflow.offer", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the oldest entity, null if empty
+     */
+    public synchronized DataEntity poll() {
+        if (size == 0 || file == null) {
+            return null;
+        }
+        try {
+            file.seek(readPosition);
+            byte[] header = new byte[Integer.BYTES];
+            file.readFully(header);
+            byte[] record = new byte[new DataInputStream(new ByteArrayInputStream(header)).readInt()];
+            file.readFully(record);
+            readPosition = file.getFilePointer();
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            String recordId = readString(in);
+            String operationName = readString(in);
+            String postData = readString(in);
+            pending.poll();
+            if (--size == 0) {
+                reset();
+            } else if (readPosition >= writePosition - readPosition && readPosition >= maxBytes / 4) {
+                compact();
+            }
+            // time spent on disk is not buffer latency, don't let it skew the health report
+            return new DataEntity(System.nanoTime(), postData, recordId, operationName);
+        } catch (IOException e) {
+            LogManager.warn("overflow.poll", e);
+            discard();
+            return null;
+        }
+    }
+
+    /**
+     * Release the file, entities not drained yet are dropped along with it.
+     */
+    public synchronized void close() {
+        closed = true;
+        discard();
+    }
+
+    private RandomAccessFile open() throws IOException {
+        if (file == null) {
+            Files.createDirectories(directory);
+            // one file per process, several agents may share the same home directory
+            path = Files.createTempFile(directory, "mock-", ".overflow");
+            file = new RandomAccessFile(path.toFile(), "rw");
+        }
+        return file;
+    }
+
+    private void reset() throws IOException {
+        readPosition = 0;
+        writePosition = 0;
+        file.setLength(0);
+    }
+
+    /**
+     * Move the records not drained yet to the head of the file.
+     */
+    private void compact() throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long from = readPosition;
+        long to = 0;
+        while (from < writePosition) {
+            int length = (int) Math.min(buffer.length, writePosition - from);
+            file.seek(from);
+            file.readFully(buffer, 0, length);
+            file.seek(to);
+            file.write(buffer, 0, length);
+            from += length;
+            to += length;
+        }
+        writePosition = to;
+        readPosition = 0;
+        file.setLength(writePosition);
+    }
+
+    private void discard() {
+        invalidatePending();
+        size = 0;
+        readPosition = 0;
+        writePosition = 0;
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LogManager.warn("overflow.discard", e);
+        }
+        file = null;
+    }
+
+    private void invalidatePending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        LogManager.warn("overflow.discard",
+            StringUtil.format("%s entities dropped from the overflow file, their cases are invalid",
+                String.valueOf(pending.size())));
+        Set<String> recordIds = new HashSet<>();
+        for (String[] entity : pending) {
+            if (entity[0] != null && recordIds.add(entity[0])) {
+                CaseManager.invalid(entity[0], null, entity[1], DecelerateReasonEnum.QUEUE_OVERFLOW.getValue());
+            }
+        }
+        pending.clear();
+    }
+
+    private static byte[] encode(DataEntity entity) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        // length placeholder, lets poll read a record with a single call
+        data.writeInt(0);
+        writeString(data, entity.getRecordId());
+        writeString(data, entity.getOperationName());
+        writeString(data, entity.getPostData());
+        byte[] bytes = out.toByteArray();
+        int length = bytes.length - Integer.BYTES;
+        bytes[0] = (byte) (length >>> 24);
+        bytes[1] = (byte) (length >>> 16);
+        bytes[2] = (byte) (length >>> 8);
+        bytes[3] = (byte) length;
+        return bytes;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
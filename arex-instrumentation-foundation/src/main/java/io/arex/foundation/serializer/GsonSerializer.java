@@ -16,6 +16,7 @@ import io.arex.foundation.serializer.custom.NumberStrategy;
 import io.arex.foundation.serializer.custom.ProtobufAdapterFactory;
 import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.serializer.StringSerializable;
+import io.arex.inst.runtime.util.StructuralHash;
 import io.arex.inst.runtime.util.TypeUtil;
 
 import java.sql.Time;
@@ -182,6 +183,8 @@ public class GsonSerializer implements StringSerializable {
         } else {
             this.gsonBuilder.registerTypeAdapter(clazz, typeSerializer);
         }
+        // its serialized form is not known from its fields
+        StructuralHash.addCustomSerializedType(clazz);
         this.serializer = gsonBuilder.create();
     }
 
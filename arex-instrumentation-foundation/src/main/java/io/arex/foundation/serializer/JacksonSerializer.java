@@ -602,7 +602,7 @@ public final class JacksonSerializer implements StringSerializable {
          * yyyy-MM-dd HH:mm:ss.SSS/yyyy-MM-dd'T'HH:mm:ss.SSSZZZ
          */
         public static final String SIMPLE_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
-        public static final String SIMPLE_DATE_FORMAT_MILLIS = "yyyy-MM-dd HH:mm:ss.SSS";
+        public static final String SIMPLE_DATE_FORMAT_MILLIS = ArexConstants.SIMPLE_DATE_FORMAT_MILLIS;
         public static final String SIMPLE_DATE_FORMAT_NANOSECOND = "yyyy-MM-dd HH:mm:ss.SSSSSSSSS";
         /**
          *  2020-06-09T09:00:00.000+08:00
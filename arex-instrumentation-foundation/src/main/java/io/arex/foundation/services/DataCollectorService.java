@@ -7,8 +7,10 @@ import io.arex.agent.bootstrap.util.MapUtils;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.foundation.config.ConfigManager;
 import io.arex.foundation.healthy.HealthManager;
+import io.arex.foundation.internal.BodyDeduplicator;
 import io.arex.foundation.internal.DataEntity;
 import io.arex.foundation.internal.MockEntityBuffer;
+import io.arex.foundation.internal.MockEntityOverflow;
 import io.arex.foundation.model.DecelerateReasonEnum;
 import io.arex.foundation.util.httpclient.AsyncHttpClientUtil;
 import io.arex.foundation.model.HttpClientResponse;
@@ -41,6 +43,8 @@ public class DataCollectorService implements DataCollector {
             TimeUnit.MINUTES, new LinkedBlockingQueue<>(), new ThreadFactoryImpl("data-save-handler"));
 
     private MockEntityBuffer buffer = null;
+    private MockEntityOverflow overflow = null;
+    private BodyDeduplicator deduplicator = null;
     private Future<?> executeFuture = null;
     private final AtomicBoolean initialized = new AtomicBoolean(false);
 
@@ -58,7 +62,12 @@ public class DataCollectorService implements DataCollector {
             return;
         }
 
-        if (!buffer.put(new DataEntity(requestMocker))) {
+        DataEntity entity = new DataEntity(requestMocker, deduplicator);
+        // once entities spilled to disk the later ones follow them until drained, keeps the saving order
+        if (overflow.isEmpty() && buffer.put(entity)) {
+            return;
+        }
+        if (!overflow.offer(entity)) {
             HealthManager.onEnqueueRejection();
             CaseManager.invalid(requestMocker.getRecordId(), null, requestMocker.getOperationName(), DecelerateReasonEnum.QUEUE_OVERFLOW.getValue());
         }
@@ -74,6 +83,11 @@ public class DataCollectorService implements DataCollector {
         return queryReplayData(postData, mockStrategy);
     }
 
+    @Override
+    public CompletableFuture<String> queryAsync(String postData, MockStrategyEnum mockStrategy) {
+        return queryReplayDataAsync(postData, mockStrategy);
+    }
+
     @Override
     public void start() {
         if (initialized.compareAndSet(false, true)) {
@@ -90,6 +104,15 @@ public class DataCollectorService implements DataCollector {
             buffer = new MockEntityBuffer(ConfigManager.INSTANCE.getBufferSize());
         }
 
+        if (deduplicator == null) {
+            deduplicator = new BodyDeduplicator(TimeUnit.SECONDS.toMillis(ConfigManager.INSTANCE.getBodyDedupWindow()));
+        }
+
+        if (overflow == null) {
+            overflow = new MockEntityOverflow(Paths.get(OVERFLOW_PATH), ConfigManager.INSTANCE.getBufferOverflowSize());
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "arex-data-flush"));
+        }
+
         if (executeFuture == null) {
             executeFuture = executor.submit(this::loop);
         }
@@ -99,6 +122,9 @@ public class DataCollectorService implements DataCollector {
         while (true) {
             try {
                 DataEntity entity = buffer.get();
+                if (entity == null) {
+                    entity = overflow.poll();
+                }
                 if (entity == null) {
                     if (!initialized.get()) {
                         break;
@@ -118,6 +144,27 @@ public class DataCollectorService implements DataCollector {
         }
     }
 
+    /**
+     * Let the writer thread drain the buffer and the overflow before the JVM exits.
+     */
+    void flush() {
+        stop();
+        try {
+            if (executeFuture != null) {
+                executeFuture.get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LogManager.warn("flushData", e);
+        } finally {
+            overflow.close();
+        }
+    }
+
     static void doSleep(long millis) {
         try {
             Thread.sleep(millis);
@@ -130,6 +177,8 @@ public class DataCollectorService implements DataCollector {
     private static final String DEFAULT_FILE_NAME = "recording.txt";
     private static final String DEFAULT_FILE_PATH = System.getProperty("user.home") + "/.arex/recording";
     private static final String DEFAULT_FILE = DEFAULT_FILE_PATH + "/" + DEFAULT_FILE_NAME;
+    private static final String OVERFLOW_PATH = System.getProperty("user.home") + "/.arex/overflow";
+    private static final long FLUSH_TIMEOUT_SECONDS = 5;
     private BufferedOutputStream outputStream = null;
 
     void saveData(DataEntity entity) {
@@ -149,6 +198,9 @@ public class DataCollectorService implements DataCollector {
             // Write the test case data into the output file
             outputStream.write(entity.getPostData().getBytes());
             outputStream.write("\n".getBytes());
+            if (entity.getBodyHash() != null) {
+                deduplicator.markSent(entity.getBodyHash());
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -160,17 +212,19 @@ public class DataCollectorService implements DataCollector {
      * Query replay data
      */
     String queryReplayData(String postData, MockStrategyEnum mockStrategy) {
+        return queryReplayDataAsync(postData, mockStrategy).join();
+    }
+
+    /**
+     * Query replay data, the future is completed by the http client thread
+     */
+    CompletableFuture<String> queryReplayDataAsync(String postData, MockStrategyEnum mockStrategy) {
         Map<String, String> requestHeaders = MapUtils.newHashMapWithExpectedSize(1);
         requestHeaders.put(MOCK_STRATEGY, mockStrategy.getCode());
 
-        CompletableFuture<HttpClientResponse> responseCompletableFuture = AsyncHttpClientUtil.postAsyncWithZstdJson(queryApiUrl, postData,
-                requestHeaders).handle(queryMockDataFunction(postData));
-
-        HttpClientResponse clientResponse = responseCompletableFuture.join();
-        if (clientResponse == null) {
-            return null;
-        }
-        return clientResponse.getBody();
+        return AsyncHttpClientUtil.postAsyncWithZstdJson(queryApiUrl, postData, requestHeaders)
+                .handle(queryMockDataFunction(postData))
+                .thenApply(clientResponse -> clientResponse == null ? null : clientResponse.getBody());
     }
 
     private BiFunction<HttpClientResponse, Throwable, HttpClientResponse> queryMockDataFunction(String postData) {
@@ -0,0 +1,104 @@
+package io.arex.foundation.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockCategoryType;
+import io.arex.agent.bootstrap.model.Mocker;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class BodyDeduplicatorTest {
+    private static final Function<Mocker, String> SERIALIZER = mocker -> mocker.getTargetResponse().getBody() + "|"
+            + mocker.getTargetResponse().getAttributes();
+
+    @Test
+    void serialize() {
+        Map<String, String> fullBodies = new HashMap<>();
+        BodyDeduplicator deduplicator = new BodyDeduplicator(60_000);
+        String body = new String(new char[BodyDeduplicator.MIN_BODY_LENGTH]).replace('\0', 'a');
+        String hash = BodyDeduplicator.hash(body);
+        assertEquals(64, hash.length());
+
+        // first copy is sent in full with its hash
+        ArexMocker mocker = mocker(body);
+        assertEquals(body + "|{" + BodyDeduplicator.BODY_HASH + "=" + hash + "}", deduplicator.serialize(mocker, SERIALIZER, fullBodies::put));
+        assertEquals(body, fullBodies.get(hash));
+        // the mocker is restored
+        assertEquals(body, mocker.getTargetResponse().getBody());
+        assertNull(mocker.getTargetResponse().getAttributes());
+
+        // not saved yet, still sent in full
+        fullBodies.clear();
+        assertEquals(body + "|{" + BodyDeduplicator.BODY_HASH + "=" + hash + "}", deduplicator.serialize(mocker(body), SERIALIZER, fullBodies::put));
+        assertEquals(body, fullBodies.get(hash));
+
+        // later copies are references once saved
+        deduplicator.markSent(hash);
+        fullBodies.clear();
+        assertEquals("null|{" + BodyDeduplicator.BODY_REFERENCE + "=" + hash + "}", deduplicator.serialize(mocker(body), SERIALIZER, fullBodies::put));
+        assertTrue(fullBodies.isEmpty());
+
+        // existing attributes are kept, the dedup keys removed
+        mocker = mocker(body);
+        mocker.getTargetResponse().setAttribute("key", "value");
+        assertEquals("null|{" + BodyDeduplicator.BODY_REFERENCE + "=" + hash + ", key=value}",
+            deduplicator.serialize(mocker, SERIALIZER, null));
+        assertEquals(1, mocker.getTargetResponse().getAttributes().size());
+        assertFalse(mocker.getTargetResponse().getAttributes().containsKey(BodyDeduplicator.BODY_REFERENCE));
+
+        // small body
+        assertEquals("small|null", deduplicator.serialize(mocker("small"), SERIALIZER, null));
+        assertEquals("null|null", deduplicator.serialize(mocker(null), SERIALIZER, null));
+    }
+
+    @Test
+    void disabled() {
+        BodyDeduplicator deduplicator = new BodyDeduplicator(0);
+        String body = new String(new char[BodyDeduplicator.MIN_BODY_LENGTH]).replace('\0', 'a');
+        assertEquals(body + "|null", deduplicator.serialize(mocker(body), SERIALIZER, null));
+        deduplicator.markSent(BodyDeduplicator.hash(body));
+        assertEquals(body + "|null", deduplicator.serialize(mocker(body), SERIALIZER, null));
+    }
+
+    @Test
+    void reference() {
+        BodyDeduplicator deduplicator = new BodyDeduplicator(60_000);
+        assertNull(deduplicator.reference("hash"));
+        assertNull(deduplicator.reference("hash"));
+        deduplicator.markSent("hash");
+        assertEquals("hash", deduplicator.reference("hash"));
+
+        // expired window
+        deduplicator = new BodyDeduplicator(1);
+        deduplicator.markSent("hash");
+        sleep(5);
+        assertNull(deduplicator.reference("hash"));
+
+        // bounded
+        deduplicator = new BodyDeduplicator(60_000);
+        for (int i = 0; i < BodyDeduplicator.MAX_ENTRIES; i++) {
+            deduplicator.markSent("hash" + i);
+        }
+        deduplicator.markSent("other");
+        assertNull(deduplicator.reference("other"));
+        assertEquals("hash0", deduplicator.reference("hash0"));
+    }
+
+    private static ArexMocker mocker(String body) {
+        ArexMocker mocker = new ArexMocker(MockCategoryType.REDIS);
+        mocker.setTargetResponse(new Mocker.Target());
+        mocker.getTargetResponse().setBody(body);
+        return mocker;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
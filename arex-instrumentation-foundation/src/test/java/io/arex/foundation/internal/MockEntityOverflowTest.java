@@ -0,0 +1,152 @@
+package io.arex.foundation.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.arex.inst.runtime.util.CaseManager;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+class MockEntityOverflowTest {
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("arex-overflow");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    void offerAndPoll() throws IOException {
+        MockEntityOverflow overflow = new MockEntityOverflow(directory, 1024);
+        assertTrue(overflow.isEmpty());
+        assertNull(overflow.poll());
+        // no file until something spills
+        assertEquals(0, fileCount());
+
+        assertTrue(overflow.offer(new DataEntity(1L, "{\"id\":1}", "record1", "op1")));
+        assertTrue(overflow.offer(new DataEntity(2L, "{\"id\":\"中文\"}", "record2", null)));
+        assertEquals(2, overflow.size());
+        assertEquals(1, fileCount());
+
+        DataEntity first = overflow.poll();
+        assertEquals("record1", first.getRecordId());
+        assertEquals("op1", first.getOperationName());
+        assertEquals("{\"id\":1}", first.getPostData());
+
+        DataEntity second = overflow.poll();
+        assertEquals("record2", second.getRecordId());
+        assertNull(second.getOperationName());
+        assertEquals("{\"id\":\"中文\"}", second.getPostData());
+        assertTrue(overflow.isEmpty());
+        assertNull(overflow.poll());
+
+        overflow.close();
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    void offerOverBudget() {
+        MockEntityOverflow overflow = new MockEntityOverflow(directory, 80);
+        DataEntity entity = new DataEntity(1L, "0123456789", "record", "op");
+        assertTrue(overflow.offer(entity));
+        assertTrue(overflow.offer(entity));
+        // budget exhausted
+        assertFalse(overflow.offer(entity));
+        assertEquals(2, overflow.size());
+
+        // space is given back as soon as an entity is drained
+        overflow.poll();
+        assertTrue(overflow.offer(entity));
+        assertFalse(overflow.offer(entity));
+        assertEquals(2, overflow.size());
+    }
+
+    @Test
+    void sustainedOfferAndPoll() throws IOException {
+        MockEntityOverflow overflow = new MockEntityOverflow(directory, 132);
+        // a burst leaves two entities behind, steady traffic never drains the file afterwards
+        assertTrue(overflow.offer(new DataEntity(1L, "0123456789", "record0", "op")));
+        assertTrue(overflow.offer(new DataEntity(1L, "0123456789", "record1", "op")));
+        for (int i = 2; i < 1000; i++) {
+            assertTrue(overflow.offer(new DataEntity(1L, "0123456789", "record" + i, "op")));
+            assertEquals("record" + (i - 2), overflow.poll().getRecordId());
+            assertEquals(2, overflow.size());
+            assertTrue(fileLength() < 2 * 132);
+        }
+        assertEquals("record998", overflow.poll().getRecordId());
+        assertEquals("record999", overflow.poll().getRecordId());
+        assertTrue(overflow.isEmpty());
+        assertEquals(0, fileLength());
+        overflow.close();
+    }
+
+    @Test
+    void disabled() {
+        MockEntityOverflow overflow = new MockEntityOverflow(directory, 0);
+        assertFalse(overflow.offer(new DataEntity(1L, "data", "record", "op")));
+    }
+
+    @Test
+    void pollUnreadable() throws IOException {
+        MockEntityOverflow overflow = new MockEntityOverflow(directory, 1024);
+        assertTrue(overflow.offer(new DataEntity(1L, "data", "record1", "op1")));
+        assertTrue(overflow.offer(new DataEntity(1L, "data", "record2", "op2")));
+        assertTrue(overflow.offer(new DataEntity(1L, "data", "record2", "op3")));
+        try (Stream<Path> files = Files.list(directory)) {
+            // truncated by another process
+            Path file = files.findFirst().orElseThrow(IllegalStateException::new);
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(2);
+            }
+        }
+        try (MockedStatic<CaseManager> caseManager = Mockito.mockStatic(CaseManager.class)) {
+            assertNull(overflow.poll());
+            caseManager.verify(() -> CaseManager.invalid("record1", null, "op1", "queue overflow"));
+            caseManager.verify(() -> CaseManager.invalid("record2", null, "op2", "queue overflow"));
+            caseManager.verifyNoMoreInteractions();
+        }
+        assertTrue(overflow.isEmpty());
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    void close() throws IOException {
+        MockEntityOverflow overflow = new MockEntityOverflow(directory, 1024);
+        assertTrue(overflow.offer(new DataEntity(1L, "data", "record", "op")));
+        try (MockedStatic<CaseManager> caseManager = Mockito.mockStatic(CaseManager.class)) {
+            overflow.close();
+            caseManager.verify(() -> CaseManager.invalid("record", null, "op", "queue overflow"));
+        }
+        assertTrue(overflow.isEmpty());
+        assertNull(overflow.poll());
+        assertFalse(overflow.offer(new DataEntity(1L, "data", "record", "op")));
+        assertEquals(0, fileCount());
+    }
+
+    private long fileLength() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow(IllegalStateException::new).toFile().length();
+        }
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -88,6 +88,17 @@ class DataCollectorServiceTest {
         caseManagerMocked.verify(()-> CaseManager.invalid("testRecordId", "testReplayId", null, DecelerateReasonEnum.SERVICE_EXCEPTION.getValue()), Mockito.times(1));
     }
 
+    @Test
+    void queryAsync() {
+        CompletableFuture<HttpClientResponse> mockResponse = new CompletableFuture<>();
+        Mockito.when(AsyncHttpClientUtil.postAsyncWithZstdJson(anyString(), anyString(), any())).thenReturn(mockResponse);
+        CompletableFuture<String> actualResult = DataCollectorService.INSTANCE.queryAsync("test", MockStrategyEnum.OVER_BREAK);
+        // completed by the http client, not block the caller
+        assertFalse(actualResult.isDone());
+        mockResponse.complete(new HttpClientResponse(200, null, "test"));
+        assertEquals("test", actualResult.join());
+    }
+
     @Test
     void invalidCase() {
         assertDoesNotThrow(()-> DataCollectorService.INSTANCE.invalidCase("test"));
@@ -1,19 +1,21 @@
 package io.arex.inst.common.util;
 
+import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.agent.bootstrap.ctx.TraceTransmitter;
 import io.arex.inst.common.util.FluxReplayUtil.FluxResult;
+import io.arex.inst.runtime.config.Config;
 import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.TypeUtil;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
 import reactor.core.publisher.Flux;
 import java.util.function.Function;
 
 
 public class FluxRecordFunction implements UnaryOperator<Flux<?>> {
+    static final int DEFAULT_MAX_ELEMENTS = 1000;
 
     private final Function<FluxResult, Void> executor;
     private final TraceTransmitter traceTransmitter;
@@ -25,36 +27,90 @@ public class FluxRecordFunction implements UnaryOperator<Flux<?>> {
 
     @Override
     public Flux<?> apply(Flux<?> responseFlux) {
-        // use a list to record all elements
-        List<FluxReplayUtil.FluxElementResult> fluxElementMockerResults = new ArrayList<>();
-        AtomicInteger index = new AtomicInteger(1);
         String responseType = TypeUtil.getName(responseFlux);
-        return responseFlux
-            // add element to list
-            .doOnNext(element -> {
-                try (TraceTransmitter tm = traceTransmitter.transmit()) {
-                    fluxElementMockerResults.add(
-                        getFluxElementMockerResult(index.getAndIncrement(), element));
-                }
-            })
-            // add error to list
-            .doOnError(error -> {
-                try (TraceTransmitter tm = traceTransmitter.transmit()) {
-                    fluxElementMockerResults.add(
-                        getFluxElementMockerResult(index.getAndIncrement(), error));
-                }
-            })
-            .doFinally(result -> {
-                try (TraceTransmitter tm = traceTransmitter.transmit()) {
-                    FluxResult fluxResult = new FluxResult(responseType, fluxElementMockerResults);
-                    executor.apply(fluxResult);
-                }
-            });
+        int maxElements = maxElements();
+        long maxBytes = maxBytes();
+        // each subscription records its own elements
+        return Flux.defer(() -> {
+            FluxElementBuffer buffer = new FluxElementBuffer(maxElements, maxBytes);
+            return responseFlux
+                // serialize the element when it is emitted, not hold it until the flux terminates
+                .doOnNext(element -> {
+                    try (TraceTransmitter tm = traceTransmitter.transmit()) {
+                        buffer.add(element);
+                    }
+                })
+                .doOnError(error -> {
+                    try (TraceTransmitter tm = traceTransmitter.transmit()) {
+                        buffer.addError(error);
+                    }
+                })
+                .doFinally(result -> {
+                    try (TraceTransmitter tm = traceTransmitter.transmit()) {
+                        executor.apply(buffer.toResult(responseType));
+                    }
+                });
+        });
     }
 
+    private static int maxElements() {
+        Config config = Config.get();
+        return config == null ? DEFAULT_MAX_ELEMENTS :
+            config.getInt(ConfigConstants.FLUX_RECORD_MAX_ELEMENTS, DEFAULT_MAX_ELEMENTS);
+    }
+
+    private static long maxBytes() {
+        Config config = Config.get();
+        return config == null ? ArexConstants.MEMORY_SIZE_5MB :
+            config.getLong(ConfigConstants.FLUX_RECORD_MAX_BYTES, ArexConstants.MEMORY_SIZE_5MB);
+    }
+
+    /**
+     * The serialized elements of one subscription, at most maxElements elements and maxBytes chars of content,
+     * the elements beyond are dropped and the result is marked as truncated.
+     * Reactive signals of a subscription are serial, so no synchronization is needed.
+     */
+    static class FluxElementBuffer {
+        private final int maxElements;
+        private final long maxBytes;
+        private final List<FluxReplayUtil.FluxElementResult> elements = new ArrayList<>();
+        private int index = 1;
+        private long bytes;
+        private boolean truncated;
+
+        FluxElementBuffer(int maxElements, long maxBytes) {
+            this.maxElements = maxElements;
+            this.maxBytes = maxBytes;
+        }
+
+        void add(Object element) {
+            if (truncated) {
+                return;
+            }
+            if (elements.size() >= maxElements) {
+                truncated = true;
+                return;
+            }
+            String content = Serializer.serialize(element, ArexConstants.GSON_SERIALIZER);
+            int length = content == null ? 0 : content.length();
+            if (bytes + length > maxBytes) {
+                truncated = true;
+                return;
+            }
+            bytes += length;
+            elements.add(new FluxReplayUtil.FluxElementResult(index++, content, TypeUtil.getName(element)));
+        }
+
+        /**
+         * the error terminates the flux, it is kept even if the elements are truncated
+         */
+        void addError(Throwable error) {
+            String content = Serializer.serialize(error, ArexConstants.GSON_SERIALIZER);
+            elements.add(new FluxReplayUtil.FluxElementResult(index++, content, TypeUtil.getName(error)));
+        }
 
-    private FluxReplayUtil.FluxElementResult getFluxElementMockerResult(int index, Object element) {
-        String content = Serializer.serialize(element, ArexConstants.GSON_SERIALIZER);
-        return new FluxReplayUtil.FluxElementResult(index, content, TypeUtil.getName(element));
+        FluxResult toResult(String responseType) {
+            return new FluxResult(responseType, elements, truncated);
+        }
     }
 }
@@ -2,6 +2,7 @@ package io.arex.inst.common.util;
 
 import io.arex.agent.bootstrap.util.CollectionUtil;
 import io.arex.inst.runtime.serializer.Serializer;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -26,38 +27,75 @@ public class FluxReplayUtil{
         if (CollectionUtil.isEmpty(fluxElementResults)) {
             return Flux.empty();
         }
-        List<Object> resultList = new ArrayList<>(fluxElementResults.size());
-        sortFluxElement(fluxElementResults).forEach(
-            fluxElement -> resultList.add(Serializer.deserialize(fluxElement.getContent(), fluxElement.getType())));
+        List<FluxElementResult> sortedElements = sortFluxElement(fluxElementResults);
         String responseType = fluxResult.getResponseType();
-        if (responseType != null) {
-            if (FLUX_FROM_ITERATOR.equals(responseType)) {
-                return Flux.fromIterable(resultList);
-            } else if (FLUX_FROM_ARRAY.equals(responseType)) {
-                return Flux.fromArray(resultList.toArray());
-            } else if (FLUX_FROM_STREAM.equals(responseType)) {
-                return Flux.fromStream(resultList.stream());
-            }
+        // deserialize the elements when they are requested, not all elements up front
+        if (FLUX_FROM_ITERATOR.equals(responseType)) {
+            return Flux.fromIterable(new LazyElementList(sortedElements));
+        }
+        if (FLUX_FROM_STREAM.equals(responseType)) {
+            return Flux.fromStream(sortedElements.stream().map(FluxReplayUtil::deserialize));
+        }
+        List<Object> resultList = new ArrayList<>(sortedElements.size());
+        sortedElements.forEach(fluxElement -> resultList.add(deserialize(fluxElement)));
+        if (FLUX_FROM_ARRAY.equals(responseType)) {
+            return Flux.fromArray(resultList.toArray());
         }
         return Flux.just(resultList);
     }
 
+    private static Object deserialize(FluxElementResult fluxElement) {
+        return Serializer.deserialize(fluxElement.getContent(), fluxElement.getType());
+    }
 
     private static List<FluxElementResult> sortFluxElement(List<FluxElementResult> list) {
-        Comparator<FluxElementResult> comparator = Comparator.comparingInt(
-            FluxElementResult::getIndex);
-        Collections.sort(list, comparator);
+        // recorded in order, only sort if the order was changed
+        for (int i = 1; i < list.size(); i++) {
+            if (list.get(i - 1).getIndex() > list.get(i).getIndex()) {
+                Comparator<FluxElementResult> comparator = Comparator.comparingInt(
+                    FluxElementResult::getIndex);
+                Collections.sort(list, comparator);
+                return list;
+            }
+        }
         return list;
     }
 
+    /**
+     * Deserialize the element when it is read.
+     */
+    static class LazyElementList extends AbstractList<Object> {
+        private final List<FluxElementResult> elements;
+
+        LazyElementList(List<FluxElementResult> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Object get(int index) {
+            return deserialize(elements.get(index));
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+    }
+
     public static class FluxResult {
 
         private final String responseType;
         private final List<FluxElementResult> fluxElementResults;
+        private final boolean truncated;
 
         public FluxResult(String responseType, List<FluxElementResult> fluxElementResults) {
+            this(responseType, fluxElementResults, false);
+        }
+
+        public FluxResult(String responseType, List<FluxElementResult> fluxElementResults, boolean truncated) {
             this.responseType = responseType;
             this.fluxElementResults = fluxElementResults;
+            this.truncated = truncated;
         }
 
         public String getResponseType() {
@@ -67,6 +105,13 @@ public class FluxReplayUtil{
         public List<FluxElementResult> getFluxElementResults() {
             return fluxElementResults;
         }
+
+        /**
+         * @return true if the elements beyond the record limit were dropped
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
     }
 
     public static class FluxElementResult {
@@ -1,11 +1,16 @@
 package io.arex.inst.common.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.inst.common.util.FluxReplayUtil.FluxResult;
 import io.arex.inst.runtime.config.ConfigBuilder;
 import io.arex.inst.runtime.context.ContextManager;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -150,6 +155,32 @@ public class FluxRecordFuntionTest {
         assertThrows(RuntimeException.class, () -> blockFirst.blockFirst());
     }
 
+    @Test
+    void recordTruncated() {
+        ConfigBuilder.create("test").addProperty(ConfigConstants.FLUX_RECORD_MAX_ELEMENTS, "2").build();
+        List<FluxResult> results = new ArrayList<>();
+        FluxRecordFunction function = new FluxRecordFunction(result -> {
+            results.add(result);
+            return null;
+        });
+        Flux<?> flux = function.apply(Flux.just(1, 2, 3).concatWith(Flux.error(new RuntimeException("error"))));
+        assertThrows(RuntimeException.class, flux::blockLast);
+        // elements beyond the limit are dropped, the error is kept
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isTruncated());
+        assertEquals(3, results.get(0).getFluxElementResults().size());
+        assertEquals("java.lang.RuntimeException", results.get(0).getFluxElementResults().get(2).getType());
+
+        // each subscription records its own elements
+        ConfigBuilder.create("test").enableDebug(true).build();
+        flux = function.apply(Flux.just(1, 2));
+        flux.blockLast();
+        flux.blockLast();
+        assertEquals(3, results.size());
+        assertFalse(results.get(2).isTruncated());
+        assertEquals(2, results.get(2).getFluxElementResults().size());
+    }
+
     public String testWithArexMock(String val) {
         return val + "testWithArexMock";
     }
@@ -5,12 +5,17 @@ import static io.arex.inst.common.util.FluxReplayUtil.FLUX_FROM_ITERATOR;
 import static io.arex.inst.common.util.FluxReplayUtil.FLUX_FROM_STREAM;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
 import io.arex.inst.common.util.FluxReplayUtil.FluxElementResult;
 import io.arex.inst.common.util.FluxReplayUtil.FluxResult;
+import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.TypeUtil;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 import reactor.core.publisher.Flux;
 
 public class FluxReplayUtilTest {
@@ -50,4 +55,24 @@ public class FluxReplayUtilTest {
         result = FluxReplayUtil.restore(fluxResult);
         assertEquals(TypeUtil.getName(result),FLUX_FROM_STREAM);
     }
+
+    @Test
+    void restoreLazily() {
+        List<FluxElementResult> list = new ArrayList<>();
+        list.add(new FluxElementResult(2, "2", "java.lang.Integer"));
+        list.add(new FluxElementResult(1, "1", "java.lang.Integer"));
+        try (MockedStatic<Serializer> serializer = Mockito.mockStatic(Serializer.class)) {
+            serializer.when(() -> Serializer.deserialize(anyString(), anyString()))
+                .thenAnswer(invocation -> Integer.valueOf(invocation.getArgument(0)));
+
+            Flux<?> result = FluxReplayUtil.restore(new FluxResult(FLUX_FROM_ITERATOR, list));
+            serializer.verifyNoInteractions();
+            // sorted by index
+            assertEquals(Arrays.asList(1, 2), result.collectList().block());
+
+            result = FluxReplayUtil.restore(new FluxResult(FLUX_FROM_STREAM, list));
+            serializer.verify(() -> Serializer.deserialize(anyString(), anyString()), Mockito.times(2));
+            assertEquals(Arrays.asList(1, 2), result.collectList().block());
+        }
+    }
 }
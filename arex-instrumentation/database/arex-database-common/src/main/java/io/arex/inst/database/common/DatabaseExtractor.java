@@ -2,7 +2,7 @@ package io.arex.inst.database.common;
 
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker;
-import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.runtime.serializer.Serializer;
 
 import io.arex.inst.runtime.util.IgnoreUtils;
@@ -15,9 +15,6 @@ import java.util.Map;
 
 public class DatabaseExtractor {
 
-    private static final String[] SEARCH_LIST = new String[]{"\n", "\t"};
-
-    private static final String[] REPLACE_LIST = new String[]{"", ""};
     private static final String KEY_HOLDER_NAME = "keyHolder";
     private static final String PAGE_NAME = "page";
 
@@ -50,12 +47,23 @@ public class DatabaseExtractor {
 
     // hibernate
     public DatabaseExtractor(String sql, Object entity, String methodName) {
-        this(sql, Serializer.serialize(entity), methodName);
+        this(sql, ParameterEncoder.encode(entity), methodName);
     }
 
+    /**
+     * @param sql constant sql, its normalized form is cached by the sql instance
+     */
     public DatabaseExtractor(String sql, String parameters, String methodName) {
+        this(sql, sql, parameters, methodName);
+    }
+
+    /**
+     * @param statement the statement generating the sql, eg: mybatis MappedStatement, hibernate Loader,
+     * its normalized sql is cached by the statement
+     */
+    public DatabaseExtractor(Object statement, String sql, String parameters, String methodName) {
         this.dbName = "";
-        this.sql = StringUtil.replaceEach(sql, SEARCH_LIST, REPLACE_LIST, false, 0);
+        this.sql = SqlNormalizer.normalize(statement, sql);
         this.parameters = parameters;
         this.methodName = methodName;
     }
@@ -77,6 +85,20 @@ public class DatabaseExtractor {
          MockUtils.recordMocker(makeMocker(response, serializer));
     }
 
+    /**
+     * Record a response serialized by the caller, eg: jdbc rows encoded while the application reads them.
+     * @param body null if the response exceeded the capture limit, it is not replayed
+     */
+    public void recordSerializedDb(String body, String type) {
+        Mocker mocker = makeMocker(null, null);
+        mocker.getTargetResponse().setBody(body);
+        mocker.getTargetResponse().setType(type);
+        if (body == null) {
+            mocker.getTargetResponse().setAttribute(ArexConstants.EXCEED_MAX_SIZE_FLAG, true);
+        }
+        MockUtils.recordMocker(mocker);
+    }
+
     public MockResult replay() {
         return replay(null);
     }
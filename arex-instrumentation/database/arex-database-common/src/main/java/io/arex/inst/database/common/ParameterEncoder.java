@@ -0,0 +1,173 @@
+package io.arex.inst.database.common;
+
+import io.arex.agent.thirdparty.util.time.DateFormatUtils;
+import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.serializer.Serializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the common jdbc parameter types (string, number, boolean, date and flat maps or lists of them)
+ * without going through the serializer. The output is the same as the default jackson serializer,
+ * any other type, or any other default serializer, goes through {@link Serializer}.
+ */
+public class ParameterEncoder {
+    private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+    private static final int MAX_YEAR = 9999;
+
+    private ParameterEncoder() {
+    }
+
+    public static String encode(Object parameters) {
+        if (parameters == null) {
+            return null;
+        }
+        if (!isJacksonDefault()) {
+            return Serializer.serialize(parameters);
+        }
+        StringBuilder builder = new StringBuilder();
+        boolean encoded;
+        if (parameters instanceof Map) {
+            encoded = appendMap((Map<?, ?>) parameters, builder);
+        } else if (parameters instanceof List) {
+            encoded = appendList((List<?>) parameters, builder);
+        } else {
+            encoded = appendValue(parameters, builder);
+        }
+        return encoded ? builder.toString() : Serializer.serialize(parameters);
+    }
+
+    private static boolean isJacksonDefault() {
+        Serializer serializer = Serializer.getINSTANCE();
+        return serializer != null && serializer.getSerializer() != null &&
+            ArexConstants.JACKSON_SERIALIZER.equals(serializer.getSerializer().name());
+    }
+
+    /**
+     * @return false if any key is not a string or any value can not be encoded
+     */
+    private static boolean appendMap(Map<?, ?> map, StringBuilder builder) {
+        builder.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                return false;
+            }
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            appendString((String) entry.getKey(), builder);
+            builder.append(':');
+            if (entry.getValue() == null) {
+                builder.append("null");
+            } else if (!appendValue(entry.getValue(), builder)) {
+                return false;
+            }
+        }
+        builder.append('}');
+        return true;
+    }
+
+    /**
+     * @return false if any element can not be encoded
+     */
+    private static boolean appendList(List<?> list, StringBuilder builder) {
+        builder.append('[');
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            Object value = list.get(i);
+            if (value == null) {
+                builder.append("null");
+            } else if (!appendValue(value, builder)) {
+                return false;
+            }
+        }
+        builder.append(']');
+        return true;
+    }
+
+    /**
+     * @return false if the value can not be encoded
+     */
+    private static boolean appendValue(Object value, StringBuilder builder) {
+        if (value instanceof String) {
+            appendString((String) value, builder);
+            return true;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ||
+            value instanceof BigInteger || value instanceof BigDecimal || value instanceof Boolean) {
+            builder.append(value);
+            return true;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            // NaN and Infinity are written as strings
+            if (Double.isNaN(((Number) value).doubleValue()) || Double.isInfinite(((Number) value).doubleValue())) {
+                return false;
+            }
+            builder.append(value);
+            return true;
+        }
+        if (value instanceof Date) {
+            // java.sql.Date, Time and Timestamp are written as java.util.Date
+            appendString(DateFormatUtils.format((Date) value, ArexConstants.SIMPLE_DATE_FORMAT_MILLIS), builder);
+            return true;
+        }
+        if (value instanceof LocalDate) {
+            int year = ((LocalDate) value).getYear();
+            if (year < 1 || year > MAX_YEAR) {
+                return false;
+            }
+            appendString(value.toString(), builder);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Append the value as a json string, quoted and escaped.
+     */
+    public static void appendString(String value, StringBuilder builder) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\b':
+                    builder.append("\\b");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                default:
+                    if (c < ' ') {
+                        builder.append("\\u00").append(HEX_CHARS[c >> 4]).append(HEX_CHARS[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+}
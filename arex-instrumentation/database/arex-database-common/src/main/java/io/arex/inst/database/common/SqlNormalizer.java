@@ -0,0 +1,54 @@
+package io.arex.inst.database.common;
+
+import io.arex.agent.bootstrap.internal.Cache;
+import io.arex.agent.bootstrap.util.StringUtil;
+
+/**
+ * Normalized sql (line breaks and tabs removed) cached per statement, eg: mybatis MappedStatement,
+ * hibernate Loader, so the same statement is not normalized again on every call.
+ * The cache is bounded by the statements of the application: one entry per statement, weakly keyed,
+ * the sql is held by the entry and goes with its statement.
+ */
+public class SqlNormalizer {
+    private static final String[] SEARCH_LIST = new String[]{"\n", "\t"};
+    private static final String[] REPLACE_LIST = new String[]{"", ""};
+    private static final Cache<Object, NormalizedSql> CACHE = Cache.weakMap();
+
+    private SqlNormalizer() {
+    }
+
+    public static String normalize(String sql) {
+        return StringUtil.replaceEach(sql, SEARCH_LIST, REPLACE_LIST, false, 0);
+    }
+
+    /**
+     * @param statement identity of the statement, the sql itself is not cached as its value would keep it alive
+     * @param sql sql of this execution, a dynamic statement may generate a different sql each time
+     */
+    public static String normalize(Object statement, String sql) {
+        if (statement == null || sql == null || statement instanceof String) {
+            return normalize(sql);
+        }
+        NormalizedSql cached = CACHE.get(statement);
+        if (cached != null && cached.matches(sql)) {
+            return cached.normalizedSql;
+        }
+        String normalizedSql = normalize(sql);
+        CACHE.put(statement, new NormalizedSql(sql, normalizedSql));
+        return normalizedSql;
+    }
+
+    static final class NormalizedSql {
+        private final String sql;
+        private final String normalizedSql;
+
+        NormalizedSql(String sql, String normalizedSql) {
+            this.sql = sql;
+            this.normalizedSql = normalizedSql;
+        }
+
+        boolean matches(String sql) {
+            return this.sql == sql || this.sql.equals(sql);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.arex.inst.database.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.serializer.Serializer;
+import io.arex.inst.runtime.serializer.StringSerializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ParameterEncoderTest {
+    static StringSerializable serializable;
+
+    @BeforeAll
+    static void setUp() throws Throwable {
+        serializable = Mockito.mock(StringSerializable.class);
+        Mockito.when(serializable.name()).thenReturn(ArexConstants.JACKSON_SERIALIZER);
+        Mockito.when(serializable.serialize(Mockito.any())).thenReturn("serialized");
+        Serializer.builder(serializable).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void encode() {
+        assertNull(ParameterEncoder.encode(null));
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001é\"", ParameterEncoder.encode("a\"b\\c\n\u0001é"));
+        assertEquals("1", ParameterEncoder.encode(1L));
+        assertEquals("1.5", ParameterEncoder.encode(1.5d));
+        assertEquals("10.00", ParameterEncoder.encode(new BigDecimal("10.00")));
+        assertEquals("true", ParameterEncoder.encode(true));
+        assertEquals("\"2023-01-02\"", ParameterEncoder.encode(LocalDate.of(2023, 1, 2)));
+        Timestamp timestamp = Timestamp.valueOf("2023-01-02 03:04:05.678");
+        assertEquals("\"2023-01-02 03:04:05.678\"", ParameterEncoder.encode(timestamp));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", 1);
+        map.put("name", "arex");
+        map.put("deleted", null);
+        assertEquals("{\"id\":1,\"name\":\"arex\",\"deleted\":null}", ParameterEncoder.encode(map));
+        assertEquals("[1,\"arex\",null]", ParameterEncoder.encode(Arrays.asList(1, "arex", null)));
+    }
+
+    @Test
+    void fallback() {
+        assertEquals("serialized", ParameterEncoder.encode(Double.NaN));
+        assertEquals("serialized", ParameterEncoder.encode(LocalDateTime.now()));
+        assertEquals("serialized", ParameterEncoder.encode(new Object()));
+        assertEquals("serialized", ParameterEncoder.encode(Collections.singletonMap(1, "a")));
+        assertEquals("serialized", ParameterEncoder.encode(Collections.singletonMap("a", new Object())));
+        assertEquals("serialized", ParameterEncoder.encode(Collections.singletonList(new Object())));
+
+        Mockito.when(serializable.name()).thenReturn(ArexConstants.GSON_SERIALIZER);
+        assertEquals("serialized", ParameterEncoder.encode("a"));
+        Mockito.when(serializable.name()).thenReturn(ArexConstants.JACKSON_SERIALIZER);
+    }
+}
@@ -0,0 +1,33 @@
+package io.arex.inst.database.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class SqlNormalizerTest {
+
+    @Test
+    void normalize() {
+        assertNull(SqlNormalizer.normalize(null, null));
+        assertEquals("select * from t", SqlNormalizer.normalize(null, "select *\n from \tt"));
+
+        Object statement = new Object();
+        String sql = "select *\n from t";
+        String normalized = SqlNormalizer.normalize(statement, sql);
+        assertEquals("select * from t", normalized);
+        assertSame(normalized, SqlNormalizer.normalize(statement, sql));
+        assertSame(normalized, SqlNormalizer.normalize(statement, new String(sql)));
+        // dynamic sql of the same statement
+        assertEquals("select * from t where id = ?", SqlNormalizer.normalize(statement, "select *\n from t where id = ?"));
+
+        // the sql as its own statement is not cached
+        String constant = "delete from t";
+        assertSame(constant, SqlNormalizer.normalize(constant, constant));
+        String multiline = "delete\n from t";
+        assertEquals("delete from t", SqlNormalizer.normalize(multiline, multiline));
+        assertNotSame(SqlNormalizer.normalize(multiline, multiline), SqlNormalizer.normalize(multiline, multiline));
+    }
+}
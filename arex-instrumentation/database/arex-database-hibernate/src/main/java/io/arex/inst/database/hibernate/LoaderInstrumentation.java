@@ -47,7 +47,7 @@ public class LoaderInstrumentation extends TypeInstrumentation {
                                       @Advice.Local("extractor") DatabaseExtractor extractor) {
             RepeatedCollectManager.enter();
             if (ContextManager.needRecordOrReplay()) {
-                extractor = new DatabaseExtractor(loader.getSQLString(),
+                extractor = new DatabaseExtractor(loader, loader.getSQLString(),
                         DatabaseHelper.parseParameter(queryParameters), "query");
                 if (ContextManager.needReplay()) {
                     mockResult = extractor.replay();
@@ -0,0 +1,45 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.runtime.context.ContextManager;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Remembers the sql of a prepared statement, it is not available from the statement itself.
+ */
+public class ConnectionInstrumentation extends TypeInstrumentation {
+
+    @Override
+    public ElementMatcher<TypeDescription> typeMatcher() {
+        return hasSuperType(named("java.sql.Connection")).and(not(isInterface()));
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return singletonList(new MethodInstrumentation(
+                isMethod().and(isPublic()).and(nameStartsWith("prepare"))
+                        .and(takesArgument(0, String.class))
+                        .and(returns(isSubTypeOf(PreparedStatement.class))),
+                PrepareAdvice.class.getName()));
+    }
+
+    @SuppressWarnings("unused")
+    public static class PrepareAdvice {
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.Argument(0) String sql,
+                                  @Advice.Return PreparedStatement statement) {
+            if (statement != null && ContextManager.needRecordOrReplay()) {
+                JdbcHelper.onPrepare(statement, sql);
+            }
+        }
+    }
+}
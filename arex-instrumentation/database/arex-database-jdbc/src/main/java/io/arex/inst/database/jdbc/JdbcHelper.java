@@ -0,0 +1,339 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.agent.bootstrap.internal.Cache;
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.database.common.DatabaseExtractor;
+import io.arex.inst.database.common.ParameterEncoder;
+import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.log.LogManager;
+import io.arex.inst.runtime.model.ArexConstants;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the sql and parameters of prepared statements and the result sets being recorded,
+ * both weakly held, so a statement or result set the application drops is not kept alive.
+ */
+public class JdbcHelper {
+    /**
+     * recorded in place of a stream or LOB parameter, it is not read ahead of the driver
+     * and the parameters after it keep their index
+     */
+    static final String STREAM_PARAMETER = "<stream>";
+
+    private static final Cache<Statement, StatementState> STATEMENTS = Cache.weakMap();
+    private static final Cache<ResultSet, ResultSetCapture> CAPTURES = Cache.weakMap();
+    /**
+     * the capture of the last result set of a statement, a statement has one open result set at a time
+     */
+    private static final Cache<Statement, ResultSetCapture> STATEMENT_CAPTURES = Cache.weakMap();
+    /**
+     * the result of the last Statement.execute(), which the application gets by getResultSet or getUpdateCount
+     */
+    private static final Cache<Statement, ExecuteState> EXECUTES = Cache.weakMap();
+
+    private JdbcHelper() {
+    }
+
+    public static void onPrepare(Statement statement, String sql) {
+        STATEMENTS.put(statement, new StatementState(sql));
+    }
+
+    public static void onParameter(Statement statement, int index, Object value) {
+        StatementState state = STATEMENTS.get(statement);
+        if (state != null) {
+            state.setParameter(index, isStream(value) ? STREAM_PARAMETER : value);
+        }
+    }
+
+    /**
+     * setBinaryStream, setBlob, setClob, ... the value is not touched
+     */
+    public static void onStreamParameter(Statement statement, int index) {
+        onParameter(statement, index, STREAM_PARAMETER);
+    }
+
+    public static void onClearParameters(Statement statement) {
+        StatementState state = STATEMENTS.get(statement);
+        if (state != null) {
+            state.parameters.clear();
+        }
+    }
+
+    /**
+     * @param sql sql of Statement.executeXxx(sql), null for a prepared statement
+     * @return null if the sql of the statement is not known, eg: prepared before recording started
+     */
+    public static DatabaseExtractor createExtractor(Statement statement, String sql, String methodName) {
+        if (sql != null) {
+            return new DatabaseExtractor(sql, (String) null, methodName);
+        }
+        StatementState state = STATEMENTS.get(statement);
+        if (state == null) {
+            return null;
+        }
+        String parameters = state.parameters.isEmpty() ? null : ParameterEncoder.encode(state.parameters);
+        return new DatabaseExtractor(state.sql, parameters, methodName);
+    }
+
+    /**
+     * @return the recorded rows as a result set, null if there are none
+     */
+    public static MockResult replayQuery(DatabaseExtractor extractor) {
+        return replay(extractor, false);
+    }
+
+    /**
+     * @return the recorded rows as a result set or the recorded update count, null if there are none
+     */
+    public static MockResult replayExecute(DatabaseExtractor extractor) {
+        return replay(extractor, true);
+    }
+
+    private static MockResult replay(DatabaseExtractor extractor, boolean acceptUpdateCount) {
+        MockResult mockResult = extractor.replay();
+        if (mockResult == null || mockResult.isIgnoreMockResult() || mockResult.getThrowable() != null) {
+            return mockResult;
+        }
+        if (acceptUpdateCount && mockResult.getResult() instanceof Integer) {
+            return mockResult;
+        }
+        if (!(mockResult.getResult() instanceof JdbcRows)) {
+            return null;
+        }
+        try {
+            return MockResult.success(((JdbcRows) mockResult.getResult()).toResultSet());
+        } catch (Exception e) {
+            LogManager.warn("jdbc.replay", e);
+            return null;
+        }
+    }
+
+    /**
+     * The rows are not read here, they are recorded as the application reads them.
+     * Executing the statement again closes its previous result set, the rows read from it are recorded.
+     */
+    public static void recordQuery(Statement statement, DatabaseExtractor extractor, ResultSet resultSet,
+        Throwable throwable) {
+        finishUnclosed(statement);
+        if (throwable != null) {
+            extractor.recordDb(throwable);
+            return;
+        }
+        if (resultSet == null) {
+            return;
+        }
+        try {
+            ResultSetCapture capture = new ResultSetCapture(extractor, resultSet.getMetaData(), captureLimit());
+            CAPTURES.put(resultSet, capture);
+            if (statement != null) {
+                STATEMENT_CAPTURES.put(statement, capture);
+            }
+        } catch (Exception e) {
+            LogManager.warn("jdbc.record", e);
+        }
+    }
+
+    /**
+     * Executing the statement again discards the result of its previous execute() the application did not get.
+     */
+    public static void onExecute(Statement statement) {
+        ExecuteState state = EXECUTES.get(statement);
+        if (state != null) {
+            state.reset();
+        }
+    }
+
+    /**
+     * A result set is recorded once the application gets it by getResultSet(), then as recordQuery,
+     * an update count is recorded right away. Only the first result of execute() is recorded.
+     *
+     * @param hasResultSet result of Statement.execute()
+     */
+    public static void recordExecute(Statement statement, DatabaseExtractor extractor, boolean hasResultSet,
+        Throwable throwable) {
+        finishUnclosed(statement);
+        if (throwable != null) {
+            extractor.recordDb(throwable);
+            return;
+        }
+        if (hasResultSet) {
+            executeState(statement).pending = extractor;
+            return;
+        }
+        try {
+            extractor.recordDb(statement.getUpdateCount());
+        } catch (Exception e) {
+            LogManager.warn("jdbc.record", e);
+        }
+    }
+
+    public static void onGetResultSet(Statement statement, ResultSet resultSet) {
+        ExecuteState state = EXECUTES.get(statement);
+        if (state == null || state.pending == null) {
+            return;
+        }
+        DatabaseExtractor extractor = state.pending;
+        state.pending = null;
+        recordQuery(statement, extractor, resultSet, null);
+    }
+
+    /**
+     * @param result the replayed result set or update count
+     * @return result of Statement.execute(), true if the result is a result set
+     */
+    public static boolean onReplayedExecute(Statement statement, Object result) {
+        ExecuteState state = executeState(statement);
+        state.replayed = true;
+        if (result instanceof ResultSet) {
+            state.resultSet = (ResultSet) result;
+            return true;
+        }
+        state.updateCount = (Integer) result;
+        return false;
+    }
+
+    /**
+     * @return null if the last execute() of the statement was not replayed
+     */
+    public static ExecuteState getReplayedExecute(Statement statement) {
+        ExecuteState state = EXECUTES.get(statement);
+        return state != null && state.replayed ? state : null;
+    }
+
+    private static ExecuteState executeState(Statement statement) {
+        ExecuteState state = EXECUTES.get(statement);
+        if (state == null) {
+            state = new ExecuteState();
+            EXECUTES.put(statement, state);
+        }
+        return state;
+    }
+
+    /**
+     * @param hasRow result of ResultSet.next()
+     */
+    public static void onNext(ResultSet resultSet, boolean hasRow) {
+        ResultSetCapture capture = CAPTURES.get(resultSet);
+        if (capture == null || capture.isFinished()) {
+            return;
+        }
+        if (hasRow) {
+            capture.onRow(resultSet);
+        } else {
+            capture.finish();
+        }
+    }
+
+    /**
+     * Rows not read by the application are not recorded, the replay returns the same rows it read.
+     */
+    public static void onClose(ResultSet resultSet) {
+        ResultSetCapture capture = CAPTURES.get(resultSet);
+        if (capture != null) {
+            capture.finish();
+        }
+    }
+
+    /**
+     * Closing a statement closes its result set, which the application may have abandoned without closing it,
+     * the rows read from it are recorded as on ResultSet.close().
+     */
+    public static void onStatementClose(Statement statement) {
+        finishUnclosed(statement);
+    }
+
+    private static void finishUnclosed(Statement statement) {
+        if (statement == null) {
+            return;
+        }
+        ResultSetCapture capture = STATEMENT_CAPTURES.get(statement);
+        if (capture == null || capture.isFinished()) {
+            return;
+        }
+        LogManager.info("jdbc.capture", StringUtil.format(
+            "sql:%s, result set was not exhausted or closed, record the rows read before its statement closed",
+            capture.getSql()));
+        capture.finish();
+    }
+
+    static boolean isStream(Object value) {
+        return value instanceof Blob || value instanceof Clob || value instanceof InputStream ||
+            value instanceof Reader || value instanceof Array || value instanceof Ref ||
+            value instanceof SQLXML || value instanceof Struct;
+    }
+
+    private static int captureLimit() {
+        Config config = Config.get();
+        long limit = config == null ? ArexConstants.MEMORY_SIZE_1MB :
+            config.getLong(ConfigConstants.JDBC_RESULT_CAPTURE_LIMIT, ArexConstants.MEMORY_SIZE_1MB);
+        return (int) Math.min(limit, Integer.MAX_VALUE);
+    }
+
+    static class StatementState {
+        private final String sql;
+        private final List<Object> parameters = new ArrayList<>();
+
+        StatementState(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * @param index 1-based, as jdbc
+         */
+        void setParameter(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+
+    /**
+     * The result of Statement.execute(), the statement has no more results after the replayed one.
+     */
+    public static class ExecuteState {
+        private DatabaseExtractor pending;
+        private boolean replayed;
+        private ResultSet resultSet;
+        private int updateCount = -1;
+
+        public ResultSet getResultSet() {
+            return resultSet;
+        }
+
+        public int getUpdateCount() {
+            return updateCount;
+        }
+
+        /**
+         * Statement.getMoreResults() closes the current result set
+         */
+        public void moreResults() {
+            resultSet = null;
+            updateCount = -1;
+        }
+
+        void reset() {
+            pending = null;
+            replayed = false;
+            moreResults();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.arex.inst.database.jdbc;
+
+import com.google.auto.service.AutoService;
+import io.arex.inst.extension.ModuleInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Records jdbc statements of any driver, eg: JdbcTemplate, jOOQ or plain jdbc.
+ * Statements executed under mybatis or hibernate are recorded by their modules, not again here.
+ */
+@AutoService(ModuleInstrumentation.class)
+public class JdbcModuleInstrumentation extends ModuleInstrumentation {
+    public JdbcModuleInstrumentation() {
+        super("jdbc");
+    }
+
+    @Override
+    public List<TypeInstrumentation> instrumentationTypes() {
+        return asList(new ConnectionInstrumentation(),
+                new StatementInstrumentation(),
+                new ResultSetInstrumentation());
+    }
+}
@@ -0,0 +1,189 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.inst.runtime.serializer.Serializer;
+import io.arex.inst.runtime.util.TypeUtil;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The recorded rows of a jdbc result set: the columns, and the rows as json cells encoded by
+ * {@link io.arex.inst.database.common.ParameterEncoder}, decoded with the java class of the column.
+ */
+public class JdbcRows {
+    private List<String> labels;
+    private List<Integer> types;
+    private List<String> classNames;
+    private List<List<String>> rows;
+
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public void setLabels(List<String> labels) {
+        this.labels = labels;
+    }
+
+    public List<Integer> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<Integer> types) {
+        this.types = types;
+    }
+
+    public List<String> getClassNames() {
+        return classNames;
+    }
+
+    public void setClassNames(List<String> classNames) {
+        this.classNames = classNames;
+    }
+
+    public List<List<String>> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<List<String>> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * @return a disconnected result set of the rows
+     */
+    public ResultSet toResultSet() throws SQLException {
+        int columnCount = labels == null ? 0 : labels.size();
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            metaData.setColumnLabel(i, labels.get(i - 1));
+            // the cached row set finds columns by name
+            metaData.setColumnName(i, labels.get(i - 1));
+            try {
+                metaData.setColumnType(i, types.get(i - 1));
+            } catch (SQLException e) {
+                // vendor type
+                metaData.setColumnType(i, Types.OTHER);
+            }
+            metaData.setNullable(i, ResultSetMetaData.columnNullable);
+        }
+
+        CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.setMetaData(metaData);
+        if (rows != null) {
+            for (List<String> row : rows) {
+                // a row is inserted before the cursor unless it is after the last row
+                rowSet.moveToCurrentRow();
+                rowSet.afterLast();
+                rowSet.moveToInsertRow();
+                for (int i = 1; i <= columnCount; i++) {
+                    Object value = decode(row.get(i - 1), classNames.get(i - 1));
+                    if (value == null) {
+                        rowSet.updateNull(i);
+                    } else {
+                        rowSet.updateObject(i, value);
+                    }
+                }
+                rowSet.insertRow();
+            }
+            rowSet.moveToCurrentRow();
+        }
+        rowSet.beforeFirst();
+        return rowSet;
+    }
+
+    static Object decode(String cell, String className) {
+        if (cell == null || "null".equals(cell) || className == null) {
+            return null;
+        }
+        switch (className) {
+            case "java.lang.String":
+                return decodeString(cell);
+            case "java.lang.Integer":
+                return Integer.valueOf(cell);
+            case "java.lang.Long":
+                return Long.valueOf(cell);
+            case "java.lang.Short":
+                return Short.valueOf(cell);
+            case "java.lang.Byte":
+                return Byte.valueOf(cell);
+            case "java.lang.Double":
+                return Double.valueOf(cell);
+            case "java.lang.Float":
+                return Float.valueOf(cell);
+            case "java.lang.Boolean":
+                return Boolean.valueOf(cell);
+            case "java.math.BigDecimal":
+                return new BigDecimal(cell);
+            case "java.math.BigInteger":
+                return new BigInteger(cell);
+            // dates are encoded as yyyy-MM-dd HH:mm:ss.SSS
+            case "java.sql.Timestamp":
+                return Timestamp.valueOf(decodeString(cell));
+            case "java.sql.Date":
+                return new java.sql.Date(Timestamp.valueOf(decodeString(cell)).getTime());
+            case "java.sql.Time":
+                return new Time(Timestamp.valueOf(decodeString(cell)).getTime());
+            case "java.util.Date":
+                return new java.util.Date(Timestamp.valueOf(decodeString(cell)).getTime());
+            case "java.time.LocalDate":
+                return LocalDate.parse(decodeString(cell));
+            default:
+                return Serializer.deserialize(cell, TypeUtil.forName(className));
+        }
+    }
+
+    /**
+     * @param cell json string, quoted and escaped
+     */
+    static String decodeString(String cell) {
+        if (cell.indexOf('\\') < 0) {
+            return cell.substring(1, cell.length() - 1);
+        }
+        StringBuilder builder = new StringBuilder(cell.length());
+        for (int i = 1; i < cell.length() - 1; i++) {
+            char c = cell.charAt(i);
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            c = cell.charAt(++i);
+            switch (c) {
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 'u':
+                    builder.append((char) Integer.parseInt(cell.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    // " \ /
+                    builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
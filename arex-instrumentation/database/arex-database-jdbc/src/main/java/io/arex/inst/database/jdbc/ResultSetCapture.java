@@ -0,0 +1,149 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.database.common.DatabaseExtractor;
+import io.arex.inst.database.common.ParameterEncoder;
+import io.arex.inst.runtime.log.LogManager;
+import io.arex.inst.runtime.model.ArexConstants;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Rows of a result set encoded as the application reads them, at most limit chars of content.
+ * The rows are recorded as {@link JdbcRows} once the result set is exhausted or closed, beyond the limit
+ * the content is dropped and the query is recorded as exceeding the max size, it is not replayed.
+ * A result set is read by one thread at a time, so no synchronization is needed.
+ */
+class ResultSetCapture {
+    private final DatabaseExtractor extractor;
+    private final int limit;
+    private final String[] labels;
+    private final int[] types;
+    /**
+     * class of the first non null value of each column, the cells are decoded with it
+     */
+    private final String[] classNames;
+    private StringBuilder rows = new StringBuilder();
+    private boolean exceedMaxSize;
+    private boolean finished;
+
+    ResultSetCapture(DatabaseExtractor extractor, ResultSetMetaData metaData, int limit) throws SQLException {
+        this.extractor = extractor;
+        this.limit = limit;
+        int columnCount = metaData.getColumnCount();
+        this.labels = new String[columnCount];
+        this.types = new int[columnCount];
+        this.classNames = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+        }
+    }
+
+    /**
+     * @param resultSet positioned on a new row
+     */
+    void onRow(ResultSet resultSet) {
+        if (finished || exceedMaxSize) {
+            return;
+        }
+        try {
+            if (rows.length() > 0) {
+                rows.append(',');
+            }
+            rows.append('[');
+            for (int i = 0; i < labels.length; i++) {
+                if (i > 0) {
+                    rows.append(',');
+                }
+                Object value = resultSet.getObject(i + 1);
+                if (value == null) {
+                    rows.append("null");
+                    continue;
+                }
+                if (JdbcHelper.isStream(value)) {
+                    // reading it would consume it before the application does
+                    abort();
+                    return;
+                }
+                if (classNames[i] == null) {
+                    classNames[i] = value.getClass().getName();
+                }
+                ParameterEncoder.appendString(ParameterEncoder.encode(value), rows);
+            }
+            rows.append(']');
+        } catch (Throwable e) {
+            LogManager.warn("jdbc.capture", e);
+            abort();
+            return;
+        }
+        if (rows.length() > limit) {
+            exceedMaxSize = true;
+            rows = null;
+        }
+    }
+
+    void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (exceedMaxSize) {
+            LogManager.warn(ArexConstants.EXCEED_MAX_SIZE_TITLE,
+                StringUtil.format("sql:%s, exceed result capture limit:%s, record result will be null",
+                    extractor.getSql(), String.valueOf(limit)));
+            extractor.recordSerializedDb(null, JdbcRows.class.getName());
+            return;
+        }
+        extractor.recordSerializedDb(toJson(), JdbcRows.class.getName());
+        rows = null;
+    }
+
+    private void abort() {
+        finished = true;
+        rows = null;
+    }
+
+    String getSql() {
+        return extractor.getSql();
+    }
+
+    boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * same properties as {@link JdbcRows}
+     */
+    private String toJson() {
+        StringBuilder builder = new StringBuilder(rows.length() + labels.length * 32 + 48);
+        builder.append("{\"labels\":[");
+        for (int i = 0; i < labels.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            ParameterEncoder.appendString(labels[i], builder);
+        }
+        builder.append("],\"types\":[");
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(types[i]);
+        }
+        builder.append("],\"classNames\":[");
+        for (int i = 0; i < classNames.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            if (classNames[i] == null) {
+                builder.append("null");
+            } else {
+                ParameterEncoder.appendString(classNames[i], builder);
+            }
+        }
+        return builder.append("],\"rows\":[").append(rows).append("]}").toString();
+    }
+}
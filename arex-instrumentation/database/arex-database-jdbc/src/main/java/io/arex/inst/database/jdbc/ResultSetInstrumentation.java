@@ -0,0 +1,55 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.runtime.context.ContextManager;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Captures each row of a recorded result set as the application moves to it.
+ */
+public class ResultSetInstrumentation extends TypeInstrumentation {
+
+    @Override
+    public ElementMatcher<TypeDescription> typeMatcher() {
+        return hasSuperType(named("java.sql.ResultSet")).and(not(isInterface()));
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return asList(
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("next")).and(takesArguments(0)),
+                        NextAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("close")).and(takesArguments(0)),
+                        CloseAdvice.class.getName()));
+    }
+
+    @SuppressWarnings("unused")
+    public static class NextAdvice {
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This ResultSet resultSet,
+                                  @Advice.Return boolean hasRow) {
+            if (ContextManager.needRecord()) {
+                JdbcHelper.onNext(resultSet, hasRow);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class CloseAdvice {
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onEnter(@Advice.This ResultSet resultSet) {
+            if (ContextManager.needRecord()) {
+                JdbcHelper.onClose(resultSet);
+            }
+        }
+    }
+}
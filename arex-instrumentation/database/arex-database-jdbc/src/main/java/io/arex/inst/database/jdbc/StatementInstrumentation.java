@@ -0,0 +1,351 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.database.common.DatabaseExtractor;
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.context.RepeatedCollectManager;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Records executeQuery, executeUpdate and execute, the sql is the argument of a statement
+ * or the sql the prepared statement was prepared with, along with its parameters.
+ * The first result of execute is recorded, as the application gets it by getResultSet or getUpdateCount.
+ */
+public class StatementInstrumentation extends TypeInstrumentation {
+    private static final String METHOD_NAME_QUERY = "query";
+    private static final String METHOD_NAME_UPDATE = "update";
+    private static final String METHOD_NAME_EXECUTE = "execute";
+
+    @Override
+    public ElementMatcher<TypeDescription> typeMatcher() {
+        return hasSuperType(named("java.sql.Statement")).and(not(isInterface()));
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return asList(
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("executeQuery"))
+                        .and(takesArguments(0).or(takesArguments(String.class))),
+                        QueryAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("executeUpdate"))
+                        .and(takesArguments(0).or(takesArguments(String.class))),
+                        UpdateAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("execute"))
+                        .and(takesArguments(0).or(takesArguments(String.class))),
+                        ExecuteAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("getResultSet"))
+                        .and(takesArguments(0)),
+                        GetResultSetAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("getUpdateCount"))
+                        .and(takesArguments(0)),
+                        GetUpdateCountAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("getMoreResults"))
+                        .and(takesArguments(0).or(takesArguments(int.class))),
+                        GetMoreResultsAdvice.class.getName()),
+                // setXxx(int parameterIndex, Xxx x, ...)
+                new MethodInstrumentation(setParameterMethod().and(not(named("setNull")))
+                        .and(not(streamParameterMethod())),
+                        SetParameterAdvice.class.getName()),
+                // streams and LOBs are not read ahead of the driver
+                new MethodInstrumentation(setParameterMethod().and(streamParameterMethod()),
+                        SetStreamParameterAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("setNull"))
+                        .and(takesArgument(0, int.class)),
+                        SetNullAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("clearParameters"))
+                        .and(takesArguments(0)),
+                        ClearParametersAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isPublic()).and(named("close")).and(takesArguments(0)),
+                        CloseAdvice.class.getName()));
+    }
+
+    private static ElementMatcher.Junction<MethodDescription> setParameterMethod() {
+        return isMethod().and(isPublic()).and(nameStartsWith("set"))
+                .and(takesArgument(0, int.class))
+                .and(takesArguments(2).or(takesArguments(3)).or(takesArguments(4)));
+    }
+
+    private static ElementMatcher.Junction<MethodDescription> streamParameterMethod() {
+        return namedOneOf("setBlob", "setClob", "setNClob", "setSQLXML", "setArray", "setRef")
+                .or(takesArgument(1, isSubTypeOf(InputStream.class)))
+                .or(takesArgument(1, isSubTypeOf(Reader.class)))
+                .or(takesArgument(1, isSubTypeOf(Blob.class)))
+                .or(takesArgument(1, isSubTypeOf(Clob.class)))
+                .or(takesArgument(1, isSubTypeOf(SQLXML.class)))
+                .or(takesArgument(1, isSubTypeOf(Array.class)))
+                .or(takesArgument(1, isSubTypeOf(Ref.class)));
+    }
+
+    @SuppressWarnings("unused")
+    public static class QueryAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static boolean onEnter(@Advice.This Statement statement,
+                                      @Advice.Argument(value = 0, optional = true) String sql,
+                                      @Advice.Local("extractor") DatabaseExtractor extractor,
+                                      @Advice.Local("mockResult") MockResult mockResult) {
+            if (ContextManager.needRecord()) {
+                RepeatedCollectManager.enter();
+            }
+            if (ContextManager.needRecordOrReplay()) {
+                extractor = JdbcHelper.createExtractor(statement, sql, METHOD_NAME_QUERY);
+                if (extractor != null && ContextManager.needReplay()) {
+                    mockResult = JdbcHelper.replayQuery(extractor);
+                }
+                return mockResult != null && mockResult.notIgnoreMockResult();
+            }
+            return false;
+        }
+
+        @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+        public static void onExit(@Advice.This Statement statement,
+                                  @Advice.Thrown(readOnly = false) Throwable throwable,
+                                  @Advice.Return(readOnly = false) ResultSet resultSet,
+                                  @Advice.Local("extractor") DatabaseExtractor extractor,
+                                  @Advice.Local("mockResult") MockResult mockResult) {
+            if (mockResult != null && mockResult.notIgnoreMockResult()) {
+                if (mockResult.getThrowable() != null) {
+                    throwable = mockResult.getThrowable();
+                } else {
+                    resultSet = (ResultSet) mockResult.getResult();
+                }
+                return;
+            }
+
+            if (ContextManager.needRecord() && RepeatedCollectManager.exitAndValidate() && extractor != null) {
+                JdbcHelper.recordQuery(statement, extractor, resultSet, throwable);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class UpdateAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static boolean onEnter(@Advice.This Statement statement,
+                                      @Advice.Argument(value = 0, optional = true) String sql,
+                                      @Advice.Local("extractor") DatabaseExtractor extractor,
+                                      @Advice.Local("mockResult") MockResult mockResult) {
+            if (ContextManager.needRecord()) {
+                RepeatedCollectManager.enter();
+            }
+            if (ContextManager.needRecordOrReplay()) {
+                extractor = JdbcHelper.createExtractor(statement, sql, METHOD_NAME_UPDATE);
+                if (extractor != null && ContextManager.needReplay()) {
+                    mockResult = extractor.replay();
+                }
+                return mockResult != null && mockResult.notIgnoreMockResult();
+            }
+            return false;
+        }
+
+        @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+        public static void onExit(@Advice.Thrown(readOnly = false) Throwable throwable,
+                                  @Advice.Return(readOnly = false) int updateCount,
+                                  @Advice.Local("extractor") DatabaseExtractor extractor,
+                                  @Advice.Local("mockResult") MockResult mockResult) {
+            if (mockResult != null && mockResult.notIgnoreMockResult()) {
+                if (mockResult.getThrowable() != null) {
+                    throwable = mockResult.getThrowable();
+                } else if (mockResult.getResult() instanceof Integer) {
+                    updateCount = (Integer) mockResult.getResult();
+                }
+                return;
+            }
+
+            if (ContextManager.needRecord() && RepeatedCollectManager.exitAndValidate() && extractor != null) {
+                if (throwable != null) {
+                    extractor.recordDb(throwable);
+                } else {
+                    extractor.recordDb(updateCount);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ExecuteAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static boolean onEnter(@Advice.This Statement statement,
+                                      @Advice.Argument(value = 0, optional = true) String sql,
+                                      @Advice.Local("extractor") DatabaseExtractor extractor,
+                                      @Advice.Local("mockResult") MockResult mockResult) {
+            if (ContextManager.needRecord()) {
+                RepeatedCollectManager.enter();
+            }
+            if (ContextManager.needRecordOrReplay()) {
+                JdbcHelper.onExecute(statement);
+                extractor = JdbcHelper.createExtractor(statement, sql, METHOD_NAME_EXECUTE);
+                if (extractor != null && ContextManager.needReplay()) {
+                    mockResult = JdbcHelper.replayExecute(extractor);
+                }
+                return mockResult != null && mockResult.notIgnoreMockResult();
+            }
+            return false;
+        }
+
+        @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+        public static void onExit(@Advice.This Statement statement,
+                                  @Advice.Thrown(readOnly = false) Throwable throwable,
+                                  @Advice.Return(readOnly = false) boolean hasResultSet,
+                                  @Advice.Local("extractor") DatabaseExtractor extractor,
+                                  @Advice.Local("mockResult") MockResult mockResult) {
+            if (mockResult != null && mockResult.notIgnoreMockResult()) {
+                if (mockResult.getThrowable() != null) {
+                    throwable = mockResult.getThrowable();
+                } else {
+                    hasResultSet = JdbcHelper.onReplayedExecute(statement, mockResult.getResult());
+                }
+                return;
+            }
+
+            if (ContextManager.needRecord() && RepeatedCollectManager.exitAndValidate() && extractor != null) {
+                JdbcHelper.recordExecute(statement, extractor, hasResultSet, throwable);
+            }
+        }
+    }
+
+    /**
+     * The result set of a replayed execute() is returned without calling the driver,
+     * the result set of a recorded execute() is recorded as the application reads it.
+     */
+    @SuppressWarnings("unused")
+    public static class GetResultSetAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static boolean onEnter(@Advice.This Statement statement,
+                                      @Advice.Local("replayed") JdbcHelper.ExecuteState replayed) {
+            if (ContextManager.needReplay()) {
+                replayed = JdbcHelper.getReplayedExecute(statement);
+            }
+            return replayed != null;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Statement statement,
+                                  @Advice.Return(readOnly = false) ResultSet resultSet,
+                                  @Advice.Local("replayed") JdbcHelper.ExecuteState replayed) {
+            if (replayed != null) {
+                resultSet = replayed.getResultSet();
+                return;
+            }
+            if (ContextManager.needRecord()) {
+                JdbcHelper.onGetResultSet(statement, resultSet);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class GetUpdateCountAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static boolean onEnter(@Advice.This Statement statement,
+                                      @Advice.Local("replayed") JdbcHelper.ExecuteState replayed) {
+            if (ContextManager.needReplay()) {
+                replayed = JdbcHelper.getReplayedExecute(statement);
+            }
+            return replayed != null;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.Return(readOnly = false) int updateCount,
+                                  @Advice.Local("replayed") JdbcHelper.ExecuteState replayed) {
+            if (replayed != null) {
+                updateCount = replayed.getUpdateCount();
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class GetMoreResultsAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static boolean onEnter(@Advice.This Statement statement,
+                                      @Advice.Local("replayed") JdbcHelper.ExecuteState replayed) {
+            if (ContextManager.needReplay()) {
+                replayed = JdbcHelper.getReplayedExecute(statement);
+            }
+            return replayed != null;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.Return(readOnly = false) boolean hasResultSet,
+                                  @Advice.Local("replayed") JdbcHelper.ExecuteState replayed) {
+            if (replayed != null) {
+                replayed.moreResults();
+                hasResultSet = false;
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SetParameterAdvice {
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onEnter(@Advice.This Statement statement,
+                                   @Advice.Argument(0) int parameterIndex,
+                                   @Advice.Argument(1) Object value) {
+            if (ContextManager.needRecordOrReplay()) {
+                JdbcHelper.onParameter(statement, parameterIndex, value);
+            }
+        }
+    }
+
+    /**
+     * setObject with a stream or LOB value is neutralized by JdbcHelper.onParameter
+     */
+    @SuppressWarnings("unused")
+    public static class SetStreamParameterAdvice {
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onEnter(@Advice.This Statement statement,
+                                   @Advice.Argument(0) int parameterIndex) {
+            if (ContextManager.needRecordOrReplay()) {
+                JdbcHelper.onStreamParameter(statement, parameterIndex);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SetNullAdvice {
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onEnter(@Advice.This Statement statement,
+                                   @Advice.Argument(0) int parameterIndex) {
+            if (ContextManager.needRecordOrReplay()) {
+                JdbcHelper.onParameter(statement, parameterIndex, null);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class ClearParametersAdvice {
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onEnter(@Advice.This Statement statement) {
+            if (ContextManager.needRecordOrReplay()) {
+                JdbcHelper.onClearParameters(statement);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class CloseAdvice {
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void onEnter(@Advice.This Statement statement) {
+            if (ContextManager.needRecord()) {
+                JdbcHelper.onStatementClose(statement);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.inst.runtime.context.ContextManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.h2.jdbc.JdbcConnection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionInstrumentationTest {
+    static ConnectionInstrumentation target = null;
+
+    @BeforeAll
+    static void setUp() {
+        target = new ConnectionInstrumentation();
+        Mockito.mockStatic(ContextManager.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        target = null;
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void typeMatcher() {
+        assertTrue(target.typeMatcher().matches(TypeDescription.ForLoadedType.of(JdbcConnection.class)));
+        assertFalse(target.typeMatcher().matches(TypeDescription.ForLoadedType.of(Connection.class)));
+    }
+
+    @Test
+    void methodAdvices() throws NoSuchMethodException {
+        assertTrue(target.methodAdvices().get(0).getMethodMatcher().matches(
+            new MethodDescription.ForLoadedMethod(Connection.class.getMethod("prepareStatement", String.class, int.class))));
+        assertTrue(target.methodAdvices().get(0).getMethodMatcher().matches(
+            new MethodDescription.ForLoadedMethod(Connection.class.getMethod("prepareCall", String.class))));
+        assertFalse(target.methodAdvices().get(0).getMethodMatcher().matches(
+            new MethodDescription.ForLoadedMethod(Connection.class.getMethod("nativeSQL", String.class))));
+    }
+
+    @Test
+    void onExit() {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            ConnectionInstrumentation.PrepareAdvice.onExit("select 1", statement);
+            helper.verifyNoInteractions();
+
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
+            ConnectionInstrumentation.PrepareAdvice.onExit("select 1", null);
+            helper.verifyNoInteractions();
+            ConnectionInstrumentation.PrepareAdvice.onExit("select 1", statement);
+            helper.verify(() -> JdbcHelper.onPrepare(statement, "select 1"));
+        }
+    }
+}
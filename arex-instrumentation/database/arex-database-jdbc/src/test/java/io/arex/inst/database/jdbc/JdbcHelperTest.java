@@ -0,0 +1,252 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.database.common.DatabaseExtractor;
+import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.serializer.Serializer;
+import io.arex.inst.runtime.serializer.StringSerializable;
+import java.io.ByteArrayInputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcHelperTest {
+    static final String SELECT_SQL = "select id, name, amount, created from account where id >= ? order by id";
+    static Connection connection;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        StringSerializable serializable = Mockito.mock(StringSerializable.class);
+        Mockito.when(serializable.name()).thenReturn(ArexConstants.JACKSON_SERIALIZER);
+        Serializer.builder(serializable).build();
+        connection = DriverManager.getConnection("jdbc:h2:mem:helper");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table account(id int, name varchar(20), amount decimal(10, 2), created timestamp)");
+            statement.execute("insert into account values (1, 'a\"b', 1.50, '2023-01-02 03:04:05.678')");
+            statement.execute("insert into account values (2, null, null, null)");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        connection.close();
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void createExtractor() throws SQLException {
+        List<List<?>> arguments = new ArrayList<>();
+        try (MockedConstruction<DatabaseExtractor> ignored = Mockito.mockConstruction(DatabaseExtractor.class,
+                (mock, context) -> arguments.add(context.arguments()));
+             PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            // prepared before recording started
+            assertNull(JdbcHelper.createExtractor(statement, null, "query"));
+
+            assertNotNull(JdbcHelper.createExtractor(statement, "select 1", "query"));
+            JdbcHelper.onPrepare(statement, SELECT_SQL);
+            JdbcHelper.onParameter(statement, 2, "a");
+            JdbcHelper.onParameter(statement, 1, 1);
+            assertNotNull(JdbcHelper.createExtractor(statement, null, "query"));
+            JdbcHelper.onClearParameters(statement);
+            assertNotNull(JdbcHelper.createExtractor(statement, null, "update"));
+        }
+        assertEquals(Arrays.asList("select 1", null, "query"), arguments.get(0));
+        assertEquals(Arrays.asList(SELECT_SQL, "[1,\"a\"]", "query"), arguments.get(1));
+        assertEquals(Arrays.asList(SELECT_SQL, null, "update"), arguments.get(2));
+    }
+
+    @Test
+    void recordQuery() throws SQLException {
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            statement.setInt(1, 1);
+            ResultSet resultSet = statement.executeQuery();
+            JdbcHelper.recordQuery(statement, extractor, resultSet, null);
+            while (true) {
+                boolean hasRow = resultSet.next();
+                JdbcHelper.onNext(resultSet, hasRow);
+                if (!hasRow) {
+                    break;
+                }
+            }
+            JdbcHelper.onClose(resultSet);
+            resultSet.close();
+        }
+        String expected = "{\"labels\":[\"ID\",\"NAME\",\"AMOUNT\",\"CREATED\"],\"types\":[4,12,3,93]," +
+            "\"classNames\":[\"java.lang.Integer\",\"java.lang.String\",\"java.math.BigDecimal\",\"java.sql.Timestamp\"]," +
+            "\"rows\":[[\"1\",\"\\\"a\\\\\\\"b\\\"\",\"1.50\",\"\\\"2023-01-02 03:04:05.678\\\"\"],[\"2\",null,null,null]]}";
+        Mockito.verify(extractor, Mockito.times(1)).recordSerializedDb(expected, JdbcRows.class.getName());
+    }
+
+    @Test
+    void recordPartiallyRead() throws SQLException {
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            statement.setInt(1, 2);
+            ResultSet resultSet = statement.executeQuery();
+            JdbcHelper.recordQuery(statement, extractor, resultSet, null);
+            JdbcHelper.onClose(resultSet);
+            JdbcHelper.onNext(resultSet, resultSet.next());
+            resultSet.close();
+        }
+        String expected = "{\"labels\":[\"ID\",\"NAME\",\"AMOUNT\",\"CREATED\"],\"types\":[4,12,3,93]," +
+            "\"classNames\":[null,null,null,null],\"rows\":[]}";
+        Mockito.verify(extractor, Mockito.times(1)).recordSerializedDb(expected, JdbcRows.class.getName());
+    }
+
+    @Test
+    void recordAbandoned() throws SQLException {
+        DatabaseExtractor first = Mockito.mock(DatabaseExtractor.class);
+        DatabaseExtractor second = Mockito.mock(DatabaseExtractor.class);
+        String expected = "{\"labels\":[\"ID\",\"NAME\",\"AMOUNT\",\"CREATED\"],\"types\":[4,12,3,93]," +
+            "\"classNames\":[\"java.lang.Integer\",null,null,null],\"rows\":[[\"2\",null,null,null]]}";
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            statement.setInt(1, 2);
+            ResultSet resultSet = statement.executeQuery();
+            JdbcHelper.recordQuery(statement, first, resultSet, null);
+            JdbcHelper.onNext(resultSet, resultSet.next());
+
+            // executed again, the previous result set is closed by the driver
+            resultSet = statement.executeQuery();
+            JdbcHelper.recordQuery(statement, second, resultSet, null);
+            Mockito.verify(first, Mockito.times(1)).recordSerializedDb(expected, JdbcRows.class.getName());
+            JdbcHelper.onNext(resultSet, resultSet.next());
+            Mockito.verifyNoInteractions(second);
+
+            JdbcHelper.onStatementClose(statement);
+            JdbcHelper.onStatementClose(statement);
+        }
+        Mockito.verify(second, Mockito.times(1)).recordSerializedDb(expected, JdbcRows.class.getName());
+    }
+
+    @Test
+    void streamParameter() throws SQLException {
+        List<List<?>> arguments = new ArrayList<>();
+        try (MockedConstruction<DatabaseExtractor> ignored = Mockito.mockConstruction(DatabaseExtractor.class,
+                (mock, context) -> arguments.add(context.arguments()));
+             PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            JdbcHelper.onPrepare(statement, SELECT_SQL);
+            ByteArrayInputStream stream = new ByteArrayInputStream(new byte[]{1});
+            JdbcHelper.onParameter(statement, 1, stream);
+            JdbcHelper.onStreamParameter(statement, 2);
+            JdbcHelper.onParameter(statement, 3, "a");
+            JdbcHelper.createExtractor(statement, null, "query");
+            assertEquals(1, stream.available());
+        }
+        assertEquals(Arrays.asList(SELECT_SQL, "[\"<stream>\",\"<stream>\",\"a\"]", "query"), arguments.get(0));
+    }
+
+    @Test
+    void recordThrowable() {
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        SQLException exception = new SQLException("mock");
+        JdbcHelper.recordQuery(null, extractor, null, exception);
+        Mockito.verify(extractor).recordDb(exception);
+        JdbcHelper.recordQuery(null, extractor, null, null);
+        Mockito.verifyNoMoreInteractions(extractor);
+    }
+
+    @Test
+    void replayQuery() throws SQLException {
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        assertNull(JdbcHelper.replayQuery(extractor));
+
+        SQLException exception = new SQLException("mock");
+        Mockito.when(extractor.replay()).thenReturn(MockResult.success(exception));
+        assertSame(exception, JdbcHelper.replayQuery(extractor).getThrowable());
+
+        Mockito.when(extractor.replay()).thenReturn(MockResult.success("mock"));
+        assertNull(JdbcHelper.replayQuery(extractor));
+
+        JdbcRows rows = new JdbcRows();
+        rows.setLabels(Collections.singletonList("ID"));
+        rows.setTypes(Collections.singletonList(Types.INTEGER));
+        rows.setClassNames(Collections.singletonList("java.lang.Integer"));
+        List<List<String>> values = Collections.singletonList(Collections.singletonList("1"));
+        rows.setRows(values);
+        Mockito.when(extractor.replay()).thenReturn(MockResult.success(rows));
+        ResultSet resultSet = (ResultSet) JdbcHelper.replayQuery(extractor).getResult();
+        assertTrue(resultSet.next());
+        assertEquals(1, resultSet.getInt("ID"));
+        assertFalse(resultSet.next());
+    }
+
+    @Test
+    void recordExecute() throws SQLException {
+        DatabaseExtractor query = Mockito.mock(DatabaseExtractor.class);
+        DatabaseExtractor update = Mockito.mock(DatabaseExtractor.class);
+        String expected = "{\"labels\":[\"ID\"],\"types\":[4],\"classNames\":[\"java.lang.Integer\"]," +
+            "\"rows\":[[\"1\"]]}";
+        try (Statement statement = connection.createStatement()) {
+            String sql = "select id from account where id = 1";
+            JdbcHelper.onExecute(statement);
+            JdbcHelper.recordExecute(statement, query, statement.execute(sql), null);
+            // recorded as the application reads the result set it gets
+            Mockito.verifyNoInteractions(query);
+            ResultSet resultSet = statement.getResultSet();
+            JdbcHelper.onGetResultSet(statement, resultSet);
+            JdbcHelper.onGetResultSet(statement, resultSet);
+            JdbcHelper.onNext(resultSet, resultSet.next());
+            JdbcHelper.onNext(resultSet, resultSet.next());
+            Mockito.verify(query, Mockito.times(1)).recordSerializedDb(expected, JdbcRows.class.getName());
+
+            sql = "update account set amount = 2 where id = 2";
+            JdbcHelper.onExecute(statement);
+            JdbcHelper.recordExecute(statement, update, statement.execute(sql), null);
+            Mockito.verify(update).recordDb(1);
+            JdbcHelper.onGetResultSet(statement, null);
+            Mockito.verifyNoMoreInteractions(update);
+        }
+
+        SQLException exception = new SQLException("mock");
+        JdbcHelper.recordExecute(null, update, false, exception);
+        Mockito.verify(update).recordDb(exception);
+    }
+
+    @Test
+    void replayExecute() throws SQLException {
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        Mockito.when(extractor.replay()).thenReturn(MockResult.success(2));
+        assertEquals(2, JdbcHelper.replayExecute(extractor).getResult());
+        Mockito.when(extractor.replay()).thenReturn(MockResult.success("mock"));
+        assertNull(JdbcHelper.replayExecute(extractor));
+
+        Statement statement = Mockito.mock(Statement.class);
+        assertNull(JdbcHelper.getReplayedExecute(statement));
+        assertFalse(JdbcHelper.onReplayedExecute(statement, 2));
+        JdbcHelper.ExecuteState replayed = JdbcHelper.getReplayedExecute(statement);
+        assertNull(replayed.getResultSet());
+        assertEquals(2, replayed.getUpdateCount());
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        assertTrue(JdbcHelper.onReplayedExecute(statement, resultSet));
+        assertSame(resultSet, replayed.getResultSet());
+        replayed.moreResults();
+        assertNull(replayed.getResultSet());
+        assertEquals(-1, replayed.getUpdateCount());
+
+        // executed again without a replayed result
+        JdbcHelper.onExecute(statement);
+        assertNull(JdbcHelper.getReplayedExecute(statement));
+    }
+}
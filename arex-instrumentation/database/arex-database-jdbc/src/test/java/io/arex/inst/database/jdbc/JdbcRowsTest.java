@@ -0,0 +1,76 @@
+package io.arex.inst.database.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class JdbcRowsTest {
+
+    @Test
+    void decode() {
+        assertNull(JdbcRows.decode(null, "java.lang.String"));
+        assertNull(JdbcRows.decode("null", "java.lang.Integer"));
+        assertNull(JdbcRows.decode("1", null));
+        assertEquals("a\"b", JdbcRows.decode("\"a\\\"b\"", "java.lang.String"));
+        assertEquals(1, JdbcRows.decode("1", "java.lang.Integer"));
+        assertEquals(1L, JdbcRows.decode("1", "java.lang.Long"));
+        assertEquals(1.5d, JdbcRows.decode("1.5", "java.lang.Double"));
+        assertEquals(true, JdbcRows.decode("true", "java.lang.Boolean"));
+        assertEquals(new BigDecimal("1.50"), JdbcRows.decode("1.50", "java.math.BigDecimal"));
+        assertEquals(Timestamp.valueOf("2023-01-02 03:04:05.678"),
+            JdbcRows.decode("\"2023-01-02 03:04:05.678\"", "java.sql.Timestamp"));
+        assertEquals(java.sql.Date.valueOf("2023-01-02").getTime(),
+            ((java.sql.Date) JdbcRows.decode("\"2023-01-02 00:00:00.000\"", "java.sql.Date")).getTime());
+        assertEquals(LocalDate.of(2023, 1, 2), JdbcRows.decode("\"2023-01-02\"", "java.time.LocalDate"));
+    }
+
+    @Test
+    void decodeString() {
+        assertEquals("abc", JdbcRows.decodeString("\"abc\""));
+        assertEquals("a\\b\n\t\u0001/", JdbcRows.decodeString("\"a\\\\b\\n\\t\\u0001\\/\""));
+    }
+
+    @Test
+    void toResultSet() throws SQLException {
+        JdbcRows rows = new JdbcRows();
+        rows.setLabels(Arrays.asList("ID", "NAME", "CREATED"));
+        rows.setTypes(Arrays.asList(Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP));
+        rows.setClassNames(Arrays.asList("java.lang.Integer", "java.lang.String", "java.sql.Timestamp"));
+        rows.setRows(Arrays.asList(
+            Arrays.asList("1", "\"a\"", "\"2023-01-02 03:04:05.678\""),
+            Arrays.asList("2", null, null)));
+
+        ResultSet resultSet = rows.toResultSet();
+        assertEquals(3, resultSet.getMetaData().getColumnCount());
+        assertEquals("NAME", resultSet.getMetaData().getColumnLabel(2));
+        assertTrue(resultSet.next());
+        assertEquals(1, resultSet.getInt("ID"));
+        assertEquals("a", resultSet.getString(2));
+        assertEquals(Timestamp.valueOf("2023-01-02 03:04:05.678"), resultSet.getTimestamp("CREATED"));
+        assertTrue(resultSet.next());
+        assertEquals(2, resultSet.getInt(1));
+        assertNull(resultSet.getString("NAME"));
+        assertTrue(resultSet.wasNull());
+        assertFalse(resultSet.next());
+    }
+
+    @Test
+    void toEmptyResultSet() throws SQLException {
+        JdbcRows rows = new JdbcRows();
+        rows.setLabels(Arrays.asList("ID"));
+        rows.setTypes(Arrays.asList(Types.INTEGER));
+        rows.setClassNames(Arrays.asList((String) null));
+        ResultSet resultSet = rows.toResultSet();
+        assertFalse(resultSet.next());
+    }
+}
@@ -0,0 +1,70 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.inst.database.common.DatabaseExtractor;
+import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.serializer.Serializer;
+import io.arex.inst.runtime.serializer.StringSerializable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultSetCaptureTest {
+    static Connection connection;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        StringSerializable serializable = Mockito.mock(StringSerializable.class);
+        Mockito.when(serializable.name()).thenReturn(ArexConstants.JACKSON_SERIALIZER);
+        Serializer.builder(serializable).build();
+        connection = DriverManager.getConnection("jdbc:h2:mem:capture");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table item(id int, content blob)");
+            statement.execute("insert into item values (1, X'01'), (2, X'02'), (3, X'03')");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        connection.close();
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void exceedLimit() throws SQLException {
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select id from item order by id")) {
+            ResultSetCapture capture = new ResultSetCapture(extractor, resultSet.getMetaData(), 8);
+            while (resultSet.next()) {
+                capture.onRow(resultSet);
+            }
+            capture.finish();
+            assertTrue(capture.isFinished());
+        }
+        Mockito.verify(extractor).recordSerializedDb(null, JdbcRows.class.getName());
+    }
+
+    @Test
+    void streamNotCaptured() throws SQLException {
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select id, content from item order by id")) {
+            ResultSetCapture capture = new ResultSetCapture(extractor, resultSet.getMetaData(), 1024);
+            assertFalse(capture.isFinished());
+            assertTrue(resultSet.next());
+            capture.onRow(resultSet);
+            assertTrue(capture.isFinished());
+            capture.finish();
+        }
+        Mockito.verifyNoInteractions(extractor);
+    }
+}
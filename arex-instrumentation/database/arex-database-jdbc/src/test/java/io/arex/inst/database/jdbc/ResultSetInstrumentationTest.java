@@ -0,0 +1,56 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.inst.runtime.context.ContextManager;
+import java.sql.ResultSet;
+import net.bytebuddy.description.type.TypeDescription;
+import org.h2.jdbc.JdbcResultSet;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultSetInstrumentationTest {
+    static ResultSetInstrumentation target = null;
+
+    @BeforeAll
+    static void setUp() {
+        target = new ResultSetInstrumentation();
+        Mockito.mockStatic(ContextManager.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        target = null;
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void typeMatcher() {
+        assertTrue(target.typeMatcher().matches(TypeDescription.ForLoadedType.of(JdbcResultSet.class)));
+    }
+
+    @Test
+    void methodAdvices() {
+        assertEquals(2, target.methodAdvices().size());
+    }
+
+    @Test
+    void advices() {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            ResultSetInstrumentation.NextAdvice.onExit(resultSet, true);
+            ResultSetInstrumentation.CloseAdvice.onEnter(resultSet);
+            helper.verifyNoInteractions();
+
+            Mockito.when(ContextManager.needRecord()).thenReturn(true);
+            ResultSetInstrumentation.NextAdvice.onExit(resultSet, true);
+            helper.verify(() -> JdbcHelper.onNext(resultSet, true));
+            ResultSetInstrumentation.CloseAdvice.onEnter(resultSet);
+            helper.verify(() -> JdbcHelper.onClose(resultSet));
+        }
+    }
+}
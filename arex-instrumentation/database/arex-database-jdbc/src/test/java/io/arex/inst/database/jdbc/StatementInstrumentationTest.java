@@ -0,0 +1,284 @@
+package io.arex.inst.database.jdbc;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.database.common.DatabaseExtractor;
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.context.RepeatedCollectManager;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import org.h2.jdbc.JdbcPreparedStatement;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementInstrumentationTest {
+    static StatementInstrumentation target = null;
+
+    @BeforeAll
+    static void setUp() {
+        target = new StatementInstrumentation();
+        Mockito.mockStatic(ContextManager.class);
+        Mockito.mockStatic(RepeatedCollectManager.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        target = null;
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void typeMatcher() {
+        assertTrue(target.typeMatcher().matches(TypeDescription.ForLoadedType.of(JdbcPreparedStatement.class)));
+        assertFalse(target.typeMatcher().matches(TypeDescription.ForLoadedType.of(PreparedStatement.class)));
+    }
+
+    @Test
+    void methodAdvices() throws NoSuchMethodException {
+        List<MethodInstrumentation> advices = target.methodAdvices();
+        assertTrue(matches(advices, PreparedStatement.class.getMethod("executeQuery")));
+        assertTrue(matches(advices, Statement.class.getMethod("executeQuery", String.class)));
+        assertTrue(matches(advices, PreparedStatement.class.getMethod("executeUpdate")));
+        assertTrue(matches(advices, PreparedStatement.class.getMethod("execute")));
+        assertTrue(matches(advices, Statement.class.getMethod("execute", String.class)));
+        assertTrue(matches(advices, Statement.class.getMethod("getResultSet")));
+        assertTrue(matches(advices, Statement.class.getMethod("getUpdateCount")));
+        assertTrue(matches(advices, Statement.class.getMethod("getMoreResults")));
+        assertFalse(matches(advices, Statement.class.getMethod("execute", String.class, int.class)));
+        assertTrue(matches(advices, PreparedStatement.class.getMethod("setString", int.class, String.class)));
+        assertTrue(matches(advices, PreparedStatement.class.getMethod("setObject", int.class, Object.class, int.class)));
+        assertTrue(matches(advices, PreparedStatement.class.getMethod("setNull", int.class, int.class)));
+        assertTrue(matches(advices, PreparedStatement.class.getMethod("close")));
+        assertFalse(matches(advices, Statement.class.getMethod("setFetchSize", int.class)));
+    }
+
+    @Test
+    void streamParameterMethods() throws NoSuchMethodException {
+        List<MethodInstrumentation> advices = target.methodAdvices();
+        MethodInstrumentation setParameter = advices.get(6);
+        MethodInstrumentation setStreamParameter = advices.get(7);
+        assertTrue(matches(setParameter, PreparedStatement.class.getMethod("setString", int.class, String.class)));
+        assertTrue(matches(setParameter, PreparedStatement.class.getMethod("setObject", int.class, Object.class)));
+        for (java.lang.reflect.Method method : Arrays.asList(
+            PreparedStatement.class.getMethod("setBinaryStream", int.class, InputStream.class),
+            PreparedStatement.class.getMethod("setCharacterStream", int.class, Reader.class, long.class),
+            PreparedStatement.class.getMethod("setBlob", int.class, Blob.class),
+            PreparedStatement.class.getMethod("setBlob", int.class, InputStream.class),
+            PreparedStatement.class.getMethod("setClob", int.class, Clob.class),
+            PreparedStatement.class.getMethod("setNClob", int.class, Reader.class),
+            PreparedStatement.class.getMethod("setSQLXML", int.class, SQLXML.class),
+            PreparedStatement.class.getMethod("setArray", int.class, Array.class),
+            PreparedStatement.class.getMethod("setRef", int.class, Ref.class))) {
+            assertFalse(matches(setParameter, method), method.toString());
+            assertTrue(matches(setStreamParameter, method), method.toString());
+        }
+    }
+
+    private static boolean matches(MethodInstrumentation advice, java.lang.reflect.Method method) {
+        return advice.getMethodMatcher().matches(new MethodDescription.ForLoadedMethod(method));
+    }
+
+    @Test
+    void closeAdvice() {
+        Statement statement = Mockito.mock(Statement.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            StatementInstrumentation.CloseAdvice.onEnter(statement);
+            helper.verifyNoInteractions();
+
+            Mockito.when(ContextManager.needRecord()).thenReturn(true);
+            StatementInstrumentation.CloseAdvice.onEnter(statement);
+            helper.verify(() -> JdbcHelper.onStatementClose(statement));
+        }
+        Mockito.when(ContextManager.needRecord()).thenReturn(false);
+    }
+
+    private static boolean matches(List<MethodInstrumentation> advices, java.lang.reflect.Method method) {
+        MethodDescription description = new MethodDescription.ForLoadedMethod(method);
+        return advices.stream().anyMatch(advice -> advice.getMethodMatcher().matches(description));
+    }
+
+    @Test
+    void queryOnEnter() {
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+        assertFalse(StatementInstrumentation.QueryAdvice.onEnter(statement, "select 1", null, null));
+
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
+        Mockito.when(ContextManager.needReplay()).thenReturn(true);
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            assertFalse(StatementInstrumentation.QueryAdvice.onEnter(statement, null, null, null));
+
+            helper.when(() -> JdbcHelper.createExtractor(statement, null, "query")).thenReturn(extractor);
+            helper.when(() -> JdbcHelper.replayQuery(extractor)).thenReturn(MockResult.success(null));
+            assertTrue(StatementInstrumentation.QueryAdvice.onEnter(statement, null, null, null));
+        }
+        Mockito.when(ContextManager.needReplay()).thenReturn(false);
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+    }
+
+    @Test
+    void queryOnExit() {
+        Statement statement = Mockito.mock(Statement.class);
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            // replayed
+            StatementInstrumentation.QueryAdvice.onExit(statement, null, null, extractor,
+                MockResult.success(resultSet));
+            StatementInstrumentation.QueryAdvice.onExit(statement, null, null, extractor,
+                MockResult.success(new SQLException("mock")));
+            // nested in another recorded call
+            Mockito.when(ContextManager.needRecord()).thenReturn(true);
+            StatementInstrumentation.QueryAdvice.onExit(statement, null, resultSet, extractor, null);
+            helper.verifyNoInteractions();
+
+            Mockito.when(RepeatedCollectManager.exitAndValidate()).thenReturn(true);
+            StatementInstrumentation.QueryAdvice.onExit(statement, null, resultSet, extractor, null);
+            helper.verify(() -> JdbcHelper.recordQuery(statement, extractor, resultSet, null));
+        }
+        Mockito.when(ContextManager.needRecord()).thenReturn(false);
+        Mockito.when(RepeatedCollectManager.exitAndValidate()).thenReturn(false);
+    }
+
+    @Test
+    void updateOnEnter() {
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
+        Mockito.when(ContextManager.needReplay()).thenReturn(true);
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        Mockito.when(extractor.replay()).thenReturn(MockResult.success(1));
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            helper.when(() -> JdbcHelper.createExtractor(statement, "update t set a = 1", "update"))
+                .thenReturn(extractor);
+            assertTrue(StatementInstrumentation.UpdateAdvice.onEnter(statement, "update t set a = 1", null, null));
+        }
+        Mockito.when(ContextManager.needReplay()).thenReturn(false);
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+    }
+
+    @Test
+    void updateOnExit() {
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        StatementInstrumentation.UpdateAdvice.onExit(null, 0, extractor, MockResult.success(1));
+        Mockito.verifyNoInteractions(extractor);
+
+        Mockito.when(ContextManager.needRecord()).thenReturn(true);
+        Mockito.when(RepeatedCollectManager.exitAndValidate()).thenReturn(true);
+        StatementInstrumentation.UpdateAdvice.onExit(null, 2, extractor, null);
+        Mockito.verify(extractor).recordDb(2);
+        SQLException exception = new SQLException("mock");
+        StatementInstrumentation.UpdateAdvice.onExit(exception, 0, extractor, null);
+        Mockito.verify(extractor).recordDb(exception);
+        Mockito.when(ContextManager.needRecord()).thenReturn(false);
+        Mockito.when(RepeatedCollectManager.exitAndValidate()).thenReturn(false);
+    }
+
+    @Test
+    void parameterAdvices() {
+        Statement statement = Mockito.mock(Statement.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            StatementInstrumentation.SetParameterAdvice.onEnter(statement, 1, "a");
+            helper.verifyNoInteractions();
+
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
+            StatementInstrumentation.SetParameterAdvice.onEnter(statement, 1, "a");
+            helper.verify(() -> JdbcHelper.onParameter(statement, 1, "a"));
+            StatementInstrumentation.SetNullAdvice.onEnter(statement, 2);
+            helper.verify(() -> JdbcHelper.onParameter(statement, 2, null));
+            StatementInstrumentation.ClearParametersAdvice.onEnter(statement);
+            helper.verify(() -> JdbcHelper.onClearParameters(statement));
+            StatementInstrumentation.SetStreamParameterAdvice.onEnter(statement, 3);
+            helper.verify(() -> JdbcHelper.onStreamParameter(statement, 3));
+        }
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+    }
+
+    @Test
+    void executeOnEnter() {
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
+        Mockito.when(ContextManager.needReplay()).thenReturn(true);
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            assertFalse(StatementInstrumentation.ExecuteAdvice.onEnter(statement, "select 1", null, null));
+            helper.verify(() -> JdbcHelper.onExecute(statement));
+
+            helper.when(() -> JdbcHelper.createExtractor(statement, "select 1", "execute")).thenReturn(extractor);
+            helper.when(() -> JdbcHelper.replayExecute(extractor)).thenReturn(MockResult.success(1));
+            assertTrue(StatementInstrumentation.ExecuteAdvice.onEnter(statement, "select 1", null, null));
+        }
+        Mockito.when(ContextManager.needReplay()).thenReturn(false);
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+    }
+
+    @Test
+    void executeOnExit() {
+        Statement statement = Mockito.mock(Statement.class);
+        DatabaseExtractor extractor = Mockito.mock(DatabaseExtractor.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            // replayed
+            StatementInstrumentation.ExecuteAdvice.onExit(statement, null, false, extractor, MockResult.success(1));
+            helper.verify(() -> JdbcHelper.onReplayedExecute(statement, 1));
+            StatementInstrumentation.ExecuteAdvice.onExit(statement, null, false, extractor,
+                MockResult.success(new SQLException("mock")));
+            helper.verifyNoMoreInteractions();
+
+            Mockito.when(ContextManager.needRecord()).thenReturn(true);
+            Mockito.when(RepeatedCollectManager.exitAndValidate()).thenReturn(true);
+            StatementInstrumentation.ExecuteAdvice.onExit(statement, null, true, extractor, null);
+            helper.verify(() -> JdbcHelper.recordExecute(statement, extractor, true, null));
+        }
+        Mockito.when(ContextManager.needRecord()).thenReturn(false);
+        Mockito.when(RepeatedCollectManager.exitAndValidate()).thenReturn(false);
+    }
+
+    @Test
+    void executeResultAdvices() {
+        Statement statement = Mockito.mock(Statement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        JdbcHelper.ExecuteState replayed = Mockito.mock(JdbcHelper.ExecuteState.class);
+        try (MockedStatic<JdbcHelper> helper = Mockito.mockStatic(JdbcHelper.class)) {
+            assertFalse(StatementInstrumentation.GetResultSetAdvice.onEnter(statement, null));
+            StatementInstrumentation.GetResultSetAdvice.onExit(statement, resultSet, null);
+            helper.verifyNoInteractions();
+
+            Mockito.when(ContextManager.needRecord()).thenReturn(true);
+            StatementInstrumentation.GetResultSetAdvice.onExit(statement, resultSet, null);
+            helper.verify(() -> JdbcHelper.onGetResultSet(statement, resultSet));
+            Mockito.when(ContextManager.needRecord()).thenReturn(false);
+
+            Mockito.when(ContextManager.needReplay()).thenReturn(true);
+            helper.when(() -> JdbcHelper.getReplayedExecute(statement)).thenReturn(replayed);
+            assertTrue(StatementInstrumentation.GetResultSetAdvice.onEnter(statement, null));
+            StatementInstrumentation.GetResultSetAdvice.onExit(statement, null, replayed);
+            Mockito.verify(replayed).getResultSet();
+            assertTrue(StatementInstrumentation.GetUpdateCountAdvice.onEnter(statement, null));
+            StatementInstrumentation.GetUpdateCountAdvice.onExit(0, replayed);
+            Mockito.verify(replayed).getUpdateCount();
+            assertTrue(StatementInstrumentation.GetMoreResultsAdvice.onEnter(statement, null));
+            StatementInstrumentation.GetMoreResultsAdvice.onExit(false, replayed);
+            Mockito.verify(replayed).moreResults();
+        }
+        Mockito.when(ContextManager.needReplay()).thenReturn(false);
+    }
+}
@@ -82,7 +82,7 @@ public class ExecutorInstrumentation extends TypeInstrumentation {
                 String originalSql = boundSql != null ? boundSql.getSql() : null;
                 extractor = InternalExecutor.createExtractor(var1, originalSql, var2, METHOD_NAME_QUERY);
                 if (ContextManager.needReplay()) {
-                    mockResult = InternalExecutor.replay(extractor, var2);
+                    mockResult = InternalExecutor.replayQuery(extractor, var1, var2);
                 }
                 return mockResult != null && mockResult.notIgnoreMockResult();
             }
@@ -106,7 +106,7 @@ public class ExecutorInstrumentation extends TypeInstrumentation {
             }
 
             if (ContextManager.needRecord() && RepeatedCollectManager.exitAndValidate()) {
-                InternalExecutor.record(extractor, var2, result, throwable);
+                InternalExecutor.recordQuery(extractor, var1, var2, result, throwable);
             }
         }
     }
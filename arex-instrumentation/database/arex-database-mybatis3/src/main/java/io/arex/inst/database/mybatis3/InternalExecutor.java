@@ -5,18 +5,24 @@ import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.database.common.DatabaseExtractor;
+import io.arex.inst.database.common.ParameterEncoder;
 
 import io.arex.inst.runtime.util.TypeUtil;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.reflection.Reflector;
 
+import java.util.ArrayList;
 import java.util.Map;
 
 public class InternalExecutor {
 
     private static final char KEYHOLDER_SEPARATOR = ';';
     private static final char KEYHOLDER_TYPE_SEPARATOR = ',';
+    private static final String LONG_TYPE = Long.class.getName();
+    private static final String INTEGER_TYPE = Integer.class.getName();
+    private static final String PAGE_PREFIX = "{\"records\":[],";
+    private static final String[] PAGE_FIELDS = {"\"total\":", "\"size\":", "\"current\":", "\"pages\":"};
     private static boolean isIPageLoaded = false;
     static {
         try {
@@ -28,22 +34,24 @@ public class InternalExecutor {
         }
     }
 
-    public static MockResult replay(DatabaseExtractor extractor, Object parameterObject) {
+    public static MockResult replayQuery(DatabaseExtractor extractor, MappedStatement ms, Object parameterObject) {
         MockResult result = extractor.replay();
-        restorePage(extractor, parameterObject);
+        restorePage(extractor, ms, parameterObject);
         return result;
     }
 
     public static MockResult replay(DatabaseExtractor extractor, MappedStatement ms, Object o) {
         MockResult replayResult = extractor.replay();
-        if (containKeyHolder(ms, extractor, o)) {
-            restoreKeyHolder(ms, extractor, o);
+        StatementPlan plan = StatementPlan.of(ms);
+        if (containKeyHolder(plan, extractor, o)) {
+            restoreKeyHolder(plan, extractor, o);
         }
         return replayResult;
     }
 
-    public static <U> void record(DatabaseExtractor extractor, Object parameterObject, U result, Throwable throwable) {
-        extractor.setPage(Serializer.serialize(extractPage(parameterObject)));
+    public static <U> void recordQuery(DatabaseExtractor extractor, MappedStatement ms, Object parameterObject,
+                                       U result, Throwable throwable) {
+        extractor.setPage(encodePage(extractPage(ms, parameterObject)));
         if (throwable != null) {
             extractor.recordDb(throwable);
         } else {
@@ -53,8 +61,9 @@ public class InternalExecutor {
 
     public static <U> void record(DatabaseExtractor extractor,
                                   MappedStatement ms, Object o, U result, Throwable throwable) {
-        if (containKeyHolder(ms, extractor, o)) {
-            saveKeyHolder(ms, extractor, o);
+        StatementPlan plan = StatementPlan.of(ms);
+        if (containKeyHolder(plan, extractor, o)) {
+            saveKeyHolder(plan, extractor, o);
         }
 
         if (throwable != null) {
@@ -64,12 +73,18 @@ public class InternalExecutor {
         }
     }
 
-    public static <T> IPage<T> extractPage(Object parameterObject) {
+    /**
+     * @param ms null if unknown, the parameter map is scanned for the page
+     */
+    public static <T> IPage<T> extractPage(MappedStatement ms, Object parameterObject) {
         if (!isIPageLoaded) {
             return null;
         }
         if (parameterObject instanceof Map) {
-            Map<?, ?> parameterMap = (Map<?, ?>)parameterObject;
+            Map<?, ?> parameterMap = (Map<?, ?>) parameterObject;
+            if (ms != null) {
+                return (IPage<T>) StatementPlan.of(ms).extractPage(parameterMap, IPage.class);
+            }
             for (Map.Entry<?, ?> entry : parameterMap.entrySet()) {
                 Object value = entry.getValue();
                 if (value instanceof IPage) {
@@ -83,15 +98,74 @@ public class InternalExecutor {
         return null;
     }
 
-    private static <T> void restorePage(DatabaseExtractor extractor, Object parameterObject) {
+    /**
+     * A page without records (mybatis plus sets them after the query) is written directly,
+     * eg: {"records":[],"total":100,"size":10,"current":1,"pages":10}
+     */
+    static String encodePage(IPage<?> page) {
+        if (page == null) {
+            return null;
+        }
+        if (page.getRecords() == null || !page.getRecords().isEmpty()) {
+            return Serializer.serialize(page);
+        }
+        long[] values = {page.getTotal(), page.getSize(), page.getCurrent(), page.getPages()};
+        StringBuilder builder = new StringBuilder(PAGE_PREFIX);
+        for (int i = 0; i < PAGE_FIELDS.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(PAGE_FIELDS[i]).append(values[i]);
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * @return total, size, current and pages of a page written by {@link #encodePage}, null if it is not
+     */
+    static long[] decodePage(String page) {
+        if (!page.startsWith(PAGE_PREFIX)) {
+            return null;
+        }
+        long[] values = new long[PAGE_FIELDS.length];
+        int index = PAGE_PREFIX.length();
+        try {
+            for (int i = 0; i < PAGE_FIELDS.length; i++) {
+                if (!page.startsWith(PAGE_FIELDS[i], index)) {
+                    return null;
+                }
+                index += PAGE_FIELDS[i].length();
+                int end = index;
+                while (end < page.length() && page.charAt(end) != ',' && page.charAt(end) != '}') {
+                    end++;
+                }
+                values[i] = Long.parseLong(page.substring(index, end));
+                index = end + 1;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return values;
+    }
+
+    private static <T> void restorePage(DatabaseExtractor extractor, MappedStatement ms, Object parameterObject) {
         String recordPageString = extractor.getPage();
         if (parameterObject == null || StringUtil.isEmpty(recordPageString)) {
             return;
         }
-        IPage<T> originalPage = extractPage(parameterObject);
+        IPage<T> originalPage = extractPage(ms, parameterObject);
         if (originalPage == null) {
             return;
         }
+        long[] values = decodePage(recordPageString);
+        if (values != null) {
+            originalPage.setTotal(values[0]);
+            originalPage.setSize(values[1]);
+            originalPage.setCurrent(values[2]);
+            originalPage.setPages(values[3]);
+            originalPage.setRecords(new ArrayList<>());
+            return;
+        }
         IPage<T> recordPage = Serializer.deserialize(recordPageString, TypeUtil.forName(TypeUtil.getName(originalPage)));
         if (recordPage == null) {
             return;
@@ -103,10 +177,10 @@ public class InternalExecutor {
         originalPage.setRecords(recordPage.getRecords());
     }
 
-    private static void restoreKeyHolder(MappedStatement ms, DatabaseExtractor executor, Object o) {
+    private static void restoreKeyHolder(StatementPlan plan, DatabaseExtractor executor, Object o) {
         String[] keyHolderList = StringUtil.split(executor.getKeyHolder(), KEYHOLDER_SEPARATOR);
         Object insertEntity = o instanceof ParamMap ? getEntityFromMap((ParamMap<?>) o) : o;
-        String[] keyProperties = o instanceof ParamMap ? transformerProperties(ms.getKeyProperties()) : ms.getKeyProperties();
+        String[] keyProperties = plan.keyProperties(o);
 
         if (keyHolderList == null || keyProperties == null) {
             return;
@@ -121,26 +195,39 @@ public class InternalExecutor {
         }
 
         try {
-            Reflector reflector = new Reflector(insertEntity.getClass());
+            Reflector reflector = plan.reflector(insertEntity.getClass());
             for (int i = 0; i < keyHolderList.length; i++) {
                 String[] valueType = StringUtil.split(keyHolderList[i], KEYHOLDER_TYPE_SEPARATOR);
-                Object keyHolderValue = Serializer.deserialize(valueType[0], valueType[1]);
+                Object keyHolderValue = decodeKeyHolder(valueType[0], valueType[1]);
                 reflector.getSetInvoker(keyProperties[i]).invoke(insertEntity, new Object[]{keyHolderValue});
             }
         } catch (Exception ignored) {}
     }
 
-    private static void saveKeyHolder(MappedStatement ms, DatabaseExtractor executor, Object o) {
+    /**
+     * generated keys are mostly long or int, decoded without the serializer
+     */
+    private static Object decodeKeyHolder(String value, String type) {
+        if (LONG_TYPE.equals(type)) {
+            return Long.valueOf(value);
+        }
+        if (INTEGER_TYPE.equals(type)) {
+            return Integer.valueOf(value);
+        }
+        return Serializer.deserialize(value, type);
+    }
+
+    private static void saveKeyHolder(StatementPlan plan, DatabaseExtractor executor, Object o) {
         StringBuilder builder = new StringBuilder();
 
         Object insertEntity = o instanceof ParamMap ? getEntityFromMap((ParamMap<?>) o) : o;
-        String[] primaryKeyNames = o instanceof ParamMap ? transformerProperties(ms.getKeyProperties()) : ms.getKeyProperties();
+        String[] primaryKeyNames = plan.keyProperties(o);
 
         if (insertEntity == null) {
             return;
         }
 
-        Reflector reflector = new Reflector(insertEntity.getClass());
+        Reflector reflector = plan.reflector(insertEntity.getClass());
 
         for (int i = 0; i < primaryKeyNames.length; i++) {
             try {
@@ -158,23 +245,12 @@ public class InternalExecutor {
         executor.setKeyHolder(builder.toString());
     }
 
-    private static String[] transformerProperties(String[] keyProperties) {
-        String[] primaryKeyNames = new String[keyProperties.length];
-        for (int i = 0; i < keyProperties.length; i++) {
-            int firstDot = keyProperties[i].indexOf(".");
-            if (firstDot != -1) {
-                primaryKeyNames[i] = StringUtil.substring(keyProperties[i], firstDot + 1);
-            }
-        }
-        return primaryKeyNames;
-    }
-
     private static Object getEntityFromMap(ParamMap<?> paramMap) {
         return paramMap.values().stream().findFirst().orElse(null);
     }
 
-    private static boolean containKeyHolder(MappedStatement ms, DatabaseExtractor executor, Object o) {
-        if (o == null || ms.getKeyProperties() == null) {
+    private static boolean containKeyHolder(StatementPlan plan, DatabaseExtractor executor, Object o) {
+        if (o == null || !plan.hasKeyProperties()) {
             return false;
         }
 
@@ -190,6 +266,6 @@ public class InternalExecutor {
         if (StringUtil.isEmpty(originalSql) && mappedStatement != null && mappedStatement.getBoundSql(parameters) != null) {
             originalSql = mappedStatement.getBoundSql(parameters).getSql();
         }
-        return new DatabaseExtractor(originalSql, Serializer.serialize(parameters), methodName);
+        return new DatabaseExtractor(mappedStatement, originalSql, ParameterEncoder.encode(parameters), methodName);
     }
 }
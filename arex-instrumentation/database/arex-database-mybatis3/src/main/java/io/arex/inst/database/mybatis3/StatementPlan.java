@@ -0,0 +1,100 @@
+package io.arex.inst.database.mybatis3;
+
+import io.arex.agent.bootstrap.internal.Cache;
+import io.arex.agent.bootstrap.util.StringUtil;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.Reflector;
+
+import java.util.Map;
+
+/**
+ * What recording needs to know about a MappedStatement, computed once per statement:
+ * its key properties, the reflector of its parameter type and where its page parameter was last found.
+ */
+class StatementPlan {
+    private static final Cache<MappedStatement, StatementPlan> PLANS = Cache.weakMap();
+
+    private final String[] keyProperties;
+    /**
+     * key properties of the entity in a ParamMap, without the parameter name prefix
+     */
+    private final String[] paramMapKeyProperties;
+    private volatile Reflector reflector;
+    /**
+     * key of the page in the ParamMap, null if not found yet
+     */
+    private volatile String pageKey;
+
+    private StatementPlan(MappedStatement ms) {
+        this.keyProperties = ms.getKeyProperties();
+        this.paramMapKeyProperties = keyProperties == null ? null : transformerProperties(keyProperties);
+    }
+
+    static StatementPlan of(MappedStatement ms) {
+        StatementPlan plan = PLANS.get(ms);
+        if (plan == null) {
+            plan = new StatementPlan(ms);
+            PLANS.put(ms, plan);
+        }
+        return plan;
+    }
+
+    boolean hasKeyProperties() {
+        return keyProperties != null;
+    }
+
+    String[] keyProperties(Object parameterObject) {
+        return parameterObject instanceof ParamMap ? paramMapKeyProperties : keyProperties;
+    }
+
+    /**
+     * the parameter type of a statement rarely changes, the reflector of the last one is reused
+     */
+    Reflector reflector(Class<?> type) {
+        Reflector cached = reflector;
+        if (cached != null && cached.getType() == type) {
+            return cached;
+        }
+        cached = new Reflector(type);
+        reflector = cached;
+        return cached;
+    }
+
+    /**
+     * @param pageType IPage, passed in as mybatis plus is optional
+     * @return the page in the parameter map, its key is looked up first once found.
+     * A map without page is scanned on every call, an Object or Map typed parameter may carry a page in the next one
+     */
+    Object extractPage(Map<?, ?> parameterMap, Class<?> pageType) {
+        String key = pageKey;
+        // ParamMap throws on a missing key
+        if (key != null && parameterMap.containsKey(key)) {
+            Object value = parameterMap.get(key);
+            if (pageType.isInstance(value)) {
+                return value;
+            }
+        }
+        for (Map.Entry<?, ?> entry : parameterMap.entrySet()) {
+            Object value = entry.getValue();
+            if (pageType.isInstance(value)) {
+                if (entry.getKey() instanceof String) {
+                    pageKey = (String) entry.getKey();
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+
+    static String[] transformerProperties(String[] keyProperties) {
+        String[] primaryKeyNames = new String[keyProperties.length];
+        for (int i = 0; i < keyProperties.length; i++) {
+            int firstDot = keyProperties[i].indexOf(".");
+            if (firstDot != -1) {
+                primaryKeyNames[i] = StringUtil.substring(keyProperties[i], firstDot + 1);
+            }
+        }
+        return primaryKeyNames;
+    }
+}
@@ -19,6 +19,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -75,7 +78,7 @@ class InternalExecutorTest {
         mocker.setTargetRequest(new Target());
         mocker.setTargetResponse(new Target());
         Object parameterObject = new Object();
-        assertNotNull(InternalExecutor.replay(mock, parameterObject));
+        assertNotNull(InternalExecutor.replayQuery(mock, null, parameterObject));
         Mockito.verify(mock, Mockito.times(1)).replay();
     }
 
@@ -97,7 +100,7 @@ class InternalExecutorTest {
         DatabaseExtractor mockExtractor = Mockito.mock(DatabaseExtractor.class);
         Mockito.when(mappedStatement.getBoundSql(any())).thenReturn(boundSql);
         // no page
-        target.record(mockExtractor, new Object(), result, throwable);
+        target.recordQuery(mockExtractor, null, new Object(), result, throwable);
         Mockito.verify(mockExtractor, Mockito.times(1)).setPage(null);
         if (throwable != null) {
             Mockito.verify(mockExtractor, Mockito.times(1)).recordDb(throwable);
@@ -105,13 +108,54 @@ class InternalExecutorTest {
             Mockito.verify(mockExtractor, Mockito.times(1)).recordDb(result);
         }
 
-        // page
-        Page<Object> page = new Page<>();
+        // page without records
+        Page<Object> page = new Page<>(2, 10, 25);
+        target.recordQuery(mockExtractor, null, page, result, null);
+        Mockito.verify(mockExtractor, Mockito.times(1))
+            .setPage("{\"records\":[],\"total\":25,\"size\":10,\"current\":2,\"pages\":3}");
+
+        // page with records
+        page.setRecords(Collections.singletonList("record"));
         Mockito.when(Serializer.serialize(page)).thenReturn("test-page");
-        target.record(mockExtractor, page, result, null);
+        target.recordQuery(mockExtractor, null, page, result, null);
         Mockito.verify(mockExtractor, Mockito.times(1)).setPage("test-page");
     }
 
+    @Test
+    void extractPage() {
+        MappedStatement ms = Mockito.mock(MappedStatement.class);
+        Page<Object> page = new Page<>();
+        MapperMethod.ParamMap<Object> paramMap = new MapperMethod.ParamMap<>();
+        paramMap.put("id", 1);
+        paramMap.put("page", page);
+        assertSame(page, InternalExecutor.extractPage(ms, paramMap));
+        // key remembered
+        paramMap.remove("page");
+        paramMap.put("other", page);
+        assertSame(page, InternalExecutor.extractPage(ms, paramMap));
+
+        // a map without page is scanned again, the next call may pass one
+        MappedStatement noPage = Mockito.mock(MappedStatement.class);
+        Map<String, Object> noPageMap = new HashMap<>();
+        noPageMap.put("id", 1);
+        assertNull(InternalExecutor.extractPage(noPage, noPageMap));
+        noPageMap.put("query", page);
+        assertSame(page, InternalExecutor.extractPage(noPage, noPageMap));
+
+        assertSame(page, InternalExecutor.extractPage(ms, page));
+        assertNull(InternalExecutor.extractPage(ms, new Object()));
+    }
+
+    @Test
+    void decodePage() {
+        assertArrayEquals(new long[]{25, 10, 2, 3},
+            InternalExecutor.decodePage(InternalExecutor.encodePage(new Page<>(2, 10, 25))));
+        assertNull(InternalExecutor.decodePage("{\"records\":[],\"total\":x}"));
+        assertNull(InternalExecutor.decodePage("{\"records\":[],\"size\":1}"));
+        assertNull(InternalExecutor.decodePage("test-page"));
+        assertNull(InternalExecutor.encodePage(null));
+    }
+
     static Stream<Arguments> recordCase() {
         return Stream.of(
                 arguments(new SQLException(), StringUtil.EMPTY),
@@ -143,17 +187,17 @@ class InternalExecutorTest {
 
     @Test
     void testRestorePage() throws Exception {
-        Method restorePage = InternalExecutor.class.getDeclaredMethod("restorePage", DatabaseExtractor.class, Object.class);
+        Method restorePage = InternalExecutor.class.getDeclaredMethod("restorePage", DatabaseExtractor.class, MappedStatement.class, Object.class);
         restorePage.setAccessible(true);
         DatabaseExtractor mockExtractor = Mockito.mock(DatabaseExtractor.class);
 
         // null
-        restorePage.invoke(null, mockExtractor, null);
+        restorePage.invoke(null, mockExtractor, null, null);
         Mockito.verify(mockExtractor, Mockito.times(1)).getPage();
 
         // empty
         Mockito.when(mockExtractor.getPage()).thenReturn(StringUtil.EMPTY);
-        restorePage.invoke(null, mockExtractor, null);
+        restorePage.invoke(null, mockExtractor, null, null);
         Mockito.verify(mockExtractor, Mockito.times(2)).getPage();
 
         IPage<Object> recordPage = new Page<>();
@@ -165,14 +209,14 @@ class InternalExecutorTest {
 
         // no page
         parameterObject = new Object();
-        restorePage.invoke(null, mockExtractor, parameterObject);
+        restorePage.invoke(null, mockExtractor, null, parameterObject);
 
         // only page
         IPage<Object> originalPage = new Page<>();
         assertEquals(0, originalPage.getTotal());
         Type type = TypeUtil.forName(TypeUtil.getName(originalPage));
         Mockito.when(Serializer.deserialize("test-page", type)).thenReturn(recordPage);
-        restorePage.invoke(null, mockExtractor, originalPage);
+        restorePage.invoke(null, mockExtractor, null, originalPage);
         assertEquals(10, originalPage.getTotal());
 
         // page in ParamMap
@@ -181,8 +225,16 @@ class InternalExecutorTest {
         MapperMethod.ParamMap<Object> paramMap = new MapperMethod.ParamMap<>();
         paramMap.put("string", "string");
         paramMap.put("page", originalPage);
-        restorePage.invoke(null, mockExtractor, paramMap);
+        restorePage.invoke(null, mockExtractor, null, paramMap);
         assertEquals(10, originalPage.getTotal());
         assertEquals(10, ((IPage)paramMap.get("page")).getTotal());
+
+        // page written directly
+        originalPage = new Page<>();
+        Mockito.when(mockExtractor.getPage()).thenReturn(InternalExecutor.encodePage(new Page<>(2, 10, 25)));
+        restorePage.invoke(null, mockExtractor, null, originalPage);
+        assertEquals(25, originalPage.getTotal());
+        assertEquals(2, originalPage.getCurrent());
+        assertTrue(originalPage.getRecords().isEmpty());
     }
 }
@@ -9,6 +9,9 @@ import org.apache.dubbo.rpc.*;
 import org.apache.dubbo.rpc.protocol.dubbo.FutureAdapter;
 import org.apache.dubbo.rpc.support.RpcUtils;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 public class DubboConsumerExtractor extends DubboExtractor {
     private final DubboAdapter adapter;
     public DubboConsumerExtractor(DubboAdapter adapter) {
@@ -23,11 +26,15 @@ public class DubboConsumerExtractor extends DubboExtractor {
     }
     public MockResult replay() {
         MockResult mockResult = null;
-        Object result = MockUtils.replayBody(makeMocker());
+        Invocation invocation = adapter.getInvocation();
         boolean ignoreMockResult = IgnoreUtils.ignoreMockResult(adapter.getPath(), adapter.getOperationName());
+        InvokeMode invokeMode = RpcUtils.getInvokeMode(adapter.getUrl(), invocation);
+        if (!ignoreMockResult && (invokeMode == InvokeMode.ASYNC || invokeMode == InvokeMode.FUTURE)) {
+            return replayAsync(invocation, invokeMode);
+        }
+        Object result = MockUtils.replayBody(makeMocker());
         if (result != null && !ignoreMockResult) {
             AsyncRpcResult asyncRpcResult;
-            Invocation invocation = adapter.getInvocation();
             if (result instanceof Throwable) {
                 asyncRpcResult = AsyncRpcResult.newDefaultAsyncResult((Throwable) result, invocation);
             } else {
@@ -37,10 +44,35 @@ public class DubboConsumerExtractor extends DubboExtractor {
             // need to set invoke mode to FUTURE if return type is CompletableFuture
             if (invocation instanceof RpcInvocation) {
                 RpcInvocation rpcInv = (RpcInvocation) invocation;
-                rpcInv.setInvokeMode(RpcUtils.getInvokeMode(adapter.getUrl(), invocation));
+                rpcInv.setInvokeMode(invokeMode);
             }
             RpcContext.getContext().setFuture(new FutureAdapter<>(asyncRpcResult.getResponseFuture()));
         }
         return mockResult;
     }
+
+    /**
+     * The caller of an async invocation waits on the future, complete it when the mock data arrives instead of
+     * blocking the invoking thread. As the other async clients, the real invocation is skipped whatever the replay
+     * finds, the skip decision only depends on the configuration.
+     */
+    private MockResult replayAsync(Invocation invocation, InvokeMode invokeMode) {
+        CompletableFuture<AppResponse> responseFuture = MockUtils.replayBodyAsync(makeMocker())
+            .handle((result, throwable) -> {
+                if (throwable != null) {
+                    return new AppResponse(throwable instanceof CompletionException && throwable.getCause() != null ?
+                        throwable.getCause() : throwable);
+                }
+                if (result instanceof Throwable) {
+                    return new AppResponse((Throwable) result);
+                }
+                return new AppResponse(result);
+            });
+        AsyncRpcResult asyncRpcResult = new AsyncRpcResult(responseFuture, invocation);
+        if (invocation instanceof RpcInvocation) {
+            ((RpcInvocation) invocation).setInvokeMode(invokeMode);
+        }
+        RpcContext.getContext().setFuture(new FutureAdapter<>(responseFuture));
+        return MockResult.success(false, asyncRpcResult);
+    }
 }
@@ -1,23 +1,47 @@
 package io.arex.inst.dubbo.apache.v3.stream;
 
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.log.LogManager;
+import io.arex.inst.runtime.model.ArexConstants;
+import org.apache.dubbo.common.timer.HashedWheelTimer;
+import org.apache.dubbo.common.timer.Timeout;
+import org.apache.dubbo.common.timer.Timer;
+import org.apache.dubbo.common.utils.NamedThreadFactory;
+
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DubboStreamCache {
+    static final int DEFAULT_MAX_MESSAGES = 1000;
+    static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
     /**
      * cache dubbo-stream send request messages
      * key: stream id
      * val: request(maybe multi messages)
      */
     private static final Map<String, StreamModel> STREAM_MAP = new ConcurrentHashMap<>();
+    private static final AtomicLong EVICTED_STREAM_COUNT = new AtomicLong();
+    private static final AtomicLong DROPPED_MESSAGE_COUNT = new AtomicLong();
 
     public static void put(String streamId, String traceId, byte[] data) {
-        List<StreamModel.DataModel> dataList = getDataList(streamId);
-        if (dataList != null) {
-            dataList.add(StreamModel.DataModel.of(data));
-        } else {
-            STREAM_MAP.put(streamId, new StreamModel(traceId, data));
+        boolean[] created = new boolean[1];
+        STREAM_MAP.compute(streamId, (key, streamModel) -> {
+            if (streamModel == null) {
+                created[0] = true;
+                return new StreamModel(traceId, data, maxMessages(), maxBytes());
+            }
+            long droppedCount = streamModel.getDroppedCount();
+            streamModel.add(data);
+            DROPPED_MESSAGE_COUNT.addAndGet(streamModel.getDroppedCount() - droppedCount);
+            return streamModel;
+        });
+        if (created[0]) {
+            scheduleIdleCheck(streamId, idleTimeoutMillis());
         }
     }
 
@@ -38,4 +62,77 @@ public class DubboStreamCache {
     public static void remove(String streamId) {
         STREAM_MAP.remove(streamId);
     }
+
+    public static int size() {
+        return STREAM_MAP.size();
+    }
+
+    /**
+     * @return the number of streams evicted because they were idle longer than the timeout
+     */
+    public static long getEvictedStreamCount() {
+        return EVICTED_STREAM_COUNT.get();
+    }
+
+    /**
+     * @return the number of messages dropped because a stream exceeded the message or byte cap
+     */
+    public static long getDroppedMessageCount() {
+        return DROPPED_MESSAGE_COUNT.get();
+    }
+
+    private static void scheduleIdleCheck(String streamId, long delayMillis) {
+        IdleTimerHolder.TIMER.newTimeout(timeout -> checkIdle(streamId, timeout), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Evict the stream if it has not been accessed within the idle timeout (never completed or abandoned),
+     * otherwise check again when it would become idle.
+     */
+    static void checkIdle(String streamId, Timeout timeout) {
+        StreamModel streamModel = STREAM_MAP.get(streamId);
+        if (streamModel == null) {
+            return;
+        }
+        long idleTimeoutMillis = idleTimeoutMillis();
+        long idleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - streamModel.getLastAccessTime());
+        if (idleMillis < idleTimeoutMillis) {
+            if (timeout != null) {
+                timeout.timer().newTimeout(timeout.task(), idleTimeoutMillis - idleMillis, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+        if (STREAM_MAP.remove(streamId, streamModel)) {
+            EVICTED_STREAM_COUNT.incrementAndGet();
+            LogManager.info("dubbo.stream.evict", StringUtil.format(
+                "evict idle stream: %s, messages: %s, evicted streams: %s", streamId,
+                String.valueOf(streamModel.size()), String.valueOf(EVICTED_STREAM_COUNT.get())));
+        }
+    }
+
+    private static int maxMessages() {
+        Config config = Config.get();
+        return config == null ? DEFAULT_MAX_MESSAGES :
+            config.getInt(ConfigConstants.DUBBO_STREAM_MAX_MESSAGES, DEFAULT_MAX_MESSAGES);
+    }
+
+    private static long maxBytes() {
+        Config config = Config.get();
+        return config == null ? ArexConstants.MEMORY_SIZE_5MB :
+            config.getLong(ConfigConstants.DUBBO_STREAM_MAX_BYTES, ArexConstants.MEMORY_SIZE_5MB);
+    }
+
+    private static long idleTimeoutMillis() {
+        Config config = Config.get();
+        return config == null ? DEFAULT_IDLE_TIMEOUT_MILLIS :
+            config.getLong(ConfigConstants.DUBBO_STREAM_IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * the timer thread is started when the first stream is cached
+     */
+    private static class IdleTimerHolder {
+        private static final Timer TIMER = new HashedWheelTimer(
+            new NamedThreadFactory("arex-dubbo-stream-idle", true), 1, TimeUnit.SECONDS, 64);
+    }
 }
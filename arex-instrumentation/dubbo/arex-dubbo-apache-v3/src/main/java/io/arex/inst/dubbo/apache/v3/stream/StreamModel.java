@@ -1,32 +1,112 @@
 package io.arex.inst.dubbo.apache.v3.stream;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+/**
+ * The request messages of a stream, at most maxMessages messages and maxBytes bytes are kept:
+ * when a cap is exceeded the oldest recorded messages are dropped first, then the oldest ones.
+ */
 public class StreamModel {
     private final String traceId;
-    private final List<DataModel> dataModels = new ArrayList<>();
+    private final ArrayDeque<DataModel> dataModels = new ArrayDeque<>();
     private final long recordTime;
+    private final int maxMessages;
+    private final long maxBytes;
+    private long bytes;
+    private long droppedCount;
+    private volatile long lastAccessTime;
+
     public StreamModel(String traceId, byte[] data) {
+        this(traceId, data, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public StreamModel(String traceId, byte[] data, int maxMessages, long maxBytes) {
         this.traceId = traceId;
-        this.dataModels.add(DataModel.of(data));
+        this.maxMessages = Math.max(maxMessages, 1);
+        this.maxBytes = maxBytes;
         this.recordTime = System.nanoTime();
+        add(data);
     }
 
     public String getTraceId() {
         return traceId;
     }
 
-    public List<DataModel> getDataModel() {
-        return dataModels;
+    /**
+     * @return a snapshot of the messages, the stream may still receive messages on another thread
+     */
+    public synchronized List<DataModel> getDataModel() {
+        touch();
+        return new ArrayList<>(dataModels);
+    }
+
+    public synchronized void add(byte[] data) {
+        touch();
+        dataModels.addLast(DataModel.of(data));
+        bytes += length(data);
+        if (dataModels.size() > maxMessages || bytes > maxBytes) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        // the recorded messages are only needed to take the latest one, drop them first
+        Iterator<DataModel> iterator = dataModels.iterator();
+        while (iterator.hasNext() && exceeded()) {
+            DataModel dataModel = iterator.next();
+            if (dataModel.isRecorded()) {
+                iterator.remove();
+                bytes -= length(dataModel.getData());
+                droppedCount++;
+            }
+        }
+        // keep the latest message
+        while (dataModels.size() > 1 && exceeded()) {
+            bytes -= length(dataModels.pollFirst().getData());
+            droppedCount++;
+        }
+    }
+
+    private boolean exceeded() {
+        return dataModels.size() > 1 && (dataModels.size() > maxMessages || bytes > maxBytes);
+    }
+
+    private static int length(byte[] data) {
+        return data == null ? 0 : data.length;
+    }
+
+    public synchronized int size() {
+        return dataModels.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the number of messages dropped because the stream exceeded the caps
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
     }
 
     public long getRecordTime() {
         return recordTime;
     }
 
+    public long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    private void touch() {
+        this.lastAccessTime = System.nanoTime();
+    }
+
     public static class DataModel {
-        private boolean recorded;
+        private volatile boolean recorded;
         private byte[] data;
 
         private DataModel(boolean recorded, byte[] data) {
@@ -1,8 +1,11 @@
 package io.arex.inst.dubbo.apache.v3;
 
 import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.inst.runtime.util.MockUtils;
+import org.apache.dubbo.rpc.AsyncRpcResult;
+import org.apache.dubbo.rpc.InvokeMode;
 import org.apache.dubbo.rpc.RpcInvocation;
 import org.apache.dubbo.rpc.support.RpcUtils;
 import org.junit.jupiter.api.AfterAll;
@@ -12,7 +15,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 
@@ -50,4 +59,27 @@ class DubboConsumerExtractorTest {
         Mockito.when(MockUtils.replayBody(any())).thenReturn("mock");
         assertNotNull(target.replay());
     }
-}
\ No newline at end of file
+
+    @Test
+    void replayAsync() {
+        Mockito.when(adapter.getInvocation()).thenReturn(Mockito.mock(RpcInvocation.class));
+        Mockito.when(RpcUtils.getInvokeMode(any(), any())).thenReturn(InvokeMode.FUTURE);
+        CompletableFuture<Object> replayFuture = new CompletableFuture<>();
+        Mockito.when(MockUtils.replayBodyAsync(any())).thenReturn(replayFuture);
+        try {
+            MockResult mockResult = target.replay();
+            // the invocation is skipped before the mock data arrives
+            assertTrue(mockResult.notIgnoreMockResult());
+            AsyncRpcResult result = (AsyncRpcResult) mockResult.getResult();
+            assertFalse(result.getResponseFuture().isDone());
+            replayFuture.complete("mock");
+            assertEquals("mock", result.getResponseFuture().join().getValue());
+
+            Mockito.when(MockUtils.replayBodyAsync(any())).thenReturn(CompletableFuture.completedFuture(new NullPointerException()));
+            result = (AsyncRpcResult) target.replay().getResult();
+            assertInstanceOf(NullPointerException.class, result.getResponseFuture().join().getException());
+        } finally {
+            Mockito.when(RpcUtils.getInvokeMode(any(), any())).thenReturn(null);
+        }
+    }
+}
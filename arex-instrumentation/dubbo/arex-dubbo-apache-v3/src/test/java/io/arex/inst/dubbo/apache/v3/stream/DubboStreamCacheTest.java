@@ -1,7 +1,11 @@
 package io.arex.inst.dubbo.apache.v3.stream;
 
+import io.arex.agent.bootstrap.constants.ConfigConstants;
+import io.arex.inst.runtime.config.ConfigBuilder;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -23,4 +27,44 @@ class DubboStreamCacheTest {
         DubboStreamCache.remove("mock-stream-id");
         assertNull(DubboStreamCache.getTraceId("mock-stream-id"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void capMessages() {
+        ConfigBuilder.create("mock").addProperty(ConfigConstants.DUBBO_STREAM_MAX_MESSAGES, "2")
+            .addProperty(ConfigConstants.DUBBO_STREAM_MAX_BYTES, "5").build();
+        long droppedCount = DubboStreamCache.getDroppedMessageCount();
+        DubboStreamCache.put("cap-stream-id", "mock-trace-id", new byte[]{1});
+        DubboStreamCache.put("cap-stream-id", "mock-trace-id", new byte[]{2});
+        DubboStreamCache.getDataList("cap-stream-id").get(1).setRecorded(true);
+        DubboStreamCache.put("cap-stream-id", "mock-trace-id", new byte[]{3});
+        // the recorded message is dropped first
+        List<StreamModel.DataModel> dataList = DubboStreamCache.getDataList("cap-stream-id");
+        assertEquals(2, dataList.size());
+        assertEquals(1, dataList.get(0).getData()[0]);
+        assertEquals(3, dataList.get(1).getData()[0]);
+
+        // exceed byte cap, keep the latest message
+        DubboStreamCache.put("cap-stream-id", "mock-trace-id", new byte[6]);
+        dataList = DubboStreamCache.getDataList("cap-stream-id");
+        assertEquals(1, dataList.size());
+        assertEquals(6, dataList.get(0).getData().length);
+        assertEquals(droppedCount + 3, DubboStreamCache.getDroppedMessageCount());
+        DubboStreamCache.remove("cap-stream-id");
+        ConfigBuilder.create("mock").build();
+    }
+
+    @Test
+    void checkIdle() {
+        DubboStreamCache.put("idle-stream-id", "mock-trace-id", null);
+        long evictedCount = DubboStreamCache.getEvictedStreamCount();
+        // accessed recently
+        DubboStreamCache.checkIdle("idle-stream-id", null);
+        assertNotNull(DubboStreamCache.get("idle-stream-id"));
+
+        ConfigBuilder.create("mock").addProperty(ConfigConstants.DUBBO_STREAM_IDLE_TIMEOUT, "0").build();
+        DubboStreamCache.checkIdle("idle-stream-id", null);
+        assertNull(DubboStreamCache.get("idle-stream-id"));
+        assertEquals(evictedCount + 1, DubboStreamCache.getEvictedStreamCount());
+        ConfigBuilder.create("mock").build();
+    }
+}
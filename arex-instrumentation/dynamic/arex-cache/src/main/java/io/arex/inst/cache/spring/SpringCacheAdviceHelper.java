@@ -1,5 +1,6 @@
 package io.arex.inst.cache.spring;
 
+import io.arex.inst.dynamic.common.DynamicMethodDescriptor;
 import io.arex.inst.runtime.config.Config;
 import io.arex.inst.runtime.context.ContextManager;
 
@@ -10,27 +11,17 @@ public class SpringCacheAdviceHelper {
         if (!ContextManager.needRecordOrReplay() || method == null) {
             return false;
         }
-        String className = method.getDeclaringClass().getName();
-        return onlyClassMatch(className, method) || methodSignatureMatch(className, method);
+        DynamicMethodDescriptor descriptor = DynamicMethodDescriptor.of(method);
+        return onlyClassMatch(descriptor) || methodSignatureMatch(descriptor);
     }
 
-    private static boolean onlyClassMatch(String className, Method method) {
-        return Config.get().getDynamicEntity(className) != null &&
-                method.getParameterTypes().length > 0 &&
-                method.getReturnType() != void.class;
+    private static boolean onlyClassMatch(DynamicMethodDescriptor descriptor) {
+        return Config.get().getDynamicEntity(descriptor.getClazzName()) != null &&
+                descriptor.getMethod().getParameterTypes().length > 0 &&
+                !descriptor.isVoidReturnType();
     }
 
-    private static boolean methodSignatureMatch(String className, Method method) {
-        String methodSignature = buildMethodSignature(className, method);
-        return Config.get().getDynamicEntity(methodSignature) != null;
-    }
-
-    private static String buildMethodSignature(String className, Method method) {
-        String methodName = method.getName();
-        Class<?>[] parameterTypes = method.getParameterTypes();
-        if (parameterTypes.length == 0) {
-            return className + methodName;
-        }
-        return className + methodName + parameterTypes.length;
+    private static boolean methodSignatureMatch(DynamicMethodDescriptor descriptor) {
+        return descriptor.getDynamicEntity() != null;
     }
 }
@@ -2,6 +2,8 @@ package io.arex.inst.dynamic.common;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.arex.agent.bootstrap.internal.Cache;
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.MockStrategyEnum;
 import io.arex.agent.bootstrap.model.Mocker;
@@ -65,29 +67,44 @@ public class DynamicClassExtractor {
     private final Object[] args;
     private final String dynamicSignature;
     private final String requestType;
+    private final DynamicMethodDescriptor descriptor;
     private boolean isExceedMaxSize;
     private static final AgentSizeOf agentSizeOf = AgentSizeOf.newInstance(ThrowableFilter.INSTANCE);
+    /**
+     * result classes whose graph the structural hash does not support, hashed by their serialized form directly
+     */
+    private static final Cache<Class<?>, Boolean> STRUCTURAL_HASH_UNSUPPORTED = Cache.weakMap();
 
     public DynamicClassExtractor(Method method, Object[] args, String keyExpression, Class<?> actualType) {
-        this.clazzName = method.getDeclaringClass().getName();
-        this.methodName = method.getName();
+        this(DynamicMethodDescriptor.of(method), args, keyExpression, actualType);
+    }
+
+    public DynamicClassExtractor(DynamicMethodDescriptor descriptor, Object[] args, String keyExpression, Class<?> actualType) {
+        this.descriptor = descriptor;
+        this.clazzName = descriptor.getClazzName();
+        this.methodName = descriptor.getMethodName();
         this.args = args;
-        this.dynamicSignature = getDynamicEntitySignature();
-        this.methodKey = buildMethodKey(method, args, keyExpression);
-        this.methodReturnType = TypeUtil.getName(method.getReturnType());
+        this.dynamicSignature = descriptor.getDynamicSignature();
+        this.methodKey = buildMethodKey(descriptor.getMethod(), args, keyExpression);
+        this.methodReturnType = descriptor.getMethodReturnType();
         this.actualType = actualType;
-        this.requestType = buildRequestType(method);
+        this.requestType = descriptor.getRequestType();
     }
 
     public DynamicClassExtractor(Method method, Object[] args) {
-        this.clazzName = method.getDeclaringClass().getName();
-        this.methodName = method.getName();
+        this(DynamicMethodDescriptor.of(method), args);
+    }
+
+    public DynamicClassExtractor(DynamicMethodDescriptor descriptor, Object[] args) {
+        this.descriptor = descriptor;
+        this.clazzName = descriptor.getClazzName();
+        this.methodName = descriptor.getMethodName();
         this.args = args;
-        this.dynamicSignature = getDynamicEntitySignature();
-        this.methodKey = buildMethodKey(method, args);
-        this.methodReturnType = TypeUtil.getName(method.getReturnType());
+        this.dynamicSignature = descriptor.getDynamicSignature();
+        this.methodKey = buildMethodKey(descriptor.getMethod(), args);
+        this.methodReturnType = descriptor.getMethodReturnType();
         this.actualType = null;
-        this.requestType = buildRequestType(method);
+        this.requestType = descriptor.getRequestType();
     }
 
     public Object recordResponse(Object response) {
@@ -136,16 +153,35 @@ public class DynamicClassExtractor {
                     StringUtil.format("do not replay invalid operation: %s, can not serialize args or response", dynamicSignature));
             return MockResult.IGNORE_MOCK_RESULT;
         }
-        Object replayResult = null;
-        Mocker replayMocker = MockUtils.replayMocker(makeMocker(), MockStrategyEnum.FIND_LAST);
-        if (MockUtils.checkResponseMocker(replayMocker)) {
-            String typeName = replayMocker.getTargetResponse().getType();
-            String replayBody = replayMocker.getTargetResponse().getBody();
-            replayResult = deserializeResult(replayBody, typeName);
+        if (isAsyncReturnType()) {
+            // the future is completed when the mock data arrives, not block the caller
+            Object replayResult = restoreAsyncResponse(MockUtils.replayMockerAsync(makeMocker(), MockStrategyEnum.FIND_LAST)
+                .thenApply(this::toReplayResult));
+            return MockResult.success(IgnoreUtils.ignoreMockResult(clazzName, methodName), replayResult);
         }
-        replayResult = restoreResponse(replayResult);
+        Mocker replayMocker = MockUtils.replayMocker(makeMocker(), MockStrategyEnum.FIND_LAST);
         boolean ignoreMockResult = IgnoreUtils.ignoreMockResult(clazzName, methodName);
-        return MockResult.success(ignoreMockResult, replayResult);
+        if (!MockUtils.checkResponseMocker(replayMocker)) {
+            return MockResult.success(ignoreMockResult, restoreResponse(null));
+        }
+        // deserialized on first access, an ignored result is never deserialized
+        boolean throwable = !FLUX.equals(this.methodReturnType)
+            && TypeUtil.isThrowable(replayMocker.getTargetResponse().getType());
+        return MockResult.lazy(ignoreMockResult, throwable, () -> restoreResponse(toReplayResult(replayMocker)));
+    }
+
+    private Object toReplayResult(Mocker replayMocker) {
+        if (!MockUtils.checkResponseMocker(replayMocker)) {
+            return null;
+        }
+        String typeName = replayMocker.getTargetResponse().getType();
+        String replayBody = replayMocker.getTargetResponse().getBody();
+        return deserializeResult(replayBody, typeName);
+    }
+
+    private boolean isAsyncReturnType() {
+        return LISTENABLE_FUTURE.equals(this.methodReturnType) || COMPLETABLE_FUTURE.equals(this.methodReturnType)
+            || MONO.equals(this.methodReturnType);
     }
 
     private Object deserializeResult(String replayResult, String typeName) {
@@ -174,12 +210,7 @@ public class DynamicClassExtractor {
             return resultClazz + TypeUtil.HORIZONTAL_LINE + actualType.getName();
         }
 
-        if (Config.get() == null || Config.get().getDynamicClassSignatureMap().isEmpty()) {
-            return resultClazz;
-        }
-
-        DynamicClassEntity dynamicEntity = Config.get().getDynamicEntity(dynamicSignature);
-
+        DynamicClassEntity dynamicEntity = descriptor.getDynamicEntity();
         if (dynamicEntity == null || StringUtil.isEmpty(dynamicEntity.getActualType())) {
             return resultClazz;
         }
@@ -200,10 +231,6 @@ public class DynamicClassExtractor {
         return serialize(normalizeArgs(args));
     }
 
-    String buildRequestType(Method method) {
-        return ArrayUtils.toString(method.getParameterTypes(), obj -> ((Class<?>)obj).getTypeName());
-    }
-
     /**
      * There will be a second-level difference between time type recording and playback,
      * resulting in inability to accurately match data. And in order to be compatible with previously recorded data,
@@ -265,26 +292,16 @@ public class DynamicClassExtractor {
             return null;
         }
 
-        if (Config.get() == null || Config.get().getDynamicClassSignatureMap().isEmpty()) {
+        if (!descriptor.hasDynamicClass()) {
             return serialize(args);
         }
 
-        DynamicClassEntity dynamicEntity = Config.get().getDynamicEntity(dynamicSignature);
+        DynamicClassEntity dynamicEntity = descriptor.getDynamicEntity();
         if (dynamicEntity == null || StringUtil.isEmpty(dynamicEntity.getAdditionalSignature())) {
             return serialize(normalizeArgs(args));
         }
 
-        String keyExpression = ExpressionParseUtil.replaceToExpression(method, dynamicEntity.getAdditionalSignature());
-
-        return buildMethodKey(method, args, keyExpression);
-    }
-
-    private String getDynamicEntitySignature() {
-        if (ArrayUtils.isEmpty(this.args)) {
-            return clazzName + methodName;
-        }
-
-        return clazzName + methodName + args.length;
+        return buildMethodKey(method, args, descriptor.getKeyExpression());
     }
 
     private Mocker makeMocker() {
@@ -331,6 +348,39 @@ public class DynamicClassExtractor {
         return result;
     }
 
+    /**
+     * restore the replay result of an asynchronous replay to the return type of the method
+     */
+    Object restoreAsyncResponse(CompletableFuture<Object> replayFuture) {
+        CompletableFuture<Object> completableFuture = new CompletableFuture<>();
+        replayFuture.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                completableFuture.completeExceptionally(throwable);
+            } else if (result instanceof Throwable) {
+                completableFuture.completeExceptionally((Throwable) result);
+            } else {
+                completableFuture.complete(result);
+            }
+        });
+
+        if (LISTENABLE_FUTURE.equals(this.methodReturnType)) {
+            SettableFuture<Object> settableFuture = SettableFuture.create();
+            completableFuture.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    settableFuture.setException(throwable);
+                } else {
+                    settableFuture.set(result);
+                }
+            });
+            return settableFuture;
+        }
+
+        if (MONO.equals(this.methodReturnType)) {
+            return Mono.fromFuture(completableFuture);
+        }
+        return completableFuture;
+    }
+
     private boolean needRecord() {
         // Judge whether the hash value of the method signature has been recorded to avoid repeated recording.
         ArexContext context = ContextManager.currentContext();
@@ -347,7 +397,7 @@ public class DynamicClassExtractor {
                 this.methodSignatureKeyHash = buildNoArgMethodSignatureHash(false);
                 if (!context.getMethodSignatureHashList().contains(this.methodSignatureKeyHash)) {
                     // if missed means no exceed size limit, check className + methodName + result
-                    this.methodSignatureKeyHash = buildNoArgMethodSignatureHash(true);
+                    this.methodSignatureKeyHash = buildNoArgResultHash();
                 }
             }
             if (context.getMethodSignatureHashList().contains(this.methodSignatureKeyHash)) {
@@ -389,6 +439,10 @@ public class DynamicClassExtractor {
         ArexContext context = ContextManager.currentContext();
         if (context != null) {
             context.getMethodSignatureHashList().add(this.methodSignatureKeyHash);
+            if (methodKey == null && this.isExceedMaxSize) {
+                // the same as before structural hash: no argument method exceed size only record once
+                context.getMethodSignatureHashList().add(buildNoArgMethodSignatureHash(false));
+            }
         }
     }
 
@@ -419,6 +473,23 @@ public class DynamicClassExtractor {
         }
     }
 
+    /**
+     * The hash of className + methodName + result, use the structural hash of the result to avoid serializing
+     * duplicate results, the result is serialized only when it is unique and will be recorded.
+     */
+    private int buildNoArgResultHash() {
+        Class<?> resultClass = this.result == null ? null : this.result.getClass();
+        if (resultClass != null && STRUCTURAL_HASH_UNSUPPORTED.contains(resultClass)) {
+            return buildNoArgMethodSignatureHash(true);
+        }
+        Long structuralHash = StructuralHash.hash(this.result);
+        if (structuralHash == null) {
+            STRUCTURAL_HASH_UNSUPPORTED.put(resultClass, Boolean.TRUE);
+            return buildNoArgMethodSignatureHash(true);
+        }
+        return StringUtil.encodeAndHash(String.format("%s_%s_structural_%s", this.clazzName, this.methodName, structuralHash));
+    }
+
     private int buildNoArgMethodSignatureHash(boolean isNeedResult) {
         if (isNeedResult) {
             return StringUtil.encodeAndHash(String.format("%s_%s_%s", this.clazzName, this.methodName, getSerializedResult()));
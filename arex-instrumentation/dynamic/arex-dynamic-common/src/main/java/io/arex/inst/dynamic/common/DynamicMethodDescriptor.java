@@ -0,0 +1,130 @@
+package io.arex.inst.dynamic.common;
+
+import io.arex.agent.bootstrap.util.ArrayUtils;
+import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.model.DynamicClassEntity;
+import io.arex.inst.runtime.util.TypeUtil;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The values of an instrumented method that do not change between calls, built once per method
+ * instead of on every intercepted call.
+ * <p>
+ * The dynamic class entity and the key expression depend on the config, they are resolved again
+ * when the config is updated (every update creates a new Config instance).
+ * <p>
+ * The descriptors are attached to the declaring class with a ClassValue, they are collected along with
+ * the class instead of pinning its class loader (a descriptor references its method).
+ */
+public class DynamicMethodDescriptor {
+    private static final ClassValue<Map<Method, DynamicMethodDescriptor>> DESCRIPTORS =
+            new ClassValue<Map<Method, DynamicMethodDescriptor>>() {
+                @Override
+                protected Map<Method, DynamicMethodDescriptor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>(4);
+                }
+            };
+
+    private final Method method;
+    private final String clazzName;
+    private final String methodName;
+    private final String dynamicSignature;
+    private final String requestType;
+    private final String methodReturnType;
+    private final boolean voidReturnType;
+    private volatile ConfigEntry configEntry;
+
+    DynamicMethodDescriptor(Method method) {
+        this.method = method;
+        this.clazzName = method.getDeclaringClass().getName();
+        this.methodName = method.getName();
+        int parameterCount = method.getParameterTypes().length;
+        this.dynamicSignature = parameterCount == 0 ? clazzName + methodName : clazzName + methodName + parameterCount;
+        this.requestType = ArrayUtils.toString(method.getParameterTypes(), obj -> ((Class<?>) obj).getTypeName());
+        this.methodReturnType = TypeUtil.getName(method.getReturnType());
+        this.voidReturnType = void.class.isAssignableFrom(method.getReturnType());
+    }
+
+    public static DynamicMethodDescriptor of(Method method) {
+        // equal methods share the descriptor, Method objects are copies
+        return DESCRIPTORS.get(method.getDeclaringClass()).computeIfAbsent(method, DynamicMethodDescriptor::new);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getClazzName() {
+        return clazzName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * className + methodName (+ parameter count), the key of the dynamic class entity
+     */
+    public String getDynamicSignature() {
+        return dynamicSignature;
+    }
+
+    public String getRequestType() {
+        return requestType;
+    }
+
+    public String getMethodReturnType() {
+        return methodReturnType;
+    }
+
+    public boolean isVoidReturnType() {
+        return voidReturnType;
+    }
+
+    /**
+     * @return true if the config has dynamic classes
+     */
+    public boolean hasDynamicClass() {
+        return getConfigEntry().hasDynamicClass;
+    }
+
+    public DynamicClassEntity getDynamicEntity() {
+        return getConfigEntry().dynamicEntity;
+    }
+
+    /**
+     * @return the key expression of the additional signature of the dynamic class entity
+     */
+    public String getKeyExpression() {
+        return getConfigEntry().keyExpression;
+    }
+
+    private ConfigEntry getConfigEntry() {
+        Config config = Config.get();
+        ConfigEntry entry = this.configEntry;
+        if (entry == null || entry.config != config) {
+            entry = new ConfigEntry(config, this);
+            this.configEntry = entry;
+        }
+        return entry;
+    }
+
+    private static class ConfigEntry {
+        private final Config config;
+        private final boolean hasDynamicClass;
+        private final DynamicClassEntity dynamicEntity;
+        private final String keyExpression;
+
+        ConfigEntry(Config config, DynamicMethodDescriptor descriptor) {
+            this.config = config;
+            this.hasDynamicClass = config != null && !config.getDynamicClassSignatureMap().isEmpty();
+            this.dynamicEntity = hasDynamicClass ? config.getDynamicEntity(descriptor.dynamicSignature) : null;
+            this.keyExpression = dynamicEntity == null || StringUtil.isEmpty(dynamicEntity.getAdditionalSignature()) ?
+                    null : ExpressionParseUtil.replaceToExpression(descriptor.method, dynamicEntity.getAdditionalSignature());
+        }
+    }
+}
@@ -10,44 +10,56 @@ import java.util.concurrent.ConcurrentHashMap;
 import io.arex.inst.runtime.serializer.Serializer;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 public class ExpressionParseUtil {
 
-    private static final ExpressionParser PARSER = new SpelExpressionParser();
     private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
-    private static final Map<String, Expression> EXPRESSION_MAP = new ConcurrentHashMap<>(32);
-
-    private static final Map<String, String> KEY_FORMULA_MAP = new ConcurrentHashMap<>(32);
+    /**
+     * attached to the declaring class, a parser references the class loader of the method
+     */
+    private static final ClassValue<Map<Method, MethodExpression>> METHOD_EXPRESSIONS =
+        new ClassValue<Map<Method, MethodExpression>>() {
+            @Override
+            protected Map<Method, MethodExpression> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>(4);
+            }
+        };
+    /**
+     * reuse the evaluation context of the thread, the variables are cleared after each evaluation
+     */
+    private static final ThreadLocal<StandardEvaluationContext> CONTEXT_HOLDER = new ThreadLocal<>();
 
     public static String generateKey(Method method, Object[] args, String keyExpression) {
         if (method == null || ArrayUtils.isEmpty(args) || StringUtil.isEmpty(keyExpression)) {
             return null;
         }
 
-        Expression expression = EXPRESSION_MAP.computeIfAbsent(method + keyExpression, key -> {
-            try {
-                return PARSER.parseExpression(keyExpression);
-            } catch (ParseException e) {
-                return null;
-            }
-        });
-
+        MethodExpression methodExpression = getMethodExpression(method);
+        Expression expression = methodExpression.getExpression(keyExpression);
         if (expression == null) {
             return null;
         }
 
+        String[] parameterNames = methodExpression.parameterNames;
+        if (parameterNames == null || args.length != parameterNames.length) {
+            return null;
+        }
+
+        StandardEvaluationContext context = CONTEXT_HOLDER.get();
+        if (context == null) {
+            context = new StandardEvaluationContext();
+        } else {
+            // the expression may call an instrumented method which generates key again
+            CONTEXT_HOLDER.remove();
+        }
         try {
-            String[] parameterNames = NAME_DISCOVERER.getParameterNames(method);
-            if (parameterNames == null || args.length != parameterNames.length) {
-                return null;
-            }
-            EvaluationContext context = new StandardEvaluationContext();
             for (int i = 0; i < args.length; i++) {
                 context.setVariable(parameterNames[i], args[i]);
             }
@@ -58,6 +70,11 @@ public class ExpressionParseUtil {
             return Serializer.serialize(expressionValue);
         } catch (Exception e) {
             return null;
+        } finally {
+            for (String parameterName : parameterNames) {
+                context.setVariable(parameterName, null);
+            }
+            CONTEXT_HOLDER.set(context);
         }
     }
 
@@ -72,28 +89,58 @@ public class ExpressionParseUtil {
             return null;
         }
 
-        String expression = KEY_FORMULA_MAP.get(method + additionalSignature);
-        if (expression != null) {
-            return expression;
+        return getMethodExpression(method).getKeyFormula(additionalSignature);
+    }
+
+    private static MethodExpression getMethodExpression(Method method) {
+        return METHOD_EXPRESSIONS.get(method.getDeclaringClass()).computeIfAbsent(method, MethodExpression::new);
+    }
+
+    /**
+     * The parameter names and the parsed expressions of a method, the expressions are compiled
+     * to bytecode after being interpreted a few times (fall back to interpreted if the compiled code fails).
+     */
+    static class MethodExpression {
+        private final String[] parameterNames;
+        private final ExpressionParser parser;
+        private final Map<String, Expression> expressionMap = new ConcurrentHashMap<>(4);
+        private final Map<String, String> keyFormulaMap = new ConcurrentHashMap<>(4);
+
+        MethodExpression(Method method) {
+            this.parameterNames = getParameterNames(method);
+            this.parser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED,
+                method.getDeclaringClass().getClassLoader()));
         }
 
-        try {
-            String[] parameterNames = NAME_DISCOVERER.getParameterNames(method);
+        Expression getExpression(String keyExpression) {
+            return expressionMap.computeIfAbsent(keyExpression, key -> {
+                try {
+                    return parser.parseExpression(keyExpression);
+                } catch (ParseException e) {
+                    return null;
+                }
+            });
+        }
+
+        String getKeyFormula(String additionalSignature) {
             if (parameterNames == null || parameterNames.length == 0) {
                 return null;
             }
+            return keyFormulaMap.computeIfAbsent(additionalSignature, key -> {
+                String formula = additionalSignature;
+                for (int i = 1; i < parameterNames.length + 1; i++) {
+                    formula = StringUtil.replace(formula, "$" + i, "#" + parameterNames[i - 1]);
+                }
+                return StringUtil.replace(formula, "String.", "T(String).");
+            });
+        }
 
-            for (int i = 1; i < parameterNames.length + 1; i++) {
-                additionalSignature = StringUtil.replace(additionalSignature, "$" + i, "#" + parameterNames[i - 1]);
+        private static String[] getParameterNames(Method method) {
+            try {
+                return NAME_DISCOVERER.getParameterNames(method);
+            } catch (Exception e) {
+                return null;
             }
-
-            additionalSignature = StringUtil.replace(additionalSignature, "String.", "T(String).");
-
-            KEY_FORMULA_MAP.put(method + additionalSignature, additionalSignature);
-            return additionalSignature;
-        } catch (Exception e) {
-            return null;
         }
     }
-
 }
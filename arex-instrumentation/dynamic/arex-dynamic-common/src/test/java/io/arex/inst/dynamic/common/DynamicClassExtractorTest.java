@@ -11,11 +11,13 @@ import io.arex.inst.runtime.config.ConfigBuilder;
 import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.model.DynamicClassEntity;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
+import io.arex.inst.runtime.util.StructuralHash;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
@@ -28,6 +30,7 @@ import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import io.arex.inst.runtime.util.sizeof.AgentSizeOf;
@@ -53,7 +56,9 @@ import reactor.core.publisher.Mono;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -64,11 +69,12 @@ import static org.mockito.Mockito.mockStatic;
 @ExtendWith(MockitoExtension.class)
 class DynamicClassExtractorTest {
     static AgentSizeOf agentSizeOf;
+    static MockedStatic<Serializer> mockSerializer;
 
     @BeforeAll
     static void setUp() {
         Mockito.mockStatic(ContextManager.class);
-        Mockito.mockStatic(Serializer.class);
+        mockSerializer = Mockito.mockStatic(Serializer.class);
         ConfigBuilder.create("test").enableDebug(true).build();
         agentSizeOf = Mockito.mock(AgentSizeOf.class);
         Mockito.mockStatic(AgentSizeOf.class);
@@ -78,6 +84,7 @@ class DynamicClassExtractorTest {
     @AfterAll
     static void tearDown() {
         agentSizeOf = null;
+        mockSerializer = null;
         Mockito.clearAllCaches();
     }
 
@@ -215,6 +222,9 @@ class DynamicClassExtractorTest {
             DynamicClassExtractor extractor = new DynamicClassExtractor(testWithArexMock, args, "#val", null);
             MockResult mockResult = extractor.replay();
             assertTrue(predicate.test(mockResult));
+            // the body is deserialized on first access
+            assertEquals("mock result", mockResult.getResult());
+            assertNull(mockResult.getThrowable());
         }
     }
 
@@ -253,6 +263,58 @@ class DynamicClassExtractorTest {
         assertDoesNotThrow(() -> extractor.getSerializedResult());
     }
 
+    @Test
+    void replayAsyncReturnType() throws Throwable {
+        try (MockedStatic<MockUtils> mockService = mockStatic(MockUtils.class);
+            MockedStatic<IgnoreUtils> ignoreService = mockStatic(IgnoreUtils.class)) {
+            ArexMocker arexMocker = new ArexMocker();
+            arexMocker.setTargetRequest(new Target());
+            arexMocker.setTargetResponse(new Target());
+            mockService.when(() -> MockUtils.createDynamicClass(any(), any())).thenReturn(arexMocker);
+            mockService.when(() -> MockUtils.checkResponseMocker(any())).thenReturn(true);
+            CompletableFuture<Mocker> replayFuture = new CompletableFuture<>();
+            mockService.when(() -> MockUtils.replayMockerAsync(any(), any())).thenReturn(replayFuture);
+            Mockito.when(Serializer.serializeWithException(any(), anyString())).thenReturn("mock Serializer.serialize");
+            Mockito.when(Serializer.deserialize(anyString(), anyString(), anyString())).thenReturn("mock result");
+
+            Method testReturnCompletableFuture = DynamicClassExtractorTest.class.getDeclaredMethod(
+                "testReturnCompletableFuture", String.class, Throwable.class);
+            DynamicClassExtractor extractor = new DynamicClassExtractor(testReturnCompletableFuture,
+                new Object[]{"mock"}, "#val", null);
+            MockResult mockResult = extractor.replay();
+            mockService.verify(() -> MockUtils.replayMocker(any(), any()), Mockito.never());
+            CompletableFuture<?> completableFuture = (CompletableFuture<?>) mockResult.getResult();
+            // completed when the mock data arrives
+            assertFalse(completableFuture.isDone());
+
+            Method testReturnListenableFuture = DynamicClassExtractorTest.class.getDeclaredMethod(
+                "testReturnListenableFuture", String.class, Throwable.class);
+            extractor = new DynamicClassExtractor(testReturnListenableFuture, new Object[]{"mock"}, "#val", null);
+            ListenableFuture<?> listenableFuture = (ListenableFuture<?>) extractor.replay().getResult();
+
+            Method testReturnMono = DynamicClassExtractorTest.class.getDeclaredMethod("testReturnMono", String.class,
+                Throwable.class);
+            extractor = new DynamicClassExtractor(testReturnMono, new Object[]{"mock"}, "#val", null);
+            Mono<?> mono = (Mono<?>) extractor.replay().getResult();
+
+            ArexMocker replayMocker = new ArexMocker();
+            replayMocker.setTargetResponse(new Target());
+            replayMocker.getTargetResponse().setBody("mock Body");
+            replayMocker.getTargetResponse().setType("mock Type");
+            replayFuture.complete(replayMocker);
+            assertEquals("mock result", completableFuture.get());
+            assertEquals("mock result", listenableFuture.get());
+            assertEquals("mock result", mono.block());
+
+            // replay exception
+            Mockito.when(Serializer.deserialize(anyString(), anyString(), anyString()))
+                .thenReturn(new RuntimeException("mock exception"));
+            extractor = new DynamicClassExtractor(testReturnCompletableFuture, new Object[]{"mock"}, "#val", null);
+            CompletableFuture<?> exceptionFuture = (CompletableFuture<?>) extractor.replay().getResult();
+            assertThrows(ExecutionException.class, exceptionFuture::get);
+        }
+    }
+
     @Test
     void restoreResponseTest() throws NoSuchMethodException, ExecutionException, InterruptedException {
         // ListenableFuture
@@ -371,7 +433,7 @@ class DynamicClassExtractorTest {
 
         // additionalSignature is not empty
         list.clear();
-        list.add(new DynamicClassEntity("io.arex.inst.dynamic.common.DynamicClassExtractorTest", "testWithArexMock", "", "$1"));
+        list.add(new DynamicClassEntity("io.arex.inst.dynamic.common.DynamicClassExtractorTest", "testWithArexMock", "java.lang.String", "$1"));
         ConfigBuilder.create("mock-service").enableDebug(true).dynamicClassList(list).build();
         actualResult = extractor.buildMethodKey(testWithArexMock, new Object[]{"mock-method-key"});
         assertEquals("mock-method-key", actualResult);
@@ -450,6 +512,79 @@ class DynamicClassExtractorTest {
         assertDoesNotThrow(() -> extractor.recordResponse(new int[1001]));
     }
 
+    @Test
+    void noArgMethodSerializeUniqueResultOnce() throws Throwable {
+        Method noArgMethod = DynamicClassExtractorTest.class.getDeclaredMethod("noArgMethodSerializeUniqueResultOnce");
+        ArexContext context = ArexContext.of("mock-trace-id");
+        Mockito.when(ContextManager.currentContext()).thenReturn(context);
+        Mockito.when(agentSizeOf.checkMemorySizeLimit(any(), any(long.class))).thenReturn(true);
+        List<String> result = new ArrayList<>(Collections.singletonList("config-value"));
+        List<String> sameResult = new ArrayList<>(Collections.singletonList("config-value"));
+        List<String> otherResult = new ArrayList<>(Collections.singletonList("other-value"));
+
+        try (MockedStatic<MockUtils> mockService = mockStatic(MockUtils.class)) {
+            mockService.when(() -> MockUtils.createDynamicClass(any(), any())).thenAnswer(invocation -> {
+                ArexMocker arexMocker = new ArexMocker();
+                arexMocker.setTargetRequest(new Target());
+                arexMocker.setTargetResponse(new Target());
+                return arexMocker;
+            });
+            AtomicInteger recordCount = new AtomicInteger();
+            mockService.when(() -> MockUtils.recordMocker(any())).then((Answer<Void>) invocationOnMock -> {
+                recordCount.incrementAndGet();
+                return null;
+            });
+            List<Object> serialized = new ArrayList<>();
+            // clear the throwing stub of other tests
+            mockSerializer.reset();
+            Mockito.when(Serializer.serializeWithException(any(), anyString())).thenAnswer(invocation -> {
+                serialized.add(invocation.getArgument(0));
+                return "mock Serializer.serialize";
+            });
+            new DynamicClassExtractor(noArgMethod, new Object[0]).recordResponse(result);
+            new DynamicClassExtractor(noArgMethod, new Object[0]).recordResponse(sameResult);
+            new DynamicClassExtractor(noArgMethod, new Object[0]).recordResponse(otherResult);
+
+            // the duplicate result is filtered by the structural hash, not serialized
+            assertEquals(2, serialized.size());
+            assertSame(result, serialized.get(0));
+            assertSame(otherResult, serialized.get(1));
+            assertEquals(2, recordCount.get());
+        } finally {
+            Mockito.when(ContextManager.currentContext()).thenReturn(null);
+        }
+    }
+
+    @Test
+    void noArgMethodUnsupportedResultClassCached() throws Throwable {
+        Method noArgMethod = DynamicClassExtractorTest.class.getDeclaredMethod("noArgMethodUnsupportedResultClassCached");
+        ArexContext context = ArexContext.of("mock-trace-id");
+        Mockito.when(ContextManager.currentContext()).thenReturn(context);
+        Mockito.when(agentSizeOf.checkMemorySizeLimit(any(), any(long.class))).thenReturn(true);
+
+        try (MockedStatic<MockUtils> mockService = mockStatic(MockUtils.class);
+            MockedStatic<StructuralHash> structuralHash = mockStatic(StructuralHash.class, Mockito.CALLS_REAL_METHODS)) {
+            mockService.when(() -> MockUtils.createDynamicClass(any(), any())).thenAnswer(invocation -> {
+                ArexMocker arexMocker = new ArexMocker();
+                arexMocker.setTargetRequest(new Target());
+                arexMocker.setTargetResponse(new Target());
+                return arexMocker;
+            });
+            mockSerializer.reset();
+            Mockito.when(Serializer.serializeWithException(any(), anyString())).thenAnswer(
+                invocation -> invocation.getArgument(0).toString());
+            // written by a custom serializer, not supported by the structural hash
+            StructuralHash.addCustomSerializedType(CustomSerializedResult.class);
+            new DynamicClassExtractor(noArgMethod, new Object[0]).recordResponse(new CustomSerializedResult("a"));
+            new DynamicClassExtractor(noArgMethod, new Object[0]).recordResponse(new CustomSerializedResult("b"));
+
+            structuralHash.verify(() -> StructuralHash.hash(any()), Mockito.times(1));
+            mockService.verify(() -> MockUtils.recordMocker(any()), Mockito.times(2));
+        } finally {
+            Mockito.when(ContextManager.currentContext()).thenReturn(null);
+        }
+    }
+
     @Test
     void normalizeArgsTest() throws Exception {
         Method testEmptyArgs = DynamicClassExtractorTest.class.getDeclaredMethod("normalizeArgsTest");
@@ -559,4 +694,17 @@ class DynamicClassExtractorTest {
             .doOnError(throwable -> System.out.println("Flux error:" + throwable))
             .doOnNext(object -> System.out.println("Flux success:" + object.getClass()));
     }
+
+    static class CustomSerializedResult {
+        private final String value;
+
+        CustomSerializedResult(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package io.arex.inst.dynamic.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.arex.inst.runtime.config.ConfigBuilder;
+import io.arex.inst.runtime.model.DynamicClassEntity;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DynamicMethodDescriptorTest {
+
+    @Test
+    void of() throws Exception {
+        Method method = DynamicMethodDescriptorTest.class.getDeclaredMethod("query", String.class, int.class);
+        DynamicMethodDescriptor descriptor = DynamicMethodDescriptor.of(method);
+        assertSame(descriptor, DynamicMethodDescriptor.of(method));
+        // every lookup returns a copy of the method
+        assertSame(descriptor, DynamicMethodDescriptor.of(
+            DynamicMethodDescriptorTest.class.getDeclaredMethod("query", String.class, int.class)));
+        assertSame(method, descriptor.getMethod());
+        assertEquals(DynamicMethodDescriptorTest.class.getName(), descriptor.getClazzName());
+        assertEquals("query", descriptor.getMethodName());
+        assertEquals(DynamicMethodDescriptorTest.class.getName() + "query2", descriptor.getDynamicSignature());
+        assertEquals("[\"java.lang.String\", \"int\"]", descriptor.getRequestType());
+        assertEquals("java.lang.String", descriptor.getMethodReturnType());
+        assertFalse(descriptor.isVoidReturnType());
+
+        Method noArgMethod = DynamicMethodDescriptorTest.class.getDeclaredMethod("noArg");
+        DynamicMethodDescriptor noArgDescriptor = DynamicMethodDescriptor.of(noArgMethod);
+        assertEquals(DynamicMethodDescriptorTest.class.getName() + "noArg", noArgDescriptor.getDynamicSignature());
+        assertTrue(noArgDescriptor.isVoidReturnType());
+    }
+
+    @Test
+    void refreshOnConfigChange() throws Exception {
+        Method method = DynamicMethodDescriptorTest.class.getDeclaredMethod("query", String.class, int.class);
+        DynamicMethodDescriptor descriptor = DynamicMethodDescriptor.of(method);
+
+        ConfigBuilder.create("mock-service").build();
+        assertFalse(descriptor.hasDynamicClass());
+        assertNull(descriptor.getDynamicEntity());
+        assertNull(descriptor.getKeyExpression());
+
+        List<DynamicClassEntity> list = new ArrayList<>();
+        list.add(new DynamicClassEntity(DynamicMethodDescriptorTest.class.getName(), "query",
+            "java.lang.String@int", "#name"));
+        ConfigBuilder.create("mock-service").dynamicClassList(list).build();
+        assertTrue(descriptor.hasDynamicClass());
+        DynamicClassEntity entity = descriptor.getDynamicEntity();
+        assertEquals("query", entity.getOperation());
+        assertEquals("#name", descriptor.getKeyExpression());
+        // resolved once per config
+        assertSame(entity, descriptor.getDynamicEntity());
+
+        list.clear();
+        list.add(new DynamicClassEntity(DynamicMethodDescriptorTest.class.getName(), "other", "", ""));
+        ConfigBuilder.create("mock-service").dynamicClassList(list).build();
+        assertTrue(descriptor.hasDynamicClass());
+        assertNull(descriptor.getDynamicEntity());
+        assertNull(descriptor.getKeyExpression());
+    }
+
+    public String query(String name, int size) {
+        return name + size;
+    }
+
+    public void noArg() {
+    }
+}
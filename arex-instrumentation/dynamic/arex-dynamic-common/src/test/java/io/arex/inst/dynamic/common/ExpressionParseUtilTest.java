@@ -1,6 +1,8 @@
 package io.arex.inst.dynamic.common;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.lang.reflect.Method;
 import java.util.Objects;
@@ -10,10 +12,12 @@ import java.util.stream.Stream;
 import io.arex.inst.runtime.serializer.Serializer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mockito;
+import org.springframework.core.DefaultParameterNameDiscoverer;
 
 class ExpressionParseUtilTest {
     @BeforeAll
@@ -116,6 +120,20 @@ class ExpressionParseUtilTest {
         );
     }
 
+    @Test
+    void generateKeyWithCompiledExpression() throws NoSuchMethodException {
+        Method method = ExpressionParseUtilTest.class.getDeclaredMethod("testParseMethodKey3", Foo2.class, Foo2.class,
+            Foo1.class);
+        // parameter names are read from the class file, not available if the class version is not supported
+        assumeTrue(new DefaultParameterNameDiscoverer().getParameterNames(method) != null);
+        String keyExpression = "#f1.f1 + #f2.getF2() + #f3.getFoo2().f1";
+        // the expression is compiled after being interpreted a few times, the key must not change
+        for (int i = 0; i < 200; i++) {
+            Object[] args = new Object[]{new Foo2("p" + i, i), new Foo2("p2", 2), new Foo1(new Foo2("p3", 3))};
+            assertEquals("p" + i + "2p3", ExpressionParseUtil.generateKey(method, args, keyExpression));
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("replaceToExpressionArgs")
     void replaceToExpression(Method method, String additionalSignature, Predicate<String> predicate) {
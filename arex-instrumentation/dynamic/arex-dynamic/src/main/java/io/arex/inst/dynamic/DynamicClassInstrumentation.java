@@ -3,6 +3,7 @@ package io.arex.inst.dynamic;
 import io.arex.agent.bootstrap.util.CollectionUtil;
 import io.arex.inst.dynamic.common.DynamicConstants;
 import io.arex.inst.dynamic.common.DynamicClassExtractor;
+import io.arex.inst.dynamic.common.DynamicMethodDescriptor;
 import io.arex.inst.runtime.config.Config;
 
 import java.lang.reflect.Field;
@@ -150,10 +151,11 @@ public class DynamicClassInstrumentation extends TypeInstrumentation {
                 RepeatedCollectManager.enter();
             }
             if (ContextManager.needRecordOrReplay()) {
-                if (void.class.isAssignableFrom(method.getReturnType())) {
+                DynamicMethodDescriptor descriptor = DynamicMethodDescriptor.of(method);
+                if (descriptor.isVoidReturnType()) {
                     return ContextManager.needReplay();
                 }
-                extractor = new DynamicClassExtractor(method, args);
+                extractor = new DynamicClassExtractor(descriptor, args);
             }
             if (ContextManager.needReplay()) {
                 mockResult = extractor.replay();
@@ -32,7 +32,7 @@ public class FutureCallbackWrapper<T> implements FutureCallback<T> {
         try (TraceTransmitter tm = traceTransmitter.transmit()) {
             if (extractor != null && t instanceof HttpResponse) {
                 HttpResponse response = (HttpResponse) t;
-                extractor.record(response);
+                extractor.recordOnConsumed(response);
             }
             if (delegate != null) {
                 delegate.completed(t);
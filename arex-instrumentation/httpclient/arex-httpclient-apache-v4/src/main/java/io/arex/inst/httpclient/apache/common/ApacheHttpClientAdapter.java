@@ -2,11 +2,12 @@ package io.arex.inst.httpclient.apache.common;
 
 import io.arex.agent.bootstrap.util.IOUtils;
 import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.httpclient.common.HttpBodyCapture;
 import io.arex.inst.httpclient.common.HttpClientAdapter;
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import io.arex.inst.httpclient.common.HttpResponseWrapper.StringTuple;
 import io.arex.inst.runtime.log.LogManager;
-import java.io.ByteArrayOutputStream;
+import io.arex.inst.runtime.util.BoundedByteArrayOutputStream;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpEntityEnclosingRequest;
@@ -27,6 +28,7 @@ import org.apache.http.util.EntityUtils;
 
 public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, HttpResponse> {
     private final HttpUriRequest httpRequest;
+    private HttpBodyCapture responseCapture;
 
     public ApacheHttpClientAdapter(HttpRequest httpRequest) {
         this.httpRequest = (HttpUriRequest) httpRequest;
@@ -55,11 +57,15 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
         if (entity instanceof CachedHttpEntityWrapper) {
             return ((CachedHttpEntityWrapper) entity).getCachedBody();
         }
+        BoundedByteArrayOutputStream out = new BoundedByteArrayOutputStream();
         try {
-            return IOUtils.copyToByteArray(entity.getContent());
+            IOUtils.copy(entity.getContent(), out);
+            return out.toByteArray();
         } catch (Exception e) {
             LogManager.warn("copyToByteArray", "getRequestBytes error, uri: " + getUri(), e);
             return ZERO_BYTE;
+        } finally {
+            out.reset();
         }
     }
 
@@ -88,6 +94,11 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
             return null;
         }
 
+        if (responseCapture != null) {
+            // the body has already been streamed to the application and captured on the way
+            return toWrapper(response, responseCapture.toByteArray());
+        }
+
         byte[] responseBody;
         try {
             responseBody = IOUtils.copyToByteArray(httpEntity.getContent());
@@ -107,7 +118,10 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
             entity.setContent(new ByteArrayInputStream(responseBody));
             response.setEntity(entity);
         }
+        return toWrapper(response, responseBody);
+    }
 
+    private static HttpResponseWrapper toWrapper(HttpResponse response, byte[] responseBody) {
         Locale locale = response.getLocale();
         List<HttpResponseWrapper.StringTuple> headers = new ArrayList<>();
         for (Header header : response.getAllHeaders()) {
@@ -122,6 +136,25 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
             headers);
     }
 
+    @Override
+    public boolean isResponseTruncated(HttpResponse response) {
+        return responseCapture != null && responseCapture.isTruncated();
+    }
+
+    /**
+     * Only streamed entities are captured lazily, repeatable or empty entities are recorded right away.
+     */
+    @Override
+    public HttpResponse captureResponse(HttpResponse response, Runnable onCaptured) {
+        HttpEntity httpEntity = response.getEntity();
+        if (!check(httpEntity) || httpEntity.isRepeatable() || httpEntity.getContentLength() == 0) {
+            return null;
+        }
+        responseCapture = new HttpBodyCapture(onCaptured);
+        response.setEntity(new CapturingHttpEntity(httpEntity, responseCapture));
+        return response;
+    }
+
     @Override
     public HttpResponse unwrap(HttpResponseWrapper wrapped) {
         StatusLine statusLine = ApacheHttpClientHelper.parseStatusLine(wrapped.getStatusLine());
@@ -162,14 +195,11 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
             return;
         }
         HttpEntity entity = enclosingRequest.getEntity();
-        if (entity == null || entity.isRepeatable()) {
+        // GzipCompressingEntity doesn't support getContent, it is read by writeTo
+        if (entity == null || entity.isRepeatable() || entity instanceof GzipCompressingEntity) {
             return;
         }
-        try {
-            enclosingRequest.setEntity(new CachedHttpEntityWrapper(entity));
-        } catch (Exception ignore) {
-            // ignore exception
-        }
+        enclosingRequest.setEntity(new CachedHttpEntityWrapper(entity));
     }
 
     private HttpEntityEnclosingRequest enclosingRequest(HttpRequest httpRequest) {
@@ -180,13 +210,15 @@ public class ApacheHttpClientAdapter implements HttpClientAdapter<HttpRequest, H
     }
 
     private byte[] writeTo(GzipCompressingEntity entity) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BoundedByteArrayOutputStream out = new BoundedByteArrayOutputStream();
         try {
             entity.writeTo(out);
             return out.toByteArray();
         } catch (Exception e) {
             LogManager.warn("writeTo", "getRequestBytes error, uri: " + getUri(), e);
             return ZERO_BYTE;
+        } finally {
+            out.reset();
         }
     }
 }
@@ -1,6 +1,8 @@
 package io.arex.inst.httpclient.apache.common;
 
 import io.arex.agent.bootstrap.util.IOUtils;
+import io.arex.inst.httpclient.common.CapturingInputStream;
+import io.arex.inst.httpclient.common.HttpBodyCapture;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -9,17 +11,18 @@ import org.apache.http.HttpEntity;
 import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.util.Args;
 
+/**
+ * Request entity that captures the body (up to the capture limit) as the client sends it, the body is only
+ * read eagerly if the request is replayed and never sent.
+ */
 public class CachedHttpEntityWrapper extends AbstractHttpEntity {
 
-    private final byte[] cachedBody;
-    private final InputStream content;
     private final HttpEntity entity;
+    private final HttpBodyCapture capture = new HttpBodyCapture(null);
+    private InputStream content;
 
-    public CachedHttpEntityWrapper(HttpEntity entity) throws IOException {
+    public CachedHttpEntityWrapper(HttpEntity entity) {
         this.entity = entity;
-        this.cachedBody = IOUtils.copyToByteArray(entity.getContent());
-        this.content = new ByteArrayInputStream(cachedBody);
-
     }
 
     @Override
@@ -33,14 +36,23 @@ public class CachedHttpEntityWrapper extends AbstractHttpEntity {
     }
 
     @Override
-    public InputStream getContent() throws UnsupportedOperationException {
-        return new ByteArrayInputStream(this.cachedBody);
+    public InputStream getContent() throws IOException {
+        // once the whole body has been captured it can be served again from memory
+        if (capture.isCompleted() && !capture.isTruncated()) {
+            return new ByteArrayInputStream(capture.toByteArray());
+        }
+        if (content == null) {
+            content = new CapturingInputStream(this.entity.getContent(), capture);
+        }
+        return content;
     }
 
     @Override
     public void writeTo(OutputStream outStream) throws IOException {
         Args.notNull(outStream, "Output stream");
-        IOUtils.copy(this.content, outStream);
+        try (InputStream in = getContent()) {
+            IOUtils.copy(in, outStream);
+        }
     }
 
     @Override
@@ -48,7 +60,23 @@ public class CachedHttpEntityWrapper extends AbstractHttpEntity {
         return this.entity.isStreaming();
     }
 
+    /**
+     * @return the captured request body, if the request has not been sent yet (replay) the body is buffered
+     * so it can still be sent afterwards
+     */
     public byte[] getCachedBody() {
-        return this.cachedBody;
+        if (!capture.isCompleted()) {
+            try {
+                byte[] body = IOUtils.copyToByteArray(getContent());
+                this.content = new ByteArrayInputStream(body);
+            } catch (Exception ignore) {
+                // the body can't be read, keep what has been captured
+            }
+        }
+        return capture.toByteArray();
+    }
+
+    public boolean isTruncated() {
+        return capture.isTruncated();
     }
 }
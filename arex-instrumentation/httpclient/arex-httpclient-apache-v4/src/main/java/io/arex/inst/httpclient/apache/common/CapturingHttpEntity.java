@@ -0,0 +1,45 @@
+package io.arex.inst.httpclient.apache.common;
+
+import io.arex.agent.bootstrap.util.IOUtils;
+import io.arex.inst.httpclient.common.CapturingInputStream;
+import io.arex.inst.httpclient.common.HttpBodyCapture;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.util.Args;
+
+/**
+ * Response entity that captures the body while the application streams it, instead of buffering it up front.
+ */
+public class CapturingHttpEntity extends HttpEntityWrapper {
+    private final HttpBodyCapture capture;
+    private InputStream content;
+
+    public CapturingHttpEntity(HttpEntity entity, HttpBodyCapture capture) {
+        super(entity);
+        this.capture = capture;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        if (content == null) {
+            content = new CapturingInputStream(wrappedEntity.getContent(), capture);
+        }
+        return content;
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        Args.notNull(outStream, "Output stream");
+        try (InputStream in = getContent()) {
+            IOUtils.copy(in, outStream);
+        }
+    }
+}
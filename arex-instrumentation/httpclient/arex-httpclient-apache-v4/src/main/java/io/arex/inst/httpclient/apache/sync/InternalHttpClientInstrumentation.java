@@ -85,7 +85,7 @@ public class InternalHttpClientInstrumentation extends TypeInstrumentation {
                 if (throwable != null) {
                     extractor.record(throwable);
                 } else {
-                    extractor.record(response);
+                    extractor.recordOnConsumed(response);
                 }
             }
         }
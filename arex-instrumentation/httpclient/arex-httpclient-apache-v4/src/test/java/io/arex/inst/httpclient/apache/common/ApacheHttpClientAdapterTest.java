@@ -3,17 +3,22 @@ package io.arex.inst.httpclient.apache.common;
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.GZIPInputStream;
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
 import org.apache.http.StatusLine;
 import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -155,6 +160,27 @@ class ApacheHttpClientAdapterTest {
         );
     }
 
+    @Test
+    void captureResponse() throws IOException {
+        ApacheHttpClientAdapter adapter = new ApacheHttpClientAdapter(new HttpPost("http://localhost"));
+        HttpResponse repeatableResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        repeatableResponse.setEntity(new StringEntity("mock"));
+        assertNull(adapter.captureResponse(repeatableResponse, () -> {}));
+
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setLocale(Locale.US);
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ByteArrayInputStream("mock".getBytes()));
+        response.setEntity(entity);
+        AtomicReference<HttpResponseWrapper> recorded = new AtomicReference<>();
+        assertSame(response, adapter.captureResponse(response, () -> recorded.set(adapter.wrap(response))));
+        assertNull(recorded.get());
+
+        assertEquals("mock", EntityUtils.toString(response.getEntity()));
+        assertEquals("mock", new String(recorded.get().getContent()));
+        assertFalse(adapter.isResponseTruncated(response));
+    }
+
     @Test
     void unwrap() {
         HttpResponseWrapper.StringTuple header = new HttpResponseWrapper.StringTuple("key", "val");
@@ -61,4 +61,16 @@ class CachedHttpEntityWrapperTest {
     void getCachedBody() {
         assertEquals("mock", new String(wrapper.getCachedBody()));
     }
+
+    @Test
+    void getCachedBodyBeforeSent() throws IOException {
+        CachedHttpEntityWrapper notSent = new CachedHttpEntityWrapper(
+            new InputStreamEntity(new ByteArrayInputStream("mock".getBytes())));
+        assertEquals("mock", new String(notSent.getCachedBody()));
+        assertFalse(notSent.isTruncated());
+        // the body can still be sent after it has been read for replay
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        notSent.writeTo(out);
+        assertEquals("mock", out.toString());
+    }
 }
@@ -0,0 +1,95 @@
+package io.arex.inst.httpclient.common;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that tees every byte the application reads into a {@link HttpBodyCapture}
+ * and completes the capture at the end of the stream or when it is closed.
+ */
+public class CapturingInputStream extends FilterInputStream {
+    private static final int SKIP_BUFFER_SIZE = 2048;
+    private final HttpBodyCapture capture;
+
+    public CapturingInputStream(InputStream in, HttpBodyCapture capture) {
+        super(in);
+        this.capture = capture;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b < 0) {
+            capture.complete(true);
+        } else {
+            capture.write(new byte[]{(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int count = super.read(b, off, len);
+        if (count < 0) {
+            capture.complete(true);
+        } else {
+            capture.write(b, off, count);
+        }
+        return count;
+    }
+
+    /**
+     * Skipped bytes are read through, so they still end up in the capture.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(SKIP_BUFFER_SIZE, Math.max(n, 0))];
+        long remaining = n;
+        while (remaining > 0) {
+            int count = read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (count < 0) {
+                break;
+            }
+            remaining -= count;
+        }
+        return n - Math.max(remaining, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // mark is not supported, replaying bytes would corrupt the capture
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * The rest of the body is drained up to the capture limit before closing, the client drains it anyway to reuse
+     * the connection, so a parser that stops right after the last token does not leave the capture incomplete.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            byte[] buffer = new byte[SKIP_BUFFER_SIZE];
+            while (!capture.isCompleted() && !capture.isLimitReached()) {
+                if (read(buffer, 0, buffer.length) < 0) {
+                    break;
+                }
+            }
+        } finally {
+            try {
+                super.close();
+            } finally {
+                capture.complete(false);
+            }
+        }
+    }
+}
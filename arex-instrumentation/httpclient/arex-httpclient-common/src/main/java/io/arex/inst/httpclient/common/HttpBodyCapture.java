@@ -0,0 +1,80 @@
+package io.arex.inst.httpclient.common;
+
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
+import io.arex.inst.runtime.log.LogManager;
+import io.arex.inst.runtime.util.BoundedByteArrayOutputStream;
+
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Copy of a response body taken while the application reads it, at most {@link BoundedByteArrayOutputStream#httpBodyCaptureLimit()}
+ * bytes are kept. Once the body has been read to the end (or closed early) the listener runs with the trace context
+ * of the request, so the mocker is recorded from the bytes the application actually consumed instead of a second full copy.
+ */
+public class HttpBodyCapture {
+    private final BoundedByteArrayOutputStream content;
+    private final Runnable listener;
+    private final TraceTransmitter traceTransmitter;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean truncated = true;
+
+    public HttpBodyCapture(Runnable listener) {
+        this(BoundedByteArrayOutputStream.httpBodyCaptureLimit(), listener);
+    }
+
+    public HttpBodyCapture(int limit, Runnable listener) {
+        this.content = new BoundedByteArrayOutputStream(limit);
+        this.listener = listener;
+        this.traceTransmitter = TraceTransmitter.create();
+    }
+
+    public OutputStream getOutputStream() {
+        return content;
+    }
+
+    public void write(byte[] b, int off, int len) {
+        if (len > 0 && !completed.get()) {
+            content.write(b, off, len);
+        }
+    }
+
+    /**
+     * @param endOfBody true if the body was read to the end, false if it was closed before
+     */
+    public void complete(boolean endOfBody) {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        this.truncated = !endOfBody || content.isTruncated();
+        if (listener == null) {
+            return;
+        }
+        try (TraceTransmitter tm = traceTransmitter.transmit()) {
+            listener.run();
+        } catch (Throwable e) {
+            LogManager.warn("HttpBodyCapture.complete", e);
+        } finally {
+            content.reset();
+        }
+    }
+
+    public boolean isCompleted() {
+        return completed.get();
+    }
+
+    public boolean isLimitReached() {
+        return content.isTruncated();
+    }
+
+    public byte[] toByteArray() {
+        return content.toByteArray();
+    }
+
+    /**
+     * @return true if the body was closed before its end or exceeded the capture limit
+     */
+    public boolean isTruncated() {
+        return truncated || content.isTruncated();
+    }
+}
@@ -20,4 +20,20 @@ public interface HttpClientAdapter<TRequest, TResponse> {
     HttpResponseWrapper wrap(TResponse response);
 
     TResponse unwrap(HttpResponseWrapper wrapped);
+
+    /**
+     * @return true if the captured response body exceeded the capture limit and was cut off
+     */
+    default boolean isResponseTruncated(TResponse response) {
+        return false;
+    }
+
+    /**
+     * Wrap the response body so it is captured while the application reads it, {@code onCaptured} runs once the body
+     * has been consumed or closed.
+     * @return the response to hand to the application, or null if the body can't be captured lazily
+     */
+    default TResponse captureResponse(TResponse response, Runnable onCaptured) {
+        return null;
+    }
 }
\ No newline at end of file
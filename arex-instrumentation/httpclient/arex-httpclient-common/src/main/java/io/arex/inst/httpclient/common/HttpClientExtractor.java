@@ -2,6 +2,7 @@ package io.arex.inst.httpclient.common;
 
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
@@ -15,6 +16,7 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class HttpClientExtractor<TRequest, TResponse> {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientExtractor.class);
@@ -40,9 +42,31 @@ public class HttpClientExtractor<TRequest, TResponse> {
         Mocker mocker = makeMocker();
         mocker.getTargetResponse().setType(HttpResponseWrapper.class.getName());
         mocker.getTargetResponse().setBody(Serializer.serialize(wrapped));
+        if (adapter.isResponseTruncated(response)) {
+            mocker.getTargetResponse().setAttribute(ArexConstants.TRUNCATED_FLAG, Boolean.TRUE);
+        }
         MockUtils.recordMocker(mocker);
     }
 
+    /**
+     * Record once the application has consumed the response body, so the body is read only once.
+     * Falls back to recording right away if the adapter can't capture the body lazily.
+     * @return the response to hand to the application
+     */
+    public TResponse recordOnConsumed(TResponse response) {
+        TResponse captured = null;
+        try {
+            captured = adapter.captureResponse(response, () -> record(response));
+        } catch (Throwable throwable) {
+            LOGGER.warn("capture response error:{}", throwable.getMessage(), throwable);
+        }
+        if (captured == null) {
+            record(response);
+            return response;
+        }
+        return captured;
+    }
+
     public void record(Throwable throwable) {
         Mocker mocker = makeMocker();
         mocker.getTargetResponse().setType(TypeUtil.getName(throwable));
@@ -50,17 +74,31 @@ public class HttpClientExtractor<TRequest, TResponse> {
         MockUtils.recordMocker(mocker);
     }
 
+    public boolean ignoreMockResult() {
+        return IgnoreUtils.ignoreMockResult("http", adapter.getUri().getPath());
+    }
+
     public MockResult replay() {
-        boolean ignoreResult = IgnoreUtils.ignoreMockResult("http", adapter.getUri().getPath());
-        Object object = MockUtils.replayBody(makeMocker());
+        boolean ignoreResult = ignoreMockResult();
+        return MockUtils.replayResult(makeMocker(), ignoreResult, this::restoreResponse);
+    }
+
+    /**
+     * Replay without blocking the calling thread (eg: the event loop of a reactive client)
+     */
+    public CompletableFuture<MockResult> replayAsync() {
+        boolean ignoreResult = ignoreMockResult();
+        return MockUtils.replayResultAsync(makeMocker(), ignoreResult, this::restoreResponse);
+    }
+
+    private Object restoreResponse(Object object) {
         if (object instanceof Throwable) {
-            return MockResult.success(ignoreResult, object);
+            return object;
         }
         if (object instanceof HttpResponseWrapper) {
-            TResponse response = this.adapter.unwrap((HttpResponseWrapper) object);
-            return MockResult.success(ignoreResult, response);
+            return this.adapter.unwrap((HttpResponseWrapper) object);
         }
-        return MockResult.success(ignoreResult, null);
+        return null;
     }
 
     private Mocker makeMocker() {
@@ -0,0 +1,59 @@
+package io.arex.inst.httpclient.common;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.arex.agent.bootstrap.util.IOUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class CapturingInputStreamTest {
+
+    @Test
+    void readToEnd() throws IOException {
+        AtomicInteger completions = new AtomicInteger();
+        AtomicReference<byte[]> captured = new AtomicReference<>();
+        HttpBodyCapture[] capture = new HttpBodyCapture[1];
+        capture[0] = new HttpBodyCapture(1024, () -> {
+            completions.incrementAndGet();
+            captured.set(capture[0].toByteArray());
+        });
+        CapturingInputStream in = new CapturingInputStream(new ByteArrayInputStream("mock body".getBytes()), capture[0]);
+
+        assertEquals('m', in.read());
+        assertEquals(2, in.skip(2));
+        assertArrayEquals("k body".getBytes(), IOUtils.copyToByteArray(in));
+        in.close();
+
+        assertEquals(1, completions.get());
+        assertArrayEquals("mock body".getBytes(), captured.get());
+        assertFalse(capture[0].isTruncated());
+        assertFalse(in.markSupported());
+        assertThrows(IOException.class, in::reset);
+    }
+
+    @Test
+    void closeDrainsUpToLimit() throws IOException {
+        HttpBodyCapture capture = new HttpBodyCapture(1024, null);
+        CapturingInputStream in = new CapturingInputStream(new ByteArrayInputStream("mock body".getBytes()), capture);
+        in.read(new byte[4]);
+        in.close();
+
+        assertTrue(capture.isCompleted());
+        assertFalse(capture.isTruncated());
+        assertArrayEquals("mock body".getBytes(), capture.toByteArray());
+
+        HttpBodyCapture limited = new HttpBodyCapture(4, null);
+        in = new CapturingInputStream(new ByteArrayInputStream("mock body".getBytes()), limited);
+        in.close();
+
+        assertTrue(limited.isTruncated());
+        assertArrayEquals("mock".getBytes(), limited.toByteArray());
+    }
+}
@@ -0,0 +1,42 @@
+package io.arex.inst.httpclient.common;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class HttpBodyCaptureTest {
+
+    @Test
+    void complete() {
+        AtomicInteger completions = new AtomicInteger();
+        HttpBodyCapture capture = new HttpBodyCapture(1024, completions::incrementAndGet);
+        capture.write("mock".getBytes(), 0, 4);
+        assertArrayEquals("mock".getBytes(), capture.toByteArray());
+
+        capture.complete(true);
+        capture.complete(false);
+        assertEquals(1, completions.get());
+        assertTrue(capture.isCompleted());
+        // the content is released once the listener has run
+        assertEquals(0, capture.toByteArray().length);
+
+        // writes after completion are ignored
+        capture.write("mock".getBytes(), 0, 4);
+        assertEquals(0, capture.toByteArray().length);
+    }
+
+    @Test
+    void completeWithFailingListener() {
+        HttpBodyCapture capture = new HttpBodyCapture(4, () -> {
+            throw new IllegalStateException("mock");
+        });
+        capture.write("mock body".getBytes(), 0, 9);
+        assertTrue(capture.isLimitReached());
+        assertDoesNotThrow(() -> capture.complete(true));
+        assertTrue(capture.isTruncated());
+    }
+}
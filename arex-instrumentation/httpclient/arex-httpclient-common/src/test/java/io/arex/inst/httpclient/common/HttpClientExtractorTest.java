@@ -1,10 +1,16 @@
 package io.arex.inst.httpclient.common;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 import io.arex.agent.bootstrap.model.ArexMocker;
@@ -14,6 +20,9 @@ import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -22,6 +31,7 @@ import org.mockito.InjectMocks;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -61,6 +71,32 @@ public class HttpClientExtractorTest {
         }
     }
 
+    @Test
+    void recordOnConsumed() {
+        try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class)) {
+            ArexMocker mocker = new ArexMocker();
+            mocker.setTargetRequest(new Target());
+            mocker.setTargetResponse(new Target());
+            mockUtils.when(() -> MockUtils.createHttpClient(any())).thenReturn(mocker);
+
+            // body can't be captured lazily, record right away
+            Object response = new Object();
+            assertSame(response, httpClientExtractor.recordOnConsumed(response));
+            mockUtils.verify(() -> MockUtils.recordMocker(any()), times(1));
+
+            AtomicReference<Runnable> listener = new AtomicReference<>();
+            when(adapter.captureResponse(any(), any())).thenAnswer(invocation -> {
+                listener.set(invocation.getArgument(1));
+                return "captured";
+            });
+            assertEquals("captured", httpClientExtractor.recordOnConsumed(response));
+            mockUtils.verify(() -> MockUtils.recordMocker(any()), times(1));
+            listener.get().run();
+            mockUtils.verify(() -> MockUtils.recordMocker(any()), times(2));
+            when(adapter.captureResponse(any(), any())).thenReturn(null);
+        }
+    }
+
     @Test
     void recordExceptionTest() {
         try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class)) {
@@ -84,22 +120,60 @@ public class HttpClientExtractorTest {
             mocker.setTargetRequest(new Target());
             mocker.setTargetResponse(new Target());
             mockUtils.when(() -> MockUtils.createHttpClient(any())).thenReturn(mocker);
-            mockUtils.when(() -> MockUtils.replayBody(any())).thenReturn(new HttpResponseWrapper());
+            mockUtils.when(() -> MockUtils.replayResult(any(), anyBoolean(), any())).thenAnswer(replayAnswer(new HttpResponseWrapper()));
             when(adapter.unwrap(any())).thenReturn(new Object());
             // replay success
             MockResult mockResult = httpClientExtractor.replay();
             assertNotNull(mockResult.getResult());
 
             // replay exception
-            mockUtils.when(() -> MockUtils.replayBody(any())).thenReturn(new RuntimeException(""));
+            mockUtils.when(() -> MockUtils.replayResult(any(), anyBoolean(), any())).thenAnswer(replayAnswer(new RuntimeException("")));
 
             mockResult = httpClientExtractor.replay();
             assertNotNull(mockResult.getThrowable());
 
             // replay null
-            mockUtils.when(() -> MockUtils.replayBody(any())).thenReturn(new Object());
+            mockUtils.when(() -> MockUtils.replayResult(any(), anyBoolean(), any())).thenAnswer(replayAnswer(new Object()));
             mockResult = httpClientExtractor.replay();
             assertNull(mockResult.getResult());
         }
     }
+
+    @Test
+    void replayAsync() {
+        try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class);
+            MockedStatic<IgnoreUtils> ignoreService = mockStatic(IgnoreUtils.class)) {
+            ignoreService.when(() -> IgnoreUtils.ignoreMockResult(any(), any())).thenReturn(false);
+            assertFalse(httpClientExtractor.ignoreMockResult());
+
+            ArexMocker mocker = new ArexMocker();
+            mocker.setTargetRequest(new Target());
+            mocker.setTargetResponse(new Target());
+            mockUtils.when(() -> MockUtils.createHttpClient(any())).thenReturn(mocker);
+            CompletableFuture<Object> replayFuture = new CompletableFuture<>();
+            mockUtils.when(() -> MockUtils.replayResultAsync(any(), anyBoolean(), any())).thenAnswer(invocation -> {
+                Function<Object, Object> restore = invocation.getArgument(2);
+                return replayFuture.thenApply(body -> MockResult.success(false, restore.apply(body)));
+            });
+            when(adapter.unwrap(any())).thenReturn(new Object());
+
+            CompletableFuture<MockResult> future = httpClientExtractor.replayAsync();
+            // not completed until the mock data arrives
+            assertFalse(future.isDone());
+            replayFuture.complete(new HttpResponseWrapper());
+            MockResult mockResult = future.join();
+            assertTrue(mockResult.notIgnoreMockResult());
+            assertNotNull(mockResult.getResult());
+        }
+    }
+
+    /**
+     * Answer of MockUtils.replayResult that restores the given replayed body lazily
+     */
+    private static Answer<MockResult> replayAnswer(Object body) {
+        return invocation -> {
+            Function<Object, Object> restore = invocation.getArgument(2);
+            return MockResult.lazy(invocation.getArgument(1), body instanceof Throwable, () -> restore.apply(body));
+        };
+    }
 }
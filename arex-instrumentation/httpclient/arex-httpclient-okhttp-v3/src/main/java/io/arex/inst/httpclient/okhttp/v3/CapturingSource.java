@@ -0,0 +1,39 @@
+package io.arex.inst.httpclient.okhttp.v3;
+
+import io.arex.inst.httpclient.common.HttpBodyCapture;
+import java.io.IOException;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Source;
+
+/**
+ * Source that copies every segment the application reads into a {@link HttpBodyCapture}.
+ */
+public class CapturingSource extends ForwardingSource {
+    private final HttpBodyCapture capture;
+
+    public CapturingSource(Source delegate, HttpBodyCapture capture) {
+        super(delegate);
+        this.capture = capture;
+    }
+
+    @Override
+    public long read(Buffer sink, long byteCount) throws IOException {
+        long read = super.read(sink, byteCount);
+        if (read < 0) {
+            capture.complete(true);
+        } else if (read > 0 && !capture.isLimitReached()) {
+            sink.copyTo(capture.getOutputStream(), sink.size() - read, read);
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            capture.complete(false);
+        }
+    }
+}
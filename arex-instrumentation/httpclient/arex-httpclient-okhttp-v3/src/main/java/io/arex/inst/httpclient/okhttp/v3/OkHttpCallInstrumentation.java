@@ -86,7 +86,7 @@ public class OkHttpCallInstrumentation extends TypeInstrumentation {
                 if (throwable != null) {
                     extractor.record(throwable);
                 } else {
-                    extractor.record(response);
+                    response = extractor.recordOnConsumed(response);
                 }
             }
         }
@@ -2,9 +2,11 @@ package io.arex.inst.httpclient.okhttp.v3;
 
 
 import io.arex.agent.bootstrap.util.StringUtil;
+import io.arex.inst.httpclient.common.HttpBodyCapture;
 import io.arex.inst.httpclient.common.HttpClientAdapter;
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import io.arex.inst.httpclient.common.HttpResponseWrapper.StringTuple;
+import io.arex.inst.runtime.util.BoundedByteArrayOutputStream;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.Request;
@@ -13,7 +15,8 @@ import okhttp3.Response;
 import okhttp3.Response.Builder;
 import okhttp3.ResponseBody;
 import okhttp3.internal.http.StatusLine;
-import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +30,7 @@ import java.util.List;
 public class OkHttpClientAdapter implements HttpClientAdapter<Request, Response> {
     private static final Logger LOGGER = LoggerFactory.getLogger(OkHttpClientAdapter.class);
     private final Request httpRequest;
+    private HttpBodyCapture responseCapture;
 
     public OkHttpClientAdapter(Request httpRequest) {
         this.httpRequest = httpRequest;
@@ -61,8 +65,13 @@ public class OkHttpClientAdapter implements HttpClientAdapter<Request, Response>
     public HttpResponseWrapper wrap(Response response) {
         HttpResponseWrapper wrapper = new HttpResponseWrapper();
         try {
-            ResponseBody responseBody = response.peekBody(Long.MAX_VALUE);
-            wrapper.setContent(responseBody.bytes());
+            if (responseCapture != null) {
+                // the body has already been streamed to the application and captured on the way
+                wrapper.setContent(responseCapture.toByteArray());
+            } else {
+                ResponseBody responseBody = response.peekBody(Long.MAX_VALUE);
+                wrapper.setContent(responseBody.bytes());
+            }
         } catch (Throwable e) {
             LOGGER.warn("encode response error:{}", e.getMessage(), e);
             return null;
@@ -75,6 +84,25 @@ public class OkHttpClientAdapter implements HttpClientAdapter<Request, Response>
         return wrapper;
     }
 
+    @Override
+    public boolean isResponseTruncated(Response response) {
+        return responseCapture != null && responseCapture.isTruncated();
+    }
+
+    @Override
+    public Response captureResponse(Response response, Runnable onCaptured) {
+        ResponseBody body = response.body();
+        // nothing to stream, record right away
+        if (body == null || body.contentLength() == 0) {
+            return null;
+        }
+        responseCapture = new HttpBodyCapture(onCaptured);
+        // compatible with version 3.x
+        ResponseBody capturingBody = ResponseBody.create(body.contentType(), body.contentLength(),
+            Okio.buffer(new CapturingSource(body.source(), responseCapture)));
+        return response.newBuilder().body(capturingBody).build();
+    }
+
     private List<StringTuple> encodeHeaders(Headers headers) {
         if (headers == null || headers.size() == 0) {
             return Collections.emptyList();
@@ -130,12 +158,16 @@ public class OkHttpClientAdapter implements HttpClientAdapter<Request, Response>
         if (body == null) {
             return ZERO_BYTE;
         }
+        BoundedByteArrayOutputStream out = new BoundedByteArrayOutputStream();
         try {
-            final Buffer buffer = new Buffer();
-            body.writeTo(buffer);
-            return buffer.readByteArray();
+            final BufferedSink sink = Okio.buffer(Okio.sink(out));
+            body.writeTo(sink);
+            sink.flush();
+            return out.toByteArray();
         } catch (Throwable e) {
             LOGGER.warn("copy request body to base64 error:{}", e.getMessage(), e);
+        } finally {
+            out.reset();
         }
         return ZERO_BYTE;
     }
@@ -75,7 +75,7 @@ public class OkHttpCallInstrumentationTest {
         try (MockedStatic<ContextManager> contextManager = mockStatic(ContextManager.class)) {
             contextManager.when(ContextManager::needRecord).thenReturn(true);
             OkHttpCallInstrumentation.ExecuteAdvice.onExit(extractor, null, response, null);
-            verify(extractor).record(any(Response.class));
+            verify(extractor).recordOnConsumed(any(Response.class));
             OkHttpCallInstrumentation.ExecuteAdvice.onExit(extractor, throwable, response, null);
             verify(extractor).record(throwable);
         }
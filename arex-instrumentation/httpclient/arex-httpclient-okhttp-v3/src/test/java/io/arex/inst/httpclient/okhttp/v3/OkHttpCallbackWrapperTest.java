@@ -46,8 +46,10 @@ public class OkHttpCallbackWrapperTest {
     @Test
     void onResponseTest() throws IOException {
         Response response = createResponse();
+        Response captured = createResponse();
+        Mockito.doReturn(captured).when(httpClientExtractor).recordOnConsumed(any());
         okHttpCallbackWrapper.onResponse(call, response);
-        verify(delegate).onResponse(call, response);
+        verify(delegate).onResponse(call, captured);
     }
 
     static Request createRequest() {
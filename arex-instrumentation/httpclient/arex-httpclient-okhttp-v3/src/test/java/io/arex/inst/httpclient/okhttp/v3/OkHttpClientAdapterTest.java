@@ -2,6 +2,7 @@ package io.arex.inst.httpclient.okhttp.v3;
 
 import io.arex.inst.httpclient.common.HttpResponseWrapper;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
@@ -9,6 +10,8 @@ import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +19,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static io.arex.inst.httpclient.okhttp.v3.OkHttpCallbackWrapperTest.createRequest;
@@ -83,6 +88,39 @@ public class OkHttpClientAdapterTest {
 
     }
 
+    @Test
+    void captureResponse() throws IOException {
+        Response responseWithoutBody = new Response.Builder()
+            .code(204)
+            .request(createRequest())
+            .protocol(Protocol.HTTP_1_1)
+            .message("ok")
+            .build();
+        Assertions.assertNull(okHttpClientAdapter.captureResponse(responseWithoutBody, () -> {}));
+
+        Response response = createStreamingResponse("response body");
+        AtomicReference<HttpResponseWrapper> recorded = new AtomicReference<>();
+        Response captured = okHttpClientAdapter.captureResponse(response, () -> recorded.set(okHttpClientAdapter.wrap(response)));
+        Assertions.assertNull(recorded.get());
+
+        Assertions.assertEquals("response body", captured.body().string());
+        Assertions.assertEquals("response body", new String(recorded.get().getContent()));
+        Assertions.assertFalse(okHttpClientAdapter.isResponseTruncated(response));
+
+        // closed before the end of the body
+        Response unread = createStreamingResponse("response body");
+        AtomicBoolean completed = new AtomicBoolean();
+        okHttpClientAdapter.captureResponse(unread, () -> completed.set(true)).close();
+        Assertions.assertTrue(completed.get());
+        Assertions.assertTrue(okHttpClientAdapter.isResponseTruncated(unread));
+    }
+
+    private static Response createStreamingResponse(String body) {
+        return createResponse().newBuilder()
+            .body(ResponseBody.create(MediaType.get("application/text"), -1, new Buffer().writeUtf8(body)))
+            .build();
+    }
+
     private void unwrapTest(HttpResponseWrapper wrapper) {
         Response actResult = okHttpClientAdapter.unwrap(wrapper);
         Assertions.assertNotNull(actResult);
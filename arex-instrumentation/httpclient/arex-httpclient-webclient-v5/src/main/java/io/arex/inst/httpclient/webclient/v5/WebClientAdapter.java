@@ -76,6 +76,11 @@ public class WebClientAdapter implements HttpClientAdapter<ClientRequest, WebCli
         return encodeHeaders;
     }
 
+    @Override
+    public boolean isResponseTruncated(WebClientResponse webClientResponse) {
+        return webClientResponse.isTruncated();
+    }
+
     @Override
     public WebClientResponse unwrap(HttpResponseWrapper wrapped) {
         WebClientHttpResponse httpResponse = WebClientHttpResponse.of(wrapped);
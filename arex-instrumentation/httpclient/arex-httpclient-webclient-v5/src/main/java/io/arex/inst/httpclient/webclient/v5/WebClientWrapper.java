@@ -2,10 +2,10 @@ package io.arex.inst.httpclient.webclient.v5;
 
 import io.arex.agent.bootstrap.ctx.TraceTransmitter;
 import io.arex.agent.bootstrap.model.MockResult;
-import io.arex.agent.bootstrap.util.ArrayUtils;
 import io.arex.inst.httpclient.common.HttpClientExtractor;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientRequest;
 import io.arex.inst.httpclient.webclient.v5.model.WebClientResponse;
+import io.arex.inst.runtime.util.BoundedByteArrayOutputStream;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
@@ -13,26 +13,19 @@ import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-
 public class WebClientWrapper {
     private final ClientRequest httpRequest;
     private final ExchangeStrategies strategies;
     private final HttpClientExtractor<ClientRequest, WebClientResponse> extractor;
     private final WebClientAdapter adapter;
     private final TraceTransmitter traceTransmitter;
-    private final TraceTransmitter traceTransmitter1;
-    private final TraceTransmitter traceTransmitter2;
     public WebClientWrapper(ClientRequest httpRequest, ExchangeStrategies strategies) {
         this.httpRequest = httpRequest;
         this.strategies = strategies;
         this.adapter = new WebClientAdapter(httpRequest, strategies);
         this.extractor = new HttpClientExtractor<>(this.adapter);
-        this.traceTransmitter = TraceTransmitter.create();
-        this.traceTransmitter1 = TraceTransmitter.create();
-        this.traceTransmitter2 = TraceTransmitter.create();
+        // one transmitter carries the context to every callback of the exchange
+        this.traceTransmitter = TraceTransmitter.createReusable();
     }
 
     public Mono<ClientResponse> record(Mono<ClientResponse> responseMono) {
@@ -49,38 +42,27 @@ public class WebClientWrapper {
             try (TraceTransmitter tm = traceTransmitter.transmit()) {
                 extractor.record(throwable);
             }
-        }).map(response -> {
-            try (TraceTransmitter tm = traceTransmitter.transmit()) {
-                List<byte[]> bytes = new ArrayList<>();
-                return response.mutate().body(body -> Flux.defer(() -> Flux.from(body)
-                        .map(dataBuffer -> {
-                            /*
-                             * If the response message is too large, it will be truncated and returned multiple times.
-                             * Here, aggregation is required
-                             */
-                            collect(dataBuffer, bytes);
-                            return dataBuffer;
-                        }).doOnComplete(() -> {
-                            byte[] bodyArray = new byte[]{};
-                            if (bytes.size() == 1) {
-                                bodyArray = bytes.get(0);
-                            } else {
-                                for (byte[] byteArray : bytes) {
-                                    bodyArray = ArrayUtils.addAll(bodyArray, byteArray);
-                                }
-                            }
-                            try (TraceTransmitter tm1 = traceTransmitter1.transmit()) {
-                                extractor.record(WebClientResponse.of(response, bodyArray));
-                            }
-                        })
-                )).build();
-            }
-        });
+        }).map(response -> response.mutate().body(body -> Flux.defer(() -> {
+            /*
+             * If the response message is too large, it will be returned in multiple chunks.
+             * The chunks are aggregated into pooled blocks up to the capture limit and copied once on completion
+             */
+            BoundedByteArrayOutputStream capture = new BoundedByteArrayOutputStream();
+            return Flux.from(body)
+                .doOnNext(dataBuffer -> collect(dataBuffer, capture))
+                .doOnComplete(() -> {
+                    try (TraceTransmitter tm = traceTransmitter.transmit()) {
+                        extractor.record(WebClientResponse.of(response, capture.toByteArray(), capture.isTruncated()));
+                    }
+                })
+                .doFinally(signal -> capture.reset());
+        })).build());
     }
 
-    private void collect(DataBuffer dataBuffer, List<byte[]> bytes) {
-        if (dataBuffer != null) {
-            bytes.add(dataBuffer.toString(StandardCharsets.UTF_8).getBytes());
+    private void collect(DataBuffer dataBuffer, BoundedByteArrayOutputStream capture) {
+        if (dataBuffer != null && !capture.isTruncated()) {
+            // asByteBuffer shares the content with independent positions, the body is not consumed
+            capture.write(dataBuffer.asByteBuffer());
         }
     }
 
@@ -91,17 +73,35 @@ public class WebClientWrapper {
     }
 
     public MockResult replay() {
-        try (TraceTransmitter tm = traceTransmitter2.transmit()) {
+        try (TraceTransmitter tm = traceTransmitter.transmit()) {
             convertRequest();
             return extractor.replay();
         }
     }
 
+    /**
+     * Replay without blocking the calling thread (maybe an event loop), the response is emitted
+     * when the mock data arrives.
+     * @return null if the mock result is ignored, the real request should be executed
+     */
+    public Mono<ClientResponse> replayAsync() {
+        try (TraceTransmitter tm = traceTransmitter.transmit()) {
+            convertRequest();
+            if (extractor.ignoreMockResult()) {
+                return null;
+            }
+            return Mono.fromFuture(extractor.replayAsync()).flatMap(this::replay);
+        }
+    }
+
     public Mono<ClientResponse> replay(MockResult mockResult) {
         if (mockResult.getThrowable() != null) {
             return Mono.error(mockResult.getThrowable());
         }
         WebClientResponse webClientResponse = (WebClientResponse)mockResult.getResult();
+        if (webClientResponse == null) {
+            return Mono.empty();
+        }
         return Mono.just(webClientResponse.originalResponse());
     }
 }
\ No newline at end of file
@@ -5,15 +5,20 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 public class WebClientResponse {
     private ClientResponse response;
     private byte[] content;
-    private WebClientResponse(ClientResponse response, byte[] content) {
+    private boolean truncated;
+    private WebClientResponse(ClientResponse response, byte[] content, boolean truncated) {
         this.response = response;
         this.content = content;
+        this.truncated = truncated;
     }
     public static WebClientResponse of(ClientResponse defaultResponse) {
         return of(defaultResponse, null);
     }
     public static WebClientResponse of(ClientResponse response, byte[] content) {
-        return new WebClientResponse(response, content);
+        return of(response, content, false);
+    }
+    public static WebClientResponse of(ClientResponse response, byte[] content, boolean truncated) {
+        return new WebClientResponse(response, content, truncated);
     }
     public ClientResponse originalResponse() {
         return response;
@@ -21,5 +26,8 @@ public class WebClientResponse {
     public byte[] getContent() {
         return content;
     }
+    public boolean isTruncated() {
+        return truncated;
+    }
 
 }
@@ -12,9 +12,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.ClientRequest;
@@ -24,8 +27,12 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -38,6 +45,7 @@ class WebClientWrapperTest {
     static ClientRequest clientRequest;
     static ExchangeStrategies strategies;
     static ClientResponse response;
+    static MockedConstruction<HttpClientExtractor> extractorConstruction;
 
     @BeforeAll
     static void setUp() {
@@ -50,7 +58,7 @@ class WebClientWrapperTest {
         Mockito.when(clientRequest.writeTo(any(), any())).thenReturn(Mono.empty());
         Mockito.when(clientRequest.url()).thenReturn(Mockito.mock(URI.class));
         Mockito.when(clientRequest.headers()).thenReturn(new HttpHeaders());
-        Mockito.mockConstruction(HttpClientExtractor.class);
+        extractorConstruction = Mockito.mockConstruction(HttpClientExtractor.class);
     }
 
     @AfterAll
@@ -58,6 +66,7 @@ class WebClientWrapperTest {
         clientRequest = null;
         strategies = null;
         response = null;
+        extractorConstruction = null;
         Mockito.clearAllCaches();
     }
 
@@ -78,7 +87,7 @@ class WebClientWrapperTest {
             Function<Flux<DataBuffer>, Flux<DataBuffer>> transformer = dataBufferFlux -> Flux.just(dataBuffer);
             builder.body(transformer);
             Mockito.when(response.mutate()).thenReturn(builder);
-            Mockito.when(dataBuffer.toString(any())).thenReturn("mock");
+            Mockito.when(dataBuffer.asByteBuffer()).thenAnswer(invocation -> ByteBuffer.wrap("mock".getBytes()));
         };
         Predicate<Mono<ClientResponse>> predicate1 = Objects::isNull;
         Predicate<Mono<ClientResponse>> predicate2 = responseMono -> {
@@ -104,6 +113,27 @@ class WebClientWrapperTest {
         );
     }
 
+    @Test
+    void recordChunkedBody() {
+        ClientResponseBuilder builder = new ClientResponseBuilder(strategies);
+        builder.body(Flux.just(
+            DefaultDataBufferFactory.sharedInstance.wrap("chunk1,".getBytes(StandardCharsets.UTF_8)),
+            DefaultDataBufferFactory.sharedInstance.wrap("chunk2".getBytes(StandardCharsets.UTF_8))));
+        ClientResponse chunkedResponse = Mockito.mock(ClientResponse.class);
+        Mockito.when(chunkedResponse.mutate()).thenReturn(builder);
+
+        WebClientWrapper target = new WebClientWrapper(clientRequest, strategies);
+        HttpClientExtractor extractor = lastExtractor();
+        ClientResponse result = target.record(Mono.just(chunkedResponse)).block();
+        result.releaseBody().block();
+
+        ArgumentCaptor<WebClientResponse> captor = ArgumentCaptor.forClass(WebClientResponse.class);
+        Mockito.verify(extractor).record(captor.capture());
+        // the chunks are recorded once as one body
+        assertEquals("chunk1,chunk2", new String(captor.getValue().getContent(), StandardCharsets.UTF_8));
+        assertFalse(captor.getValue().isTruncated());
+    }
+
     @Test
     void replay() {
         WebClientWrapper target = new WebClientWrapper(clientRequest, strategies);
@@ -121,4 +151,32 @@ class WebClientWrapperTest {
         MockResult mockResult1 = MockResult.success(WebClientResponse.of(response));
         assertNotNull(target.replay(mockResult1).block());
     }
-}
\ No newline at end of file
+
+    @Test
+    void replayAsync() {
+        WebClientWrapper target = new WebClientWrapper(clientRequest, strategies);
+        HttpClientExtractor extractor = lastExtractor();
+        Mockito.when(extractor.ignoreMockResult()).thenReturn(true);
+        assertNull(target.replayAsync());
+
+        target = new WebClientWrapper(clientRequest, strategies);
+        extractor = lastExtractor();
+        CompletableFuture<MockResult> replayFuture = new CompletableFuture<>();
+        Mockito.when(extractor.replayAsync()).thenReturn(replayFuture);
+        Mono<ClientResponse> responseMono = target.replayAsync();
+        assertNotNull(responseMono);
+        // the response is emitted when the mock data arrives
+        replayFuture.complete(MockResult.success(WebClientResponse.of(response)));
+        assertSame(response, responseMono.block());
+
+        target = new WebClientWrapper(clientRequest, strategies);
+        extractor = lastExtractor();
+        Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(MockResult.success(null)));
+        assertNull(target.replayAsync().block());
+    }
+
+    private static HttpClientExtractor lastExtractor() {
+        List<HttpClientExtractor> extractors = extractorConstruction.constructed();
+        return extractors.get(extractors.size() - 1);
+    }
+}
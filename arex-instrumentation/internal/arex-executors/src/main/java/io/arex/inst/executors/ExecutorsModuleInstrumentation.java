@@ -20,6 +20,7 @@ public class ExecutorsModuleInstrumentation extends ModuleInstrumentation {
         return asList(new ThreadPoolInstrumentation(),
                 new ForkJoinTaskInstrumentation(),
                 new FutureTaskInstrumentation(),
-                new ForkJoinTaskConstructorInstrumentation());
+                new ForkJoinTaskConstructorInstrumentation(),
+                new VirtualThreadInstrumentation());
     }
 }
@@ -0,0 +1,43 @@
+package io.arex.inst.executors;
+
+import io.arex.agent.bootstrap.ctx.RunnableWrapper;
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+
+/**
+ * Virtual threads of Thread.ofVirtual(), Executors.newVirtualThreadPerTaskExecutor() and StructuredTaskScope.fork
+ * are all created by ThreadBuilders.newVirtualThread (jdk 19+), their task is wrapped there.
+ * The wrapper is only allocated when a context is active.
+ */
+public class VirtualThreadInstrumentation extends TypeInstrumentation {
+    @Override
+    public ElementMatcher<TypeDescription> typeMatcher() {
+        return named("java.lang.ThreadBuilders");
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return singletonList(new MethodInstrumentation(
+                isMethod().and(isStatic()).and(named("newVirtualThread")).and(takesArgument(3, Runnable.class)),
+                this.getClass().getName() + "$NewVirtualThreadAdvice"));
+    }
+
+    @SuppressWarnings("unused")
+    public static class NewVirtualThreadAdvice {
+        @Advice.OnMethodEnter(suppress = Throwable.class)
+        public static void methodEnter(@Advice.Argument(value = 3, readOnly = false) Runnable task) {
+            task = RunnableWrapper.get(task);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.arex.inst.executors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.arex.inst.executors.VirtualThreadInstrumentation.NewVirtualThreadAdvice;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadInstrumentationTest {
+    VirtualThreadInstrumentation inst = new VirtualThreadInstrumentation();
+
+    @Test
+    void typeMatcher() {
+        assertTrue(inst.typeMatcher().matches(new TypeDescription.Latent("java.lang.ThreadBuilders",
+                Visibility.PACKAGE_PRIVATE.getMask(), TypeDescription.Generic.OBJECT)));
+        assertFalse(inst.typeMatcher().matches(TypeDescription.ForLoadedType.of(Thread.class)));
+    }
+
+    @Test
+    void methodAdvices() {
+        assertEquals(1, inst.methodAdvices().size());
+    }
+
+    @Test
+    void NewVirtualThreadAdvice_methodEnter() {
+        Runnable runnable = () -> System.out.println("mock-test");
+        assertDoesNotThrow(() -> NewVirtualThreadAdvice.methodEnter(runnable));
+    }
+}
@@ -80,7 +80,7 @@ public class RequestTracingHandler extends SimpleChannelUpstreamHandler {
             }
             Mocker mocker = (Mocker) mockerObj;
             if (ContextManager.needReplay()) {
-                MockUtils.replayBody(mocker);
+                MockUtils.replayMocker(mocker);
             } else if (ContextManager.needRecord()) {
                 MockUtils.recordMocker(mocker);
             }
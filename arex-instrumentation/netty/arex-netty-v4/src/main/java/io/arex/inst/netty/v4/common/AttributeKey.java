@@ -6,27 +6,29 @@ import io.arex.inst.runtime.model.ArexConstants;
 
 public class AttributeKey {
 
-    public static final io.netty.util.AttributeKey<Mocker> TRACING_MOCKER = initAttributeKey();
+    public static final io.netty.util.AttributeKey<Mocker> TRACING_MOCKER = initAttributeKey("arex-netty-server-mocker");
+    public static final io.netty.util.AttributeKey<ResponseBodyCapture> RESPONSE_BODY =
+            initAttributeKey("arex-netty-server-response-body");
 
     /**
      * compatible with different versions of netty initAttributeKey method,
      * the reason for using a lower version of netty here is support more versions of netty,
      * and discover many incompatible problem during compilation
      */
-    private static io.netty.util.AttributeKey<Mocker> initAttributeKey() {
+    private static <T> io.netty.util.AttributeKey<T> initAttributeKey(String name) {
         Object instance = null;
         try {
             // the user's Netty version is only known at runtime
             instance = ReflectUtil.getFieldOrInvokeMethod(
                     () -> io.netty.util.AttributeKey.class.getDeclaredMethod("valueOf", Class.class, String.class),
-                    null, AttributeKey.class, "arex-netty-server-mocker");
+                    null, AttributeKey.class, name);
         } catch (Exception e) {
             // ignore, < 4.1.0 not exist valueOf method
         }
         if (instance instanceof io.netty.util.AttributeKey) {
-            return (io.netty.util.AttributeKey<Mocker>) instance;
+            return (io.netty.util.AttributeKey<T>) instance;
         }
         // direct call
-        return new io.netty.util.AttributeKey<>("arex-netty-server-mocker");
+        return new io.netty.util.AttributeKey<>(name);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package io.arex.inst.netty.v4.common;
 
+import io.arex.agent.bootstrap.ctx.RunnableWrapper;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.EmptyByteBuf;
 import io.netty.handler.codec.http.HttpHeaders;
@@ -7,9 +8,22 @@ import io.netty.handler.codec.http.HttpHeaders;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class NettyHelper {
 
+    /**
+     * encode and save the mocker off the event loop, if the queue is full, run it on the caller thread
+     */
+    private static final ThreadPoolExecutor RECORD_EXECUTOR = new ThreadPoolExecutor(1, 1,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+                Thread thread = new Thread(runnable, "arex-netty-record");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+
     public static Map<String, String> parseHeaders(HttpHeaders originHeaders) {
         Map<String, String> headers = new HashMap<>();
         for (Map.Entry<String, String> entry : originHeaders.entries()) {
@@ -19,13 +33,19 @@ public class NettyHelper {
     }
 
     public static String parseBody(ByteBuf byteData) {
-        if (byteData instanceof EmptyByteBuf) {
+        if (byteData instanceof EmptyByteBuf || byteData.readableBytes() == 0) {
             return null;
         }
         byte[] msgByte = new byte[byteData.readableBytes()];
-        byteData.readBytes(msgByte);
-        byteData.resetReaderIndex();
+        // not change the reader index, the buffer may still be written by netty
+        byteData.getBytes(byteData.readerIndex(), msgByte);
         return Base64.getEncoder().encodeToString(msgByte);
     }
 
+    /**
+     * Run the task on the record thread with the current trace context.
+     */
+    public static void execute(Runnable task) {
+        RECORD_EXECUTOR.execute(RunnableWrapper.get(task));
+    }
 }
@@ -0,0 +1,67 @@
+package io.arex.inst.netty.v4.common;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Collects retained slices of every response chunk without copying them, up to {@code limit} bytes.
+ * The content is only copied and encoded by {@link #encode()}, which is meant to run off the event loop.
+ * {@link #release()} must be called once the capture is no longer needed.
+ */
+public class ResponseBodyCapture {
+    private final int limit;
+    // avoid consolidation (which copies all components) when a chunked response has many parts
+    private final CompositeByteBuf composite = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+    private boolean truncated;
+    private boolean released;
+
+    public ResponseBodyCapture(int limit) {
+        this.limit = Math.max(limit, 0);
+    }
+
+    public void append(ByteBuf content) {
+        if (released || content == null) {
+            return;
+        }
+        int length = content.readableBytes();
+        int remaining = limit - composite.readableBytes();
+        if (length > remaining) {
+            truncated = true;
+            length = remaining;
+        }
+        if (length <= 0) {
+            return;
+        }
+        // the slice shares the reference count of the content, retain it as the downstream encoder releases the content
+        composite.addComponent(content.slice(content.readerIndex(), length).retain());
+        // netty 4.0 not exist addComponent(boolean, ByteBuf), the writer index must be increased manually
+        composite.writerIndex(composite.writerIndex() + length);
+    }
+
+    public int size() {
+        return composite.readableBytes();
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * @return the Base64 encoded content, null if nothing was captured
+     */
+    public String encode() {
+        if (released) {
+            return null;
+        }
+        return NettyHelper.parseBody(composite);
+    }
+
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        composite.release();
+    }
+}
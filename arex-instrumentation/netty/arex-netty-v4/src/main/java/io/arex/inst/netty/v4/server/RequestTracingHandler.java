@@ -4,6 +4,7 @@ import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.agent.bootstrap.model.Mocker;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.listener.CaseEvent;
 import io.arex.inst.runtime.listener.CaseEventDispatcher;
@@ -12,8 +13,11 @@ import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.netty.v4.common.AttributeKey;
 import io.arex.inst.netty.v4.common.NettyHelper;
+import io.arex.inst.netty.v4.common.ResponseBodyCapture;
+import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
+import io.arex.inst.runtime.util.TypeUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpContent;
@@ -103,13 +107,19 @@ public class RequestTracingHandler extends ChannelInboundHandlerAdapter {
     public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
         try {
             Mocker mocker = ctx.channel().attr(AttributeKey.TRACING_MOCKER).getAndSet(null);
+            ResponseBodyCapture capture = ctx.channel().attr(AttributeKey.RESPONSE_BODY).getAndSet(null);
             if (mocker == null) {
+                releaseCapture(capture);
                 return;
             }
-            if (ContextManager.needReplay()) {
-                MockUtils.replayBody(mocker);
-            } else if (ContextManager.needRecord()) {
-                MockUtils.recordMocker(mocker);
+            ArexContext context = ContextManager.currentContext();
+            boolean needReplay = ContextManager.needReplay();
+            if (needReplay || ContextManager.needRecord()) {
+                // encoding the body and saving the mocker not block the event loop,
+                // the case exits right after, so the context is passed to record its remaining merge mockers
+                NettyHelper.execute(() -> saveMocker(mocker, capture, needReplay, context));
+            } else {
+                releaseCapture(capture);
             }
 
             CaseEventDispatcher.onEvent(CaseEvent.ofExitEvent());
@@ -119,4 +129,39 @@ public class RequestTracingHandler extends ChannelInboundHandlerAdapter {
             super.channelReadComplete(ctx);
         }
     }
+
+    private void saveMocker(Mocker mocker, ResponseBodyCapture capture, boolean needReplay, ArexContext context) {
+        try {
+            String body = capture != null ? capture.encode() : null;
+            if (body != null) {
+                mocker.getTargetResponse().setBody(Serializer.serialize(body));
+                mocker.getTargetResponse().setType(TypeUtil.getName(body));
+                if (capture.isTruncated()) {
+                    mocker.getTargetResponse().setAttribute(ArexConstants.TRUNCATED_FLAG, Boolean.TRUE);
+                }
+            }
+            if (needReplay) {
+                MockUtils.replayMocker(mocker);
+            } else {
+                MockUtils.recordMocker(mocker, context);
+            }
+        } catch (Throwable e) {
+            LogManager.warn("netty save mocker error", e);
+        } finally {
+            releaseCapture(capture);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        // the connection closed before the request completed, release the captured response body
+        releaseCapture(ctx.channel().attr(AttributeKey.RESPONSE_BODY).getAndSet(null));
+        super.channelInactive(ctx);
+    }
+
+    private static void releaseCapture(ResponseBodyCapture capture) {
+        if (capture != null) {
+            capture.release();
+        }
+    }
 }
\ No newline at end of file
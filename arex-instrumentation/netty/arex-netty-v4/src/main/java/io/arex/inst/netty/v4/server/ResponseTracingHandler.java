@@ -6,12 +6,16 @@ import io.arex.inst.runtime.log.LogManager;
 import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.netty.v4.common.AttributeKey;
 import io.arex.inst.netty.v4.common.NettyHelper;
+import io.arex.inst.netty.v4.common.ResponseBodyCapture;
+import io.arex.inst.runtime.util.BoundedByteArrayOutputStream;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.inst.runtime.util.TypeUtil;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.*;
-import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.Attribute;
 
 import java.util.Map;
 
@@ -25,24 +29,23 @@ public class ResponseTracingHandler extends ChannelOutboundHandlerAdapter {
         }
 
         try {
-            ChannelPromise prm = promise;
-            if (msg instanceof LastHttpContent) {
-                if (msg instanceof FullHttpResponse) {
-                    processHeaders(ctx.channel(), (HttpResponse) msg);
-                }
+            if (msg instanceof HttpResponse) {
+                processHeaders(ctx.channel(), (HttpResponse) msg);
+            }
 
+            // the response body may be separated into multiple HttpContent (chunked), capture each of them
+            if (msg instanceof HttpContent) {
+                captureBody(ctx.channel(), ((HttpContent) msg).content());
+            }
+
+            if (msg instanceof LastHttpContent) {
+                ChannelPromise prm = promise;
                 // compatible with VoidChannelPromise.java package not visible (< 4.1.0)
                 if (prm.getClass().getName().contains("VoidChannelPromise")) {
                     prm = ctx.newPromise();
                 }
-
-                String body = NettyHelper.parseBody(((LastHttpContent) msg).content());
-                // record response and save record on RequestTracingHandler#channelReadComplete
-                invoke(ctx.channel(), body, prm.cause());
-            } else {
-                if (msg instanceof HttpResponse) {
-                    processHeaders(ctx.channel(), (HttpResponse) msg);
-                }
+                // the captured body is encoded and saved on RequestTracingHandler#channelReadComplete
+                invoke(ctx.channel(), prm.cause());
             }
         } catch (Throwable e) {
             LogManager.warn("netty write error", e);
@@ -73,13 +76,25 @@ public class ResponseTracingHandler extends ChannelOutboundHandlerAdapter {
         }
     }
 
-    private void invoke(final Channel channel, final String content, Throwable throwable) {
+    private void captureBody(final Channel channel, final ByteBuf content) {
+        if (channel.attr(AttributeKey.TRACING_MOCKER).get() == null) {
+            return;
+        }
+        Attribute<ResponseBodyCapture> attribute = channel.attr(AttributeKey.RESPONSE_BODY);
+        ResponseBodyCapture capture = attribute.get();
+        if (capture == null) {
+            capture = new ResponseBodyCapture(BoundedByteArrayOutputStream.httpBodyCaptureLimit());
+            attribute.set(capture);
+        }
+        capture.append(content);
+    }
+
+    private void invoke(final Channel channel, Throwable throwable) {
         Mocker mocker = channel.attr(AttributeKey.TRACING_MOCKER).get();
-        Object response = throwable != null ? throwable : content;
-        if (mocker == null || response == null) {
+        if (mocker == null || throwable == null) {
             return;
         }
-        mocker.getTargetResponse().setBody(Serializer.serialize(response));
-        mocker.getTargetResponse().setType(TypeUtil.getName(response));
+        mocker.getTargetResponse().setBody(Serializer.serialize(throwable));
+        mocker.getTargetResponse().setType(TypeUtil.getName(throwable));
     }
-}
\ No newline at end of file
+}
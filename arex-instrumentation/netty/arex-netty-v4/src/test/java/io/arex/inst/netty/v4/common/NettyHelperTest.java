@@ -1,10 +1,15 @@
 package io.arex.inst.netty.v4.common;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.EmptyByteBuf;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import org.junit.jupiter.api.Test;
 
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class NettyHelperTest {
@@ -19,6 +24,18 @@ class NettyHelperTest {
     @Test
     void parseBody() {
         assertNull(NettyHelper.parseBody(new EmptyByteBuf(new UnpooledByteBufAllocator(false))));
-        assertNotNull(NettyHelper.parseBody(UnpooledByteBufAllocator.DEFAULT.buffer().writeBytes("mock".getBytes())));
+        ByteBuf byteBuf = UnpooledByteBufAllocator.DEFAULT.buffer().writeBytes("mock".getBytes());
+        byteBuf.readByte();
+        assertEquals(Base64.getEncoder().encodeToString("ock".getBytes()), NettyHelper.parseBody(byteBuf));
+        // reader index not changed
+        assertEquals(1, byteBuf.readerIndex());
+        assertNull(NettyHelper.parseBody(UnpooledByteBufAllocator.DEFAULT.buffer()));
+    }
+
+    @Test
+    void execute() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        NettyHelper.execute(latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
     }
 }
\ No newline at end of file
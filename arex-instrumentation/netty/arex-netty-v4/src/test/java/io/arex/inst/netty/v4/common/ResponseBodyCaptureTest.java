@@ -0,0 +1,64 @@
+package io.arex.inst.netty.v4.common;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseBodyCaptureTest {
+
+    @Test
+    void appendChunks() {
+        ResponseBodyCapture capture = new ResponseBodyCapture(16);
+        ByteBuf first = Unpooled.copiedBuffer("hello ", CharsetUtil.UTF_8);
+        ByteBuf second = Unpooled.copiedBuffer("world", CharsetUtil.UTF_8);
+        capture.append(first);
+        capture.append(second);
+        capture.append(Unpooled.EMPTY_BUFFER);
+        capture.append(null);
+
+        assertEquals(11, capture.size());
+        assertFalse(capture.isTruncated());
+        assertEquals(Base64.getEncoder().encodeToString("hello world".getBytes()), capture.encode());
+        // the content of the chunks is not consumed
+        assertEquals(6, first.readableBytes());
+        assertEquals(2, first.refCnt());
+
+        capture.release();
+        capture.release();
+        assertEquals(1, first.refCnt());
+        assertEquals(1, second.refCnt());
+        assertNull(capture.encode());
+    }
+
+    @Test
+    void appendExceedLimit() {
+        ResponseBodyCapture capture = new ResponseBodyCapture(4);
+        ByteBuf first = Unpooled.copiedBuffer("abc", CharsetUtil.UTF_8);
+        ByteBuf second = Unpooled.copiedBuffer("def", CharsetUtil.UTF_8);
+        ByteBuf third = Unpooled.copiedBuffer("ghi", CharsetUtil.UTF_8);
+        capture.append(first);
+        capture.append(second);
+        capture.append(third);
+
+        assertTrue(capture.isTruncated());
+        assertEquals(Base64.getEncoder().encodeToString("abcd".getBytes()), capture.encode());
+        // the chunk exceeding the limit is not retained
+        assertEquals(1, third.refCnt());
+
+        capture.release();
+        assertEquals(1, first.refCnt());
+        assertEquals(1, second.refCnt());
+    }
+
+    @Test
+    void empty() {
+        ResponseBodyCapture capture = new ResponseBodyCapture(4);
+        assertNull(capture.encode());
+        capture.release();
+    }
+}
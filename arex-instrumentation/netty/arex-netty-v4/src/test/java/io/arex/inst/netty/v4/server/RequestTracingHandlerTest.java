@@ -4,31 +4,40 @@ import io.arex.agent.bootstrap.model.ArexMocker;
 import io.arex.agent.bootstrap.model.Mocker.Target;
 import io.arex.agent.bootstrap.util.Assert;
 import io.arex.inst.runtime.config.Config;
+import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.context.RecordLimiter;
 import io.arex.inst.runtime.listener.CaseEventDispatcher;
 import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.netty.v4.common.AttributeKey;
 import io.arex.inst.netty.v4.common.NettyHelper;
+import io.arex.inst.netty.v4.common.ResponseBodyCapture;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.EmptyByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.*;
 import io.netty.util.Attribute;
+import io.netty.util.CharsetUtil;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -41,6 +50,8 @@ class RequestTracingHandlerTest {
     static HttpRequest request;
     static HttpHeaders headers;
     static MockedStatic<CaseEventDispatcher> mockCaseEvent;
+    static MockedStatic<NettyHelper> mockNettyHelper;
+    static MockedStatic<MockUtils> mockUtils;
 
     @BeforeAll
     static void setUp() {
@@ -51,12 +62,12 @@ class RequestTracingHandlerTest {
         Mockito.when(request.headers()).thenReturn(headers);
         Mockito.mockStatic(ContextManager.class);
         Mockito.mockStatic(IgnoreUtils.class);
-        Mockito.mockStatic(NettyHelper.class);
+        mockNettyHelper = Mockito.mockStatic(NettyHelper.class);
         Mockito.mockStatic(RecordLimiter.class);
         Mockito.mockStatic(Config.class);
         Mockito.when(Config.get()).thenReturn(Mockito.mock(Config.class));
         mockCaseEvent = Mockito.mockStatic(CaseEventDispatcher.class);
-        Mockito.mockStatic(MockUtils.class);
+        mockUtils = Mockito.mockStatic(MockUtils.class);
     }
 
     @AfterAll
@@ -66,6 +77,8 @@ class RequestTracingHandlerTest {
         request = null;
         headers = null;
         mockCaseEvent = null;
+        mockNettyHelper = null;
+        mockUtils = null;
         Mockito.clearAllCaches();
     }
 
@@ -150,9 +163,11 @@ class RequestTracingHandlerTest {
     static Stream<Arguments> channelReadCompleteCase() {
         Channel channel = Mockito.mock(Channel.class);
         Attribute attribute = Mockito.mock(Attribute.class);
+        Attribute captureAttribute = Mockito.mock(Attribute.class);
         Runnable mocker1 = () -> {
             Mockito.when(ctx.channel()).thenReturn(channel);
             Mockito.when(channel.attr(any())).thenReturn(attribute);
+            Mockito.when(channel.attr(AttributeKey.RESPONSE_BODY)).thenReturn(captureAttribute);
         };
 
         ArexMocker mocker = new ArexMocker();
@@ -172,6 +187,7 @@ class RequestTracingHandlerTest {
         };
         Assert asserts2 = () -> {
             mockCaseEvent.verify(() -> CaseEventDispatcher.onEvent(any()), atLeastOnce());
+            mockNettyHelper.verify(() -> NettyHelper.execute(any()), atLeastOnce());
         };
 
         return Stream.of(
@@ -180,4 +196,48 @@ class RequestTracingHandlerTest {
                 arguments(mocker3, asserts2)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void recordAfterExit() throws Exception {
+        Channel channel = Mockito.mock(Channel.class);
+        Attribute attribute = Mockito.mock(Attribute.class);
+        Attribute captureAttribute = Mockito.mock(Attribute.class);
+        Mockito.when(ctx.channel()).thenReturn(channel);
+        Mockito.when(channel.attr(any())).thenReturn(attribute);
+        Mockito.when(channel.attr(AttributeKey.RESPONSE_BODY)).thenReturn(captureAttribute);
+        ArexMocker mocker = new ArexMocker();
+        mocker.setTargetRequest(new Target());
+        mocker.setTargetResponse(new Target());
+        Mockito.when(attribute.getAndSet(null)).thenReturn(mocker);
+        ArexContext context = ArexContext.of("mock");
+        Mockito.when(ContextManager.currentContext()).thenReturn(context);
+        Mockito.when(ContextManager.needReplay()).thenReturn(false);
+        Mockito.when(ContextManager.needRecord()).thenReturn(true);
+        mockNettyHelper.clearInvocations();
+
+        target.channelReadComplete(ctx);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        mockNettyHelper.verify(() -> NettyHelper.execute(task.capture()));
+
+        // the case exited on the event loop before the record thread runs
+        Mockito.when(ContextManager.currentContext()).thenReturn(null);
+        task.getValue().run();
+        mockUtils.verify(() -> MockUtils.recordMocker(mocker, context));
+    }
+
+    @Test
+    void channelInactive() throws Exception {
+        Channel channel = Mockito.mock(Channel.class);
+        Attribute<ResponseBodyCapture> captureAttribute = Mockito.mock(Attribute.class);
+        ResponseBodyCapture capture = new ResponseBodyCapture(16);
+        ByteBuf content = Unpooled.copiedBuffer("mock", CharsetUtil.UTF_8);
+        capture.append(content);
+        Mockito.when(ctx.channel()).thenReturn(channel);
+        Mockito.when(channel.attr(AttributeKey.RESPONSE_BODY)).thenReturn(captureAttribute);
+        Mockito.when(captureAttribute.getAndSet(null)).thenReturn(capture);
+
+        target.channelInactive(ctx);
+        assertEquals(1, content.refCnt());
+        verify(ctx).fireChannelInactive();
+    }
+}
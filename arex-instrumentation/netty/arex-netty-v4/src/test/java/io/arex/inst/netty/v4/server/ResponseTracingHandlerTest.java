@@ -1,31 +1,40 @@
 package io.arex.inst.netty.v4.server;
 
+import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.agent.bootstrap.model.ArexMocker;
 import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.inst.netty.v4.common.AttributeKey;
 import io.arex.inst.netty.v4.common.NettyHelper;
+import io.arex.inst.netty.v4.common.ResponseBodyCapture;
 import io.arex.inst.runtime.config.Config;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.context.RecordLimiter;
 import io.arex.inst.runtime.listener.CaseEventDispatcher;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.*;
 import io.netty.util.Attribute;
+import io.netty.util.CharsetUtil;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
@@ -76,6 +85,7 @@ class ResponseTracingHandlerTest {
         Object msg = Mockito.mock(FullHttpResponse.class);
         Channel channel = Mockito.mock(Channel.class);
         Attribute attribute = Mockito.mock(Attribute.class);
+        Attribute<ResponseBodyCapture> captureAttribute = Mockito.mock(Attribute.class);
         ArexMocker mocker = new ArexMocker();
         mocker.setTargetRequest(new Mocker.Target());
         mocker.setTargetResponse(new Mocker.Target());
@@ -84,7 +94,7 @@ class ResponseTracingHandlerTest {
             Mockito.when(ctx.channel()).thenReturn(channel);
             Mockito.when(channel.attr(any())).thenReturn(attribute);
             Mockito.when(attribute.get()).thenReturn(mocker);
-            Mockito.when(NettyHelper.parseBody(any())).thenReturn("mock");
+            Mockito.when(channel.attr(AttributeKey.RESPONSE_BODY)).thenReturn(captureAttribute);
         };
 
         Runnable mocker2 = () -> {
@@ -103,4 +113,37 @@ class ResponseTracingHandlerTest {
                 arguments(emptyMocker, msg1)
         );
     }
+
+    @Test
+    void captureChunkedBody() {
+        Channel channel = Mockito.mock(Channel.class);
+        Attribute<Mocker> mockerAttribute = Mockito.mock(Attribute.class);
+        Attribute<ResponseBodyCapture> captureAttribute = Mockito.mock(Attribute.class);
+        ArexMocker mocker = new ArexMocker();
+        mocker.setTargetResponse(new Mocker.Target());
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
+        Mockito.when(ctx.channel()).thenReturn(channel);
+        Mockito.when(channel.attr(AttributeKey.TRACING_MOCKER)).thenReturn(mockerAttribute);
+        Mockito.when(channel.attr(AttributeKey.RESPONSE_BODY)).thenReturn(captureAttribute);
+        Mockito.when(mockerAttribute.get()).thenReturn(mocker);
+        Mockito.when(Config.get().getInt(ConfigConstants.HTTP_BODY_CAPTURE_LIMIT, 5 * 1024 * 1024)).thenReturn(1024);
+        ArgumentCaptor<ResponseBodyCapture> captor = ArgumentCaptor.forClass(ResponseBodyCapture.class);
+
+        ByteBuf chunk = Unpooled.copiedBuffer("mock", CharsetUtil.UTF_8);
+        target.write(ctx, new DefaultHttpContent(chunk), Mockito.mock(ChannelPromise.class));
+        verify(captureAttribute).set(captor.capture());
+        ResponseBodyCapture capture = captor.getValue();
+        Mockito.when(captureAttribute.get()).thenReturn(capture);
+
+        ByteBuf lastChunk = Unpooled.copiedBuffer("-body", CharsetUtil.UTF_8);
+        target.write(ctx, new DefaultLastHttpContent(lastChunk), Mockito.mock(ChannelPromise.class));
+        assertEquals(9, capture.size());
+        // the chunks are retained by the capture
+        assertEquals(2, chunk.refCnt());
+        assertEquals(2, lastChunk.refCnt());
+
+        capture.release();
+        assertEquals(1, chunk.refCnt());
+        assertEquals(1, lastChunk.refCnt());
+    }
 }
\ No newline at end of file
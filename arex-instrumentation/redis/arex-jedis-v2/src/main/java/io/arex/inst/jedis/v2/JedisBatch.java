@@ -0,0 +1,145 @@
+package io.arex.inst.jedis.v2;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.redis.common.RedisBatchExtractor;
+import io.arex.inst.redis.common.RedisKeyUtil;
+import redis.clients.jedis.Client;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The commands queued on a Pipeline or Transaction since the last sync/exec.
+ * The batch of an owner is registered when its client is set, the url is not reachable from the command methods.
+ */
+public class JedisBatch {
+    private static final Map<Object, JedisBatch> BATCHES = Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * the owner whose command is being queued on this thread, the commands it calls are not queued again
+     */
+    private static final ThreadLocal<Object> QUEUEING = new ThreadLocal<>();
+
+    private final String url;
+    private final String batchType;
+    private final RedisBatchExtractor extractor;
+    private final List<Response<?>> responses = new ArrayList<>();
+
+    JedisBatch(String url, String batchType) {
+        this.url = url;
+        this.batchType = batchType;
+        this.extractor = new RedisBatchExtractor(url, batchType);
+    }
+
+    public static void register(Object owner, Client client) {
+        if (client != null) {
+            BATCHES.put(owner, new JedisBatch(client.getHost() + ":" + client.getPort(), batchType(owner)));
+        }
+    }
+
+    /**
+     * @return the batch of the owner, null if the command is called by another queued command or the owner is unknown
+     */
+    public static JedisBatch enter(Object owner) {
+        if (QUEUEING.get() != null) {
+            return null;
+        }
+        JedisBatch batch = BATCHES.get(owner);
+        if (batch != null) {
+            QUEUEING.set(owner);
+        }
+        return batch;
+    }
+
+    public static void exit() {
+        QUEUEING.remove();
+    }
+
+    /**
+     * @return the commands queued since the last sync, the following commands are queued on a new batch
+     */
+    public static JedisBatch reset(Object owner) {
+        synchronized (BATCHES) {
+            JedisBatch batch = BATCHES.get(owner);
+            if (batch != null) {
+                BATCHES.put(owner, new JedisBatch(batch.url, batch.batchType));
+            }
+            return batch;
+        }
+    }
+
+    public static JedisBatch remove(Object owner) {
+        return BATCHES.remove(owner);
+    }
+
+    /**
+     * @return the response to return without sending the command, null if the batch is not replayed
+     */
+    public Response<?> replayResponse(String methodName, Object[] args) {
+        if (extractor.ignoreMockResult()) {
+            return null;
+        }
+        JedisReplayResponse<Object> response = new JedisReplayResponse<>();
+        addCommand(methodName, args, response);
+        return response;
+    }
+
+    public void addCommand(String methodName, Object[] args, Response<?> response) {
+        extractor.addCommand(methodName.toLowerCase(), key(args), null);
+        responses.add(response);
+    }
+
+    public List<Response<?>> getResponses() {
+        return responses;
+    }
+
+    public void record() {
+        List<Object> results = new ArrayList<>(responses.size());
+        for (Response<?> response : responses) {
+            try {
+                results.add(response.get());
+            } catch (JedisDataException e) {
+                results.add(e);
+            }
+        }
+        extractor.record(results);
+    }
+
+    /**
+     * Replay all queued commands with one lookup and complete their responses, none of them is sent to redis.
+     * A recorded error is thrown again by the get() of its response, if the batch was not recorded
+     * every response is completed with null.
+     * @return the results in the order of the commands, the same as syncAndReturnAll/exec,
+     * null if no command was queued for replay, eg: the batch is ignored and its commands were sent normally
+     */
+    public List<Object> replay() {
+        if (responses.isEmpty()) {
+            return null;
+        }
+        MockResult mockResult = extractor.replay();
+        List<?> replayResults = mockResult.getResult() instanceof List ? (List<?>) mockResult.getResult() : null;
+        List<Object> results = new ArrayList<>(responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            Object result = replayResults == null ? null : replayResults.get(i);
+            ((JedisReplayResponse<?>) responses.get(i)).setResult(result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    static String batchType(Object owner) {
+        return owner instanceof Pipeline ? RedisBatchExtractor.PIPELINE : RedisBatchExtractor.TRANSACTION;
+    }
+
+    /**
+     * the first argument of a command is its key, or its keys as an array
+     */
+    static String key(Object[] args) {
+        return args == null || args.length == 0 ? null : RedisKeyUtil.render(args[0]);
+    }
+}
@@ -6,10 +6,9 @@ import io.arex.inst.extension.ModuleInstrumentation;
 import io.arex.inst.extension.TypeInstrumentation;
 import io.arex.agent.bootstrap.model.ComparableVersion;
 
+import java.util.Arrays;
 import java.util.List;
 
-import static java.util.Collections.singletonList;
-
 @AutoService(ModuleInstrumentation.class)
 public class JedisModuleInstrumentation extends ModuleInstrumentation {
     public JedisModuleInstrumentation() {
@@ -20,6 +19,7 @@ public class JedisModuleInstrumentation extends ModuleInstrumentation {
 
     @Override
     public List<TypeInstrumentation> instrumentationTypes() {
-        return singletonList(new JedisFactoryInstrumentation());
+        return Arrays.asList(new JedisFactoryInstrumentation(), new JedisPipelineBaseInstrumentation(),
+                new JedisPipelineInstrumentation(), new JedisTransactionInstrumentation());
     }
 }
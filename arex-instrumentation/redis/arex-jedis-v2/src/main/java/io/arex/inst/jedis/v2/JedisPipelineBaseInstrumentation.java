@@ -0,0 +1,29 @@
+package io.arex.inst.jedis.v2;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
+
+/**
+ * The commands of a pipeline or transaction are declared by their base classes, each returns the Response
+ * completed on sync/exec.
+ */
+public class JedisPipelineBaseInstrumentation extends TypeInstrumentation {
+
+    @Override
+    protected ElementMatcher<TypeDescription> typeMatcher() {
+        return namedOneOf("redis.clients.jedis.PipelineBase", "redis.clients.jedis.MultiKeyPipelineBase");
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return singletonList(new MethodInstrumentation(JedisPipelineInstrumentation.commandMethod(),
+                JedisPipelineInstrumentation.CommandAdvice.class.getName()));
+    }
+}
@@ -0,0 +1,140 @@
+package io.arex.inst.jedis.v2;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.runtime.context.ContextManager;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import redis.clients.jedis.Client;
+import redis.clients.jedis.Response;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Record the commands of a pipeline as one mocker on sync, replay them with one lookup without sending to redis.
+ */
+public class JedisPipelineInstrumentation extends TypeInstrumentation {
+
+    @Override
+    protected ElementMatcher<TypeDescription> typeMatcher() {
+        return named("redis.clients.jedis.Pipeline");
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return Arrays.asList(
+                new MethodInstrumentation(isMethod().and(named("setClient")).and(takesArguments(1)),
+                        SetClientAdvice.class.getName()),
+                // multi/exec/discard of a pipeline are queued as the other commands
+                new MethodInstrumentation(commandMethod(), CommandAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(named("sync")).and(takesArguments(0)),
+                        SyncAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(named("syncAndReturnAll")).and(takesArguments(0)),
+                        SyncAndReturnAllAdvice.class.getName()));
+    }
+
+    static ElementMatcher<MethodDescription> commandMethod() {
+        return isMethod().and(isPublic()).and(not(isStatic())).and(returns(named("redis.clients.jedis.Response")));
+    }
+
+    @SuppressWarnings("unused")
+    public static class SetClientAdvice {
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object owner, @Advice.Argument(0) Client client) {
+            JedisBatch.register(owner, client);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class CommandAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static Response<?> onEnter(@Advice.This Object owner,
+                                          @Advice.Origin("#m") String methodName,
+                                          @Advice.AllArguments Object[] args,
+                                          @Advice.Local("batch") JedisBatch batch) {
+            if (!ContextManager.needRecordOrReplay()) {
+                return null;
+            }
+            batch = JedisBatch.enter(owner);
+            if (batch != null && ContextManager.needReplay()) {
+                return batch.replayResponse(methodName, args);
+            }
+            return null;
+        }
+
+        @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+        public static void onExit(@Advice.Origin("#m") String methodName,
+                                  @Advice.AllArguments Object[] args,
+                                  @Advice.Local("batch") JedisBatch batch,
+                                  @Advice.Enter Response<?> replayResponse,
+                                  @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Response<?> response) {
+            if (batch == null) {
+                return;
+            }
+            JedisBatch.exit();
+            if (replayResponse != null) {
+                response = replayResponse;
+                return;
+            }
+            if (response != null && ContextManager.needRecord()) {
+                batch.addCommand(methodName, args, response);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SyncAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static boolean onEnter(@Advice.This Object owner) {
+            if (ContextManager.needReplay()) {
+                JedisBatch batch = JedisBatch.reset(owner);
+                return batch != null && batch.replay() != null;
+            }
+            return false;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object owner, @Advice.Enter boolean replayed) {
+            if (!replayed && ContextManager.needRecord()) {
+                JedisBatch batch = JedisBatch.reset(owner);
+                if (batch != null) {
+                    batch.record();
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SyncAndReturnAllAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static List<Object> onEnter(@Advice.This Object owner) {
+            if (ContextManager.needReplay()) {
+                JedisBatch batch = JedisBatch.reset(owner);
+                return batch != null ? batch.replay() : null;
+            }
+            return null;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object owner,
+                                  @Advice.Enter List<Object> replayResults,
+                                  @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) List<Object> result) {
+            if (replayResults != null) {
+                result = replayResults;
+                return;
+            }
+            if (ContextManager.needRecord()) {
+                JedisBatch batch = JedisBatch.reset(owner);
+                if (batch != null) {
+                    batch.record();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.arex.inst.jedis.v2;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.redis.common.RedisBatchExtractor;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
+import redis.clients.jedis.Client;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JedisBatchTest {
+
+    @Test
+    void registerAndReset() {
+        Object owner = new Object();
+        assertNull(JedisBatch.enter(owner));
+        JedisBatch.register(owner, null);
+        assertNull(JedisBatch.reset(owner));
+
+        JedisBatch.register(owner, new Client("localhost", 6379));
+        JedisBatch batch = JedisBatch.enter(owner);
+        assertNotNull(batch);
+        // a command called by a queued command is not queued again
+        assertNull(JedisBatch.enter(owner));
+        JedisBatch.exit();
+
+        assertSame(batch, JedisBatch.reset(owner));
+        JedisBatch next = JedisBatch.enter(owner);
+        JedisBatch.exit();
+        assertNotSame(batch, next);
+        assertSame(next, JedisBatch.remove(owner));
+        assertNull(JedisBatch.remove(owner));
+    }
+
+    @Test
+    void key() {
+        assertNull(JedisBatch.key(new Object[0]));
+        assertEquals("key1", JedisBatch.key(new Object[]{"key1", "value"}));
+        assertEquals("key1", JedisBatch.key(new Object[]{"key1".getBytes(StandardCharsets.UTF_8)}));
+        assertEquals("key1;key2", JedisBatch.key(new Object[]{new String[]{"key1", "key2"}}));
+    }
+
+    @Test
+    void batchType() {
+        assertEquals(RedisBatchExtractor.PIPELINE, JedisBatch.batchType(Mockito.mock(Pipeline.class)));
+        assertEquals(RedisBatchExtractor.TRANSACTION, JedisBatch.batchType(Mockito.mock(Transaction.class)));
+    }
+
+    @Test
+    void record() {
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            JedisBatch batch = new JedisBatch("localhost:6379", RedisBatchExtractor.PIPELINE);
+            Response<String> response = Mockito.mock(Response.class);
+            when(response.get()).thenReturn("value");
+            Response<String> errorResponse = Mockito.mock(Response.class);
+            JedisDataException exception = new JedisDataException("WRONGTYPE");
+            when(errorResponse.get()).thenThrow(exception);
+            batch.addCommand("get", new Object[]{"key1"}, response);
+            batch.addCommand("hgetAll", new Object[]{"key2"}, errorResponse);
+            batch.record();
+
+            RedisBatchExtractor extractor = mocked.constructed().get(0);
+            verify(extractor).addCommand("get", "key1", null);
+            verify(extractor).addCommand("hgetall", "key2", null);
+            verify(extractor).record(Arrays.asList("value", exception));
+        }
+    }
+
+    @Test
+    void replay() {
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            JedisBatch batch = new JedisBatch("localhost:6379", RedisBatchExtractor.PIPELINE);
+            // nothing queued, send to redis
+            assertNull(batch.replay());
+
+            RedisBatchExtractor extractor = mocked.constructed().get(0);
+            when(extractor.ignoreMockResult()).thenReturn(true);
+            assertNull(batch.replayResponse("get", new Object[]{"key1"}));
+
+            when(extractor.ignoreMockResult()).thenReturn(false);
+            Response<?> response1 = batch.replayResponse("get", new Object[]{"key1"});
+            Response<?> response2 = batch.replayResponse("get", new Object[]{"key2"});
+            JedisDataException exception = new JedisDataException("WRONGTYPE");
+            when(extractor.replay()).thenReturn(MockResult.success(Arrays.asList("value", exception)));
+
+            List<Object> results = batch.replay();
+            assertEquals(Arrays.asList("value", exception), results);
+            assertEquals("value", response1.get());
+            assertThrows(JedisDataException.class, response2::get);
+            assertEquals(Arrays.asList(response1, response2), batch.getResponses());
+
+            // not recorded, the responses are completed with null
+            when(extractor.replay()).thenReturn(MockResult.success(null));
+            assertEquals(Arrays.asList(null, null), batch.replay());
+            assertNull(response1.get());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.arex.inst.jedis.v2;
+
+import io.arex.inst.runtime.context.ContextManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import redis.clients.jedis.Client;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JedisPipelineInstrumentationTest {
+    static JedisPipelineInstrumentation target;
+
+    @BeforeAll
+    static void setUp() {
+        target = new JedisPipelineInstrumentation();
+        Mockito.mockStatic(ContextManager.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        target = null;
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void typeMatcher() {
+        assertNotNull(target.typeMatcher());
+        assertNotNull(new JedisPipelineBaseInstrumentation().typeMatcher());
+    }
+
+    @Test
+    void methodAdvices() {
+        assertEquals(4, target.methodAdvices().size());
+        assertEquals(1, new JedisPipelineBaseInstrumentation().methodAdvices().size());
+    }
+
+    @Test
+    void setClient() {
+        Pipeline pipeline = Mockito.mock(Pipeline.class);
+        Client client = Mockito.mock(Client.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            JedisPipelineInstrumentation.SetClientAdvice.onExit(pipeline, client);
+            mockBatch.verify(() -> JedisBatch.register(pipeline, client));
+        }
+    }
+
+    @Test
+    void command() {
+        Pipeline pipeline = Mockito.mock(Pipeline.class);
+        Object[] args = new Object[]{"key"};
+        Response<?> response = Mockito.mock(Response.class);
+        JedisBatch batch = Mockito.mock(JedisBatch.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            mockBatch.when(() -> JedisBatch.enter(pipeline)).thenReturn(batch);
+            // not recording or replaying
+            when(ContextManager.needRecordOrReplay()).thenReturn(false);
+            assertNull(JedisPipelineInstrumentation.CommandAdvice.onEnter(pipeline, "get", args, null));
+            JedisPipelineInstrumentation.CommandAdvice.onExit("get", args, null, null, response);
+            mockBatch.verify(JedisBatch::exit, never());
+
+            // record
+            when(ContextManager.needRecordOrReplay()).thenReturn(true);
+            when(ContextManager.needRecord()).thenReturn(true);
+            when(ContextManager.needReplay()).thenReturn(false);
+            assertNull(JedisPipelineInstrumentation.CommandAdvice.onEnter(pipeline, "get", args, null));
+            JedisPipelineInstrumentation.CommandAdvice.onExit("get", args, batch, null, response);
+            verify(batch).addCommand("get", args, response);
+            mockBatch.verify(JedisBatch::exit);
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            Response replayResponse = Mockito.mock(JedisReplayResponse.class);
+            when(batch.replayResponse("get", args)).thenReturn(replayResponse);
+            assertSame(replayResponse, JedisPipelineInstrumentation.CommandAdvice.onEnter(pipeline, "get", args, null));
+            JedisPipelineInstrumentation.CommandAdvice.onExit("get", args, batch, replayResponse, null);
+            verify(batch, times(1)).addCommand(any(), any(), any());
+        }
+    }
+
+    @Test
+    void sync() {
+        Pipeline pipeline = Mockito.mock(Pipeline.class);
+        JedisBatch batch = Mockito.mock(JedisBatch.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            mockBatch.when(() -> JedisBatch.reset(pipeline)).thenReturn(batch);
+            // record
+            when(ContextManager.needReplay()).thenReturn(false);
+            when(ContextManager.needRecord()).thenReturn(true);
+            assertFalse(JedisPipelineInstrumentation.SyncAdvice.onEnter(pipeline));
+            JedisPipelineInstrumentation.SyncAdvice.onExit(pipeline, false);
+            verify(batch).record();
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            when(batch.replay()).thenReturn(null);
+            assertFalse(JedisPipelineInstrumentation.SyncAdvice.onEnter(pipeline));
+            when(batch.replay()).thenReturn(Collections.emptyList());
+            assertTrue(JedisPipelineInstrumentation.SyncAdvice.onEnter(pipeline));
+            JedisPipelineInstrumentation.SyncAdvice.onExit(pipeline, true);
+            verify(batch, times(1)).record();
+        }
+    }
+
+    @Test
+    void syncAndReturnAll() {
+        Pipeline pipeline = Mockito.mock(Pipeline.class);
+        JedisBatch batch = Mockito.mock(JedisBatch.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            // record
+            when(ContextManager.needReplay()).thenReturn(false);
+            when(ContextManager.needRecord()).thenReturn(true);
+            assertNull(JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onEnter(pipeline));
+            JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onExit(pipeline, null, null);
+            mockBatch.when(() -> JedisBatch.reset(pipeline)).thenReturn(batch);
+            JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onExit(pipeline, null, null);
+            verify(batch).record();
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            List<Object> results = Collections.singletonList("value");
+            when(batch.replay()).thenReturn(results);
+            assertSame(results, JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onEnter(pipeline));
+            JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onExit(pipeline, results, null);
+            verify(batch, times(1)).record();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.arex.inst.jedis.v4;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.redis.common.RedisBatchExtractor;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The commands queued on a Pipeline or Transaction since the last sync/exec.
+ */
+public class JedisBatch {
+    private static final Map<Object, JedisBatch> BATCHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final RedisBatchExtractor extractor;
+    private final List<Response<?>> responses = new ArrayList<>();
+
+    JedisBatch(Connection connection, String batchType) {
+        this.extractor = new RedisBatchExtractor(String.valueOf(connection), batchType);
+    }
+
+    public static JedisBatch get(Object owner, Connection connection, String batchType) {
+        return BATCHES.computeIfAbsent(owner, key -> new JedisBatch(connection, batchType));
+    }
+
+    public static JedisBatch remove(Object owner) {
+        return BATCHES.remove(owner);
+    }
+
+    /**
+     * @return the response to return without sending the command, null if the batch is not replayed
+     */
+    public <T> Response<T> replayResponse(CommandObject<T> commandObject) {
+        if (extractor.ignoreMockResult()) {
+            return null;
+        }
+        JedisReplayResponse<T> response = new JedisReplayResponse<>(commandObject.getBuilder());
+        addCommand(commandObject, response);
+        return response;
+    }
+
+    public void addCommand(CommandObject<?> commandObject, Response<?> response) {
+        extractor.addCommand(command(commandObject), key(commandObject), null);
+        responses.add(response);
+    }
+
+    public void record() {
+        List<Object> results = new ArrayList<>(responses.size());
+        for (Response<?> response : responses) {
+            try {
+                results.add(response.get());
+            } catch (JedisDataException e) {
+                results.add(e);
+            }
+        }
+        extractor.record(results);
+    }
+
+    /**
+     * Replay all queued commands with one lookup and complete their responses, none of them is sent to redis.
+     * A recorded error is thrown again by the get() of its response, if the batch was not recorded
+     * every response is completed with null.
+     * @return the results in the order of the commands, the same as syncAndReturnAll/exec,
+     * null if no command was queued for replay, eg: the batch is ignored and its commands were sent normally
+     */
+    public List<Object> replay() {
+        if (responses.isEmpty()) {
+            return null;
+        }
+        MockResult mockResult = extractor.replay();
+        List<?> replayResults = mockResult.getResult() instanceof List ? (List<?>) mockResult.getResult() : null;
+        List<Object> results = new ArrayList<>(responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            Object result = replayResults == null ? null : replayResults.get(i);
+            ((JedisReplayResponse<?>) responses.get(i)).setResult(result);
+            results.add(result);
+        }
+        return results;
+    }
+
+    public static String batchType(Object owner) {
+        return owner instanceof Pipeline ? RedisBatchExtractor.PIPELINE : RedisBatchExtractor.TRANSACTION;
+    }
+
+    static String command(CommandObject<?> commandObject) {
+        return String.valueOf(commandObject.getArguments().getCommand()).toLowerCase();
+    }
+
+    static String key(CommandObject<?> commandObject) {
+        Iterator<Rawable> iterator = commandObject.getArguments().iterator();
+        // the first argument is the command itself
+        if (iterator.hasNext()) {
+            iterator.next();
+        }
+        return iterator.hasNext() ? SafeEncoder.encode(iterator.next().getRaw()) : null;
+    }
+}
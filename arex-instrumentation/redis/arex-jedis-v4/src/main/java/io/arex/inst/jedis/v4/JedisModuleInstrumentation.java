@@ -8,7 +8,7 @@ import io.arex.agent.bootstrap.model.ComparableVersion;
 
 import java.util.List;
 
-import static java.util.Collections.singletonList;
+import static java.util.Arrays.asList;
 
 @AutoService(ModuleInstrumentation.class)
 public class JedisModuleInstrumentation extends ModuleInstrumentation {
@@ -19,6 +19,7 @@ public class JedisModuleInstrumentation extends ModuleInstrumentation {
 
     @Override
     public List<TypeInstrumentation> instrumentationTypes() {
-        return singletonList(new JedisFactoryInstrumentation());
+        return asList(new JedisFactoryInstrumentation(), new JedisPipelineInstrumentation(),
+                new JedisTransactionInstrumentation());
     }
 }
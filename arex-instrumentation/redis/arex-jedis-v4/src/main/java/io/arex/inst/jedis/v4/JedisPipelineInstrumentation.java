@@ -0,0 +1,117 @@
+package io.arex.inst.jedis.v4;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.runtime.context.ContextManager;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.Response;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Record the commands of a pipeline as one mocker on sync, replay them with one lookup without sending to redis.
+ */
+public class JedisPipelineInstrumentation extends TypeInstrumentation {
+
+    @Override
+    protected ElementMatcher<TypeDescription> typeMatcher() {
+        return named("redis.clients.jedis.Pipeline");
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return Arrays.asList(
+                new MethodInstrumentation(isMethod().and(named("appendCommand")).and(takesArguments(1)),
+                        AppendCommandAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(named("sync")).and(takesArguments(0)),
+                        SyncAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(named("syncAndReturnAll")).and(takesArguments(0)),
+                        SyncAndReturnAllAdvice.class.getName()));
+    }
+
+    @SuppressWarnings("unused")
+    public static class AppendCommandAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static Response<?> onEnter(@Advice.This Object owner,
+                                          @Advice.FieldValue("connection") Connection connection,
+                                          @Advice.Argument(0) CommandObject<?> commandObject) {
+            if (ContextManager.needReplay()) {
+                return JedisBatch.get(owner, connection, JedisBatch.batchType(owner)).replayResponse(commandObject);
+            }
+            return null;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object owner,
+                                  @Advice.FieldValue("connection") Connection connection,
+                                  @Advice.Argument(0) CommandObject<?> commandObject,
+                                  @Advice.Enter Response<?> replayResponse,
+                                  @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Response<?> response) {
+            if (replayResponse != null) {
+                response = replayResponse;
+                return;
+            }
+            if (ContextManager.needRecord()) {
+                JedisBatch.get(owner, connection, JedisBatch.batchType(owner)).addCommand(commandObject, response);
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SyncAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static boolean onEnter(@Advice.This Object owner) {
+            if (ContextManager.needReplay()) {
+                JedisBatch batch = JedisBatch.remove(owner);
+                return batch != null && batch.replay() != null;
+            }
+            return false;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object owner, @Advice.Enter boolean replayed) {
+            if (!replayed && ContextManager.needRecord()) {
+                JedisBatch batch = JedisBatch.remove(owner);
+                if (batch != null) {
+                    batch.record();
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class SyncAndReturnAllAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static List<Object> onEnter(@Advice.This Object owner) {
+            if (ContextManager.needReplay()) {
+                JedisBatch batch = JedisBatch.remove(owner);
+                return batch != null ? batch.replay() : null;
+            }
+            return null;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object owner,
+                                  @Advice.Enter List<Object> replayResults,
+                                  @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) List<Object> result) {
+            if (replayResults != null) {
+                result = replayResults;
+                return;
+            }
+            if (ContextManager.needRecord()) {
+                JedisBatch batch = JedisBatch.remove(owner);
+                if (batch != null) {
+                    batch.record();
+                }
+            }
+        }
+    }
+}
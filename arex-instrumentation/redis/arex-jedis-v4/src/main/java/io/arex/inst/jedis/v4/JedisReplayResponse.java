@@ -0,0 +1,28 @@
+package io.arex.inst.jedis.v4;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * Response of a replayed pipeline/transaction command, the result is completed by the batch replay.
+ */
+public class JedisReplayResponse<T> extends Response<T> {
+    private Object result;
+
+    public JedisReplayResponse(Builder<T> builder) {
+        super(builder);
+    }
+
+    void setResult(Object result) {
+        this.result = result;
+    }
+
+    @Override
+    public T get() {
+        if (result instanceof JedisDataException) {
+            throw (JedisDataException) result;
+        }
+        return (T) result;
+    }
+}
@@ -0,0 +1,70 @@
+package io.arex.inst.jedis.v4;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.runtime.context.ContextManager;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Record the commands of a MULTI/EXEC transaction as one mocker on exec.
+ * In replay the commands are not queued on redis, so exec only sends an empty transaction
+ * and its result is replaced by the replayed results.
+ */
+public class JedisTransactionInstrumentation extends TypeInstrumentation {
+    private static final String TRANSACTION = "redis.clients.jedis.Transaction";
+
+    @Override
+    protected ElementMatcher<TypeDescription> typeMatcher() {
+        return namedOneOf("redis.clients.jedis.TransactionBase", TRANSACTION);
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return Arrays.asList(
+                new MethodInstrumentation(isMethod().and(named("appendCommand")).and(takesArguments(1)),
+                        JedisPipelineInstrumentation.AppendCommandAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isDeclaredBy(named(TRANSACTION)))
+                        .and(named("exec")).and(takesArguments(0)), ExecAdvice.class.getName()),
+                new MethodInstrumentation(isMethod().and(isDeclaredBy(named(TRANSACTION)))
+                        .and(named("discard")).and(takesArguments(0)), DiscardAdvice.class.getName()));
+    }
+
+    @SuppressWarnings("unused")
+    public static class ExecAdvice {
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object owner,
+                                  @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) List<Object> result) {
+            JedisBatch batch = JedisBatch.remove(owner);
+            if (batch == null) {
+                return;
+            }
+            if (ContextManager.needReplay()) {
+                List<Object> replayResults = batch.replay();
+                if (replayResults != null) {
+                    result = replayResults;
+                }
+                return;
+            }
+            // null if the transaction was aborted by watch
+            if (result != null && ContextManager.needRecord()) {
+                batch.record();
+            }
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class DiscardAdvice {
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object owner) {
+            JedisBatch.remove(owner);
+        }
+    }
+}
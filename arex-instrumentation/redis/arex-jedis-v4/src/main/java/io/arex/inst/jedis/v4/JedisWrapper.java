@@ -5,7 +5,6 @@ import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.serializer.Serializer;
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.redis.common.RedisExtractor;
-import io.arex.inst.redis.common.RedisKeyUtil;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisSocketFactory;
@@ -35,7 +34,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public String set(String key, String value, SetParams params) {
-        return this.call("set", key, params.toString(), () -> super.set(key, value, params), null);
+        return this.call("set", key, params, () -> super.set(key, value, params), null);
     }
 
     @Override
@@ -45,7 +44,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long exists(String... keys) {
-        return call("exists", RedisKeyUtil.generate(keys), () -> super.exists(keys), 0L);
+        return call("exists", keys, () -> super.exists(keys), 0L);
     }
 
     @Override
@@ -55,7 +54,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long del(String... keys) {
-        return call("del", RedisKeyUtil.generate(keys), () -> super.del(keys), 0L);
+        return call("del", keys, () -> super.del(keys), 0L);
     }
 
     @Override
@@ -65,12 +64,12 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long del(byte[]... keys) {
-        return call("del", RedisKeyUtil.generate(keys), () -> super.del(keys), 0L);
+        return call("del", keys, () -> super.del(keys), 0L);
     }
 
     @Override
     public long del(byte[] key) {
-        return call("del", Base64.getEncoder().encodeToString(key), () -> super.del(key), 0L);
+        return call("del", key, () -> super.del(key), 0L);
     }
 
     @Override
@@ -90,12 +89,12 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long expire(byte[] key, long seconds) {
-        return call("expire", Base64.getEncoder().encodeToString(key), () -> super.expire(key, seconds), 0L);
+        return call("expire", key, () -> super.expire(key, seconds), 0L);
     }
 
     @Override
     public long expire(byte[] key, long seconds, ExpiryOption expiryOption) {
-        return call("expire", Base64.getEncoder().encodeToString(key),
+        return call("expire", key,
             expiryOption.name(), () -> super.expire(key, seconds, expiryOption), 0L);
     }
 
@@ -121,7 +120,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public List<String> mget(String... keys) {
-        return call("mget", RedisKeyUtil.generate(keys), () -> super.mget(keys), Collections.EMPTY_LIST);
+        return call("mget", keys, () -> super.mget(keys), Collections.EMPTY_LIST);
     }
 
     @Override
@@ -136,12 +135,12 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public String mset(String... keysvalues) {
-        return call("mset", keysvalues, () -> super.mset(keysvalues), null);
+        return callPairs("mset", keysvalues, () -> super.mset(keysvalues), null);
     }
 
     @Override
     public long msetnx(String... keysvalues) {
-        return call("msetnx", keysvalues, () -> super.msetnx(keysvalues), 0L);
+        return callPairs("msetnx", keysvalues, () -> super.msetnx(keysvalues), 0L);
     }
 
     @Override
@@ -176,19 +175,19 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long append(byte[] key, byte[] value) {
-        return call("append", Base64.getEncoder().encodeToString(key), () -> super.append(key, value), 0L);
+        return call("append", key, () -> super.append(key, value), 0L);
     }
 
     @Override
     public String substr(String key, int start, int end) {
-        return call("substr", key, RedisKeyUtil.generate("start", String.valueOf(start), "end", String.valueOf(end)),
+        return call("substr", key, new Object[]{"start", start, "end", end},
                 () -> super.substr(key, start, end), null);
     }
 
     @Override
     public byte[] substr(byte[] key, int start, int end) {
-        return call("substr", Base64.getEncoder().encodeToString(key),
-            RedisKeyUtil.generate("start", String.valueOf(start), "end", String.valueOf(end)),
+        return call("substr", key,
+            new Object[]{"start", start, "end", end},
             () -> super.substr(key, start, end), null);
     }
 
@@ -200,19 +199,19 @@ public class JedisWrapper extends Jedis {
     @Override
     public long hset(byte[] key, byte[] field, byte[] value) {
         return call("hset",
-            Base64.getEncoder().encodeToString(key), Base64.getEncoder().encodeToString(field),
+            key, field,
             () -> super.hset(key, field, value), 0L);
     }
 
     @Override
     public long hset(byte[] key, Map<byte[], byte[]> hash) {
-        return call("hset", Base64.getEncoder().encodeToString(key),
-            Serializer.serialize(hash.keySet()), () -> super.hset(key, hash), 0L);
+        return call("hset", key,
+            hash, () -> super.hset(key, hash), 0L);
     }
 
     @Override
     public long hset(final String key, final Map<String, String> hash) {
-        return call("hset", key, Serializer.serialize(hash.keySet()), () -> super.hset(key, hash), 0L);
+        return call("hset", key, hash, () -> super.hset(key, hash), 0L);
     }
 
     @Override
@@ -223,7 +222,7 @@ public class JedisWrapper extends Jedis {
     @Override
     public byte[] hget(byte[] key, byte[] field) {
         return call("hget",
-            Base64.getEncoder().encodeToString(key), Base64.getEncoder().encodeToString(field),
+            key, field,
             () -> super.hget(key, field), null);
     }
 
@@ -236,19 +235,19 @@ public class JedisWrapper extends Jedis {
     @Override
     public long hsetnx(byte[] key, byte[] field, byte[] value) {
         return call("hsetnx",
-            Base64.getEncoder().encodeToString(key), Base64.getEncoder().encodeToString(field),
+            key, field,
             () -> super.hsetnx(key, field, value), 0L);
     }
 
     @Override
     public String hmset(String key, Map<String, String> hash) {
-        return call("hmset", key, Serializer.serialize(hash.keySet()), () -> super.hmset(key, hash),
+        return call("hmset", key, hash, () -> super.hmset(key, hash),
                 null);
     }
 
     @Override
     public List<String> hmget(String key, String... fields) {
-        return call("hmget", key, RedisKeyUtil.generate(fields), () -> super.hmget(key, fields),
+        return call("hmget", key, fields, () -> super.hmget(key, fields),
                 Collections.EMPTY_LIST);
     }
 
@@ -269,12 +268,12 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long hdel(String key, String... fields) {
-        return call("hdel", key, RedisKeyUtil.generate(fields), () -> super.hdel(key, fields), 0L);
+        return call("hdel", key, fields, () -> super.hdel(key, fields), 0L);
     }
 
     @Override
     public long hdel(byte[] key, byte[]... fields) {
-        return call("hdel", Base64.getEncoder().encodeToString(key), RedisKeyUtil.generate(fields), () -> super.hdel(key, fields), 0L);
+        return call("hdel", key, fields, () -> super.hdel(key, fields), 0L);
     }
 
     @Override
@@ -284,7 +283,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long hlen(byte[] key) {
-        return call("hlen", Base64.getEncoder().encodeToString(key), () -> super.hlen(key), 0L);
+        return call("hlen", key, () -> super.hlen(key), 0L);
     }
 
     @Override
@@ -299,7 +298,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public List<byte[]> hvals(byte[] key) {
-        return call("hvals", Base64.getEncoder().encodeToString(key), () -> super.hvals(key), Collections.EMPTY_LIST);
+        return call("hvals", key, () -> super.hvals(key), Collections.EMPTY_LIST);
     }
 
     @Override
@@ -309,7 +308,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public Map<byte[], byte[]> hgetAll(byte[] key) {
-        return call("hgetAll", Base64.getEncoder().encodeToString(key), () -> super.hgetAll(key), Collections.EMPTY_MAP);
+        return call("hgetAll", key, () -> super.hgetAll(key), Collections.EMPTY_MAP);
     }
 
     @Override
@@ -319,25 +318,25 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public List<String> lrange(String key, long start, long end) {
-        return call("lrange", key, RedisKeyUtil.generate("start", String.valueOf(start), "end", String.valueOf(end)),
+        return call("lrange", key, new Object[]{"start", start, "end", end},
                 () -> super.lrange(key, start, end), Collections.EMPTY_LIST);
     }
 
     @Override
     public String ltrim(String key, long start, long end) {
-        return call("ltrim", key, RedisKeyUtil.generate("start", String.valueOf(start), "end", String.valueOf(end)),
+        return call("ltrim", key, new Object[]{"start", start, "end", end},
                 () -> super.ltrim(key, start, end), null);
     }
 
     @Override
     public String lindex(String key, long index) {
-        return call("lindex", key, RedisKeyUtil.generate("index", String.valueOf(index)),
+        return call("lindex", key, new Object[]{"index", index},
                 () -> super.lindex(key, index), null);
     }
 
     @Override
     public String lset(String key, long index, String value) {
-        return call("lset", key, RedisKeyUtil.generate("index", String.valueOf(index)),
+        return call("lset", key, new Object[]{"index", index},
                 () -> super.lset(key, index, value), null);
     }
 
@@ -358,7 +357,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public Set<String> spop(String key, long count) {
-        return call("spop", RedisKeyUtil.generate(key, String.valueOf(count)), () -> super.spop(key, count),
+        return call("spop", new Object[]{key, count}, () -> super.spop(key, count),
                 Collections.EMPTY_SET);
     }
 
@@ -369,17 +368,17 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public Set<String> sinter(String... keys) {
-        return call("sinter", RedisKeyUtil.generate(keys), () -> super.sinter(keys), Collections.EMPTY_SET);
+        return call("sinter", keys, () -> super.sinter(keys), Collections.EMPTY_SET);
     }
 
     @Override
     public Set<String> sunion(String... keys) {
-        return call("sunion", RedisKeyUtil.generate(keys), () -> super.sunion(keys), Collections.EMPTY_SET);
+        return call("sunion", keys, () -> super.sunion(keys), Collections.EMPTY_SET);
     }
 
     @Override
     public Set<String> sdiff(String... keys) {
-        return call("sdiff", RedisKeyUtil.generate(keys), () -> super.sdiff(keys), Collections.EMPTY_SET);
+        return call("sdiff", keys, () -> super.sdiff(keys), Collections.EMPTY_SET);
     }
 
     @Override
@@ -389,7 +388,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public List<String> srandmember(String key, int count) {
-        return call("srandmember", key, RedisKeyUtil.generate("count", String.valueOf(count)),
+        return call("srandmember", key, new Object[]{"count", count},
                 () -> super.srandmember(key, count), Collections.EMPTY_LIST);
     }
 
@@ -410,14 +409,13 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long setrange(String key, long offset, String value) {
-        return call("setrange", key, RedisKeyUtil.generate("offset", String.valueOf(offset)),
+        return call("setrange", key, new Object[]{"offset", offset},
                 () -> super.setrange(key, offset, value), 0L);
     }
 
     @Override
     public String getrange(String key, long startOffset, long endOffset) {
-        return call("getrange", key, RedisKeyUtil.generate(
-                        RedisKeyUtil.generate("startOffset", String.valueOf(startOffset), "endOffset", String.valueOf(endOffset))),
+        return call("getrange", key, new Object[]{"startOffset", startOffset, "endOffset", endOffset},
                 () -> super.getrange(key, startOffset, endOffset), null);
     }
 
@@ -443,59 +441,59 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public String set(final byte[] key, final byte[] value) {
-        return call("set", Base64.getEncoder().encodeToString(key), () -> super.set(key, value), null);
+        return call("set", key, () -> super.set(key, value), null);
     }
 
     @Override
     public String set(final byte[] key, final byte[] value, final SetParams params) {
-        return call("set", Base64.getEncoder().encodeToString(key), () -> super.set(key, value, params),
+        return call("set", key, () -> super.set(key, value, params),
                 null);
     }
 
     @Override
     public byte[] get(final byte[] key) {
-        return call("get", Base64.getEncoder().encodeToString(key), () -> super.get(key), null);
+        return call("get", key, () -> super.get(key), null);
     }
 
     @Override
     public long exists(final byte[]... keys) {
-        return call("exists", RedisKeyUtil.generate(keys), () -> super.exists(keys), 0L);
+        return call("exists", keys, () -> super.exists(keys), 0L);
     }
 
     @Override
     public boolean exists(final byte[] key) {
-        return call("exists", Base64.getEncoder().encodeToString(key), () -> super.exists(key), false);
+        return call("exists", key, () -> super.exists(key), false);
     }
 
     @Override
     public String type(final byte[] key) {
-        return call("type", Base64.getEncoder().encodeToString(key), () -> super.type(key), "none");
+        return call("type", key, () -> super.type(key), "none");
     }
 
     @Override
     public byte[] getSet(final byte[] key, final byte[] value) {
-        return call("getSet", Base64.getEncoder().encodeToString(key), () -> super.getSet(key, value), null);
+        return call("getSet", key, () -> super.getSet(key, value), null);
     }
 
     @Override
     public List<byte[]> mget(final byte[]... keys) {
-        return call("mget", RedisKeyUtil.generate(keys), () -> super.mget(keys), Collections.EMPTY_LIST);
+        return call("mget", keys, () -> super.mget(keys), Collections.EMPTY_LIST);
     }
 
     @Override
     public long setnx(final byte[] key, final byte[] value) {
-        return call("setnx", Base64.getEncoder().encodeToString(key), () -> super.setnx(key, value), 0L);
+        return call("setnx", key, () -> super.setnx(key, value), 0L);
     }
 
     @Override
     public String setex(final byte[] key, final long seconds, final byte[] value) {
-        return call("setex", Base64.getEncoder().encodeToString(key), () -> super.setex(key, seconds, value),
+        return call("setex", key, () -> super.setex(key, seconds, value),
                 null);
     }
 
     @Override
     public long unlink(String... keys) {
-        return call("unlink", RedisKeyUtil.generate(keys), () -> super.unlink(keys), 0L);
+        return call("unlink", keys, () -> super.unlink(keys), 0L);
     }
 
     @Override
@@ -505,47 +503,47 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public long unlink(byte[]... keys) {
-        return call("unlink", RedisKeyUtil.generate(keys), () -> super.unlink(keys), 0L);
+        return call("unlink", keys, () -> super.unlink(keys), 0L);
     }
 
     @Override
     public long unlink(byte[] key) {
-        return call("unlink", Base64.getEncoder().encodeToString(key), () -> super.unlink(key), 0L);
+        return call("unlink", key, () -> super.unlink(key), 0L);
     }
 
     @Override
     public String rename(byte[] oldkey, byte[] newkey) {
-        return call("rename", RedisKeyUtil.generate(oldkey, newkey), () -> super.rename(oldkey, newkey), null);
+        return call("rename", new Object[]{oldkey, newkey}, () -> super.rename(oldkey, newkey), null);
     }
 
     @Override
     public long renamenx(byte[] oldkey, byte[] newkey) {
-        return call("renamenx", RedisKeyUtil.generate(oldkey, newkey), () -> super.renamenx(oldkey, newkey), 0L);
+        return call("renamenx", new Object[]{oldkey, newkey}, () -> super.renamenx(oldkey, newkey), 0L);
     }
 
     @Override
     public String rename(String oldkey, String newkey) {
-        return call("rename", RedisKeyUtil.generate(oldkey, newkey), () -> super.rename(oldkey, newkey), null);
+        return call("rename", new Object[]{oldkey, newkey}, () -> super.rename(oldkey, newkey), null);
     }
 
     @Override
     public long renamenx(String oldkey, String newkey) {
-        return call("renamenx", RedisKeyUtil.generate(oldkey, newkey), () -> super.renamenx(oldkey, newkey), 0L);
+        return call("renamenx", new Object[]{oldkey, newkey}, () -> super.renamenx(oldkey, newkey), 0L);
     }
 
     @Override
     public byte[] getEx(byte[] key, GetExParams params) {
-        return call("getEx", Base64.getEncoder().encodeToString(key), params.toString(), () -> super.getEx(key, params), null);
+        return call("getEx", key, params, () -> super.getEx(key, params), null);
     }
 
     @Override
     public String getEx(String key, GetExParams params) {
-        return call("getEx", key, params.toString(), () -> super.getEx(key, params), null);
+        return call("getEx", key, params, () -> super.getEx(key, params), null);
     }
 
     @Override
     public byte[] getDel(byte[] key) {
-        return call("getDel", Base64.getEncoder().encodeToString(key), () -> super.getDel(key), null);
+        return call("getDel", key, () -> super.getDel(key), null);
     }
 
     @Override
@@ -560,7 +558,7 @@ public class JedisWrapper extends Jedis {
 
     @Override
     public byte[] ping(byte[] message) {
-        return call("ping", Base64.getEncoder().encodeToString(message), () -> super.ping(message), null);
+        return call("ping", message, () -> super.ping(message), null);
     }
 
     @Override
@@ -572,34 +570,28 @@ public class JedisWrapper extends Jedis {
     /**
      * mset/msetnx
      */
-    private <U> U call(String command, String[] keysValues, Callable<U> callable, U defaultValue) {
+    private <U> U callPairs(String command, String[] keysValues, Callable<U> callable, U defaultValue) {
         if (ArrayUtils.isEmpty(keysValues)) {
             return defaultValue;
         }
-
-        if (keysValues.length == 2) {
-            return call(command, keysValues[0], null, callable, defaultValue);
-        }
-
-        StringBuilder keyBuilder = new StringBuilder();
-
-        keyBuilder.append(keysValues[0]);
-        for (int i = 2; i < keysValues.length; i++) {
-            if (i % 2 == 0) {
-                keyBuilder.append(';').append(keysValues[i]);
-            }
-        }
-
-        return call(command, keyBuilder.toString(), null, callable, defaultValue);
+        return call(command, new PairKeys(keysValues), null, callable, defaultValue);
     }
 
-    private <U> U call(String command, String key, Callable<U> callable, U defaultValue) {
+    private <U> U call(String command, Object key, Callable<U> callable, U defaultValue) {
         return call(command, key, null, callable, defaultValue);
     }
 
-    private <U> U call(String command, String key, String field, Callable<U> callable, U defaultValue) {
+    /**
+     * @param key raw key, rendered only once the command is recorded or replayed
+     * @param field raw field, rendered the same way
+     */
+    private <U> U call(String command, Object key, Object field, Callable<U> callable, U defaultValue) {
+        if (!ContextManager.needRecordOrReplay()) {
+            return invoke(callable, defaultValue);
+        }
+
+        RedisExtractor extractor = new RedisExtractor(this.url, command, render(key), render(field));
         if (ContextManager.needReplay()) {
-            RedisExtractor extractor = new RedisExtractor(this.url, command, key, field);
             MockResult mockResult = extractor.replay();
             if (mockResult.notIgnoreMockResult()) {
                 if (mockResult.getThrowable() instanceof RuntimeException) {
@@ -614,7 +606,6 @@ public class JedisWrapper extends Jedis {
             result = callable.call();
         } catch (Exception e) {
             if (ContextManager.needRecord()) {
-                RedisExtractor extractor = new RedisExtractor(this.url, command, key, field);
                 extractor.record(e);
             }
 
@@ -626,9 +617,56 @@ public class JedisWrapper extends Jedis {
         }
 
         if (ContextManager.needRecord()) {
-            RedisExtractor extractor = new RedisExtractor(this.url, command, key, field);
             extractor.record(result);
         }
         return result;
     }
+
+    private static <U> U invoke(Callable<U> callable, U defaultValue) {
+        try {
+            return callable.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * A single binary key or field is recorded as Base64, the field of hset(key, hash) as its serialized keys,
+     * the rest is rendered by RedisExtractor.
+     */
+    private static Object render(Object value) {
+        if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        }
+        if (value instanceof Map) {
+            return Serializer.serialize(((Map<?, ?>) value).keySet());
+        }
+        return value;
+    }
+
+    /**
+     * The keys of mset(key1, value1, key2, value2, ...), joined when rendered.
+     */
+    private static class PairKeys {
+        private final String[] keysValues;
+
+        PairKeys(String[] keysValues) {
+            this.keysValues = keysValues;
+        }
+
+        @Override
+        public String toString() {
+            if (keysValues.length == 2) {
+                return keysValues[0];
+            }
+            StringBuilder keyBuilder = new StringBuilder();
+            keyBuilder.append(keysValues[0]);
+            for (int i = 2; i < keysValues.length; i += 2) {
+                keyBuilder.append(';').append(keysValues[i]);
+            }
+            return keyBuilder.toString();
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package io.arex.inst.jedis.v4;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.redis.common.RedisBatchExtractor;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JedisBatchTest {
+
+    @Test
+    void getAndRemove() {
+        Object owner = new Object();
+        Connection connection = Mockito.mock(Connection.class);
+        JedisBatch batch = JedisBatch.get(owner, connection, RedisBatchExtractor.PIPELINE);
+        assertSame(batch, JedisBatch.get(owner, connection, RedisBatchExtractor.PIPELINE));
+        assertSame(batch, JedisBatch.remove(owner));
+        assertNull(JedisBatch.remove(owner));
+    }
+
+    @Test
+    void commandAndKey() {
+        CommandObject<String> commandObject = getCommand("key1");
+        assertEquals("get", JedisBatch.command(commandObject));
+        assertEquals("key1", JedisBatch.key(commandObject));
+        assertNull(JedisBatch.key(new CommandObject<>(new CommandArguments(Protocol.Command.PING), BuilderFactory.STRING)));
+    }
+
+    @Test
+    void batchType() {
+        assertEquals(RedisBatchExtractor.PIPELINE, JedisBatch.batchType(Mockito.mock(Pipeline.class)));
+        assertEquals(RedisBatchExtractor.TRANSACTION, JedisBatch.batchType(Mockito.mock(Transaction.class)));
+    }
+
+    @Test
+    void record() {
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            JedisBatch batch = new JedisBatch(Mockito.mock(Connection.class), RedisBatchExtractor.PIPELINE);
+            Response<String> response = Mockito.mock(Response.class);
+            when(response.get()).thenReturn("value");
+            Response<String> errorResponse = Mockito.mock(Response.class);
+            JedisDataException exception = new JedisDataException("WRONGTYPE");
+            when(errorResponse.get()).thenThrow(exception);
+            batch.addCommand(getCommand("key1"), response);
+            batch.addCommand(getCommand("key2"), errorResponse);
+            batch.record();
+
+            RedisBatchExtractor extractor = mocked.constructed().get(0);
+            verify(extractor).addCommand("get", "key1", null);
+            verify(extractor).record(Arrays.asList("value", exception));
+        }
+    }
+
+    @Test
+    void replay() {
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            JedisBatch batch = new JedisBatch(Mockito.mock(Connection.class), RedisBatchExtractor.PIPELINE);
+            // nothing queued, send to redis
+            assertNull(batch.replay());
+
+            RedisBatchExtractor extractor = mocked.constructed().get(0);
+            when(extractor.ignoreMockResult()).thenReturn(true);
+            assertNull(batch.replayResponse(getCommand("key1")));
+
+            when(extractor.ignoreMockResult()).thenReturn(false);
+            Response<String> response1 = batch.replayResponse(getCommand("key1"));
+            Response<String> response2 = batch.replayResponse(getCommand("key2"));
+            JedisDataException exception = new JedisDataException("WRONGTYPE");
+            when(extractor.replay()).thenReturn(MockResult.success(Arrays.asList("value", exception)));
+
+            List<Object> results = batch.replay();
+            assertEquals(Arrays.asList("value", exception), results);
+            assertEquals("value", response1.get());
+            assertThrows(JedisDataException.class, response2::get);
+
+            // not recorded, the responses are completed with null
+            when(extractor.replay()).thenReturn(MockResult.success(null));
+            assertEquals(Arrays.asList(null, null), batch.replay());
+            assertNull(response1.get());
+        }
+    }
+
+    static CommandObject<String> getCommand(String key) {
+        return new CommandObject<>(new CommandArguments(Protocol.Command.GET).key(key), BuilderFactory.STRING);
+    }
+}
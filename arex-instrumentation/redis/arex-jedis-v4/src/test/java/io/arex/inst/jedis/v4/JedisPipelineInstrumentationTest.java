@@ -0,0 +1,123 @@
+package io.arex.inst.jedis.v4;
+
+import io.arex.inst.runtime.context.ContextManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JedisPipelineInstrumentationTest {
+    static JedisPipelineInstrumentation target;
+
+    @BeforeAll
+    static void setUp() {
+        target = new JedisPipelineInstrumentation();
+        Mockito.mockStatic(ContextManager.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        target = null;
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void typeMatcher() {
+        assertNotNull(target.typeMatcher());
+    }
+
+    @Test
+    void methodAdvices() {
+        assertEquals(3, target.methodAdvices().size());
+    }
+
+    @Test
+    void appendCommand() {
+        Pipeline pipeline = Mockito.mock(Pipeline.class);
+        Connection connection = Mockito.mock(Connection.class);
+        CommandObject<String> commandObject = JedisBatchTest.getCommand("key");
+        Response<?> response = Mockito.mock(Response.class);
+        JedisBatch batch = Mockito.mock(JedisBatch.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            mockBatch.when(() -> JedisBatch.get(any(), any(), any())).thenReturn(batch);
+            when(ContextManager.needReplay()).thenReturn(false);
+            assertNull(JedisPipelineInstrumentation.AppendCommandAdvice.onEnter(pipeline, connection, commandObject));
+
+            // record
+            when(ContextManager.needRecord()).thenReturn(true);
+            JedisPipelineInstrumentation.AppendCommandAdvice.onExit(pipeline, connection, commandObject, null, response);
+            verify(batch).addCommand(commandObject, response);
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            Response replayResponse = Mockito.mock(JedisReplayResponse.class);
+            when(batch.replayResponse(commandObject)).thenReturn(replayResponse);
+            assertSame(replayResponse, JedisPipelineInstrumentation.AppendCommandAdvice.onEnter(pipeline, connection, commandObject));
+            JedisPipelineInstrumentation.AppendCommandAdvice.onExit(pipeline, connection, commandObject, replayResponse, null);
+            verify(batch, times(1)).addCommand(any(), any());
+        }
+    }
+
+    @Test
+    void sync() {
+        Pipeline pipeline = Mockito.mock(Pipeline.class);
+        JedisBatch batch = Mockito.mock(JedisBatch.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            mockBatch.when(() -> JedisBatch.remove(pipeline)).thenReturn(batch);
+            // record
+            when(ContextManager.needReplay()).thenReturn(false);
+            when(ContextManager.needRecord()).thenReturn(true);
+            assertFalse(JedisPipelineInstrumentation.SyncAdvice.onEnter(pipeline));
+            JedisPipelineInstrumentation.SyncAdvice.onExit(pipeline, false);
+            verify(batch).record();
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            when(batch.replay()).thenReturn(null);
+            assertFalse(JedisPipelineInstrumentation.SyncAdvice.onEnter(pipeline));
+            when(batch.replay()).thenReturn(Collections.emptyList());
+            assertTrue(JedisPipelineInstrumentation.SyncAdvice.onEnter(pipeline));
+            JedisPipelineInstrumentation.SyncAdvice.onExit(pipeline, true);
+            verify(batch, times(1)).record();
+        }
+    }
+
+    @Test
+    void syncAndReturnAll() {
+        Pipeline pipeline = Mockito.mock(Pipeline.class);
+        JedisBatch batch = Mockito.mock(JedisBatch.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            // record
+            when(ContextManager.needReplay()).thenReturn(false);
+            when(ContextManager.needRecord()).thenReturn(true);
+            assertNull(JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onEnter(pipeline));
+            JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onExit(pipeline, null, null);
+            mockBatch.when(() -> JedisBatch.remove(pipeline)).thenReturn(batch);
+            JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onExit(pipeline, null, null);
+            verify(batch).record();
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            List<Object> results = Collections.singletonList("value");
+            when(batch.replay()).thenReturn(results);
+            assertSame(results, JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onEnter(pipeline));
+            JedisPipelineInstrumentation.SyncAndReturnAllAdvice.onExit(pipeline, results, null);
+            verify(batch, times(1)).record();
+        }
+    }
+}
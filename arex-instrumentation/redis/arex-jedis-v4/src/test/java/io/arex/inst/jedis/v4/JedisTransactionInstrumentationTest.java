@@ -0,0 +1,73 @@
+package io.arex.inst.jedis.v4;
+
+import io.arex.inst.runtime.context.ContextManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import redis.clients.jedis.Transaction;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JedisTransactionInstrumentationTest {
+    static JedisTransactionInstrumentation target;
+
+    @BeforeAll
+    static void setUp() {
+        target = new JedisTransactionInstrumentation();
+        Mockito.mockStatic(ContextManager.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        target = null;
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void typeMatcher() {
+        assertNotNull(target.typeMatcher());
+    }
+
+    @Test
+    void methodAdvices() {
+        assertEquals(3, target.methodAdvices().size());
+    }
+
+    @Test
+    void exec() {
+        Transaction transaction = Mockito.mock(Transaction.class);
+        JedisBatch batch = Mockito.mock(JedisBatch.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            // no batch
+            JedisTransactionInstrumentation.ExecAdvice.onExit(transaction, null);
+
+            mockBatch.when(() -> JedisBatch.remove(transaction)).thenReturn(batch);
+            // record, aborted transaction not recorded
+            when(ContextManager.needRecord()).thenReturn(true);
+            JedisTransactionInstrumentation.ExecAdvice.onExit(transaction, null);
+            verify(batch, never()).record();
+            JedisTransactionInstrumentation.ExecAdvice.onExit(transaction, Collections.emptyList());
+            verify(batch).record();
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            JedisTransactionInstrumentation.ExecAdvice.onExit(transaction, Collections.emptyList());
+            verify(batch).replay();
+        }
+    }
+
+    @Test
+    void discard() {
+        Transaction transaction = Mockito.mock(Transaction.class);
+        try (MockedStatic<JedisBatch> mockBatch = Mockito.mockStatic(JedisBatch.class)) {
+            JedisTransactionInstrumentation.DiscardAdvice.onExit(transaction);
+            mockBatch.verify(() -> JedisBatch.remove(transaction));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.arex.inst.jedis.v4;
 import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.redis.common.RedisExtractor;
 import io.arex.inst.runtime.context.ContextManager;
+import io.arex.inst.runtime.serializer.Serializer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,11 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import redis.clients.jedis.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -94,6 +100,7 @@ class JedisWrapperTest {
 
     static Stream<Arguments> callCase() {
         Runnable mocker1 = () -> {
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
             Mockito.when(ContextManager.needReplay()).thenReturn(true);
         };
         Runnable mocker2 = () -> {
@@ -102,6 +109,7 @@ class JedisWrapperTest {
             Mockito.when(connection.executeCommand(any(CommandObject.class))).thenThrow(new NullPointerException());
         };
         Runnable mocker3 = () -> {
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
             Mockito.when(connection.executeCommand(any(CommandObject.class))).thenReturn("mock");
         };
         Predicate<String> predicate1 = Objects::isNull;
@@ -112,4 +120,33 @@ class JedisWrapperTest {
                 arguments(mocker3, predicate2)
         );
     }
+
+    @Test
+    void renderKeysOnlyWhenRecordOrReplay() {
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+        Mockito.when(connection.executeCommand(any(CommandObject.class))).thenReturn(1L);
+        List<List<?>> arguments = new ArrayList<>();
+        try (MockedConstruction<RedisExtractor> ignored = Mockito.mockConstruction(RedisExtractor.class,
+                (mock, context) -> arguments.add(context.arguments()));
+             MockedStatic<Serializer> serializer = Mockito.mockStatic(Serializer.class)) {
+            target.del("key".getBytes(StandardCharsets.UTF_8));
+            assertTrue(arguments.isEmpty());
+
+            Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(true);
+            Mockito.when(ContextManager.needReplay()).thenReturn(false);
+            Mockito.when(ContextManager.needRecord()).thenReturn(true);
+            serializer.when(() -> Serializer.serialize(Collections.singleton("field"))).thenReturn("[\"field\"]");
+            target.del("key".getBytes(StandardCharsets.UTF_8));
+            target.hset("key", Collections.singletonMap("field", "value"));
+            target.setrange("key", 2, "value");
+            target.msetnx("key1", "value1", "key2", "value2");
+        }
+        assertEquals(Arrays.asList("del", "a2V5", null), arguments.get(0).subList(1, 4));
+        assertEquals(Arrays.asList("hset", "key", "[\"field\"]"), arguments.get(1).subList(1, 4));
+        assertEquals("setrange", arguments.get(2).get(1));
+        assertEquals(Arrays.asList("offset", 2L), Arrays.asList((Object[]) arguments.get(2).get(3)));
+        assertEquals("key1;key2", arguments.get(3).get(2).toString());
+        Mockito.when(ContextManager.needRecord()).thenReturn(false);
+        Mockito.when(ContextManager.needRecordOrReplay()).thenReturn(false);
+    }
 }
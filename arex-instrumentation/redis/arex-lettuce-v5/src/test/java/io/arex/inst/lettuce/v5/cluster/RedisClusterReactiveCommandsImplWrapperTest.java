@@ -29,6 +29,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
@@ -106,6 +107,7 @@ class RedisClusterReactiveCommandsImplWrapperTest {
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class,
             (extractor, context) -> {
                 Mockito.when(extractor.replay()).thenReturn(mockResult);
+                Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
                 Mockito.doNothing().when(extractor).record(any());
             })) {
             getMonoDispathList().forEach(res -> assertTrue(predicate.test(res)));
@@ -120,6 +122,7 @@ class RedisClusterReactiveCommandsImplWrapperTest {
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class,
             (extractor, context) -> {
                 Mockito.when(extractor.replay()).thenReturn(mockResult);
+                Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
                 Mockito.doNothing().when(extractor).record(any());
             })) {
             getFluxDispatchList().forEach(res -> assertTrue(predicate.test(res)));
@@ -26,6 +26,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
@@ -90,6 +91,7 @@ class RedisAsyncCommandsImplWrapperTest {
         mocker.run();
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class, (extractor, context) -> {
             Mockito.when(extractor.replay()).thenReturn(mockResult);
+            Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
             Mockito.doNothing().when(extractor).record(any());
         })) {
             getRedisFutureList().forEach(res ->
@@ -28,6 +28,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
@@ -102,6 +103,7 @@ class RedisReactiveCommandsImplWrapperTest {
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class,
             (extractor, context) -> {
                 Mockito.when(extractor.replay()).thenReturn(mockResult);
+                Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
                 Mockito.doNothing().when(extractor).record(any());
             })) {
             getMonoDispatchList().forEach(res -> assertTrue(predicate.test(res)));
@@ -115,6 +117,7 @@ class RedisReactiveCommandsImplWrapperTest {
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class,
             (extractor, context) -> {
                 Mockito.when(extractor.replay()).thenReturn(mockResult);
+                Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
                 Mockito.doNothing().when(extractor).record(any());
             })) {
             getFluxDispatchList().forEach(res -> assertTrue(predicate.test(res)));
@@ -28,6 +28,7 @@ public class LettuceModuleInstrumentation extends ModuleInstrumentation {
             new StatefulRedisConnectionImplInstrumentation(),
             new RedisClientInstrumentation(),
             new StatefulRedisClusterConnectionImplInstrumentation(),
-            new RedisClusterClientInstrumentation());
+            new RedisClusterClientInstrumentation(),
+            new RedisChannelHandlerInstrumentation());
     }
 }
@@ -0,0 +1,53 @@
+package io.arex.inst.lettuce.v6;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.redis.common.lettuce.LettuceBatch;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+/**
+ * RedisChannelHandlerInstrumentation, the commands of a standalone or cluster connection
+ * dispatched between setAutoFlushCommands(false) and flushCommands are recorded as one pipeline
+ */
+public class RedisChannelHandlerInstrumentation extends TypeInstrumentation {
+    @Override
+    protected ElementMatcher<TypeDescription> typeMatcher() {
+        return named("io.lettuce.core.RedisChannelHandler");
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return Arrays.asList(
+            new MethodInstrumentation(named("setAutoFlushCommands").and(takesArguments(1)),
+                SetAutoFlushCommandsAdvice.class.getName()),
+            new MethodInstrumentation(named("flushCommands").and(takesArguments(0)),
+                FlushCommandsAdvice.class.getName()));
+    }
+
+    public static class SetAutoFlushCommandsAdvice {
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object connection, @Advice.Argument(0) boolean autoFlush) {
+            LettuceBatch.onAutoFlushCommands(connection, autoFlush);
+        }
+
+        private SetAutoFlushCommandsAdvice() {
+        }
+    }
+
+    public static class FlushCommandsAdvice {
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object connection) {
+            LettuceBatch.onFlushCommands(connection);
+        }
+
+        private FlushCommandsAdvice() {
+        }
+    }
+}
@@ -19,6 +19,6 @@ class LettuceModuleInstrumentationTest {
 
     @Test
     void instrumentationTypes() {
-        assert instrumentation.instrumentationTypes().size() == 4;
+        assert instrumentation.instrumentationTypes().size() == 5;
     }
 }
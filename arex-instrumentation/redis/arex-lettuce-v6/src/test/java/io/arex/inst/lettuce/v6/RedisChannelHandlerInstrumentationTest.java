@@ -0,0 +1,45 @@
+package io.arex.inst.lettuce.v6;
+
+import io.arex.inst.redis.common.lettuce.LettuceBatch;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisChannelHandlerInstrumentationTest {
+    static RedisChannelHandlerInstrumentation target = null;
+
+    @BeforeAll
+    static void setUp() {
+        target = new RedisChannelHandlerInstrumentation();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        target = null;
+    }
+
+    @Test
+    void typeMatcher() {
+        assertNotNull(target.typeMatcher());
+    }
+
+    @Test
+    void methodAdvices() {
+        assertEquals(2, target.methodAdvices().size());
+    }
+
+    @Test
+    void onExit() {
+        Object connection = new Object();
+        try (MockedStatic<LettuceBatch> mockBatch = Mockito.mockStatic(LettuceBatch.class)) {
+            RedisChannelHandlerInstrumentation.SetAutoFlushCommandsAdvice.onExit(connection, false);
+            mockBatch.verify(() -> LettuceBatch.onAutoFlushCommands(connection, false));
+            RedisChannelHandlerInstrumentation.FlushCommandsAdvice.onExit(connection);
+            mockBatch.verify(() -> LettuceBatch.onFlushCommands(connection));
+        }
+    }
+}
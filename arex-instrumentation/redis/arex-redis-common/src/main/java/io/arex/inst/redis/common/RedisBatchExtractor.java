@@ -0,0 +1,156 @@
+package io.arex.inst.redis.common;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.agent.bootstrap.util.CollectionUtil;
+import io.arex.inst.runtime.serializer.Serializer;
+import io.arex.inst.runtime.util.IgnoreUtils;
+import io.arex.inst.runtime.util.MockUtils;
+import io.arex.inst.runtime.util.TypeUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Record and replay the commands of a pipeline or a transaction (MULTI/EXEC) as one redis mocker,
+ * the response keeps the result of each command in the order the commands were sent.
+ */
+public class RedisBatchExtractor {
+    public static final String PIPELINE = "pipeline";
+    public static final String TRANSACTION = "transaction";
+    private static final String RESULT_TYPES = "resultTypes";
+
+    private final String clusterName;
+    private final String batchType;
+    private final List<RedisBatchCommand> commands = new ArrayList<>();
+
+    public RedisBatchExtractor(String url, String batchType) {
+        this.clusterName = RedisExtractor.RedisCluster.get(url);
+        this.batchType = batchType;
+    }
+
+    public static class RedisBatchCommand {
+        private String command;
+        private Object key;
+        private Object field;
+
+        public RedisBatchCommand() {}
+
+        public RedisBatchCommand(String command, Object key, Object field) {
+            this.command = command;
+            this.key = key;
+            this.field = field;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+
+        public void setCommand(String command) {
+            this.command = command;
+        }
+
+        public Object getKey() {
+            return key;
+        }
+
+        public void setKey(Object key) {
+            this.key = key;
+        }
+
+        public Object getField() {
+            return field;
+        }
+
+        public void setField(Object field) {
+            this.field = field;
+        }
+    }
+
+    public void addCommand(String command, Object key, Object field) {
+        commands.add(new RedisBatchCommand(command, key, field));
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    public void clear() {
+        commands.clear();
+    }
+
+    /**
+     * @return true if the batch should be sent to redis instead of replayed
+     */
+    public boolean ignoreMockResult() {
+        return IgnoreUtils.ignoreMockResult(clusterName, batchType);
+    }
+
+    /**
+     * @param results the result (or the exception) of each command, in the order of the commands
+     */
+    public void record(List<Object> results) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        List<String> resultBodies = new ArrayList<>(results.size());
+        List<String> resultTypes = new ArrayList<>(results.size());
+        for (Object result : results) {
+            resultBodies.add(Serializer.serialize(result));
+            resultTypes.add(TypeUtil.getName(result));
+        }
+        Mocker mocker = makeMocker();
+        mocker.getTargetResponse().setBody(Serializer.serialize(resultBodies));
+        mocker.getTargetResponse().setType(TypeUtil.getName(resultBodies));
+        mocker.getTargetResponse().setAttribute(RESULT_TYPES, resultTypes);
+        MockUtils.recordMocker(mocker);
+    }
+
+    /**
+     * Replay all commands of the batch with one lookup.
+     * @return the result of each command, null result if the batch was not recorded or the size not match
+     */
+    public MockResult replay() {
+        boolean ignoreResult = ignoreMockResult();
+        return toMockResult(MockUtils.replayMocker(makeMocker()), ignoreResult);
+    }
+
+    /**
+     * Replay without blocking the calling thread (eg: the event loop of an asynchronous client)
+     */
+    public CompletableFuture<MockResult> replayAsync() {
+        boolean ignoreResult = ignoreMockResult();
+        return MockUtils.replayMockerAsync(makeMocker())
+                .thenApply(responseMocker -> toMockResult(responseMocker, ignoreResult));
+    }
+
+    private MockResult toMockResult(Mocker responseMocker, boolean ignoreResult) {
+        if (!MockUtils.checkResponseMocker(responseMocker)) {
+            return MockResult.success(ignoreResult, null);
+        }
+        Mocker.Target response = responseMocker.getTargetResponse();
+        List<String> resultBodies = Serializer.deserialize(response.getBody(), response.getType());
+        Object resultTypes = response.getAttribute(RESULT_TYPES);
+        if (resultBodies == null || resultBodies.size() != commands.size() || !(resultTypes instanceof List)
+                || ((List<?>) resultTypes).size() != resultBodies.size()) {
+            return MockResult.success(ignoreResult, null);
+        }
+        List<?> types = (List<?>) resultTypes;
+        List<Object> results = new ArrayList<>(resultBodies.size());
+        for (int i = 0; i < resultBodies.size(); i++) {
+            Object type = types.get(i);
+            results.add(type == null ? null : Serializer.deserialize(resultBodies.get(i), String.valueOf(type)));
+        }
+        return MockResult.success(ignoreResult, results);
+    }
+
+    private Mocker makeMocker() {
+        Mocker mocker = MockUtils.createRedis(this.batchType);
+        mocker.setNeedMerge(true);
+        mocker.getTargetRequest().setBody(Serializer.serialize(commands));
+        mocker.getTargetRequest().setAttribute("clusterName", this.clusterName);
+        mocker.getTargetRequest().setType(TypeUtil.getName(CollectionUtil.newArrayList(this.batchType)));
+        return mocker;
+    }
+}
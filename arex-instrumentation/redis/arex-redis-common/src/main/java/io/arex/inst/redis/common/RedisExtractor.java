@@ -9,6 +9,7 @@ import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
 import io.arex.inst.runtime.util.TypeUtil;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -17,14 +18,18 @@ public class RedisExtractor {
 
     private final String clusterName;
     private final String command;
-    private final Object key;
-    private final Object field;
+    private final String key;
+    private final String field;
 
+    /**
+     * @param key raw key, rendered by {@link RedisKeyUtil#render(Object)} now that the command is recorded or replayed
+     * @param field raw field, rendered the same way
+     */
     public RedisExtractor(String url, String method, Object key, Object field) {
         this.clusterName = RedisCluster.get(url);
         this.command = method;
-        this.key = key;
-        this.field = field;
+        this.key = RedisKeyUtil.render(key);
+        this.field = RedisKeyUtil.render(field);
     }
 
     public static class RedisMultiKey {
@@ -67,10 +72,21 @@ public class RedisExtractor {
         MockUtils.recordMocker(makeMocker(response));
     }
 
+    public boolean ignoreMockResult() {
+        return IgnoreUtils.ignoreMockResult(clusterName, command);
+    }
+
     public MockResult replay() {
-        boolean ignoreResult = IgnoreUtils.ignoreMockResult(clusterName, command);
-        Object replayBody = MockUtils.replayBody(makeMocker(null));
-        return MockResult.success(ignoreResult, replayBody);
+        boolean ignoreResult = ignoreMockResult();
+        return MockUtils.replayResult(makeMocker(null), ignoreResult);
+    }
+
+    /**
+     * Replay without blocking the calling thread (eg: the event loop of an asynchronous client)
+     */
+    public CompletableFuture<MockResult> replayAsync() {
+        boolean ignoreResult = ignoreMockResult();
+        return MockUtils.replayResultAsync(makeMocker(null), ignoreResult, null);
     }
 
     private Mocker makeMocker(Object response) {
@@ -1,11 +1,31 @@
 package io.arex.inst.redis.common;
 
-
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.Map;
 
 public class RedisKeyUtil {
 
+    /**
+     * Render the raw key or field passed by a client wrapper, deferred until the command is recorded or replayed.
+     * @param value a single key, a key array, an iterable of keys or a map whose keys are used
+     */
+    public static String render(Object value) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        if (value instanceof Object[]) {
+            return generate((Object[]) value);
+        }
+        if (value instanceof Iterable) {
+            return generate((Iterable<?>) value);
+        }
+        if (value instanceof Map) {
+            return generate((Map<?, ?>) value);
+        }
+        return toString(value);
+    }
+
     public static <K> String generate(Iterable<K> keys) {
         StringBuilder builder = new StringBuilder();
         Iterator<K> iterator = keys.iterator();
@@ -51,7 +71,7 @@ public class RedisKeyUtil {
 
     private static <K> String toString(K value) {
         if (value instanceof byte[]) {
-            return new String((byte[]) value);
+            return new String((byte[]) value, StandardCharsets.UTF_8);
         }
 
         if (value instanceof char[]) {
@@ -0,0 +1,151 @@
+package io.arex.inst.redis.common.lettuce;
+
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
+import io.arex.inst.redis.common.RedisBatchExtractor;
+import io.arex.inst.redis.common.RedisKeyUtil;
+import io.arex.inst.runtime.context.ContextManager;
+import io.lettuce.core.AbstractRedisAsyncCommands;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.RedisCommand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The commands dispatched on a connection while its auto flush is disabled, they are sent together by flushCommands.
+ * As the pipeline of jedis, they are recorded as one mocker once all of them completed,
+ * and replayed with one lookup on flushCommands without sending to redis.
+ */
+public class LettuceBatch {
+    private static final Map<Object, LettuceBatch> BATCHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * created with the uri of the first command
+     */
+    private RedisBatchExtractor extractor;
+    private final List<AsyncCommand<?, ?, ?>> commands = new ArrayList<>();
+    private boolean replay;
+    private boolean flushed;
+
+    LettuceBatch() {
+    }
+
+    /**
+     * @param connection the connection of the commands, a RedisChannelHandler
+     * @return null if the auto flush of the connection is enabled
+     */
+    public static LettuceBatch get(Object connection) {
+        return BATCHES.get(connection);
+    }
+
+    /**
+     * Enabling the auto flush again flushes the commands queued before.
+     */
+    public static void onAutoFlushCommands(Object connection, boolean autoFlush) {
+        if (!autoFlush) {
+            BATCHES.putIfAbsent(connection, new LettuceBatch());
+            return;
+        }
+        LettuceBatch batch = BATCHES.remove(connection);
+        if (batch != null) {
+            batch.flush();
+        }
+    }
+
+    public static void onFlushCommands(Object connection) {
+        LettuceBatch batch;
+        synchronized (BATCHES) {
+            batch = BATCHES.get(connection);
+            if (batch == null) {
+                return;
+            }
+            BATCHES.put(connection, new LettuceBatch());
+        }
+        batch.flush();
+    }
+
+    /**
+     * @param key raw key(s), rendered before the caller can reuse the arguments
+     * @return null if the batch was flushed by another thread, the command is dispatched alone
+     */
+    public synchronized <K, V, T> AsyncCommand<K, V, T> dispatch(AbstractRedisAsyncCommands<K, V> asyncCommands,
+        String redisUri, RedisCommand<K, V, T> cmd, Object key, Object field) {
+        if (flushed) {
+            return null;
+        }
+        if (extractor == null) {
+            extractor = new RedisBatchExtractor(redisUri, RedisBatchExtractor.PIPELINE);
+        }
+        if (ContextManager.needReplay() && !extractor.ignoreMockResult()) {
+            AsyncCommand<K, V, T> asyncCommand = new AsyncCommand<>(cmd);
+            addCommand(cmd, key, field, asyncCommand);
+            replay = true;
+            return asyncCommand;
+        }
+        AsyncCommand<K, V, T> asyncCommand = asyncCommands.dispatch(cmd);
+        if (ContextManager.needRecord()) {
+            addCommand(cmd, key, field, asyncCommand);
+        }
+        return asyncCommand;
+    }
+
+    private void addCommand(RedisCommand<?, ?, ?> cmd, Object key, Object field, AsyncCommand<?, ?, ?> asyncCommand) {
+        extractor.addCommand(cmd.getType().name(), RedisKeyUtil.render(key), RedisKeyUtil.render(field));
+        commands.add(asyncCommand);
+    }
+
+    synchronized void flush() {
+        flushed = true;
+        if (commands.isEmpty()) {
+            return;
+        }
+        if (replay) {
+            // complete the commands when the mock data arrives, not block the caller (maybe an event loop)
+            extractor.replayAsync().whenComplete((mockResult, throwable) -> {
+                List<?> results = throwable == null && mockResult.getResult() instanceof List ?
+                    (List<?>) mockResult.getResult() : null;
+                for (int i = 0; i < commands.size(); i++) {
+                    complete(commands.get(i), throwable != null ? throwable : results == null ? null : results.get(i));
+                }
+            });
+            return;
+        }
+        try (TraceTransmitter traceTransmitter = TraceTransmitter.create()) {
+            CompletableFuture.allOf(commands.toArray(new CompletableFuture[0])).whenComplete((v, throwable) -> {
+                traceTransmitter.transmit();
+                List<Object> results = new ArrayList<>(commands.size());
+                for (AsyncCommand<?, ?, ?> command : commands) {
+                    results.add(result(command));
+                }
+                extractor.record(results);
+            });
+        }
+    }
+
+    private static void complete(AsyncCommand<?, ?, ?> command, Object result) {
+        if (result instanceof Throwable) {
+            command.completeExceptionally((Throwable) result);
+        } else {
+            ((CompletableFuture<Object>) (CompletableFuture<?>) command).complete(result);
+        }
+    }
+
+    /**
+     * @return the value of the completed command, or the exception it completed with
+     */
+    private static Object result(AsyncCommand<?, ?, ?> command) {
+        try {
+            return command.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        } catch (CancellationException e) {
+            return e;
+        }
+    }
+}
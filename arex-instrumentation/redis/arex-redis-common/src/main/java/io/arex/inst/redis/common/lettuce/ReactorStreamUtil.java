@@ -1,6 +1,5 @@
 package io.arex.inst.redis.common.lettuce;
 
-import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.common.util.FluxRecordFunction;
 import io.arex.inst.common.util.FluxReplayUtil;
 import io.arex.inst.common.util.FluxReplayUtil.FluxResult;
@@ -15,7 +14,7 @@ public  class ReactorStreamUtil {
     private ReactorStreamUtil() {
     }
 
-    public static Mono<?> monoRecord(String redisUri,Mono<?> monoResult,String methodName,String key,String field) {
+    public static Mono<?> monoRecord(String redisUri,Mono<?> monoResult,String methodName,Object key,Object field) {
         RedisExtractor extractor = new RedisExtractor(redisUri, methodName, key, field);
         Function<Object,Void> executor = result -> {
             extractor.record(result);
@@ -24,19 +23,23 @@ public  class ReactorStreamUtil {
         return new MonoRecordFunction(executor).apply(monoResult);
     }
 
-    public static Mono<?> monoReplay(String redisUri,String methodName,String key,String field) {
+    /**
+     * The mock is queried when the replay is created, as the command would be sent, without blocking the caller
+     */
+    public static Mono<?> monoReplay(String redisUri,String methodName,Object key,Object field) {
         RedisExtractor extractor = new RedisExtractor(redisUri, methodName, key, field);
-        MockResult mockResult = extractor.replay();
-        if (mockResult.notIgnoreMockResult()) {
-            if (mockResult.getThrowable() != null) {
-                return Mono.error(mockResult.getThrowable());
+        return Mono.fromFuture(extractor.replayAsync()).flatMap(mockResult -> {
+            if (mockResult.notIgnoreMockResult()) {
+                if (mockResult.getThrowable() != null) {
+                    return Mono.error(mockResult.getThrowable());
+                }
+                return Mono.justOrEmpty(mockResult.getResult());
             }
-            return Mono.justOrEmpty(mockResult.getResult());
-        }
-        return Mono.empty();
+            return Mono.empty();
+        });
     }
 
-    public static Flux<?> fluxRecord(String redisUri,Flux<?> fluxResult,String methodName,String key,String field) {
+    public static Flux<?> fluxRecord(String redisUri,Flux<?> fluxResult,String methodName,Object key,Object field) {
         RedisExtractor extractor = new RedisExtractor(redisUri, methodName, key, field);
         Function<FluxResult,Void> executor = result -> {
             extractor.record(result);
@@ -45,15 +48,16 @@ public  class ReactorStreamUtil {
         return new FluxRecordFunction(executor).apply(fluxResult);
     }
 
-    public static Flux<?> fluxReplay(String redisUri,String methodName,String key,String field) {
+    public static Flux<?> fluxReplay(String redisUri,String methodName,Object key,Object field) {
         RedisExtractor extractor = new RedisExtractor(redisUri, methodName, key, field);
-        MockResult mockResult = extractor.replay();
-        if (mockResult.notIgnoreMockResult()) {
-            if (mockResult.getThrowable() != null) {
-                return Flux.error(mockResult.getThrowable());
+        return Mono.fromFuture(extractor.replayAsync()).flatMapMany(mockResult -> {
+            if (mockResult.notIgnoreMockResult()) {
+                if (mockResult.getThrowable() != null) {
+                    return Flux.error(mockResult.getThrowable());
+                }
+                return FluxReplayUtil.restore(mockResult.getResult());
             }
-            return FluxReplayUtil.restore(mockResult.getResult());
-        }
-        return Flux.empty();
+            return Flux.empty();
+        });
     }
 }
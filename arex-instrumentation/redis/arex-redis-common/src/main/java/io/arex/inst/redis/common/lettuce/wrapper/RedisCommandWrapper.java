@@ -1,9 +1,9 @@
 package io.arex.inst.redis.common.lettuce.wrapper;
 
 import io.arex.agent.bootstrap.ctx.TraceTransmitter;
-import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.redis.common.RedisExtractor;
 import io.arex.inst.redis.common.RedisKeyUtil;
+import io.arex.inst.redis.common.lettuce.LettuceBatch;
 import io.arex.inst.redis.common.lettuce.RedisCommandBuilderImpl;
 import io.arex.inst.runtime.context.ContextManager;
 import io.lettuce.core.AbstractRedisAsyncCommands;
@@ -46,56 +46,56 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<Long> append(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, V value) {
         RedisCommand<K, V, Long> cmd = commandBuilder.append(key, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> decr(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         RedisCommand<K, V, Long> cmd = commandBuilder.decr(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> decrby(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long amount) {
         RedisCommand<K, V, Long> cmd = commandBuilder.decrby(key, amount);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> del(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K... keys) {
         Command<K, V, Long> cmd = commandBuilder.del(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> del(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         Iterable<K> keys) {
         Command<K, V, Long> cmd = commandBuilder.del(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> exists(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K... keys) {
         Command<K, V, Long> cmd = commandBuilder.exists(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> exists(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         Iterable<K> keys) {
         Command<K, V, Long> cmd = commandBuilder.exists(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Boolean> expire(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long seconds) {
         Command<K, V, Boolean> cmd = commandBuilder.expire(key, seconds);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
@@ -109,7 +109,7 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<Boolean> expireat(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long timestamp) {
         Command<K, V, Boolean> cmd = commandBuilder.expireat(key, timestamp);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
@@ -130,208 +130,208 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<V> get(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         RedisCommand<K, V, V> cmd = commandBuilder.get(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> getbit(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long offset) {
         Command<K, V, Long> cmd = commandBuilder.getbit(key, offset);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
     public RedisFuture<V> getdel(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, V> cmd = commandBuilder.getdel(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
     public RedisFuture<V> getex(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, GetExArgs args) {
         Command<K, V, V> cmd = commandBuilder.getex(key, args);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<V> getrange(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long start, long end) {
         Command<K, V, V> cmd = commandBuilder.getrange(key, start, end);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<V> getset(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, V value) {
         Command<K, V, V> cmd = commandBuilder.getset(key, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> hdel(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, K... fields) {
         Command<K, V, Long> cmd = commandBuilder.hdel(key, fields);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), RedisKeyUtil.generate(fields));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, fields);
     }
 
 
     public RedisFuture<Boolean> hexists(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, K field) {
         Command<K, V, Boolean> cmd = commandBuilder.hexists(key, field);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), String.valueOf(field));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, field);
     }
 
 
     public RedisFuture<V> hget(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, K field) {
         Command<K, V, V> cmd = commandBuilder.hget(key, field);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), String.valueOf(field));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, field);
     }
 
 
     public RedisFuture<Map<K, V>> hgetall(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, Map<K, V>> cmd = commandBuilder.hgetall(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> hgetall(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         KeyValueStreamingChannel<K, V> channel, K key) {
         Command<K, V, Long> cmd = commandBuilder.hgetall(channel, key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> hincrby(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, K field, long amount) {
         Command<K, V, Long> cmd = commandBuilder.hincrby(key, field, amount);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), String.valueOf(field));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, field);
     }
 
 
     public RedisFuture<Double> hincrbyfloat(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
         String redisUri, K key, K field, double amount) {
         Command<K, V, Double> cmd = commandBuilder.hincrbyfloat(key, field, amount);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), String.valueOf(field));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, field);
     }
 
 
     public RedisFuture<List<K>> hkeys(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, List<K>> cmd = commandBuilder.hkeys(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> hkeys(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         KeyStreamingChannel<K> channel, K key) {
         Command<K, V, Long> cmd = commandBuilder.hkeys(channel, key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> hlen(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, Long> cmd = commandBuilder.hlen(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<List<KeyValue<K, V>>> hmget(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
         String redisUri, K key, K... fields) {
         Command<K, V, List<KeyValue<K, V>>> cmd = commandBuilder.hmgetKeyValue(key, fields);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), RedisKeyUtil.generate(fields));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, fields);
     }
 
 
     public RedisFuture<Long> hmget(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         KeyValueStreamingChannel<K, V> channel, K key, K... fields) {
         Command<K, V, Long> cmd = commandBuilder.hmget(channel, key, fields);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), RedisKeyUtil.generate(fields));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, fields);
     }
 
 
     public RedisFuture<String> hmset(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, Map<K, V> map) {
         Command<K, V, String> cmd = commandBuilder.hmset(key, map);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), RedisKeyUtil.generate(map));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, map);
     }
 
 
     public RedisFuture<Boolean> hset(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, K field, V value) {
         Command<K, V, Boolean> cmd = commandBuilder.hset(key, field, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), String.valueOf(field));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, field);
     }
 
 
     public RedisFuture<Long> hset(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, Map<K, V> map) {
         Command<K, V, Long> cmd = commandBuilder.hset(key, map);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), RedisKeyUtil.generate(map));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, map);
     }
 
 
     public RedisFuture<Boolean> hsetnx(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, K field, V value) {
         Command<K, V, Boolean> cmd = commandBuilder.hsetnx(key, field, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key), String.valueOf(field));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, field);
     }
 
 
     public RedisFuture<List<V>> hvals(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, List<V>> cmd = commandBuilder.hvals(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> hvals(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         ValueStreamingChannel<V> channel, K key) {
         Command<K, V, Long> cmd = commandBuilder.hvals(channel, key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> incr(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, Long> cmd = commandBuilder.incr(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> incrby(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long amount) {
         Command<K, V, Long> cmd = commandBuilder.incrby(key, amount);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Double> incrbyfloat(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, double amount) {
         Command<K, V, Double> cmd = commandBuilder.incrbyfloat(key, amount);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<List<K>> keys(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K pattern) {
         Command<K, V, List<K>> cmd = commandBuilder.keys(pattern);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(pattern));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, pattern);
     }
 
 
     public RedisFuture<Long> keys(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         KeyStreamingChannel<K> channel, K pattern) {
         Command<K, V, Long> cmd = commandBuilder.keys(channel, pattern);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(pattern));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, pattern);
     }
 
 
     public RedisFuture<V> lindex(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long index) {
         Command<K, V, V> cmd = commandBuilder.lindex(key, index);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key),
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key,
             RedisKeyUtil.generate(INDEX, String.valueOf(index)));
     }
 
@@ -339,28 +339,28 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<Long> llen(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, Long> cmd = commandBuilder.llen(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<V> lpop(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, V> cmd = commandBuilder.lpop(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<List<V>> lpop(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long count) {
         Command<K, V, List<V>> cmd = commandBuilder.lpop(key, count);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<List<V>> lrange(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long start, long stop) {
         Command<K, V, List<V>> cmd = commandBuilder.lrange(key, start, stop);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key),
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key,
             RedisKeyUtil.generate(START, String.valueOf(start), STOP, String.valueOf(stop)));
     }
 
@@ -368,7 +368,7 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<Long> lrange(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         ValueStreamingChannel<V> channel, K key, long start, long stop) {
         Command<K, V, Long> cmd = commandBuilder.lrange(channel, key, start, stop);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key),
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key,
             RedisKeyUtil.generate(START, String.valueOf(start), STOP, String.valueOf(stop)));
     }
 
@@ -376,7 +376,7 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<String> lset(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long index, V value) {
         Command<K, V, String> cmd = commandBuilder.lset(key, index, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key),
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key,
             RedisKeyUtil.generate(INDEX, String.valueOf(index)));
     }
 
@@ -384,7 +384,7 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<String> ltrim(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long start, long stop) {
         Command<K, V, String> cmd = commandBuilder.ltrim(key, start, stop);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key),
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key,
             RedisKeyUtil.generate(START, String.valueOf(start), STOP, String.valueOf(stop)));
     }
 
@@ -392,56 +392,56 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<List<KeyValue<K, V>>> mget(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
         String redisUri, K... keys) {
         Command<K, V, List<KeyValue<K, V>>> cmd = commandBuilder.mgetKeyValue(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<List<KeyValue<K, V>>> mget(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
         String redisUri, Iterable<K> keys) {
         Command<K, V, List<KeyValue<K, V>>> cmd = commandBuilder.mgetKeyValue(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> mget(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         KeyValueStreamingChannel<K, V> channel, K... keys) {
         Command<K, V, Long> cmd = commandBuilder.mget(channel, keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> mget(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         KeyValueStreamingChannel<K, V> channel, Iterable<K> keys) {
         Command<K, V, Long> cmd = commandBuilder.mget(channel, keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<String> mset(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         Map<K, V> map) {
         Command<K, V, String> cmd = commandBuilder.mset(map);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(map));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, map);
     }
 
 
     public RedisFuture<Boolean> msetnx(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         Map<K, V> map) {
         Command<K, V, Boolean> cmd = commandBuilder.msetnx(map);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(map));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, map);
     }
 
 
     public RedisFuture<Boolean> persist(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, Boolean> cmd = commandBuilder.persist(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Boolean> pexpire(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long milliseconds) {
         Command<K, V, Boolean> cmd = commandBuilder.pexpire(key, milliseconds);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
@@ -469,21 +469,21 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<Boolean> pexpireat(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long timestamp) {
         Command<K, V, Boolean> cmd = commandBuilder.pexpireat(key, timestamp);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<String> psetex(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long milliseconds, V value) {
         Command<K, V, String> cmd = commandBuilder.psetex(key, milliseconds, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> pttl(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, Long> cmd = commandBuilder.pttl(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
@@ -504,91 +504,91 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<V> rpop(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, V> cmd = commandBuilder.rpop(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<List<V>> rpop(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long count) {
         Command<K, V, List<V>> cmd = commandBuilder.rpop(key, count);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<V> rpoplpush(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K source, K destination) {
         Command<K, V, V> cmd = commandBuilder.rpoplpush(source, destination);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(source), String.valueOf(destination));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, source, destination);
     }
 
 
     public RedisFuture<Long> scard(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, Long> cmd = commandBuilder.scard(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Set<V>> sdiff(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K... keys) {
         Command<K, V, Set<V>> cmd = commandBuilder.sdiff(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> sdiff(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         ValueStreamingChannel<V> channel, K... keys) {
         Command<K, V, Long> cmd = commandBuilder.sdiff(channel, keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<String> set(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, V value) {
         Command<K, V, String> cmd = commandBuilder.set(key, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<String> set(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, V value, SetArgs setArgs) {
         Command<K, V, String> cmd = commandBuilder.set(key, value, setArgs);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<V> setGet(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, V value) {
         Command<K, V, V> cmd = commandBuilder.setGet(key, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<V> setGet(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, V value, SetArgs setArgs) {
         Command<K, V, V> cmd = commandBuilder.setGet(key, value, setArgs);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<String> setex(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long seconds, V value) {
         Command<K, V, String> cmd = commandBuilder.setex(key, seconds, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Boolean> setnx(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, V value) {
         Command<K, V, Boolean> cmd = commandBuilder.setnx(key, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> setrange(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key, long offset, V value) {
         Command<K, V, Long> cmd = commandBuilder.setrange(key, offset, value);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key),
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key,
             RedisKeyUtil.generate("offset", String.valueOf(offset)));
     }
 
@@ -596,42 +596,42 @@ public class RedisCommandWrapper<K, V> {
     public RedisFuture<Set<V>> sinter(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K... keys) {
         Command<K, V, Set<V>> cmd = commandBuilder.sinter(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> sinter(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         ValueStreamingChannel<V> channel, K... keys) {
         Command<K, V, Long> cmd = commandBuilder.sinter(channel, keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<V> spop(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, String redisUri,
         K key) {
         Command<K, V, V> cmd = commandBuilder.spop(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Set<V>> spop(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, final String redisUri,
         K key, long count) {
         Command<K, V, Set<V>> cmd = commandBuilder.spop(key, count);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<V> srandmember(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
         final String redisUri, K key) {
         Command<K, V, V> cmd = commandBuilder.srandmember(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<List<V>> srandmember(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
         final String redisUri, K key, long count) {
         Command<K, V, List<V>> cmd = commandBuilder.srandmember(key, count);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
@@ -639,68 +639,86 @@ public class RedisCommandWrapper<K, V> {
         final String redisUri, ValueStreamingChannel<V> channel, K key,
         long count) {
         Command<K, V, Long> cmd = commandBuilder.srandmember(channel, key, count);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> strlen(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, final String redisUri,
         K key) {
         Command<K, V, Long> cmd = commandBuilder.strlen(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Set<V>> sunion(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
         final String redisUri, K... keys) {
         Command<K, V, Set<V>> cmd = commandBuilder.sunion(keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> sunion(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, final String redisUri,
         ValueStreamingChannel<V> channel, K... keys) {
         Command<K, V, Long> cmd = commandBuilder.sunion(channel, keys);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, RedisKeyUtil.generate(keys));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, keys);
     }
 
 
     public RedisFuture<Long> ttl(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, final String redisUri,
         K key) {
         Command<K, V, Long> cmd = commandBuilder.ttl(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<String> type(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, final String redisUri,
         K key) {
         Command<K, V, String> cmd = commandBuilder.type(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
 
     public RedisFuture<Long> zcard(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands, final String redisUri,
         K key) {
         Command<K, V, Long> cmd = commandBuilder.zcard(key);
-        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, String.valueOf(key));
+        return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key);
     }
 
     private <T> AsyncCommand<K, V, T> dispatch(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
-        final String redisUri, RedisCommand<K, V, T> cmd, String key) {
+        final String redisUri, RedisCommand<K, V, T> cmd, Object key) {
         return dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, null);
     }
 
+    /**
+     * The commands of a connection whose auto flush is disabled are recorded and replayed with {@link LettuceBatch}.
+     * @param key raw key(s), only rendered when the command is recorded or replayed
+     * @param field raw field(s), rendered the same way
+     */
     private <T> AsyncCommand<K, V, T> dispatch(AbstractRedisAsyncCommands<K, V> abstractRedisAsyncCommands,
-        final String redisUri, RedisCommand<K, V, T> cmd, String key, String field) {
+        final String redisUri, RedisCommand<K, V, T> cmd, Object key, Object field) {
+        LettuceBatch batch = ContextManager.needRecordOrReplay() ?
+            LettuceBatch.get(abstractRedisAsyncCommands.getConnection()) : null;
+        if (batch != null) {
+            AsyncCommand<K, V, T> asyncCommand = batch.dispatch(abstractRedisAsyncCommands, redisUri, cmd, key, field);
+            if (asyncCommand != null) {
+                return asyncCommand;
+            }
+        }
+
         if (ContextManager.needReplay()) {
-            AsyncCommand<K, V, T> asyncCommand = new AsyncCommand<>(cmd);
             RedisExtractor extractor = new RedisExtractor(redisUri, cmd.getType().name(), key, field);
-            MockResult mockResult = extractor.replay();
-            if (mockResult.notIgnoreMockResult()) {
-                if (mockResult.getThrowable() != null) {
-                    asyncCommand.completeExceptionally(mockResult.getThrowable());
-                } else {
-                    asyncCommand.complete((T) mockResult.getResult());
-                }
+            if (!extractor.ignoreMockResult()) {
+                // complete the command when the mock data arrives, not block the caller (maybe an event loop)
+                AsyncCommand<K, V, T> asyncCommand = new AsyncCommand<>(cmd);
+                extractor.replayAsync().whenComplete((mockResult, throwable) -> {
+                    if (throwable != null) {
+                        asyncCommand.completeExceptionally(throwable);
+                    } else if (mockResult.getThrowable() != null) {
+                        asyncCommand.completeExceptionally(mockResult.getThrowable());
+                    } else {
+                        asyncCommand.complete((T) mockResult.getResult());
+                    }
+                });
                 return asyncCommand;
             }
         }
@@ -708,9 +726,10 @@ public class RedisCommandWrapper<K, V> {
         AsyncCommand<K, V, T> resultFuture = abstractRedisAsyncCommands.dispatch(cmd);
 
         if (ContextManager.needRecord()) {
+            // rendered before the caller can reuse the key arguments
+            RedisExtractor extractor = new RedisExtractor(redisUri, cmd.getType().name(), key, field);
             try (TraceTransmitter traceTransmitter = TraceTransmitter.create()) {
                 resultFuture.whenComplete((v, throwable) -> {
-                    RedisExtractor extractor = new RedisExtractor(redisUri, cmd.getType().name(), key, field);
                     traceTransmitter.transmit();
                     if (throwable != null) {
                         extractor.record(throwable);
@@ -0,0 +1,124 @@
+package io.arex.inst.redis.common;
+
+import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.agent.bootstrap.model.Mocker;
+import io.arex.agent.bootstrap.model.Mocker.Target;
+import io.arex.inst.runtime.serializer.Serializer;
+import io.arex.inst.runtime.util.IgnoreUtils;
+import io.arex.inst.runtime.util.MockUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mockStatic;
+
+class RedisBatchExtractorTest {
+
+    @BeforeAll
+    static void setUp() {
+        Mockito.mockStatic(Serializer.class);
+        Mockito.when(Serializer.serialize(any())).thenAnswer(invocation -> String.valueOf((Object) invocation.getArgument(0)));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void record() {
+        RedisBatchExtractor extractor = new RedisBatchExtractor("localhost:6379", RedisBatchExtractor.PIPELINE);
+        try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class)) {
+            mockUtils.when(() -> MockUtils.createRedis(any())).thenAnswer(invocation -> newMocker());
+            // no command, not record
+            extractor.record(Collections.emptyList());
+            mockUtils.verify(() -> MockUtils.recordMocker(any()), Mockito.never());
+
+            extractor.addCommand("get", "key1", null);
+            extractor.addCommand("incr", "key2", null);
+            assertEquals(2, extractor.size());
+            extractor.record(Arrays.asList("value", 1L));
+
+            ArgumentCaptor<Mocker> captor = ArgumentCaptor.forClass(Mocker.class);
+            mockUtils.verify(() -> MockUtils.recordMocker(captor.capture()), Mockito.times(1));
+            Mocker mocker = captor.getValue();
+            assertTrue(mocker.isNeedMerge());
+            assertEquals(Arrays.asList("java.lang.String", "java.lang.Long"),
+                    mocker.getTargetResponse().getAttribute("resultTypes"));
+
+            extractor.clear();
+            assertEquals(0, extractor.size());
+        }
+    }
+
+    @Test
+    void replay() {
+        RedisBatchExtractor extractor = new RedisBatchExtractor("localhost:6379", RedisBatchExtractor.TRANSACTION);
+        extractor.addCommand("get", "key1", null);
+        extractor.addCommand("incr", "key2", null);
+        ArexMocker responseMocker = newMocker();
+        responseMocker.getTargetResponse().setBody("[\"value\",\"1\"]");
+        responseMocker.getTargetResponse().setType("java.util.ArrayList-java.lang.String");
+        try (MockedStatic<MockUtils> mockUtils = mockStatic(MockUtils.class);
+             MockedStatic<IgnoreUtils> ignoreUtils = mockStatic(IgnoreUtils.class)) {
+            mockUtils.when(() -> MockUtils.createRedis(any())).thenAnswer(invocation -> newMocker());
+            mockUtils.when(() -> MockUtils.replayMocker(any())).thenReturn(responseMocker);
+            // not recorded
+            MockResult mockResult = extractor.replay();
+            assertNull(mockResult.getResult());
+
+            mockUtils.when(() -> MockUtils.checkResponseMocker(any())).thenReturn(true);
+            Mockito.when(Serializer.deserialize("[\"value\",\"1\"]", "java.util.ArrayList-java.lang.String"))
+                    .thenReturn(Arrays.asList("\"value\"", "1"));
+            // result types missing
+            assertNull(extractor.replay().getResult());
+
+            responseMocker.getTargetResponse().setAttribute("resultTypes", Arrays.asList("java.lang.String", "java.lang.Long"));
+            Mockito.when(Serializer.deserialize("\"value\"", "java.lang.String")).thenReturn("value");
+            Mockito.when(Serializer.deserialize("1", "java.lang.Long")).thenReturn(1L);
+            mockResult = extractor.replay();
+            assertTrue(mockResult.notIgnoreMockResult());
+            assertEquals(Arrays.asList("value", 1L), mockResult.getResult());
+
+            mockUtils.when(() -> MockUtils.replayMockerAsync(any()))
+                    .thenReturn(CompletableFuture.completedFuture(responseMocker));
+            assertEquals(Arrays.asList("value", 1L), extractor.replayAsync().join().getResult());
+
+            // size not match
+            extractor.addCommand("del", "key3", null);
+            assertNull(extractor.replay().getResult());
+
+            ignoreUtils.when(() -> IgnoreUtils.ignoreMockResult(any(), any())).thenReturn(true);
+            assertTrue(extractor.ignoreMockResult());
+        }
+    }
+
+    @Test
+    void redisBatchCommand() {
+        RedisBatchExtractor.RedisBatchCommand command = new RedisBatchExtractor.RedisBatchCommand();
+        command.setCommand("hget");
+        command.setKey("key");
+        command.setField("field");
+        assertEquals("hget", command.getCommand());
+        assertEquals("key", command.getKey());
+        assertEquals("field", command.getField());
+    }
+
+    private static ArexMocker newMocker() {
+        ArexMocker mocker = new ArexMocker();
+        mocker.setTargetRequest(new Target());
+        mocker.setTargetResponse(new Target());
+        return mocker;
+    }
+}
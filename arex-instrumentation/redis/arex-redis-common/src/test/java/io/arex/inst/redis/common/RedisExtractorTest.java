@@ -1,6 +1,7 @@
 package io.arex.inst.redis.common;
 
 import io.arex.agent.bootstrap.model.ArexMocker;
+import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.agent.bootstrap.model.Mocker.Target;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.util.MockUtils;
@@ -15,6 +16,7 @@ import org.mockito.stubbing.Answer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.mockStatic;
 
 @ExtendWith(MockitoExtension.class)
@@ -60,7 +62,7 @@ class RedisExtractorTest {
             mocker.setTargetRequest(new Target());
             mocker.setTargetResponse(new Target());
             mockService.when(() -> MockUtils.createRedis(any())).thenReturn(mocker);
-            mockService.when(() -> MockUtils.replayBody(any())).thenReturn(mocker);
+            mockService.when(() -> MockUtils.replayResult(any(), anyBoolean())).thenReturn(MockResult.success(true, mocker));
 
             assertNotNull(target.replay());
         }
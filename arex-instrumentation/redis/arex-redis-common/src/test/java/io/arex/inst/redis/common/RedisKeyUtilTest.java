@@ -2,7 +2,9 @@ package io.arex.inst.redis.common;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -57,4 +59,16 @@ class RedisKeyUtilTest {
         String result = RedisKeyUtil.generate(new char[]{'k', 'e', 'y'});
         assertEquals("key", result);
     }
+
+    @Test
+    void render() {
+        assertNull(RedisKeyUtil.render(null));
+        assertEquals("key", RedisKeyUtil.render("key"));
+        assertEquals("key1;key2", RedisKeyUtil.render(new String[]{"key1", "key2"}));
+        assertEquals("key1;key2", RedisKeyUtil.render(Arrays.asList("key1", "key2")));
+        assertEquals("key1", RedisKeyUtil.render(Collections.singletonMap("key1", "value1")));
+        assertEquals("ключ", RedisKeyUtil.render("ключ".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("k1;k2", RedisKeyUtil.render(new byte[][]{{'k', '1'}, {'k', '2'}}));
+        assertEquals("1", RedisKeyUtil.render(1));
+    }
 }
@@ -0,0 +1,140 @@
+package io.arex.inst.redis.common.lettuce;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.redis.common.RedisBatchExtractor;
+import io.arex.inst.runtime.context.ContextManager;
+import io.lettuce.core.AbstractRedisAsyncCommands;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LettuceBatchTest {
+
+    @BeforeAll
+    static void setUp() {
+        Mockito.mockStatic(ContextManager.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void autoFlushCommands() {
+        Object connection = new Object();
+        assertNull(LettuceBatch.get(connection));
+        // flush without batch
+        LettuceBatch.onFlushCommands(connection);
+        assertNull(LettuceBatch.get(connection));
+
+        LettuceBatch.onAutoFlushCommands(connection, false);
+        LettuceBatch batch = LettuceBatch.get(connection);
+        assertNotNull(batch);
+        LettuceBatch.onAutoFlushCommands(connection, false);
+        assertSame(batch, LettuceBatch.get(connection));
+
+        // each flush starts a new batch
+        LettuceBatch.onFlushCommands(connection);
+        assertNotSame(batch, LettuceBatch.get(connection));
+        LettuceBatch.onAutoFlushCommands(connection, true);
+        assertNull(LettuceBatch.get(connection));
+    }
+
+    @Test
+    void record() {
+        AbstractRedisAsyncCommands<String, String> asyncCommands = Mockito.mock(AbstractRedisAsyncCommands.class);
+        AsyncCommand<String, String, String> dispatched1 = new AsyncCommand<>(command());
+        AsyncCommand<String, String, String> dispatched2 = new AsyncCommand<>(command());
+        when(asyncCommands.dispatch(any(RedisCommand.class))).thenReturn(dispatched1, dispatched2);
+        when(ContextManager.needReplay()).thenReturn(false);
+        when(ContextManager.needRecord()).thenReturn(true);
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            LettuceBatch batch = new LettuceBatch();
+            assertSame(dispatched1, batch.dispatch(asyncCommands, "localhost:6379", command(), "key1", null));
+            assertSame(dispatched2, batch.dispatch(asyncCommands, "localhost:6379", command(), "key2", "field"));
+            RedisBatchExtractor extractor = mocked.constructed().get(0);
+            verify(extractor).addCommand("GET", "key1", null);
+            verify(extractor).addCommand("GET", "key2", "field");
+
+            batch.flush();
+            // recorded once all commands completed
+            dispatched1.complete("value");
+            verify(extractor, never()).record(any());
+            RedisCommandExecutionException exception = new RedisCommandExecutionException("WRONGTYPE");
+            dispatched2.completeExceptionally(exception);
+            verify(extractor).record(Arrays.asList("value", exception));
+
+            // flushed, dispatched alone
+            assertNull(batch.dispatch(asyncCommands, "localhost:6379", command(), "key3", null));
+        }
+    }
+
+    @Test
+    void replay() {
+        AbstractRedisAsyncCommands<String, String> asyncCommands = Mockito.mock(AbstractRedisAsyncCommands.class);
+        when(ContextManager.needReplay()).thenReturn(true);
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            LettuceBatch batch = new LettuceBatch();
+            // nothing queued, the extractor is created with the first command
+            batch.flush();
+            assertTrue(mocked.constructed().isEmpty());
+
+            batch = new LettuceBatch();
+            AsyncCommand<String, String, String> command1 = batch.dispatch(asyncCommands, "localhost:6379", command(), "key1", null);
+            AsyncCommand<String, String, String> command2 = batch.dispatch(asyncCommands, "localhost:6379", command(), "key2", null);
+            verify(asyncCommands, never()).dispatch(any(RedisCommand.class));
+            RedisBatchExtractor extractor = mocked.constructed().get(0);
+            RedisCommandExecutionException exception = new RedisCommandExecutionException("WRONGTYPE");
+            CompletableFuture<MockResult> replayFuture = new CompletableFuture<>();
+            when(extractor.replayAsync()).thenReturn(replayFuture);
+            batch.flush();
+            assertFalse(command1.isDone());
+            replayFuture.complete(MockResult.success(Arrays.asList("value", exception)));
+            assertEquals("value", command1.join());
+            assertTrue(command2.isCompletedExceptionally());
+
+            // ignored by config, sent to redis
+            batch = new LettuceBatch();
+            AsyncCommand<String, String, String> dispatched = new AsyncCommand<>(command());
+            when(asyncCommands.dispatch(any(RedisCommand.class))).thenReturn(dispatched);
+            when(ContextManager.needRecord()).thenReturn(false);
+            assertNotNull(batch.dispatch(asyncCommands, "localhost:6379", command(), "key1", null));
+            when(mocked.constructed().get(1).ignoreMockResult()).thenReturn(true);
+            assertSame(dispatched, batch.dispatch(asyncCommands, "localhost:6379", command(), "key1", null));
+        }
+    }
+
+    @Test
+    void replayNotRecorded() {
+        AbstractRedisAsyncCommands<String, String> asyncCommands = Mockito.mock(AbstractRedisAsyncCommands.class);
+        when(ContextManager.needReplay()).thenReturn(true);
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            LettuceBatch batch = new LettuceBatch();
+            AsyncCommand<String, String, String> command1 = batch.dispatch(asyncCommands, "localhost:6379", command(), "key1", null);
+            when(mocked.constructed().get(0).replayAsync()).thenReturn(CompletableFuture.completedFuture(MockResult.success(null)));
+            batch.flush();
+            assertNull(command1.join());
+        }
+    }
+
+    private static Command<String, String, String> command() {
+        return new Command<>(CommandType.GET, new StatusOutput<>(StringCodec.UTF8));
+    }
+}
@@ -14,6 +14,7 @@ import io.arex.inst.redis.common.RedisExtractor;
 import io.arex.inst.redis.common.RedisExtractor.RedisMultiKey;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterAll;
@@ -84,7 +85,7 @@ public class ReactorStreamUtilTest {
     void monoReplay(Predicate<Mono<?>> predicate, MockResult mockResult) {
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class,
             (extractor, context) -> {
-                Mockito.when(extractor.replay()).thenReturn(mockResult);
+                Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
             })) {
             Mono<?> result = ReactorStreamUtil.monoReplay(RedisConnectionManager.getRedisUri(0), "test",
                 "key", "field");
@@ -97,7 +98,7 @@ public class ReactorStreamUtilTest {
     void fluxReplay(Predicate<Flux<?>> predicate, MockResult mockResult) {
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class,
             (extractor, context) -> {
-                Mockito.when(extractor.replay()).thenReturn(mockResult);
+                Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
             })) {
             Flux<?> result = ReactorStreamUtil.fluxReplay(RedisConnectionManager.getRedisUri(0), "test",
                 "key", "field");
@@ -23,9 +23,11 @@ import io.lettuce.core.resource.ClientResources;
 import io.lettuce.core.tracing.Tracing;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -68,13 +70,18 @@ public class RedisReactiveCommandWrapperTest {
         Mockito.when(cmd.getType()).thenReturn(Mockito.mock(ProtocolKeyword.class));
     }
 
+    @AfterAll
+    static void tearDown() {
+        Mockito.clearAllCaches();
+    }
+
     @ParameterizedTest
     @MethodSource("monoDispatchCase")
     void createMono(Runnable mocker, Predicate<Mono<?>> predicate, MockResult mockResult) {
         mocker.run();
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class,
             (extractor, context) -> {
-                Mockito.when(extractor.replay()).thenReturn(mockResult);
+                Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
             })) {
             Mono<?> result = target.createMono(reactiveCommands,"127.0.0.1:6379",() -> cmd, "key");
             assertTrue(predicate.test(result));
@@ -87,7 +94,7 @@ public class RedisReactiveCommandWrapperTest {
         mocker.run();
         try (MockedConstruction<RedisExtractor> mocked = Mockito.mockConstruction(RedisExtractor.class,
             (extractor, context) -> {
-                Mockito.when(extractor.replay()).thenReturn(mockResult);
+                Mockito.when(extractor.replayAsync()).thenReturn(CompletableFuture.completedFuture(mockResult));
             })) {
             Flux<?> result = target.createDissolvingFlux(reactiveCommands,"127.0.0.1:6379",() -> cmd, "key");
             assertTrue(predicate.test(result));
@@ -0,0 +1,108 @@
+package io.arex.inst.redisson.v3;
+
+import io.arex.inst.extension.MethodInstrumentation;
+import io.arex.inst.extension.TypeInstrumentation;
+import io.arex.inst.runtime.context.ContextManager;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RFuture;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArgument;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+/**
+ * RedissonBatchInstrumentation, the commands of a RBatch are recorded as one mocker on execute,
+ * in replay they are not sent to redis and the batch is completed by one lookup.
+ */
+public class RedissonBatchInstrumentation extends TypeInstrumentation {
+
+    @Override
+    protected ElementMatcher<TypeDescription> typeMatcher() {
+        return named("org.redisson.command.CommandBatchService");
+    }
+
+    @Override
+    public List<MethodInstrumentation> methodAdvices() {
+        return Arrays.asList(
+            new MethodInstrumentation(isMethod().and(named("async")).and(takesArguments(7))
+                .and(takesArgument(3, named("org.redisson.client.protocol.RedisCommand")))
+                .and(takesArgument(4, Object[].class)), AsyncAdvice.class.getName()),
+            new MethodInstrumentation(isMethod().and(named("executeAsync")).and(takesArguments(0)),
+                ExecuteAsyncAdvice.class.getName()),
+            new MethodInstrumentation(isMethod().and(named("discardAsync")).and(takesArguments(0)),
+                DiscardAsyncAdvice.class.getName()));
+    }
+
+    public static class AsyncAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static RFuture<?> onEnter(@Advice.This CommandAsyncExecutor batchService,
+            @Advice.Argument(3) RedisCommand<?> command,
+            @Advice.Argument(4) Object[] params) {
+            if (ContextManager.needReplay()) {
+                return RedissonCommandBatch.get(batchService).replayCommand(command, params);
+            }
+            return null;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This CommandAsyncExecutor batchService,
+            @Advice.Argument(3) RedisCommand<?> command,
+            @Advice.Argument(4) Object[] params,
+            @Advice.Enter RFuture<?> replayFuture,
+            @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) RFuture<?> result) {
+            if (replayFuture != null) {
+                result = replayFuture;
+                return;
+            }
+            if (result != null && ContextManager.needRecord()) {
+                RedissonCommandBatch.get(batchService).addCommand(command, params, result);
+            }
+        }
+    }
+
+    public static class ExecuteAsyncAdvice {
+        @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class, suppress = Throwable.class)
+        public static CompletableFuture<BatchResult<?>> onEnter(@Advice.This Object batchService) {
+            if (ContextManager.needReplay()) {
+                RedissonCommandBatch batch = RedissonCommandBatch.remove(batchService);
+                return batch != null ? batch.replay() : null;
+            }
+            return null;
+        }
+
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object batchService,
+            @Advice.Enter CompletableFuture<BatchResult<?>> replayFuture,
+            @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) RFuture<BatchResult<?>> result) {
+            if (replayFuture != null) {
+                result = new CompletableFutureWrapper<>(replayFuture);
+                return;
+            }
+            if (result != null && ContextManager.needRecord()) {
+                RedissonCommandBatch batch = RedissonCommandBatch.remove(batchService);
+                if (batch != null) {
+                    batch.record(result);
+                }
+            }
+        }
+    }
+
+    public static class DiscardAsyncAdvice {
+        @Advice.OnMethodExit(suppress = Throwable.class)
+        public static void onExit(@Advice.This Object batchService) {
+            RedissonCommandBatch.remove(batchService);
+        }
+    }
+}
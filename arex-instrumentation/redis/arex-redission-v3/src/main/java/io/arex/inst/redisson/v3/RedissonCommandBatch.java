@@ -0,0 +1,147 @@
+package io.arex.inst.redisson.v3;
+
+import io.arex.agent.bootstrap.ctx.TraceTransmitter;
+import io.arex.inst.redis.common.RedisBatchExtractor;
+import io.arex.inst.redis.common.RedisKeyUtil;
+import io.arex.inst.redisson.v3.common.RedissonHelper;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RFuture;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The commands queued on a RBatch (its CommandBatchService) until it is executed.
+ * As the pipeline of jedis, they are recorded as one mocker and replayed with one lookup without sending to redis.
+ */
+public class RedissonCommandBatch {
+    private static final Map<Object, RedissonCommandBatch> BATCHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final RedisBatchExtractor extractor;
+    private final List<CompletableFuture<?>> futures = new ArrayList<>();
+    private boolean replay;
+
+    RedissonCommandBatch(String redisUri) {
+        this.extractor = new RedisBatchExtractor(redisUri, RedisBatchExtractor.PIPELINE);
+    }
+
+    public static RedissonCommandBatch get(CommandAsyncExecutor batchService) {
+        return BATCHES.computeIfAbsent(batchService,
+            key -> new RedissonCommandBatch(RedissonHelper.getRedisUri(batchService.getConnectionManager())));
+    }
+
+    public static RedissonCommandBatch remove(Object batchService) {
+        return BATCHES.remove(batchService);
+    }
+
+    /**
+     * @return the future completed by the replay of the batch, null if the batch is not replayed
+     */
+    public synchronized RFuture<?> replayCommand(RedisCommand<?> command, Object[] params) {
+        if (extractor.ignoreMockResult()) {
+            return null;
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        addCommand(command, params, future);
+        replay = true;
+        return new CompletableFutureWrapper<>(future);
+    }
+
+    public synchronized void addCommand(RedisCommand<?> command, Object[] params, RFuture<?> future) {
+        addCommand(command, params, future.toCompletableFuture());
+    }
+
+    private void addCommand(RedisCommand<?> command, Object[] params, CompletableFuture<?> future) {
+        extractor.addCommand(command.getName(), key(params), null);
+        futures.add(future);
+    }
+
+    /**
+     * Complete the queued commands when the mock data arrives, not block the caller.
+     * A recorded error completes its command exceptionally and fails the batch, as redisson does.
+     * @return the result of executeAsync, null if no command was queued for replay
+     */
+    public synchronized CompletableFuture<BatchResult<?>> replay() {
+        if (!replay) {
+            return null;
+        }
+        CompletableFuture<BatchResult<?>> batchFuture = new CompletableFuture<>();
+        extractor.replayAsync().whenComplete((mockResult, throwable) -> {
+            List<?> results = throwable == null && mockResult.getResult() instanceof List ?
+                (List<?>) mockResult.getResult() : null;
+            List<Object> responses = new ArrayList<>(futures.size());
+            Throwable error = throwable;
+            for (int i = 0; i < futures.size(); i++) {
+                Object result = throwable != null ? throwable : results == null ? null : results.get(i);
+                if (result instanceof Throwable) {
+                    futures.get(i).completeExceptionally((Throwable) result);
+                    error = error == null ? (Throwable) result : error;
+                } else {
+                    ((CompletableFuture<Object>) futures.get(i)).complete(result);
+                }
+                responses.add(result);
+            }
+            if (error != null) {
+                batchFuture.completeExceptionally(error);
+            } else {
+                batchFuture.complete(new BatchResult<>(responses, 0));
+            }
+        });
+        return batchFuture;
+    }
+
+    /**
+     * @param executeFuture result of executeAsync, the commands are completed before it
+     */
+    public void record(RFuture<?> executeFuture) {
+        try (TraceTransmitter traceTransmitter = TraceTransmitter.create()) {
+            executeFuture.whenComplete((v, throwable) -> {
+                traceTransmitter.transmit();
+                List<Object> results;
+                synchronized (this) {
+                    results = new ArrayList<>(futures.size());
+                    for (CompletableFuture<?> future : futures) {
+                        results.add(result(future));
+                    }
+                }
+                extractor.record(results);
+            });
+        }
+    }
+
+    /**
+     * @return the value of the completed command, or the exception it completed with
+     */
+    private static Object result(CompletableFuture<?> future) {
+        if (!future.isDone()) {
+            return null;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        } catch (CancellationException e) {
+            return e;
+        }
+    }
+
+    /**
+     * the first parameter of a keyed command is the name of the object
+     */
+    static String key(Object[] params) {
+        if (params == null || params.length == 0) {
+            return null;
+        }
+        Object key = params[0];
+        return key instanceof String || key instanceof byte[] ? RedisKeyUtil.render(key) : null;
+    }
+}
@@ -1,33 +1,44 @@
 package io.arex.inst.redisson.v3;
 
 import io.arex.agent.bootstrap.ctx.TraceTransmitter;
-import io.arex.agent.bootstrap.model.MockResult;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.redis.common.RedisExtractor;
 import org.redisson.api.RFuture;
 import org.redisson.misc.CompletableFutureWrapper;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * RedissonWrapperCommon
  */
 public class RedissonWrapperCommon {
-    public static <R> RFuture<R> delegateCall(String redisUri, String cmd, String key,
+    public static <R> RFuture<R> delegateCall(String redisUri, String cmd, Object key,
                                               Callable<RFuture<R>> resultFuture) {
         return delegateCall(redisUri, cmd, key, null, resultFuture);
     }
 
-    public static <R> RFuture<R> delegateCall(String redisUri, String cmd, String key, String field,
+    /**
+     * @param key raw key(s), only rendered when the call is recorded or replayed
+     * @param field raw field(s), rendered the same way
+     */
+    public static <R> RFuture<R> delegateCall(String redisUri, String cmd, Object key, Object field,
                                               Callable<RFuture<R>> futureCallable) {
         if (ContextManager.needReplay()) {
             RedisExtractor extractor = new RedisExtractor(redisUri, cmd, key, field);
-            MockResult mockResult = extractor.replay();
-            if (mockResult.notIgnoreMockResult()) {
-                if (mockResult.getThrowable() != null) {
-                    return new CompletableFutureWrapper<>(mockResult.getThrowable());
-                }
-                return new CompletableFutureWrapper<>((R) mockResult.getResult());
+            if (!extractor.ignoreMockResult()) {
+                // complete the future when the mock data arrives, not block the caller
+                CompletableFuture<R> future = new CompletableFuture<>();
+                extractor.replayAsync().whenComplete((mockResult, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                    } else if (mockResult.getThrowable() != null) {
+                        future.completeExceptionally(mockResult.getThrowable());
+                    } else {
+                        future.complete((R) mockResult.getResult());
+                    }
+                });
+                return new CompletableFutureWrapper<>(future);
             }
         }
 
@@ -45,10 +56,11 @@ public class RedissonWrapperCommon {
         }
 
         if (resultFuture != null && ContextManager.needRecord()) {
+            // rendered before the caller can reuse the key arguments
+            RedisExtractor extractor = new RedisExtractor(redisUri, cmd, key, field);
             try (TraceTransmitter traceTransmitter = TraceTransmitter.create()) {
                 resultFuture.whenComplete((v, throwable) -> {
                     traceTransmitter.transmit();
-                    RedisExtractor extractor = new RedisExtractor(redisUri, cmd, key, field);
                     if (throwable != null) {
                         extractor.record(throwable);
                     } else {
@@ -1,6 +1,5 @@
 package io.arex.inst.redisson.v3.wrapper;
 
-import io.arex.inst.redis.common.RedisKeyUtil;
 import io.arex.inst.redisson.v3.RedissonWrapperCommon;
 import io.arex.inst.redisson.v3.common.RedissonHelper;
 import org.redisson.RedissonBuckets;
@@ -29,19 +28,19 @@ public class RedissonBucketsWrapper extends RedissonBuckets {
 
     @Override
     public <V> RFuture<Map<String, V>> getAsync(String... keys) {
-        return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.MGET.getName(), RedisKeyUtil.generate(keys),
+        return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.MGET.getName(), keys,
             () -> super.getAsync(keys));
     }
 
     @Override
     public RFuture<Boolean> trySetAsync(Map<String, ?> buckets) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.MSETNX.getName(),
-            RedisKeyUtil.generate(buckets), () -> super.trySetAsync(buckets));
+            buckets, () -> super.trySetAsync(buckets));
     }
 
     @Override
     public RFuture<Void> setAsync(Map<String, ?> buckets) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.MSET.getName(),
-            RedisKeyUtil.generate(buckets), () -> super.setAsync(buckets));
+            buckets, () -> super.setAsync(buckets));
     }
 }
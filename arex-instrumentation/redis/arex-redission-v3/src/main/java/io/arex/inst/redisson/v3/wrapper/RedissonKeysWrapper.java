@@ -39,13 +39,13 @@ public class RedissonKeysWrapper extends RedissonKeys {
     @Override
     public RFuture<Long> touchAsync(String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.TOUCH_LONG.getName(),
-            RedisKeyUtil.generate(names), () -> super.touchAsync(names));
+            names, () -> super.touchAsync(names));
     }
 
     @Override
     public RFuture<Long> countExistsAsync(String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.EXISTS_LONG.getName(),
-            RedisKeyUtil.generate(names), () -> super.countExistsAsync(names));
+            names, () -> super.countExistsAsync(names));
     }
 
     @Override
@@ -56,13 +56,13 @@ public class RedissonKeysWrapper extends RedissonKeys {
 
     @Override
     public RFuture<Long> unlinkAsync(String... keys) {
-        return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.UNLINK.getName(), RedisKeyUtil.generate(keys),
+        return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.UNLINK.getName(), keys,
             () -> super.unlinkAsync(keys));
     }
 
     @Override
     public RFuture<Long> deleteAsync(String... keys) {
-        return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.DEL.getName(), RedisKeyUtil.generate(keys),
+        return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.DEL.getName(), keys,
             () -> super.deleteAsync(keys));
     }
 
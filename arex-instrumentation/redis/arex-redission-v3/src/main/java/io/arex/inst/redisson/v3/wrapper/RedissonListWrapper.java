@@ -90,7 +90,7 @@ public class RedissonListWrapper<V> extends RedissonList<V> {
     @Override
     public RFuture<List<V>> getAsync(int... indexes) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.LINDEX.getName(), this.name,
-            RedisKeyUtil.generate(indexes), () -> super.getAsync(indexes));
+            indexes, () -> super.getAsync(indexes));
     }
 
     @Override
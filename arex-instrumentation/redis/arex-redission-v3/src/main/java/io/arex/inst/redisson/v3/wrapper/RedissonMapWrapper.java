@@ -44,13 +44,13 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
     @Override
     public RFuture<Integer> valueSizeAsync(K key) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HSTRLEN.getName(), this.name,
-            String.valueOf(key), () -> super.valueSizeAsync(key));
+            key, () -> super.valueSizeAsync(key));
     }
 
     @Override
     protected RFuture<Boolean> containsKeyOperationAsync(String name, Object key) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HEXISTS.getName(), this.name,
-            String.valueOf(key), () -> super.containsKeyOperationAsync(name, key));
+            key, () -> super.containsKeyOperationAsync(name, key));
     }
 
     @Override
@@ -73,14 +73,14 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
 
     @Override
     public RFuture<Map<K, V>> getAllOperationAsync(Set<K> keys) {
-        return RedissonWrapperCommon.delegateCall(redisUri, "HMGET", this.name, RedisKeyUtil.generate(keys),
+        return RedissonWrapperCommon.delegateCall(redisUri, "HMGET", this.name, keys,
             () -> super.getAllOperationAsync(keys));
     }
 
     @Override
     protected RFuture<Void> putAllOperationAsync(Map<? extends K, ? extends V> map) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HMSET.getName(), this.name,
-            RedisKeyUtil.generate(map), () -> super.putAllOperationAsync(map));
+            map, () -> super.putAllOperationAsync(map));
     }
 
     @Override
@@ -111,95 +111,95 @@ public class RedissonMapWrapper<K, V> extends RedissonMap<K, V> {
     @Override
     protected RFuture<V> putIfExistsOperationAsync(K key, V value) {
         return RedissonWrapperCommon.delegateCall(redisUri,
-            RedisKeyUtil.generate("hget", "hset", "putIfExistsOperation"), this.name, String.valueOf(key),
+            RedisKeyUtil.generate("hget", "hset", "putIfExistsOperation"), this.name, key,
             () -> super.putIfExistsOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<V> putIfAbsentOperationAsync(K key, V value) {
         return RedissonWrapperCommon.delegateCall(redisUri,
-            RedisKeyUtil.generate("hsetnx", "hget", "putIfAbsentOperation"), this.name, String.valueOf(key),
+            RedisKeyUtil.generate("hsetnx", "hget", "putIfAbsentOperation"), this.name, key,
             () -> super.putIfAbsentOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<Boolean> fastPutIfAbsentOperationAsync(K key, V value) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HSETNX.getName(), this.name,
-            String.valueOf(key), () -> super.fastPutIfAbsentOperationAsync(key, value));
+            key, () -> super.fastPutIfAbsentOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<Boolean> fastPutIfExistsOperationAsync(K key, V value) {
         return RedissonWrapperCommon.delegateCall(redisUri,
-            RedisKeyUtil.generate("hget", "hset", "fastPutIfExistsOperation"), this.name, String.valueOf(key),
+            RedisKeyUtil.generate("hget", "hset", "fastPutIfExistsOperation"), this.name, key,
             () -> super.fastPutIfExistsOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<Boolean> removeOperationAsync(Object key, Object value) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("hget", "hset", "replaceOperation2"),
-            this.name, String.valueOf(key), () -> super.removeOperationAsync(key, value));
+            this.name, key, () -> super.removeOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<Boolean> replaceOperationAsync(K key, V oldValue, V newValue) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("hget", "hset", "replaceOperation3"),
-            this.name, String.valueOf(key), () -> super.replaceOperationAsync(key, oldValue, newValue));
+            this.name, key, () -> super.replaceOperationAsync(key, oldValue, newValue));
     }
 
     @Override
     protected RFuture<V> replaceOperationAsync(K key, V value) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("hget", "hset", "replaceOperation"),
-            this.name, String.valueOf(key), () -> super.replaceOperationAsync(key, value));
+            this.name, key, () -> super.replaceOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<Boolean> fastReplaceOperationAsync(K key, V value) {
         return RedissonWrapperCommon.delegateCall(redisUri,
-            RedisKeyUtil.generate("hexists", "hset", "fastReplaceOperation"), this.name, String.valueOf(key),
+            RedisKeyUtil.generate("hexists", "hset", "fastReplaceOperation"), this.name, key,
             () -> super.fastReplaceOperationAsync(key, value));
     }
 
     @Override
     public RFuture<V> getOperationAsync(K key) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HGET.getName(), this.name,
-            String.valueOf(key), () -> super.getOperationAsync(key));
+            key, () -> super.getOperationAsync(key));
     }
 
     @Override
     protected RFuture<V> putOperationAsync(K key, V value) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisKeyUtil.generate("hget", "hset", "putOperation"),
-            this.name, String.valueOf(key), () -> super.putOperationAsync(key, value));
+            this.name, key, () -> super.putOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<V> removeOperationAsync(K key) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HDEL.getName(), this.name,
-            String.valueOf(key), () -> super.removeOperationAsync(key));
+            key, () -> super.removeOperationAsync(key));
     }
 
     @Override
     protected RFuture<Boolean> fastPutOperationAsync(K key, V value) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HSET.getName(), this.name,
-            String.valueOf(key), () -> super.fastPutOperationAsync(key, value));
+            key, () -> super.fastPutOperationAsync(key, value));
     }
 
     @Override
     protected RFuture<List<Long>> fastRemoveOperationBatchAsync(K... keys) {
         return RedissonWrapperCommon.delegateCall(redisUri,
-            RedisKeyUtil.generate(RedisCommands.HDEL.getName(), "batch"), this.name, RedisKeyUtil.generate(keys),
+            RedisKeyUtil.generate(RedisCommands.HDEL.getName(), "batch"), this.name, keys,
             () -> super.fastRemoveOperationBatchAsync(keys));
     }
 
     @Override
     protected RFuture<Long> fastRemoveOperationAsync(K... keys) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.HDEL.getName(), getRawName(),
-            RedisKeyUtil.generate(keys), () -> super.fastRemoveOperationAsync(keys));
+            keys, () -> super.fastRemoveOperationAsync(keys));
     }
 
     @Override
     protected RFuture<V> addAndGetOperationAsync(K key, Number value) {
-        return RedissonWrapperCommon.delegateCall(redisUri, "HINCRBYFLOAT", getRawName(), String.valueOf(key),
+        return RedissonWrapperCommon.delegateCall(redisUri, "HINCRBYFLOAT", getRawName(), key,
             () -> super.addAndGetOperationAsync(key, value));
     }
 }
@@ -134,43 +134,43 @@ public class RedissonSetWrapper<V> extends RedissonSet<V> {
     @Override
     public RFuture<Integer> unionAsync(String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SUNIONSTORE_INT.getName(), this.name,
-            RedisKeyUtil.generate(names), () -> super.unionAsync(names));
+            names, () -> super.unionAsync(names));
     }
 
     @Override
     public RFuture<Set<V>> readUnionAsync(String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SUNION.getName(), this.name,
-            RedisKeyUtil.generate(names), () -> super.readUnionAsync(names));
+            names, () -> super.readUnionAsync(names));
     }
 
     @Override
     public RFuture<Integer> diffAsync(String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SDIFFSTORE_INT.getName(), this.name,
-            RedisKeyUtil.generate(names), () -> super.diffAsync(names));
+            names, () -> super.diffAsync(names));
     }
 
     @Override
     public RFuture<Set<V>> readDiffAsync(String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SDIFF.getName(), this.name,
-            RedisKeyUtil.generate(names), () -> super.readDiffAsync(names));
+            names, () -> super.readDiffAsync(names));
     }
 
     @Override
     public RFuture<Integer> intersectionAsync(String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SINTERSTORE_INT.getName(), this.name,
-            RedisKeyUtil.generate(names), () -> super.intersectionAsync(names));
+            names, () -> super.intersectionAsync(names));
     }
 
     @Override
     public RFuture<Set<V>> readIntersectionAsync(String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SINTER.getName(), this.name,
-            RedisKeyUtil.generate(names), () -> super.readIntersectionAsync(names));
+            names, () -> super.readIntersectionAsync(names));
     }
 
     @Override
     public RFuture<Integer> countIntersectionAsync(int limit, String... names) {
         return RedissonWrapperCommon.delegateCall(redisUri, RedisCommands.SINTERCARD_INT.getName(), this.name,
-            RedisKeyUtil.generate(names), () -> super.countIntersectionAsync(names));
+            names, () -> super.countIntersectionAsync(names));
     }
 
     @Override
@@ -0,0 +1,107 @@
+package io.arex.inst.redisson.v3;
+
+import io.arex.inst.runtime.context.ContextManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RFuture;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RedissonBatchInstrumentationTest {
+    static RedissonBatchInstrumentation target;
+
+    @BeforeAll
+    static void setUp() {
+        target = new RedissonBatchInstrumentation();
+        Mockito.mockStatic(ContextManager.class);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        target = null;
+        Mockito.clearAllCaches();
+    }
+
+    @Test
+    void typeMatcher() {
+        assertNotNull(target.typeMatcher());
+    }
+
+    @Test
+    void methodAdvices() {
+        assertEquals(3, target.methodAdvices().size());
+    }
+
+    @Test
+    void async() {
+        CommandAsyncExecutor batchService = Mockito.mock(CommandAsyncExecutor.class);
+        Object[] params = new Object[]{"key"};
+        RFuture<?> future = new CompletableFutureWrapper<>("value");
+        RedissonCommandBatch batch = Mockito.mock(RedissonCommandBatch.class);
+        try (MockedStatic<RedissonCommandBatch> mockBatch = Mockito.mockStatic(RedissonCommandBatch.class)) {
+            mockBatch.when(() -> RedissonCommandBatch.get(batchService)).thenReturn(batch);
+            // record
+            when(ContextManager.needReplay()).thenReturn(false);
+            when(ContextManager.needRecord()).thenReturn(true);
+            assertNull(RedissonBatchInstrumentation.AsyncAdvice.onEnter(batchService, RedisCommands.GET, params));
+            RedissonBatchInstrumentation.AsyncAdvice.onExit(batchService, RedisCommands.GET, params, null, future);
+            verify(batch).addCommand(RedisCommands.GET, params, future);
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            RFuture replayFuture = new CompletableFutureWrapper<>(new CompletableFuture<>());
+            when(batch.replayCommand(RedisCommands.GET, params)).thenReturn(replayFuture);
+            assertSame(replayFuture, RedissonBatchInstrumentation.AsyncAdvice.onEnter(batchService, RedisCommands.GET, params));
+            RedissonBatchInstrumentation.AsyncAdvice.onExit(batchService, RedisCommands.GET, params, replayFuture, null);
+            verify(batch, times(1)).addCommand(any(), any(), any());
+        }
+    }
+
+    @Test
+    void executeAsync() {
+        Object batchService = new Object();
+        RedissonCommandBatch batch = Mockito.mock(RedissonCommandBatch.class);
+        RFuture<BatchResult<?>> result = new CompletableFutureWrapper<>(new BatchResult<>(Collections.emptyList(), 0));
+        try (MockedStatic<RedissonCommandBatch> mockBatch = Mockito.mockStatic(RedissonCommandBatch.class)) {
+            // record
+            when(ContextManager.needReplay()).thenReturn(false);
+            when(ContextManager.needRecord()).thenReturn(true);
+            assertNull(RedissonBatchInstrumentation.ExecuteAsyncAdvice.onEnter(batchService));
+            RedissonBatchInstrumentation.ExecuteAsyncAdvice.onExit(batchService, null, result);
+            mockBatch.when(() -> RedissonCommandBatch.remove(batchService)).thenReturn(batch);
+            RedissonBatchInstrumentation.ExecuteAsyncAdvice.onExit(batchService, null, result);
+            verify(batch).record(result);
+
+            // replay
+            when(ContextManager.needRecord()).thenReturn(false);
+            when(ContextManager.needReplay()).thenReturn(true);
+            CompletableFuture<BatchResult<?>> replayFuture = new CompletableFuture<>();
+            when(batch.replay()).thenReturn(replayFuture);
+            assertSame(replayFuture, RedissonBatchInstrumentation.ExecuteAsyncAdvice.onEnter(batchService));
+            RedissonBatchInstrumentation.ExecuteAsyncAdvice.onExit(batchService, replayFuture, null);
+            verify(batch, times(1)).record(any());
+        }
+    }
+
+    @Test
+    void discardAsync() {
+        Object batchService = new Object();
+        try (MockedStatic<RedissonCommandBatch> mockBatch = Mockito.mockStatic(RedissonCommandBatch.class)) {
+            RedissonBatchInstrumentation.DiscardAsyncAdvice.onExit(batchService);
+            mockBatch.verify(() -> RedissonCommandBatch.remove(batchService));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.arex.inst.redisson.v3;
+
+import io.arex.agent.bootstrap.model.MockResult;
+import io.arex.inst.redis.common.RedisBatchExtractor;
+import io.arex.inst.redisson.v3.common.RedissonHelper;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RFuture;
+import org.redisson.client.RedisException;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RedissonCommandBatchTest {
+
+    @Test
+    void getAndRemove() {
+        CommandAsyncExecutor batchService = Mockito.mock(CommandAsyncExecutor.class);
+        try (MockedStatic<RedissonHelper> helper = Mockito.mockStatic(RedissonHelper.class)) {
+            helper.when(() -> RedissonHelper.getRedisUri(any())).thenReturn("redis://localhost:6379");
+            RedissonCommandBatch batch = RedissonCommandBatch.get(batchService);
+            assertSame(batch, RedissonCommandBatch.get(batchService));
+            assertSame(batch, RedissonCommandBatch.remove(batchService));
+            assertNull(RedissonCommandBatch.remove(batchService));
+        }
+    }
+
+    @Test
+    void key() {
+        assertNull(RedissonCommandBatch.key(new Object[0]));
+        assertEquals("key1", RedissonCommandBatch.key(new Object[]{"key1", 1}));
+        assertEquals("key1", RedissonCommandBatch.key(new Object[]{"key1".getBytes(StandardCharsets.UTF_8)}));
+        assertNull(RedissonCommandBatch.key(new Object[]{1L}));
+    }
+
+    @Test
+    void record() {
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            RedissonCommandBatch batch = new RedissonCommandBatch("redis://localhost:6379");
+            CompletableFuture<Object> future1 = new CompletableFuture<>();
+            CompletableFuture<Object> future2 = new CompletableFuture<>();
+            batch.addCommand(RedisCommands.GET, new Object[]{"key1"}, new CompletableFutureWrapper<>(future1));
+            batch.addCommand(RedisCommands.INCR, new Object[]{"key2"}, new CompletableFutureWrapper<>(future2));
+            RedisBatchExtractor extractor = mocked.constructed().get(0);
+            verify(extractor).addCommand("GET", "key1", null);
+            verify(extractor).addCommand("INCR", "key2", null);
+
+            CompletableFuture<BatchResult<?>> executeFuture = new CompletableFuture<>();
+            batch.record(new CompletableFutureWrapper<>(executeFuture));
+            verify(extractor, never()).record(any());
+            future1.complete("value");
+            RedisException exception = new RedisException("WRONGTYPE");
+            future2.completeExceptionally(exception);
+            executeFuture.completeExceptionally(exception);
+            verify(extractor).record(Arrays.asList("value", exception));
+        }
+    }
+
+    @Test
+    void replay() {
+        try (MockedConstruction<RedisBatchExtractor> mocked = Mockito.mockConstruction(RedisBatchExtractor.class)) {
+            RedissonCommandBatch batch = new RedissonCommandBatch("redis://localhost:6379");
+            // nothing queued, sent to redis
+            assertNull(batch.replay());
+
+            RedisBatchExtractor extractor = mocked.constructed().get(0);
+            when(extractor.ignoreMockResult()).thenReturn(true);
+            assertNull(batch.replayCommand(RedisCommands.GET, new Object[]{"key1"}));
+
+            when(extractor.ignoreMockResult()).thenReturn(false);
+            RFuture<?> future1 = batch.replayCommand(RedisCommands.GET, new Object[]{"key1"});
+            RFuture<?> future2 = batch.replayCommand(RedisCommands.INCR, new Object[]{"key2"});
+            CompletableFuture<MockResult> replayFuture = new CompletableFuture<>();
+            when(extractor.replayAsync()).thenReturn(replayFuture);
+            CompletableFuture<BatchResult<?>> batchFuture = batch.replay();
+            assertFalse(batchFuture.isDone());
+            replayFuture.complete(MockResult.success(Arrays.asList("value", 1L)));
+            assertEquals("value", future1.join());
+            assertEquals(1L, future2.join());
+            assertEquals(Arrays.asList("value", 1L), batchFuture.join().getResponses());
+
+            // a recorded error fails the batch
+            RedisException exception = new RedisException("WRONGTYPE");
+            when(extractor.replayAsync()).thenReturn(
+                CompletableFuture.completedFuture(MockResult.success(Arrays.asList("value", exception))));
+            assertTrue(batch.replay().isCompletedExceptionally());
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.redisson.misc.CompletableFutureWrapper;
 
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -29,6 +30,7 @@ class RedissonWrapperCommonTest {
     static void setUp() {
         Mockito.mockConstruction(RedisExtractor.class, (mock, context) -> {
             Mockito.when(mock.replay()).thenReturn(MockResult.success("mock"));
+            Mockito.when(mock.replayAsync()).thenReturn(CompletableFuture.completedFuture(MockResult.success("mock")));
         });
         Mockito.mockStatic(ContextManager.class);
     }
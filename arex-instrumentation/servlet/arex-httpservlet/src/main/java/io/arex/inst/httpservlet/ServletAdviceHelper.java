@@ -5,6 +5,7 @@ import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.agent.bootstrap.internal.Pair;
 import io.arex.agent.bootstrap.model.MockCategoryType;
 import io.arex.agent.bootstrap.util.CollectionUtil;
+import io.arex.agent.bootstrap.util.ConcurrentCache;
 import io.arex.agent.bootstrap.util.StringUtil;
 import io.arex.inst.httpservlet.adapter.ServletAdapter;
 import io.arex.inst.runtime.config.Config;
@@ -17,8 +18,6 @@ import io.arex.inst.runtime.listener.EventSource;
 import io.arex.inst.runtime.model.ArexConstants;
 import io.arex.inst.runtime.util.IgnoreUtils;
 import io.arex.inst.runtime.log.LogManager;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 
@@ -35,25 +34,19 @@ import org.springframework.web.method.support.InvocableHandlerMethod;
 public class ServletAdviceHelper {
     public static final String SERVLET_ASYNC_FLAG = "arex-async-flag";
     public static final String SERVLET_RESPONSE = "arex-servlet-response";
-    private static final Set<String> FILTERED_CONTENT_TYPE = new HashSet<>();
-    private static final Set<String> FILTERED_GET_URL_SUFFIX = new HashSet<>();
+    private static final String[] FILTERED_CONTENT_TYPE = {"/javascript", "image/", "/font", "/pdf", "/css"};
+    private static final String[] FILTERED_GET_URL_SUFFIX = {".js", ".css", ".png", ".woff", ".pdf", ".map", ".ico"};
     public static final String PROCESSED_FLAG = "arex-processed-flag";
-
-    static {
-        FILTERED_CONTENT_TYPE.add("/javascript");
-        FILTERED_CONTENT_TYPE.add("image/");
-        FILTERED_CONTENT_TYPE.add("/font");
-        FILTERED_CONTENT_TYPE.add("/pdf");
-        FILTERED_CONTENT_TYPE.add("/css");
-
-        FILTERED_GET_URL_SUFFIX.add(".js");
-        FILTERED_GET_URL_SUFFIX.add(".css");
-        FILTERED_GET_URL_SUFFIX.add(".png");
-        FILTERED_GET_URL_SUFFIX.add(".woff");
-        FILTERED_GET_URL_SUFFIX.add(".pdf");
-        FILTERED_GET_URL_SUFFIX.add(".map");
-        FILTERED_GET_URL_SUFFIX.add(".ico");
-    }
+    /**
+     * Whether a request pattern is hit in the include/exclude operations only depends on the pattern and the config,
+     * it's computed once per pattern. The request uri (unbounded, eg: /order/123) is matched on every request.
+     * The cache belongs to the Config instance it was computed with, every config update builds a new Config,
+     * so the first request after an update drops it. (A config listener would only reach the copy of this helper
+     * in the agent class loader, not the ones injected into the application class loaders.)
+     */
+    private static volatile OperationSkipCache operationSkipCache = new OperationSkipCache(null);
+    private static final int INCLUDED = 1;
+    private static final int EXCLUDED = 2;
 
     /**
      * If there is an implementation of Filter, it is called by XXXFilter.
@@ -140,32 +133,27 @@ public class ServletAdviceHelper {
 
             RequestHandlerManager.postHandle(httpServletRequest, httpServletResponse, MockCategoryType.SERVLET.getName());
 
-            LogManager.warn("are we here? ", "1");
-
             if (httpServletRequest == null || httpServletResponse == null) {
                 return;
             }
-            LogManager.warn("are we here? ", "1");
 
             adapter.removeAttribute(httpServletRequest, PROCESSED_FLAG);
 
             if (!adapter.wrapped(httpServletRequest, httpServletResponse)) {
                 return;
             }
-            LogManager.warn("are we here? ", "2");
 
             // Do not record if arex trace was removed
             if (!ContextManager.needRecordOrReplay()) {
                 adapter.copyBodyToResponse(httpServletResponse);
+                adapter.releaseRequestBody(httpServletRequest);
                 return;
             }
-            LogManager.warn("are we here? ", "3");
 
             // Async listener will handle async request
             if (Boolean.TRUE.equals(adapter.getAttribute(httpServletRequest, SERVLET_ASYNC_FLAG))) {
                 return;
             }
-            LogManager.warn("are we here? ", "4");
 
             // Add async listener for async request
             if (adapter.isAsyncStarted(httpServletRequest)) {
@@ -173,15 +161,12 @@ public class ServletAdviceHelper {
                 adapter.addListener(adapter, httpServletRequest, httpServletResponse);
                 return;
             }
-            LogManager.warn("are we here? ", "5");
 
             // sync request
             new ServletExtractor<>(adapter, httpServletRequest, httpServletResponse).execute();
-            LogManager.warn("are we here? ", "6");
 
         } catch (Throwable e) {
             LogManager.warn("servlet.onExit", e);
-            LogManager.warn("are we here? ", "7");
 
         }
     }
@@ -244,30 +229,68 @@ public class ServletAdviceHelper {
             return false;
         }
 
+        if (skipOperation(adapter, httpServletRequest, requestURI)) {
+            return true;
+        }
+
+        // Filter invalid content-type
+        String contentType = adapter.getContentType(httpServletRequest);
+        if (StringUtil.isNotEmpty(contentType)) {
+            for (String filteredContentType : FILTERED_CONTENT_TYPE) {
+                if (contentType.contains(filteredContentType)) {
+                    return true;
+                }
+            }
+        }
+
+        return Config.get().invalidRecord(requestURI);
+    }
+
+    private static <TRequest> boolean skipOperation(ServletAdapter<TRequest, ?> adapter,
+                                                    TRequest httpServletRequest, String requestURI) {
+        String pattern = adapter.getPattern(httpServletRequest);
+        int patternMatched = pattern == null ? 0 : patternMatched(pattern);
         // As long as one parameter is hit in includeServiceOperations, the operation will not be skipped
         if (CollectionUtil.isNotEmpty(Config.get().getIncludeServiceOperations()) &&
-            !(IgnoreUtils.includeOperation(adapter.getPattern(httpServletRequest)) ||
-                IgnoreUtils.includeOperation(requestURI))) {
+            (patternMatched & INCLUDED) == 0 && !IgnoreUtils.includeOperation(requestURI)) {
             return true;
         }
         // As long as one parameter is hit in excludeServiceOperations, the operation will be skipped
-        if (IgnoreUtils.excludeOperation(adapter.getPattern(httpServletRequest)) ||
-            IgnoreUtils.excludeOperation(requestURI)) {
+        if ((patternMatched & EXCLUDED) != 0 || IgnoreUtils.excludeOperation(requestURI)) {
             return true;
         }
 
         // Filter invalid servlet path suffix
-        if (FILTERED_GET_URL_SUFFIX.stream().anyMatch(requestURI::endsWith)) {
-            return true;
+        for (String suffix : FILTERED_GET_URL_SUFFIX) {
+            if (requestURI.endsWith(suffix)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        // Filter invalid content-type
-        String contentType = adapter.getContentType(httpServletRequest);
-        if (StringUtil.isNotEmpty(contentType) && FILTERED_CONTENT_TYPE.stream().anyMatch(contentType::contains)) {
-            return true;
+    /**
+     * @return whether the pattern is hit in includeServiceOperations ({@link #INCLUDED})
+     * and excludeServiceOperations ({@link #EXCLUDED})
+     */
+    private static int patternMatched(String pattern) {
+        OperationSkipCache cache = operationSkipCache;
+        Config config = Config.get();
+        if (cache.config != config) {
+            cache = new OperationSkipCache(config);
+            operationSkipCache = cache;
         }
+        Integer matched = cache.patternMatched.get(pattern);
+        if (matched == null) {
+            matched = (IgnoreUtils.includeOperation(pattern) ? INCLUDED : 0) |
+                (IgnoreUtils.excludeOperation(pattern) ? EXCLUDED : 0);
+            cache.patternMatched.put(pattern, matched);
+        }
+        return matched;
+    }
 
-        return Config.get().invalidRecord(requestURI);
+    static void clearOperationSkipCache() {
+        operationSkipCache = new OperationSkipCache(null);
     }
 
     private static <TRequest, TResponse> String getRedirectRecordId(ServletAdapter<TRequest, TResponse> adapter,
@@ -290,4 +313,13 @@ public class ServletAdviceHelper {
 
         return null;
     }
+
+    private static class OperationSkipCache {
+        private final Config config;
+        private final ConcurrentCache<String, Integer> patternMatched = new ConcurrentCache<>(1024);
+
+        OperationSkipCache(Config config) {
+            this.config = config;
+        }
+    }
 }
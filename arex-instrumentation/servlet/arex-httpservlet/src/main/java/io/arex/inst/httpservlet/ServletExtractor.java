@@ -17,7 +17,6 @@ import io.arex.inst.runtime.util.TypeUtil;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,7 +40,18 @@ public class ServletExtractor<HttpServletRequest, HttpServletResponse> {
         this.adapter = adapter;
     }
 
+    /**
+     * The request is complete here, its cached body is released whether it was recorded or not.
+     */
     public void execute() throws IOException {
+        try {
+            process();
+        } finally {
+            adapter.releaseRequestBody(httpServletRequest);
+        }
+    }
+
+    private void process() throws IOException {
         // Response status is 302, record redirect request
         if (HTTP_STATUS_FOUND == adapter.getStatus(httpServletResponse)) {
             ArexContext context = ContextManager.currentContext();
@@ -118,12 +128,19 @@ public class ServletExtractor<HttpServletRequest, HttpServletResponse> {
 
         mocker.getTargetRequest().setAttributes(requestAttributes);
         mocker.getTargetRequest().setBody(getRequest());
-        mocker.getTargetResponse().setAttributes(Collections.singletonMap("Headers", getResponseHeaders()));
+        if (adapter.isRequestTruncated(httpServletRequest)) {
+            mocker.getTargetRequest().setAttribute(ArexConstants.TRUNCATED_FLAG, Boolean.TRUE);
+        }
+        mocker.getTargetResponse().setAttribute("Headers", getResponseHeaders());
 
         Object response = getResponse();
         String responseString = response instanceof String ? (String) response : Serializer.serialize(response);
         mocker.getTargetResponse().setBody(responseString);
         mocker.getTargetResponse().setType(TypeUtil.getName(response));
+        // only the first bytes of a body larger than the capture limit were recorded
+        if (response instanceof byte[] && adapter.isResponseTruncated(httpServletResponse)) {
+            mocker.getTargetResponse().setAttribute(ArexConstants.TRUNCATED_FLAG, Boolean.TRUE);
+        }
         if (ContextManager.needReplay()) {
             MockUtils.replayMocker(mocker);
         } else if (ContextManager.needRecord()) {
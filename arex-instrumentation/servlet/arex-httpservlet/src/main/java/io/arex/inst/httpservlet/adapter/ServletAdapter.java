@@ -62,6 +62,12 @@ public interface ServletAdapter<HttpServletRequest, HttpServletResponse> {
 
     byte[] getResponseBytes(HttpServletResponse httpServletResponse);
 
+    boolean isRequestTruncated(HttpServletRequest httpServletRequest);
+
+    boolean isResponseTruncated(HttpServletResponse httpServletResponse);
+
+    void releaseRequestBody(HttpServletRequest httpServletRequest);
+
     HttpServletRequest asHttpServletRequest(Object servletRequest);
 
     HttpServletResponse asHttpServletResponse(Object servletResponse);
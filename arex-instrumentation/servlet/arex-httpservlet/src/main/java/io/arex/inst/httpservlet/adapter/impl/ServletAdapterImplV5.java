@@ -176,10 +176,11 @@ public class ServletAdapterImplV5 implements ServletAdapter<HttpServletRequest,
         if (content.length > 0) {
             return content;
         }
-        // read request body to cache
+        // read request body to cache, only the bytes within the capture limit are kept
         if (httpServletRequest.getContentLength() > 0) {
             try {
-                return IOUtils.copyToByteArray(requestWrapper.getInputStream());
+                IOUtils.consume(requestWrapper.getInputStream());
+                return requestWrapper.getContentAsByteArray();
             } catch (Exception ignore) {
                 // ignore exception
             }
@@ -192,6 +193,25 @@ public class ServletAdapterImplV5 implements ServletAdapter<HttpServletRequest,
         return ((CachedBodyResponseWrapperV5) httpServletResponse).getContentAsByteArray();
     }
 
+    @Override
+    public boolean isRequestTruncated(HttpServletRequest httpServletRequest) {
+        return httpServletRequest instanceof CachedBodyRequestWrapperV5
+            && ((CachedBodyRequestWrapperV5) httpServletRequest).isContentTruncated();
+    }
+
+    @Override
+    public boolean isResponseTruncated(HttpServletResponse httpServletResponse) {
+        return httpServletResponse instanceof CachedBodyResponseWrapperV5
+            && ((CachedBodyResponseWrapperV5) httpServletResponse).isContentTruncated();
+    }
+
+    @Override
+    public void releaseRequestBody(HttpServletRequest httpServletRequest) {
+        if (httpServletRequest instanceof CachedBodyRequestWrapperV5) {
+            ((CachedBodyRequestWrapperV5) httpServletRequest).releaseContent();
+        }
+    }
+
     @Override
     public HttpServletRequest asHttpServletRequest(Object servletRequest) {
         if (servletRequest instanceof HttpServletRequest) {
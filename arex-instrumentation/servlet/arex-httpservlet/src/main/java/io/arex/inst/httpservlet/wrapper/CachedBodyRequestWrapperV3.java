@@ -2,12 +2,12 @@ package io.arex.inst.httpservlet.wrapper;
 
 
 import io.arex.inst.httpservlet.ServletUtil;
+import io.arex.inst.runtime.util.BoundedByteArrayOutputStream;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URLEncoder;
@@ -27,9 +27,7 @@ public class CachedBodyRequestWrapperV3 extends HttpServletRequestWrapper {
     private static final String FORM_DATA_CONTENT_TYPE = "multipart/form-data";
 
 
-    private final ByteArrayOutputStream cachedContent;
-
-    private final Integer contentCacheLimit;
+    private final BoundedByteArrayOutputStream cachedContent;
 
     private ServletInputStream inputStream;
 
@@ -37,15 +35,13 @@ public class CachedBodyRequestWrapperV3 extends HttpServletRequestWrapper {
 
 
     /**
-     * Create a new CachedBodyRequestWrapper for the given servlet request.
+     * Create a new CachedBodyRequestWrapper for the given servlet request,
+     * caching at most {@link BoundedByteArrayOutputStream#httpBodyCaptureLimit()} bytes.
      *
      * @param request the original servlet request
      */
     public CachedBodyRequestWrapperV3(HttpServletRequest request) {
-        super(request);
-        int contentLength = request.getContentLength();
-        this.cachedContent = new ByteArrayOutputStream(contentLength >= 0 ? contentLength : 1024);
-        this.contentCacheLimit = null;
+        this(request, BoundedByteArrayOutputStream.httpBodyCaptureLimit());
     }
 
     /**
@@ -58,8 +54,7 @@ public class CachedBodyRequestWrapperV3 extends HttpServletRequestWrapper {
      */
     public CachedBodyRequestWrapperV3(HttpServletRequest request, int contentCacheLimit) {
         super(request);
-        this.cachedContent = new ByteArrayOutputStream(contentCacheLimit);
-        this.contentCacheLimit = contentCacheLimit;
+        this.cachedContent = new BoundedByteArrayOutputStream(contentCacheLimit);
     }
 
 
@@ -176,6 +171,20 @@ public class CachedBodyRequestWrapperV3 extends HttpServletRequestWrapper {
         return this.cachedContent.toByteArray();
     }
 
+    /**
+     * Whether the request body exceeded the content cache limit, only its first bytes were cached.
+     */
+    public boolean isContentTruncated() {
+        return this.cachedContent.isTruncated();
+    }
+
+    /**
+     * Hand the cached blocks back to the pool once the request is complete, the content is empty afterwards.
+     */
+    public void releaseContent() {
+        this.cachedContent.reset();
+    }
+
     /**
      * Template method for handling a content overflow: specifically, a request
      * body being read that exceeds the specified content cache limit.
@@ -205,12 +214,8 @@ public class CachedBodyRequestWrapperV3 extends HttpServletRequestWrapper {
         public int read() throws IOException {
             int ch = this.is.read();
             if (ch != -1 && !this.overflow) {
-                if (contentCacheLimit != null && cachedContent.size() == contentCacheLimit) {
-                    this.overflow = true;
-                    handleContentOverflow(contentCacheLimit);
-                } else {
-                    cachedContent.write(ch);
-                }
+                cachedContent.write(ch);
+                checkOverflow();
             }
             return ch;
         }
@@ -224,13 +229,15 @@ public class CachedBodyRequestWrapperV3 extends HttpServletRequestWrapper {
 
         private void writeToCache(final byte[] b, final int off, int count) {
             if (!this.overflow && count > 0) {
-                if (contentCacheLimit != null && count + cachedContent.size() > contentCacheLimit) {
-                    this.overflow = true;
-                    cachedContent.write(b, off, contentCacheLimit - cachedContent.size());
-                    handleContentOverflow(contentCacheLimit);
-                    return;
-                }
                 cachedContent.write(b, off, count);
+                checkOverflow();
+            }
+        }
+
+        private void checkOverflow() {
+            if (cachedContent.isTruncated()) {
+                this.overflow = true;
+                handleContentOverflow(cachedContent.getLimit());
             }
         }
 
@@ -1,13 +1,13 @@
 package io.arex.inst.httpservlet.wrapper;
 
 import io.arex.inst.httpservlet.ServletUtil;
+import io.arex.inst.runtime.util.BoundedByteArrayOutputStream;
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URLEncoder;
@@ -25,9 +25,7 @@ public class CachedBodyRequestWrapperV5 extends HttpServletRequestWrapper {
     private static final String FORM_DATA_CONTENT_TYPE = "multipart/form-data";
 
 
-    private final ByteArrayOutputStream cachedContent;
-
-    private final Integer contentCacheLimit;
+    private final BoundedByteArrayOutputStream cachedContent;
 
     private ServletInputStream inputStream;
 
@@ -35,15 +33,13 @@ public class CachedBodyRequestWrapperV5 extends HttpServletRequestWrapper {
 
 
     /**
-     * Create a new CachedBodyRequestWrapper for the given servlet request.
+     * Create a new CachedBodyRequestWrapper for the given servlet request,
+     * caching at most {@link BoundedByteArrayOutputStream#httpBodyCaptureLimit()} bytes.
      *
      * @param request the original servlet request
      */
     public CachedBodyRequestWrapperV5(HttpServletRequest request) {
-        super(request);
-        int contentLength = request.getContentLength();
-        this.cachedContent = new ByteArrayOutputStream(contentLength >= 0 ? contentLength : 1024);
-        this.contentCacheLimit = null;
+        this(request, BoundedByteArrayOutputStream.httpBodyCaptureLimit());
     }
 
     /**
@@ -56,8 +52,7 @@ public class CachedBodyRequestWrapperV5 extends HttpServletRequestWrapper {
      */
     public CachedBodyRequestWrapperV5(HttpServletRequest request, int contentCacheLimit) {
         super(request);
-        this.cachedContent = new ByteArrayOutputStream(contentCacheLimit);
-        this.contentCacheLimit = contentCacheLimit;
+        this.cachedContent = new BoundedByteArrayOutputStream(contentCacheLimit);
     }
 
 
@@ -173,6 +168,20 @@ public class CachedBodyRequestWrapperV5 extends HttpServletRequestWrapper {
         return this.cachedContent.toByteArray();
     }
 
+    /**
+     * Whether the request body exceeded the content cache limit, only its first bytes were cached.
+     */
+    public boolean isContentTruncated() {
+        return this.cachedContent.isTruncated();
+    }
+
+    /**
+     * Hand the cached blocks back to the pool once the request is complete, the content is empty afterwards.
+     */
+    public void releaseContent() {
+        this.cachedContent.reset();
+    }
+
     /**
      * Template method for handling a content overflow: specifically, a request
      * body being read that exceeds the specified content cache limit.
@@ -202,12 +211,8 @@ public class CachedBodyRequestWrapperV5 extends HttpServletRequestWrapper {
         public int read() throws IOException {
             int ch = this.is.read();
             if (ch != -1 && !this.overflow) {
-                if (contentCacheLimit != null && cachedContent.size() == contentCacheLimit) {
-                    this.overflow = true;
-                    handleContentOverflow(contentCacheLimit);
-                } else {
-                    cachedContent.write(ch);
-                }
+                cachedContent.write(ch);
+                checkOverflow();
             }
             return ch;
         }
@@ -221,13 +226,15 @@ public class CachedBodyRequestWrapperV5 extends HttpServletRequestWrapper {
 
         private void writeToCache(final byte[] b, final int off, int count) {
             if (!this.overflow && count > 0) {
-                if (contentCacheLimit != null && count + cachedContent.size() > contentCacheLimit) {
-                    this.overflow = true;
-                    cachedContent.write(b, off, contentCacheLimit - cachedContent.size());
-                    handleContentOverflow(contentCacheLimit);
-                    return;
-                }
                 cachedContent.write(b, off, count);
+                checkOverflow();
+            }
+        }
+
+        private void checkOverflow() {
+            if (cachedContent.isTruncated()) {
+                this.overflow = true;
+                handleContentOverflow(cachedContent.getLimit());
             }
         }
 
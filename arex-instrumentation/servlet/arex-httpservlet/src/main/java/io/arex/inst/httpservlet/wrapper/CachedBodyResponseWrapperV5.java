@@ -4,13 +4,14 @@ import io.arex.inst.httpservlet.ServletUtil;
 import io.arex.inst.runtime.context.ArexContext;
 import io.arex.inst.runtime.context.ContextManager;
 import io.arex.inst.runtime.model.ArexConstants;
+import io.arex.inst.runtime.util.BoundedByteArrayOutputStream;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
@@ -20,7 +21,15 @@ import java.io.UnsupportedEncodingException;
  */
 public class CachedBodyResponseWrapperV5 extends HttpServletResponseWrapper {
 
-    private final FastByteArrayOutputStream content = new FastByteArrayOutputStream(1024);
+    private final BoundedByteArrayOutputStream content = new BoundedByteArrayOutputStream();
+
+    private final OutputStream bodyStream = new BodyOutputStream();
+
+    /**
+     * true once the body exceeded the capture limit, the content has been flushed to the
+     * original response and later writes go straight through
+     */
+    private boolean streaming;
 
     private ServletOutputStream outputStream;
 
@@ -94,12 +103,16 @@ public class CachedBodyResponseWrapperV5 extends HttpServletResponseWrapper {
     @Override
     public void flushBuffer() throws IOException {
         // do not flush the underlying response as the content has not been copied to it yet
+        if (this.streaming) {
+            super.flushBuffer();
+        }
     }
 
     @Override
     public void setContentLength(int len) {
-        if (len > this.content.size()) {
-            this.content.resize(len);
+        if (this.streaming) {
+            super.setContentLength(len);
+            return;
         }
         this.contentLength = len;
     }
@@ -111,22 +124,14 @@ public class CachedBodyResponseWrapperV5 extends HttpServletResponseWrapper {
             throw new IllegalArgumentException(
                 "Content-Length exceeds CachedBodyResponseWrapper's maximum (" + Integer.MAX_VALUE + "): " + len);
         }
-        int lenInt = (int) len;
-        if (lenInt > this.content.size()) {
-            this.content.resize(lenInt);
-        }
-        this.contentLength = lenInt;
-    }
-
-    @Override
-    public void setBufferSize(int size) {
-        if (size > this.content.size()) {
-            this.content.resize(size);
-        }
+        setContentLength((int) len);
     }
 
     @Override
     public void resetBuffer() {
+        if (this.streaming) {
+            super.resetBuffer();
+        }
         this.content.reset();
     }
 
@@ -148,27 +153,26 @@ public class CachedBodyResponseWrapperV5 extends HttpServletResponseWrapper {
 
     /**
      * Return the cached response content as a byte array.
+     * <p>The returned array will never be larger than the content capture limit.
      */
     public byte[] getContentAsByteArray() {
         return this.content.toByteArray();
     }
 
     /**
-     * Return an {@link InputStream} to the cached content.
+     * Return the current size of the cached content.
      *
      * @since 4.2
      */
-    public InputStream getContentInputStream() {
-        return this.content.getInputStream();
+    public int getContentSize() {
+        return this.content.size();
     }
 
     /**
-     * Return the current size of the cached content.
-     *
-     * @since 4.2
+     * Whether the response body exceeded the capture limit, only its first bytes were cached.
      */
-    public int getContentSize() {
-        return this.content.size();
+    public boolean isContentTruncated() {
+        return this.content.isTruncated();
     }
 
     /**
@@ -188,6 +192,14 @@ public class CachedBodyResponseWrapperV5 extends HttpServletResponseWrapper {
      * @since 4.2
      */
     protected void copyBodyToResponse(boolean complete) throws IOException {
+        if (this.streaming) {
+            // the cached content has already been written to the response
+            this.content.reset();
+            if (complete) {
+                super.flushBuffer();
+            }
+            return;
+        }
         if (this.content.size() > 0) {
             HttpServletResponse rawResponse = (HttpServletResponse) getResponse();
             if ((complete || this.contentLength != null) && !rawResponse.isCommitted()) {
@@ -205,6 +217,55 @@ public class CachedBodyResponseWrapperV5 extends HttpServletResponseWrapper {
     }
 
 
+    /**
+     * Caches the body until it exceeds the capture limit, then writes the cached content to the original
+     * response and streams the rest through, so large bodies are neither held in heap nor delayed.
+     */
+    private class BodyOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (streaming) {
+                getResponse().getOutputStream().write(b);
+                return;
+            }
+            if (content.size() < content.getLimit()) {
+                content.write(b);
+                return;
+            }
+            startStreaming();
+            content.write(b);
+            getResponse().getOutputStream().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (streaming) {
+                getResponse().getOutputStream().write(b, off, len);
+                return;
+            }
+            if (content.size() + len <= content.getLimit()) {
+                content.write(b, off, len);
+                return;
+            }
+            startStreaming();
+            // keep the part that still fits, the content is marked as truncated
+            content.write(b, off, len);
+            getResponse().getOutputStream().write(b, off, len);
+        }
+
+        private void startStreaming() throws IOException {
+            streaming = true;
+            HttpServletResponse rawResponse = (HttpServletResponse) getResponse();
+            if (contentLength != null && !rawResponse.isCommitted()) {
+                rawResponse.setContentLength(contentLength);
+                contentLength = null;
+            }
+            content.writeTo(rawResponse.getOutputStream());
+        }
+    }
+
+
     private class ResponseServletOutputStream extends ServletOutputStream {
 
         private final ServletOutputStream os;
@@ -215,12 +276,12 @@ public class CachedBodyResponseWrapperV5 extends HttpServletResponseWrapper {
 
         @Override
         public void write(int b) throws IOException {
-            content.write(b);
+            bodyStream.write(b);
         }
 
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
-            content.write(b, off, len);
+            bodyStream.write(b, off, len);
         }
 
         @Override
@@ -238,7 +299,7 @@ public class CachedBodyResponseWrapperV5 extends HttpServletResponseWrapper {
     private class ResponsePrintWriter extends PrintWriter {
 
         public ResponsePrintWriter(String characterEncoding) throws UnsupportedEncodingException {
-            super(new OutputStreamWriter(content, characterEncoding));
+            super(new OutputStreamWriter(bodyStream, characterEncoding));
         }
 
         @Override
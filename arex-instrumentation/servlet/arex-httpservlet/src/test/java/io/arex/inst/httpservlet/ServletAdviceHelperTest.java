@@ -16,11 +16,13 @@ import java.util.Set;
 import javax.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.MockedConstruction;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.MethodParameter;
@@ -47,6 +49,7 @@ class ServletAdviceHelperTest {
     static HttpServletRequest request;
     static HttpServletResponse response;
     static InvocableHandlerMethod invocableHandlerMethod;
+    static MockedStatic<IgnoreUtils> mockStaticIgnoreUtils;
 
     @BeforeAll
     static void setUp() {
@@ -57,7 +60,7 @@ class ServletAdviceHelperTest {
         Mockito.mockStatic(RecordLimiter.class);
         Mockito.mockStatic(CaseEventDispatcher.class);
         invocableHandlerMethod = Mockito.mock(InvocableHandlerMethod.class);
-        Mockito.mockStatic(IgnoreUtils.class);
+        mockStaticIgnoreUtils = Mockito.mockStatic(IgnoreUtils.class);
         Mockito.mockStatic(Config.class);
         Mockito.when(Config.get()).thenReturn(Mockito.mock(Config.class));
     }
@@ -67,12 +70,14 @@ class ServletAdviceHelperTest {
         adapter = null;
         request = null;
         invocableHandlerMethod = null;
+        mockStaticIgnoreUtils = null;
         Mockito.clearAllCaches();
     }
 
     @ParameterizedTest(name = "[{index}] {0}")
     @MethodSource("onServiceEnterCase")
     void onServiceEnter(String log, Runnable mocker, Predicate<Pair> predicate) {
+        ServletAdviceHelper.clearOperationSkipCache();
         mocker.run();
         Pair result = ServletAdviceHelper.onServiceEnter(adapter, new Object(), new Object());
         assertTrue(predicate.test(result));
@@ -218,6 +223,51 @@ class ServletAdviceHelperTest {
         );
     }
 
+    @Test
+    void operationSkipCache() {
+        ServletAdviceHelper.clearOperationSkipCache();
+        mockStaticIgnoreUtils.clearInvocations();
+        ServletAdapter cacheAdapter = Mockito.mock(ServletAdapter.class);
+        Mockito.when(cacheAdapter.asHttpServletRequest(any())).thenReturn("mock");
+        Mockito.when(cacheAdapter.asHttpServletResponse(any())).thenReturn("mock");
+        Mockito.when(cacheAdapter.getMethod(any())).thenReturn("POST");
+        Mockito.when(cacheAdapter.getRequestURI(any())).thenReturn("/cached/1");
+        Mockito.when(cacheAdapter.getPattern(any())).thenReturn("/cached/{id}");
+        Mockito.when(IgnoreUtils.excludeOperation("/cached/{id}")).thenReturn(true);
+        Config oldConfig = Config.get();
+        Config config = Mockito.mock(Config.class);
+        Mockito.when(Config.get()).thenReturn(config);
+        try {
+            assertNull(ServletAdviceHelper.onServiceEnter(cacheAdapter, new Object(), new Object()));
+            Mockito.when(cacheAdapter.getRequestURI(any())).thenReturn("/cached/2");
+            assertNull(ServletAdviceHelper.onServiceEnter(cacheAdapter, new Object(), new Object()));
+            // the pattern is matched once, whatever the uri
+            mockStaticIgnoreUtils.verify(() -> IgnoreUtils.excludeOperation("/cached/{id}"), Mockito.times(1));
+            Mockito.verify(cacheAdapter, Mockito.never()).wrapRequest(any());
+            Mockito.verify(cacheAdapter, Mockito.never()).wrapResponse(any());
+
+            // the uri is matched on every request
+            Mockito.when(cacheAdapter.getPattern(any())).thenReturn("/other/{id}");
+            Mockito.when(IgnoreUtils.excludeOperation("/other/{id}")).thenReturn(false);
+            Mockito.when(IgnoreUtils.excludeOperation("/cached/2")).thenReturn(true);
+            mockStaticIgnoreUtils.clearInvocations();
+            assertNull(ServletAdviceHelper.onServiceEnter(cacheAdapter, new Object(), new Object()));
+            assertNull(ServletAdviceHelper.onServiceEnter(cacheAdapter, new Object(), new Object()));
+            mockStaticIgnoreUtils.verify(() -> IgnoreUtils.excludeOperation("/other/{id}"), Mockito.times(1));
+            mockStaticIgnoreUtils.verify(() -> IgnoreUtils.excludeOperation("/cached/2"), Mockito.times(2));
+
+            // config changed
+            Config newConfig = Mockito.mock(Config.class);
+            Mockito.when(Config.get()).thenReturn(newConfig);
+            assertNull(ServletAdviceHelper.onServiceEnter(cacheAdapter, new Object(), new Object()));
+            mockStaticIgnoreUtils.verify(() -> IgnoreUtils.excludeOperation("/other/{id}"), Mockito.times(2));
+            mockStaticIgnoreUtils.verify(() -> IgnoreUtils.excludeOperation("/cached/2"), Mockito.times(3));
+        } finally {
+            Mockito.when(Config.get()).thenReturn(oldConfig);
+            ServletAdviceHelper.clearOperationSkipCache();
+        }
+    }
+
     @ParameterizedTest(name = "[{index}] {0}")
     @MethodSource("onServiceExitCase")
     void onServiceExit(String log, Runnable mocker, Runnable verify) {
@@ -272,6 +322,10 @@ class ServletAdviceHelperTest {
                 throw new RuntimeException(e);
             }
         };
+        Runnable verifyCopyBodyAndRelease = () -> {
+            verifyCopyBody.run();
+            Mockito.verify(adapter, Mockito.atLeastOnce()).releaseRequestBody(request);
+        };
         Runnable verifyAddListener = () -> {
             Mockito.verify(adapter, Mockito.atLeastOnce()).addListener(adapter, request, response);
         };
@@ -279,7 +333,7 @@ class ServletAdviceHelperTest {
         return Stream.of(
                 arguments("httpServletRequest or httpServletResponse is null", mockRequestOrResponseIsNUll, verifyEmpty),
                 arguments("adapter.wrapped returns false", mockWrapFalse, verifyEmpty),
-                arguments("ContextManager.needRecordOrReplay return false", mockRecordOrReplayIsFalse, verifyCopyBody),
+                arguments("ContextManager.needRecordOrReplay return false", mockRecordOrReplayIsFalse, verifyCopyBodyAndRelease),
                 arguments("ContextManager.needRecordOrReplay return true", mockRecordOrReplayIsTrue, verifyCopyBody),
                 arguments("request.attr:arex-async-flag returns true", mockAsyncFlagIsTrue, verifyCopyBody),
                 arguments("adapter.isAsyncStarted returns true", mockAsyncStartedIsTrue, verifyAddListener),
@@ -77,6 +77,7 @@ class ServletExtractorTest {
         Runnable verifyCopyToResponse = () -> {
             try {
                 Mockito.verify(adapter, Mockito.atLeastOnce()).copyBodyToResponse(response);
+                Mockito.verify(adapter, Mockito.atLeastOnce()).releaseRequestBody(request);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -155,6 +156,17 @@ class ServletExtractorTest {
             Assertions.assertNull(mocker.getTargetRequest().getAttribute("testKey"));
         };
 
+        Runnable mockBodyTruncated = () -> {
+            Mockito.when(adapter.getResponseBytes(response)).thenReturn(new byte[]{1});
+            Mockito.when(adapter.isRequestTruncated(request)).thenReturn(true);
+            Mockito.when(adapter.isResponseTruncated(response)).thenReturn(true);
+        };
+
+        Runnable verifyBodyTruncated = () -> {
+            Assertions.assertEquals(Boolean.TRUE, mocker.getTargetRequest().getAttribute(ArexConstants.TRUNCATED_FLAG));
+            Assertions.assertEquals(Boolean.TRUE, mocker.getTargetResponse().getAttribute(ArexConstants.TRUNCATED_FLAG));
+        };
+
         return Stream.of(
             arguments("response status is 302", mockResponseStatus302, verifyCopyToResponse),
             arguments("response status is 200", mockResponseStatus100, verifyCopyToResponse),
@@ -166,7 +178,8 @@ class ServletExtractorTest {
             arguments("replay execute", mockNeedRecord, verifySetResponseHeader),
             arguments("get method", mockRequestMethodIsGet, verifyGetResponseBytes),
             arguments("get extension attr", getExtensionAttr, verifyGetExtensionAttr),
-            arguments("get extension attr error", getExtensionAttrError, verifyGetExtensionAttrError)
+            arguments("get extension attr error", getExtensionAttrError, verifyGetExtensionAttrError),
+            arguments("body truncated", mockBodyTruncated, verifyBodyTruncated)
         );
     }
 }
@@ -5,13 +5,19 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import io.arex.agent.bootstrap.constants.ConfigConstants;
 import io.arex.inst.httpservlet.wrapper.CachedBodyRequestWrapperV5;
 import io.arex.inst.httpservlet.wrapper.CachedBodyResponseWrapperV5;
+import io.arex.inst.runtime.config.ConfigBuilder;
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.Enumeration;
 import jakarta.servlet.AsyncContext;
@@ -247,6 +253,82 @@ class ServletAdapterImplV5Test {
         assertEquals(0, instance.getResponseBytes(instance.wrapResponse(mockResponse)).length);
     }
 
+    @Test
+    void isRequestTruncated() throws IOException {
+        assertFalse(instance.isRequestTruncated(mockRequest));
+
+        byte[] body = "mock-body".getBytes();
+        HttpServletRequest requestWrapper = new CachedBodyRequestWrapperV5(mockRequest, 4);
+        when(mockRequest.getInputStream()).thenReturn(new MockServletInputStream(body));
+        when(mockRequest.getContentLength()).thenReturn(body.length);
+        assertArrayEquals("mock".getBytes(), instance.getRequestBytes(requestWrapper));
+        assertTrue(instance.isRequestTruncated(requestWrapper));
+    }
+
+    @Test
+    void releaseRequestBody() throws IOException {
+        assertDoesNotThrow(() -> instance.releaseRequestBody(mockRequest));
+
+        byte[] body = "mock-body".getBytes();
+        HttpServletRequest requestWrapper = new CachedBodyRequestWrapperV5(mockRequest, 4);
+        when(mockRequest.getInputStream()).thenReturn(new MockServletInputStream(body));
+        when(mockRequest.getContentLength()).thenReturn(body.length);
+        assertArrayEquals("mock".getBytes(), instance.getRequestBytes(requestWrapper));
+
+        instance.releaseRequestBody(requestWrapper);
+        assertEquals(0, ((CachedBodyRequestWrapperV5) requestWrapper).getContentAsByteArray().length);
+        assertFalse(instance.isRequestTruncated(requestWrapper));
+    }
+
+    @Test
+    void isResponseTruncated() throws IOException {
+        assertFalse(instance.isResponseTruncated(mockResponse));
+
+        ConfigBuilder.create("mock").addProperty(ConfigConstants.HTTP_BODY_CAPTURE_LIMIT, "4").build();
+        ByteArrayOutputStream rawContent = new ByteArrayOutputStream();
+        when(mockResponse.getOutputStream()).thenReturn(new MockServletOutputStream(rawContent));
+        HttpServletResponse responseWrapper = instance.wrapResponse(mockResponse);
+        try {
+            responseWrapper.getOutputStream().write("moc".getBytes());
+            assertEquals(0, rawContent.size());
+            assertFalse(instance.isResponseTruncated(responseWrapper));
+
+            // exceed the capture limit, the body is streamed to the original response
+            responseWrapper.getOutputStream().write("k-body".getBytes());
+            assertEquals("mock-body", rawContent.toString());
+            assertArrayEquals("mock".getBytes(), instance.getResponseBytes(responseWrapper));
+            assertTrue(instance.isResponseTruncated(responseWrapper));
+
+            responseWrapper.getOutputStream().write('!');
+            instance.copyBodyToResponse(responseWrapper);
+            assertEquals("mock-body!", rawContent.toString());
+        } finally {
+            ConfigBuilder.create("mock").build();
+        }
+    }
+
+    static class MockServletOutputStream extends ServletOutputStream {
+        private final OutputStream delegate;
+        public MockServletOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.delegate.write(b);
+        }
+    }
+
     @Test
     void asHttpServletRequest() {
         assertNotNull(instance.asHttpServletRequest(mockRequest));